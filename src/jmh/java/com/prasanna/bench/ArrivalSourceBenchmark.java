@@ -0,0 +1,101 @@
+package com.prasanna.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.prasanna.util.ArrivalSource;
+import com.prasanna.util.BooleanSource;
+import com.prasanna.util.GeometricSource;
+
+/**
+ * Measures the throughput of the arrival sources {@link ArrivalSource}, one draw per tick as done by the tick engine
+ * and one skip to the next arrival as done by the discrete-event engine.
+ * 
+ * @author pramakr2
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrivalSourceBenchmark {
+	
+	/**
+	 * The arrival probability.
+	 */
+	@Param({"0.01", "0.1", "0.25"})
+	private double probability;
+	
+	/**
+	 * The Bernoulli source {@link BooleanSource}.
+	 */
+	private ArrivalSource bernoulli;
+	
+	/**
+	 * The geometric source {@link GeometricSource}.
+	 */
+	private ArrivalSource geometric;
+	
+	/**
+	 * Creates the sources with a fixed seed.
+	 */
+	@Setup
+	public void create() {
+		bernoulli = new BooleanSource(probability, 42L);
+		geometric = new GeometricSource(probability, 42L);
+	}
+	
+	/**
+	 * Draws one tick from the Bernoulli source {@link BooleanSource}.
+	 * 
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean bernoulliRandom() {
+		return bernoulli.random();
+	}
+	
+	/**
+	 * Draws one tick from the geometric source {@link GeometricSource}.
+	 * 
+	 * @return boolean
+	 */
+	@Benchmark
+	public boolean geometricRandom() {
+		return geometric.random();
+	}
+	
+	/**
+	 * Skips the Bernoulli source {@link BooleanSource} to its next arrival.
+	 * 
+	 * @return Ticks skipped
+	 */
+	@Benchmark
+	public int bernoulliSkip() {
+		return bernoulli.skip(Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Skips the geometric source {@link GeometricSource} to its next arrival.
+	 * 
+	 * @return Ticks skipped
+	 */
+	@Benchmark
+	public int geometricSkip() {
+		return geometric.skip(Integer.MAX_VALUE);
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.prasanna.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.model.Flight;
+import com.prasanna.model.FlightStore;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Measures the cost of creating a flight, as a Flight {@link Flight} object with its sequence based flight number {@link com.prasanna.model.FlightNumbers}
+ * and as a slot in the flight store {@link FlightStore} used by the simulator.
+ * 
+ * @author pramakr2
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlightBenchmark {
+	
+	/**
+	 * The flight store {@link FlightStore}, a flight is added and removed again so that the store stays small.
+	 */
+	private FlightStore flights;
+	
+	/**
+	 * Loads the benchmark configurations with logging turned off.
+	 */
+	@Setup
+	public void configure() {
+		PropertiesUtil.loadProperties("smart-airport-bench-medium", "log4j-bench-off");
+		flights = new FlightStore();
+	}
+	
+	/**
+	 * Creates a Flight {@link Flight} object.
+	 * 
+	 * @return The flight, returned so that the construction is not optimized away.
+	 */
+	@Benchmark
+	public Flight newFlight() {
+		return new Flight(FlightAction.LANDING);
+	}
+	
+	/**
+	 * Adds a flight to the flight store {@link FlightStore} and removes it again.
+	 * 
+	 * @return The flight id, returned so that the work is not optimized away.
+	 */
+	@Benchmark
+	public long storeFlight() {
+		int slot = flights.add(FlightAction.LANDING, 0, 2);
+		long id = flights.getId(slot);
+		flights.remove(slot);
+		return id;
+	}
+
+}
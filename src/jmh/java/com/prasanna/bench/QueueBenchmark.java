@@ -0,0 +1,114 @@
+package com.prasanna.bench;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.prasanna.util.IndexedMinHeap;
+import com.prasanna.util.IntRingDeque;
+
+/**
+ * Measures one arrival and one departure on a queue which is already holding many flights,
+ * the ring deque {@link IntRingDeque} and the indexed heap {@link IndexedMinHeap} holding the waiting flights of the simulator
+ * against boxed slots in an ArrayDeque {@link ArrayDeque}.
+ * 
+ * @author pramakr2
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+	
+	/**
+	 * Flights waiting in the queue.
+	 */
+	@Param({"16", "100000", "10000000"})
+	private int depth;
+	
+	/**
+	 * The flight queue of the simulator {@link IntRingDeque}.
+	 */
+	private IntRingDeque ring;
+	
+	/**
+	 * Boxed slots in an ArrayDeque {@link ArrayDeque}.
+	 */
+	private ArrayDeque<Integer> deque;
+	
+	/**
+	 * The indexed heap {@link IndexedMinHeap}, flights are ordered by arrival as with strict landing priority.
+	 */
+	private IndexedMinHeap heap;
+	
+	/**
+	 * Arrival of the next flight offered to the heap.
+	 */
+	private long arrival;
+	
+	/**
+	 * Fills both queues up to the depth.
+	 */
+	@Setup
+	public void fill() {
+		ring = new IntRingDeque();
+		deque = new ArrayDeque<Integer>();
+		heap = new IndexedMinHeap();
+		for (int i = 0; i < depth; i++) {
+			ring.offer(i);
+			deque.offer(i);
+			heap.offer(i, i, i);
+		}
+		arrival = depth;
+	}
+	
+	/**
+	 * Offers one flight to the ring deque {@link IntRingDeque} and polls the head.
+	 * 
+	 * @return The polled slot
+	 */
+	@Benchmark
+	public int ringOfferPoll() {
+		ring.offer(depth);
+		return ring.poll();
+	}
+	
+	/**
+	 * Polls the first flight of the indexed heap {@link IndexedMinHeap} and offers it again as the latest arrival.
+	 * 
+	 * @return The polled slot
+	 */
+	@Benchmark
+	public int heapPollOffer() {
+		int slot = heap.poll();
+		heap.offer(slot, arrival, arrival);
+		arrival++;
+		return slot;
+	}
+	
+	/**
+	 * Offers one flight to the ArrayDeque {@link ArrayDeque} and polls the head.
+	 * 
+	 * @return The polled slot
+	 */
+	@Benchmark
+	public Integer dequeOfferPoll() {
+		deque.offer(depth);
+		return deque.poll();
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.prasanna.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.sim.SimulationResult;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Measures the simulation throughput in ticks per second for both engines {@link SimulationEngine},
+ * at low, medium and high arrival probabilities and with per flight logging turned off or on.
+ * The simulator reads its configurations once, when the class is loaded, so every parameter combination
+ * relies on running in its own forked JVM and loads the 'smart-airport-bench-&lt;load&gt;.properties' and
+ * 'log4j-bench-&lt;logging&gt;.properties' files before the simulator is touched.
+ * 
+ * @author pramakr2
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulatorBenchmark {
+	
+	/**
+	 * Ticks of one simulation, the simulation length of the benchmark property files plus the tick zero.
+	 */
+	private static final int TICKS = 100001;
+	
+	/**
+	 * The simulation engine {@link SimulationEngine} under test.
+	 */
+	@Param({"TICK", "EVENT"})
+	private SimulationEngine engine;
+	
+	/**
+	 * The arrival load, selects the 'smart-airport-bench-&lt;load&gt;.properties' file.
+	 */
+	@Param({"low", "medium", "high"})
+	private String load;
+	
+	/**
+	 * Per flight logging either off or on, selects the 'log4j-bench-&lt;logging&gt;.properties' file.
+	 */
+	@Param({"off", "on"})
+	private String logging;
+	
+	/**
+	 * Seed of the next simulation, every invocation simulates a fresh but reproducible day.
+	 */
+	private long seed;
+	
+	/**
+	 * Loads the configurations of the benchmark before the simulator class is loaded.
+	 */
+	@Setup(Level.Trial)
+	public void configure() {
+		PropertiesUtil.loadProperties("smart-airport-bench-" + load, "log4j-bench-" + logging);
+		seed = 0;
+	}
+	
+	/**
+	 * Runs one simulation, the throughput is reported per tick.
+	 * 
+	 * @return The simulation result {@link SimulationResult}, returned so that the simulation is not optimized away.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(TICKS)
+	public SimulationResult simulate() {
+		SmartAirportSimulator simulator = new SmartAirportSimulator(engine, seed++);
+		simulator.simulate();
+		return simulator.getResult();
+	}
+
+}
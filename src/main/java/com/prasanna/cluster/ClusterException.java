@@ -0,0 +1,33 @@
+package com.prasanna.cluster;
+
+/**
+ * ClusterException indicates that a distributed replication study {@link ReplicationCoordinator} could not be completed, or that a peer does not follow the protocol.
+ * It is unchecked because a failed study can not be resumed by the caller, it is run again.
+ * 
+ * @author pramakr2
+ *
+ */
+public class ClusterException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param message Detail message.
+	 */
+	public ClusterException(String message) {
+		super(message);
+	}
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param message Detail message.
+	 * @param cause Cause of the exception.
+	 */
+	public ClusterException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
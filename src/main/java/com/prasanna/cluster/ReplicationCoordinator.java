@@ -0,0 +1,462 @@
+package com.prasanna.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.sim.ReplicationRunner;
+import com.prasanna.sim.ReplicationSummary;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * This class spreads the replications of a study over worker processes {@link ReplicationWorker}, on other machines or on this one,
+ * when the cores of one machine are not enough for a study. The replications are split into tasks of BATCH {@link #BATCH} replications,
+ * with the same seeds as a replication runner {@link ReplicationRunner} on one machine, and workers connecting to the coordinator
+ * are given one task at a time, over the socket protocol {@link ReplicationProtocol}:
+ *
+ * 		1. Workers pull tasks, a worker gets its next task when it sends back the summary of the last one, so fast workers run more tasks.
+ * 		2. Once every task is handed out, an idle worker steals the work of a slower one: it is given a copy of a task still running on a single worker,
+ * 		   and the first summary back wins.
+ * 		3. A task whose worker fails, disconnects or does not answer in time goes back to the front of the queue, the study fails once a task has failed MAX_ATTEMPTS {@link #MAX_ATTEMPTS} times.
+ * 		4. Summaries are merged as they come back, in task order, so the summary does not depend on the number or speed of the workers.
+ *
+ * @author pramakr2
+ *
+ */
+public class ReplicationCoordinator implements Closeable {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationCoordinator.class);
+
+	/**
+	 * PORT - Reads the port the coordinator listens on from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.cluster.port'.
+	 */
+	public static final int PORT = readPositive("sa.sim.cluster.port", 7070);
+
+	/**
+	 * BATCH - Reads the number of replications of every task from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.cluster.batch'.
+	 */
+	public static final int BATCH = readPositive("sa.sim.cluster.batch", 16);
+
+	/**
+	 * TIMEOUT - Reads the seconds a worker may take per million ticks simulated by its task from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.cluster.timeout'.
+	 */
+	public static final int TIMEOUT = readPositive("sa.sim.cluster.timeout", 30);
+
+	/**
+	 * Milliseconds a worker may take at least for its task, and for the handshake.
+	 */
+	public static final long MIN_TIMEOUT_MILLIS = 10000;
+
+	/**
+	 * Number of times a task may fail before the study fails.
+	 */
+	public static final int MAX_ATTEMPTS = 3;
+
+	/**
+	 * The configuration {@link SimulationConfig} of every replication.
+	 */
+	private final SimulationConfig config;
+
+	/**
+	 * The engine {@link SimulationEngine} which drives every replication.
+	 */
+	private final SimulationEngine engine;
+
+	/**
+	 * How arrivals {@link ArrivalMode} of every replication are generated.
+	 */
+	private final ArrivalMode arrivalMode;
+
+	/**
+	 * The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	private final RunwayUse[] runwayUses;
+
+	/**
+	 * Whether every replication is a pair of antithetic simulations.
+	 */
+	private final boolean antithetic;
+
+	/**
+	 * Number of replications of every task.
+	 */
+	private final int batch;
+
+	/**
+	 * The socket workers connect to.
+	 */
+	private final ServerSocket server;
+
+	/**
+	 * Milliseconds a worker may take at least for its task, and for the handshake.
+	 */
+	private volatile long minTimeoutMillis = MIN_TIMEOUT_MILLIS;
+
+	/**
+	 * Seconds a worker may take per million ticks simulated by its task.
+	 */
+	private volatile int timeout = TIMEOUT;
+
+	/*
+	 * State of the study, guarded by the coordinator.
+	 */
+	private long[][] tasks;
+	private final ArrayDeque<Integer> pending = new ArrayDeque<Integer>();
+	private int[] copies;
+	private int[] failures;
+	private ReplicationSummary[] results;
+	private int merged;
+	private final ReplicationSummary summary = new ReplicationSummary();
+	private ClusterException failure;
+
+	/**
+	 * Parameterized constructor, listens for workers on the given port.
+	 *
+	 * @param config The configuration {@link SimulationConfig} of every replication.
+	 * @param engine The engine {@link SimulationEngine} which drives every replication.
+	 * @param arrivalMode How arrivals {@link ArrivalMode} of every replication are generated, either BERNOULLI or GEOMETRIC.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * @param antithetic Whether every replication is a pair of antithetic simulations.
+	 * @param batch Number of replications of every task.
+	 * @param port Port workers connect to, 0 for any free port.
+	 * @throws IOException If the port can not be opened.
+	 */
+	public ReplicationCoordinator(SimulationConfig config, SimulationEngine engine, ArrivalMode arrivalMode, RunwayUse[] runwayUses, boolean antithetic,
+			int batch, int port) throws IOException {
+		if (ArrivalMode.TRACE.equals(arrivalMode))
+			throw new IllegalArgumentException("Replications need random arrivals, arrival mode: " + arrivalMode);
+		if (batch < 1)
+			throw new IllegalArgumentException("Illegal batch: " + batch);
+		this.config = config;
+		this.engine = engine;
+		this.arrivalMode = arrivalMode;
+		this.runwayUses = runwayUses.clone();
+		this.antithetic = antithetic;
+		this.batch = batch;
+		this.server = new ServerSocket(port);
+	}
+
+	/**
+	 * Gets the port workers connect to.
+	 *
+	 * @return port
+	 */
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	/**
+	 * Sets how long a worker may take for its task before the task fails and is run elsewhere, instead of the configured TIMEOUT {@link #TIMEOUT}
+	 * and MIN_TIMEOUT_MILLIS {@link #MIN_TIMEOUT_MILLIS}. A worker which hangs with its connection open would otherwise hold its task forever.
+	 *
+	 * @param minTimeoutMillis Milliseconds a worker may take at least for its task, and for the handshake.
+	 * @param timeout Seconds a worker may take per million ticks simulated by its task.
+	 */
+	public void setTimeout(long minTimeoutMillis, int timeout) {
+		if (minTimeoutMillis < 1 || minTimeoutMillis > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Illegal minimum timeout: " + minTimeoutMillis);
+		if (timeout < 1)
+			throw new IllegalArgumentException("Illegal timeout: " + timeout);
+		this.minTimeoutMillis = minTimeoutMillis;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Gets the milliseconds a worker may take for a task, from the number of ticks the task simulates,
+	 * as if the worker ran the replications of the task one after the other.
+	 *
+	 * @param task The task.
+	 * @return timeout in milliseconds.
+	 */
+	private int timeoutMillis(int task) {
+		long ticks = (long) tasks[task].length * (config.getSimulationLength() + 1) * (antithetic ? 2 : 1);
+		return (int) Math.min(Integer.MAX_VALUE, minTimeoutMillis + ticks * timeout / 1000);
+	}
+
+	/**
+	 * Runs the replications on the workers which connect to the coordinator and merges their results. A coordinator runs one study.
+	 *
+	 * @param replications Number of replications, pairs of simulations with antithetic variates.
+	 * @param seed Seed of the study, replication seeds are derived from it as by the replication runner {@link ReplicationRunner#seeds(int, long)}.
+	 * @return summary {@link ReplicationSummary} of the replications.
+	 * @throws InterruptedException If the thread is interrupted while waiting for the workers.
+	 *
+	 * @exception ClusterException
+	 *            Indicates that a task has failed MAX_ATTEMPTS {@link #MAX_ATTEMPTS} times.
+	 */
+	public ReplicationSummary run(int replications, long seed) throws InterruptedException {
+		long[] seeds = ReplicationRunner.seeds(replications, seed);
+		synchronized (this) {
+			if (tasks != null)
+				throw new IllegalStateException("The coordinator has already run a study");
+			tasks = new long[(replications + batch - 1) / batch][];
+			for (int task = 0; task < tasks.length; task++) {
+				tasks[task] = Arrays.copyOfRange(seeds, task * batch, Math.min(replications, (task + 1) * batch));
+				pending.add(task);
+			}
+			copies = new int[tasks.length];
+			failures = new int[tasks.length];
+			results = new ReplicationSummary[tasks.length];
+		}
+		Thread acceptor = new Thread(this::accept, "replication-coordinator");
+		acceptor.setDaemon(true);
+		acceptor.start();
+		try {
+			synchronized (this) {
+				while (merged < tasks.length && failure == null) {
+					wait();
+				}
+				if (failure != null)
+					throw failure;
+				return summary;
+			}
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Accepts workers until the coordinator is closed, every worker is served by its own thread.
+	 */
+	private void accept() {
+		try {
+			while (true) {
+				final Socket socket = server.accept();
+				Thread handler = new Thread(() -> serve(socket), "replication-worker-" + socket.getRemoteSocketAddress());
+				handler.setDaemon(true);
+				handler.start();
+			}
+		} catch (IOException e) {
+			if (!server.isClosed())
+				LOGGER.error("Coordinator stops accepting workers", e);
+		}
+	}
+
+	/**
+	 * Serves one worker: sends the study and hands out tasks until the study is over.
+	 *
+	 * @param socket Socket of the worker.
+	 */
+	private void serve(Socket socket) {
+		String worker = String.valueOf(socket.getRemoteSocketAddress());
+		int task = -1;
+		try (Socket connection = socket) {
+			connection.setKeepAlive(true);
+			connection.setSoTimeout((int) minTimeoutMillis);
+			DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+			if (in.readInt() != ReplicationProtocol.MAGIC || in.readInt() != ReplicationProtocol.VERSION) {
+				LOGGER.warn("Worker " + worker + " does not speak the replication protocol");
+				return;
+			}
+			ReplicationProtocol.writeStudy(out, config, engine, arrivalMode, runwayUses, antithetic);
+			out.flush();
+			if (in.readByte() != ReplicationProtocol.READY) {
+				LOGGER.warn("Worker " + worker + " refused the study: " + in.readUTF());
+				return;
+			}
+			LOGGER.info("Worker " + worker + " joined the study");
+			while ((task = nextTask()) >= 0) {
+				out.writeByte(ReplicationProtocol.TASK);
+				out.writeInt(task);
+				out.writeInt(tasks[task].length);
+				for (long seed : tasks[task]) {
+					out.writeLong(seed);
+				}
+				out.flush();
+				/*
+				 * A worker which does not answer in time has its task run elsewhere, a hanging worker can not hold up the study.
+				 */
+				connection.setSoTimeout(timeoutMillis(task));
+				byte reply = in.readByte();
+				if (reply != ReplicationProtocol.RESULT && reply != ReplicationProtocol.ERROR)
+					throw new ClusterException("Unexpected message from worker: " + reply);
+				if (in.readInt() != task)
+					throw new ClusterException("Worker answered another task than task " + task);
+				if (reply == ReplicationProtocol.RESULT) {
+					ReplicationSummary result = new ReplicationSummary();
+					result.restore(in);
+					completed(task, result);
+				} else {
+					failed(task, worker + ": " + in.readUTF());
+				}
+				task = -1;
+			}
+			out.writeByte(ReplicationProtocol.STOP);
+			out.flush();
+		} catch (IOException | ClusterException e) {
+			LOGGER.warn("Worker " + worker + " lost: " + e);
+			if (task >= 0)
+				failed(task, worker + ": " + e);
+		}
+	}
+
+	/**
+	 * Gets the next task of a worker: the first pending task, else a copy of a task running on a single worker.
+	 * Waits while every unfinished task already runs twice.
+	 *
+	 * @return task, -1 when the study is over.
+	 */
+	private synchronized int nextTask() {
+		try {
+			while (merged < tasks.length && failure == null) {
+				Integer task = pending.poll();
+				if (task == null) {
+					for (int running = merged; running < tasks.length; running++) {
+						if (results[running] == null && copies[running] == 1) {
+							task = running;
+							LOGGER.debug("Task " + running + " is stolen from a slower worker");
+							break;
+						}
+					}
+				}
+				if (task != null) {
+					copies[task]++;
+					return task;
+				}
+				wait();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return -1;
+	}
+
+	/**
+	 * Records the summary of a task and merges every summary in task order as far as it goes. Summaries of a copy of a finished task are dropped,
+	 * tasks before the merged ones and tasks with a summary are finished.
+	 *
+	 * @param task The task.
+	 * @param result Summary {@link ReplicationSummary} of the task.
+	 */
+	private synchronized void completed(int task, ReplicationSummary result) {
+		copies[task]--;
+		if (task >= merged && results[task] == null) {
+			results[task] = result;
+			while (merged < tasks.length && results[merged] != null) {
+				summary.merge(results[merged]);
+				results[merged] = null;
+				merged++;
+			}
+			LOGGER.info("Task " + task + " done, " + summary.getReplications() + " replications merged, landing wait time: " + summary.getLandingWaitTime());
+		}
+		notifyAll();
+	}
+
+	/**
+	 * Records a failed attempt of a task and puts it back at the front of the queue, unless a copy is still running.
+	 *
+	 * @param task The task.
+	 * @param reason Why the task failed.
+	 */
+	private synchronized void failed(int task, String reason) {
+		copies[task]--;
+		if (task >= merged && results[task] == null) {
+			LOGGER.warn("Task " + task + " failed on worker " + reason);
+			if (++failures[task] >= MAX_ATTEMPTS) {
+				failure = new ClusterException("Task " + task + " failed " + failures[task] + " times, last on worker " + reason);
+			} else if (copies[task] == 0) {
+				pending.addFirst(task);
+			}
+		}
+		notifyAll();
+	}
+
+	/**
+	 * Stops accepting workers, workers still connected are stopped once their task is over.
+	 */
+	@Override
+	public void close() {
+		try {
+			server.close();
+		} catch (IOException e) {
+			LOGGER.warn("Exception closing coordinator", e);
+		}
+	}
+
+	private static int readPositive(String key, int defaultValue) {
+		String value = PropertiesUtil.get(key);
+		int n = (value == null || value.trim().isEmpty()) ? defaultValue : Integer.parseInt(value.trim());
+		if (n <= 0)
+			throw new IllegalArgumentException("Illegal value of " + key + ": " + n);
+		return n;
+	}
+
+	/**
+	 * Execute the coordinator.
+	 *
+	 * @param args Arguments, number of replications and optionally the seed of the study, '--workers N' starts N local worker processes,
+	 *             '--antithetic' runs every replication as a pair of antithetic simulations.
+	 * @throws IOException If the port can not be opened or the local workers can not be started.
+	 * @throws InterruptedException If the thread is interrupted while waiting for the workers.
+	 */
+	public static void main(String[] args) throws IOException, InterruptedException {
+		boolean antithetic = false;
+		int localWorkers = 0;
+		List<String> positional = new ArrayList<String>();
+		for (int i = 0; i < args.length; i++) {
+			if ("--antithetic".equals(args[i])) {
+				antithetic = true;
+			} else if ("--workers".equals(args[i]) && i + 1 < args.length) {
+				localWorkers = Integer.parseInt(args[++i]);
+			} else {
+				positional.add(args[i]);
+			}
+		}
+		int replications = positional.size() > 0 ? Integer.parseInt(positional.get(0)) : 100;
+		long seed = positional.size() > 1 ? Long.parseLong(positional.get(1)) : (SmartAirportSimulator.SEED != null ? SmartAirportSimulator.SEED : new SplittableRandom().nextLong());
+		ReplicationCoordinator coordinator = new ReplicationCoordinator(SimulationConfig.defaults(), SmartAirportSimulator.ENGINE, SmartAirportSimulator.ARRIVAL_MODE,
+				SmartAirportSimulator.RUNWAYS, antithetic, BATCH, PORT);
+		List<Process> workers = new ArrayList<Process>();
+		try {
+			/*
+			 * Local workers share the cores of this machine, each one runs with the classpath and configuration of the coordinator.
+			 */
+			int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / Math.max(1, localWorkers));
+			for (int i = 0; i < localWorkers; i++) {
+				String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+				workers.add(new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), ReplicationWorker.class.getName(), "localhost",
+						String.valueOf(coordinator.getPort()), String.valueOf(parallelism)).inheritIO().start());
+			}
+			LOGGER.info("Distributed replication study with seed: "+seed+" on port "+coordinator.getPort()+" starts at: "+ new Date());
+			ReplicationSummary summary = coordinator.run(replications, seed);
+			LOGGER.info("\n");
+			LOGGER.info("$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$ Replication Results $$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$");
+			LOGGER.info("\n");
+			summary.report();
+			LOGGER.info("\n");
+			LOGGER.info("Distributed replication study with seed: "+seed+" ends at: "+ new Date());
+		} finally {
+			coordinator.close();
+			for (Process worker : workers) {
+				if (!worker.waitFor(10, TimeUnit.SECONDS))
+					worker.destroy();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+package com.prasanna.cluster;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.sim.ReplicationRunner;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.util.RateProfile;
+
+/**
+ * This class holds the socket protocol between the replication coordinator {@link ReplicationCoordinator} and its workers {@link ReplicationWorker},
+ * binary messages written with data streams,
+ *
+ * 		1. The worker connects and sends MAGIC {@link #MAGIC} and VERSION {@link #VERSION}.
+ * 		2. The coordinator sends the study: the configuration, engine, arrival mode, runways and antithetic flag of every replication,
+ * 		   and the settings the worker reads from its own configuration file, see {@link #settings()}.
+ * 		3. The worker answers READY {@link #READY}, or REFUSED {@link #REFUSED} and a reason when its settings differ.
+ * 		4. The coordinator sends TASK {@link #TASK}, the task id and the seeds of its replications, or STOP {@link #STOP} when the study is over.
+ * 		5. The worker answers RESULT {@link #RESULT}, the task id and the replication summary of the task, or ERROR {@link #ERROR}, the task id and a reason,
+ * 		   and waits for the next task.
+ *
+ * @author pramakr2
+ *
+ */
+final class ReplicationProtocol {
+
+	/**
+	 * Magic number sent by every worker, "SAR2" in ASCII.
+	 */
+	static final int MAGIC = 0x53415232;
+
+	/**
+	 * Version of the protocol.
+	 */
+	static final int VERSION = 1;
+
+	static final byte READY = 1;
+	static final byte REFUSED = 2;
+	static final byte TASK = 3;
+	static final byte STOP = 4;
+	static final byte RESULT = 5;
+	static final byte ERROR = 6;
+
+	private ReplicationProtocol() {
+	}
+
+	/**
+	 * Gets the settings a worker reads from its own configuration file rather than from the study, the scheduling policy and the gates.
+	 * They must be the same on the coordinator and on every worker.
+	 *
+	 * @return settings
+	 */
+	static String settings() {
+		return "policy=" + SmartAirportSimulator.SCHEDULING_RULE + ", gates=" + Arrays.toString(SmartAirportSimulator.GATES) + ", taxi in="
+				+ SmartAirportSimulator.TAXI_IN_TIME + ", turnaround=" + SmartAirportSimulator.TURNAROUND_TIME + ", taxi out=" + SmartAirportSimulator.TAXI_OUT_TIME;
+	}
+
+	/**
+	 * Writes the study.
+	 *
+	 * @param out Output the study is written to.
+	 * @param config The configuration {@link SimulationConfig} of every replication.
+	 * @param engine The engine {@link SimulationEngine} which drives every replication.
+	 * @param arrivalMode How arrivals {@link ArrivalMode} of every replication are generated.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * @param antithetic Whether every replication is a pair of antithetic simulations.
+	 * @throws IOException If the study can not be written.
+	 */
+	static void writeStudy(DataOutput out, SimulationConfig config, SimulationEngine engine, ArrivalMode arrivalMode, RunwayUse[] runwayUses, boolean antithetic) throws IOException {
+		out.writeInt(config.getSimulationLength());
+		out.writeDouble(config.getLandingProbability());
+		out.writeDouble(config.getTakeOffProbability());
+		out.writeInt(config.getDeltaWaitTime());
+		out.writeInt(config.getWaitTime());
+		out.writeInt(config.getLandingTime());
+		out.writeInt(config.getTakeOffTime());
+		writeProfile(out, config.getLandingProfile());
+		writeProfile(out, config.getTakeOffProfile());
+		out.writeUTF(engine.name());
+		out.writeUTF(arrivalMode.name());
+		out.writeInt(runwayUses.length);
+		for (RunwayUse runwayUse : runwayUses) {
+			out.writeUTF(runwayUse.name());
+		}
+		out.writeBoolean(antithetic);
+		out.writeUTF(settings());
+	}
+
+	/**
+	 * Reads the study written by {@link #writeStudy(DataOutput, SimulationConfig, SimulationEngine, ArrivalMode, RunwayUse[], boolean)}
+	 * and checks the settings of the study against the settings of this worker.
+	 *
+	 * @param in Input the study is read from.
+	 * @param parallelism Number of threads running replications on this worker.
+	 * @return replication runner {@link ReplicationRunner} of the study.
+	 * @throws IOException If the study can not be read.
+	 *
+	 * @exception ClusterException
+	 *            Indicates that the settings of the study are not the settings of this worker.
+	 */
+	static ReplicationRunner readStudy(DataInput in, int parallelism) throws IOException {
+		SimulationConfig config = new SimulationConfig(in.readInt(), in.readDouble(), in.readDouble(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+		RateProfile landingProfile = readProfile(in);
+		config = config.withProfiles(landingProfile, readProfile(in));
+		SimulationEngine engine = SimulationEngine.valueOf(in.readUTF());
+		ArrivalMode arrivalMode = ArrivalMode.valueOf(in.readUTF());
+		RunwayUse[] runwayUses = new RunwayUse[in.readInt()];
+		for (int i = 0; i < runwayUses.length; i++) {
+			runwayUses[i] = RunwayUse.valueOf(in.readUTF());
+		}
+		boolean antithetic = in.readBoolean();
+		String settings = in.readUTF();
+		if (!settings().equals(settings))
+			throw new ClusterException("Study settings " + settings + " differ from worker settings " + settings());
+		return new ReplicationRunner(config, engine, arrivalMode, runwayUses, parallelism, antithetic);
+	}
+
+	private static void writeProfile(DataOutput out, RateProfile profile) throws IOException {
+		out.writeInt(profile == null ? 0 : profile.size());
+		if (profile == null)
+			return;
+		out.writeInt(profile.getPeriod());
+		for (int i = 0; i < profile.size(); i++) {
+			out.writeDouble(profile.getFactor(i));
+		}
+	}
+
+	private static RateProfile readProfile(DataInput in) throws IOException {
+		int size = in.readInt();
+		if (size == 0)
+			return null;
+		int period = in.readInt();
+		double[] factors = new double[size];
+		for (int i = 0; i < size; i++) {
+			factors[i] = in.readDouble();
+		}
+		return new RateProfile(period, factors);
+	}
+
+}
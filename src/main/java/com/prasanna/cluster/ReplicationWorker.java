@@ -0,0 +1,144 @@
+package com.prasanna.cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.sim.ReplicationRunner;
+import com.prasanna.sim.ReplicationSummary;
+
+/**
+ * This class runs replications for a replication coordinator {@link ReplicationCoordinator}, on another machine or as another process.
+ * The worker connects to the coordinator, gets the study and runs the tasks it is given one at a time, the replications of every task in parallel
+ * on its own cores, and sends back the summary {@link ReplicationSummary} of every task until the coordinator stops it.
+ * A worker can join a study at any time, and a worker which dies only costs the task it was running, which the coordinator gives to another worker.
+ *
+ * @author pramakr2
+ *
+ */
+public class ReplicationWorker {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationWorker.class);
+
+	/**
+	 * Host of the coordinator.
+	 */
+	private final String host;
+
+	/**
+	 * Port of the coordinator.
+	 */
+	private final int port;
+
+	/**
+	 * Number of threads running replications.
+	 */
+	private final int parallelism;
+
+	/**
+	 * Parameterized constructor.
+	 *
+	 * @param host Host of the coordinator.
+	 * @param port Port of the coordinator.
+	 * @param parallelism Number of threads running replications.
+	 */
+	public ReplicationWorker(String host, int port, int parallelism) {
+		if (parallelism < 1)
+			throw new IllegalArgumentException("Illegal parallelism: " + parallelism);
+		this.host = host;
+		this.port = port;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Connects to the coordinator and runs tasks until the coordinator stops the worker.
+	 *
+	 * @return number of tasks run.
+	 * @throws IOException If the connection to the coordinator fails.
+	 *
+	 * @exception ClusterException
+	 *            Indicates that the coordinator does not follow the protocol or the settings of the study differ from the settings of this worker.
+	 */
+	public int run() throws IOException {
+		try (Socket socket = new Socket(host, port)) {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeInt(ReplicationProtocol.MAGIC);
+			out.writeInt(ReplicationProtocol.VERSION);
+			out.flush();
+			ReplicationRunner runner;
+			try {
+				runner = ReplicationProtocol.readStudy(in, parallelism);
+			} catch (ClusterException | IllegalArgumentException e) {
+				out.writeByte(ReplicationProtocol.REFUSED);
+				out.writeUTF(String.valueOf(e.getMessage()));
+				out.flush();
+				throw e;
+			}
+			out.writeByte(ReplicationProtocol.READY);
+			out.flush();
+			int tasks = 0;
+			while (true) {
+				byte message = in.readByte();
+				if (message == ReplicationProtocol.STOP)
+					return tasks;
+				if (message != ReplicationProtocol.TASK)
+					throw new ClusterException("Unexpected message from coordinator: " + message);
+				int task = in.readInt();
+				long[] seeds = new long[in.readInt()];
+				for (int i = 0; i < seeds.length; i++) {
+					seeds[i] = in.readLong();
+				}
+				ReplicationSummary summary;
+				try {
+					summary = replicate(runner, seeds);
+				} catch (RuntimeException e) {
+					LOGGER.warn("Task " + task + " failed", e);
+					out.writeByte(ReplicationProtocol.ERROR);
+					out.writeInt(task);
+					out.writeUTF(String.valueOf(e));
+					out.flush();
+					continue;
+				}
+				out.writeByte(ReplicationProtocol.RESULT);
+				out.writeInt(task);
+				summary.checkpoint(out);
+				out.flush();
+				tasks++;
+			}
+		}
+	}
+
+	/**
+	 * Runs the replications of a task.
+	 *
+	 * @param runner Replication runner {@link ReplicationRunner} of the study.
+	 * @param seeds Seed of every replication of the task.
+	 * @return summary {@link ReplicationSummary} of the task.
+	 */
+	protected ReplicationSummary replicate(ReplicationRunner runner, long[] seeds) {
+		return runner.run(seeds);
+	}
+
+	/**
+	 * Execute the worker.
+	 *
+	 * @param args Arguments, host and optionally the port of the coordinator and the number of threads.
+	 * @throws IOException If the connection to the coordinator fails.
+	 */
+	public static void main(String[] args) throws IOException {
+		String host = args.length > 0 ? args[0] : "localhost";
+		int port = args.length > 1 ? Integer.parseInt(args[1]) : ReplicationCoordinator.PORT;
+		int parallelism = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		LOGGER.info("Replication worker connects to " + host + ":" + port + " with " + parallelism + " threads");
+		int tasks = new ReplicationWorker(host, port, parallelism).run();
+		LOGGER.info("Replication worker stopped after " + tasks + " tasks");
+	}
+
+}
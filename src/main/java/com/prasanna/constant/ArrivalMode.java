@@ -0,0 +1,35 @@
+package com.prasanna.constant;
+
+/**
+ * 
+ * This class contains the ways flight arrivals can be generated and three possible values are,
+ * 		1. BERNOULLI (A coin is flipped every tick).
+ * 		2. GEOMETRIC (The gap to the next arrival is drawn directly).
+ * 		3. TRACE (Arrivals are replayed from a schedule trace).
+ * 
+ * @author pramakr2
+ *
+ */
+public enum ArrivalMode {
+	
+	/**
+	 * 
+	 * Represents arrivals generated by flipping a coin every tick, see {@link com.prasanna.util.BooleanSource}.
+	 * 
+	 */
+	BERNOULLI,
+	
+	/**
+	 * 
+	 * Represents arrivals generated by drawing the number of ticks to the next arrival, see {@link com.prasanna.util.GeometricSource}.
+	 * 
+	 */
+	GEOMETRIC,
+	
+	/**
+	 * 
+	 * Represents arrivals replayed from a schedule trace, see {@link com.prasanna.trace.TraceReader}.
+	 * 
+	 */
+	TRACE
+}
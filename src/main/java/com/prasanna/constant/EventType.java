@@ -0,0 +1,61 @@
+package com.prasanna.constant;
+
+/**
+ * 
+ * This class contains different events of the discrete-event engine and six possible values are,
+ * 		1. TAKEOFF_ARRIVAL (Flight wants to take off).
+ * 		2. LANDING_ARRIVAL (Flight wants to land).
+ * 		3. TRACE_ARRIVAL (Flights of the schedule trace arrive).
+ * 		4. INBOUND_ARRIVAL (Flights handed over by another airport arrive).
+ * 		5. RUNWAY_START (Flight gets the runway).
+ * 		6. RUNWAY_CLEAR (Flight leaves the runway).
+ * 
+ * The order of the values is the order in which events of the same tick are processed, it mirrors the order of the fixed-tick engine.
+ * 
+ * @author pramakr2
+ *
+ */
+public enum EventType {
+	
+	/**
+	 * 
+	 * Represents flight wants to take off.
+	 * 
+	 */
+	TAKEOFF_ARRIVAL,
+	
+	/**
+	 * 
+	 * Represents flight wants to land.
+	 * 
+	 */
+	LANDING_ARRIVAL,
+	
+	/**
+	 * 
+	 * Represents flights of the schedule trace arrive, either to land or to take off.
+	 * 
+	 */
+	TRACE_ARRIVAL,
+	
+	/**
+	 * 
+	 * Represents flights handed over by another airport arrive, see {@link com.prasanna.network.NetworkSimulator}.
+	 * 
+	 */
+	INBOUND_ARRIVAL,
+	
+	/**
+	 * 
+	 * Represents waiting flight gets the runway, if runway is free.
+	 * 
+	 */
+	RUNWAY_START,
+	
+	/**
+	 * 
+	 * Represents flight on the runway has either landed or taken off.
+	 * 
+	 */
+	RUNWAY_CLEAR
+}
@@ -0,0 +1,61 @@
+package com.prasanna.constant;
+
+/**
+ * 
+ * This class contains the event types recorded in the event journal and six possible values are,
+ * 		1. LANDING_ARRIVAL (Flight starts waiting to land, value is its landing time).
+ * 		2. TAKEOFF_ARRIVAL (Flight starts waiting to take off, value is its take off time).
+ * 		3. RUNWAY_START (Flight gets a runway, value is its wait time).
+ * 		4. LANDED (Flight landed successfully, value is the runway id).
+ * 		5. TAKEN_OFF (Flight taken off successfully, value is the runway id).
+ * 		6. CRASHED (Flight was on the runway when the simulation ended, value is the runway id).
+ * 
+ * The ordinal of the value is written in the journal, so new values must be added at the end.
+ * 
+ * @author pramakr2
+ *
+ */
+public enum JournalEventType {
+	
+	/**
+	 * 
+	 * Represents flight starts waiting to land.
+	 * 
+	 */
+	LANDING_ARRIVAL,
+	
+	/**
+	 * 
+	 * Represents flight starts waiting to take off.
+	 * 
+	 */
+	TAKEOFF_ARRIVAL,
+	
+	/**
+	 * 
+	 * Represents flight gets a runway either for landing or take off.
+	 * 
+	 */
+	RUNWAY_START,
+	
+	/**
+	 * 
+	 * Represents flight landed successfully.
+	 * 
+	 */
+	LANDED,
+	
+	/**
+	 * 
+	 * Represents flight taken off successfully.
+	 * 
+	 */
+	TAKEN_OFF,
+	
+	/**
+	 * 
+	 * Represents flight crashed because the runway was killed by the simulator.
+	 * 
+	 */
+	CRASHED
+}
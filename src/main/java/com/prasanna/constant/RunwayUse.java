@@ -0,0 +1,35 @@
+package com.prasanna.constant;
+
+/**
+ * 
+ * This class contains the flight actions a runway can be used for and three possible values are,
+ * 		1. MIXED (Runway is used for landing and take off).
+ * 		2. LANDING_ONLY (Runway is used only for landing).
+ * 		3. TAKEOFF_ONLY (Runway is used only for take off).
+ * 
+ * @author pramakr2
+ *
+ */
+public enum RunwayUse {
+	
+	/**
+	 * 
+	 * Represents runway can be used by flight either for landing or take off.
+	 * 
+	 */
+	MIXED,
+	
+	/**
+	 * 
+	 * Represents runway can be used by flight only for landing.
+	 * 
+	 */
+	LANDING_ONLY,
+	
+	/**
+	 * 
+	 * Represents runway can be used by flight only for take off.
+	 * 
+	 */
+	TAKEOFF_ONLY
+}
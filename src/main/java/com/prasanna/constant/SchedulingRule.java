@@ -0,0 +1,43 @@
+package com.prasanna.constant;
+
+/**
+ * 
+ * This class contains the built-in rules deciding which waiting flight gets a free runway and four possible values are,
+ * 		1. STRICT_LANDING (Landing always beats take off, first come first served within landing and take off).
+ * 		2. LONGEST_WAIT_FIRST (The flight waiting the longest gets the runway).
+ * 		3. SHORTEST_SERVICE_FIRST (The flight needing the runway for the shortest time gets the runway).
+ * 		4. AGED_PRIORITY (Landing beats take off, but a take off waiting too long gets landing priority).
+ * 
+ * @author pramakr2
+ *
+ */
+public enum SchedulingRule {
+	
+	/**
+	 * 
+	 * Represents strict landing priority, see {@link com.prasanna.policy.StrictLandingPolicy}.
+	 * 
+	 */
+	STRICT_LANDING,
+	
+	/**
+	 * 
+	 * Represents longest wait first, see {@link com.prasanna.policy.LongestWaitFirstPolicy}.
+	 * 
+	 */
+	LONGEST_WAIT_FIRST,
+	
+	/**
+	 * 
+	 * Represents shortest service first, see {@link com.prasanna.policy.ShortestServiceFirstPolicy}.
+	 * 
+	 */
+	SHORTEST_SERVICE_FIRST,
+	
+	/**
+	 * 
+	 * Represents landing priority with aging of take offs, see {@link com.prasanna.policy.AgedPriorityPolicy}.
+	 * 
+	 */
+	AGED_PRIORITY
+}
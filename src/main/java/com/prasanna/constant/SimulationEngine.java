@@ -0,0 +1,27 @@
+package com.prasanna.constant;
+
+/**
+ * 
+ * This class contains the engines that can drive a simulation and two possible values are,
+ * 		1. TICK (Every tick of the simulation length is executed).
+ * 		2. EVENT (Simulation jumps from one event to the next one).
+ * 
+ * @author pramakr2
+ *
+ */
+public enum SimulationEngine {
+	
+	/**
+	 * 
+	 * Represents the fixed-tick engine, which executes every tick between 0 and the simulation length.
+	 * 
+	 */
+	TICK,
+	
+	/**
+	 * 
+	 * Represents the discrete-event engine, which keeps a time-ordered event calendar and skips the ticks where nothing happens.
+	 * 
+	 */
+	EVENT
+}
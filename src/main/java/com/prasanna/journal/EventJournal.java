@@ -0,0 +1,134 @@
+package com.prasanna.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.prasanna.constant.JournalEventType;
+
+/**
+ * EventJournal writes the audit trail of a simulation as fixed-size binary records instead of log lines.
+ * Records are collected in a direct buffer and written to the file channel in batches, so recording an event costs a few stores
+ * and no string formatting. The journal can be turned back into text with the journal reader {@link JournalReader}.
+ * 
+ * The file starts with a header of {@link #HEADER_SIZE} bytes (magic, version, record size) followed by records of {@link #RECORD_SIZE} bytes,
+ * 		1. tick - int, the tick at which the event happens.
+ * 		2. flight - long, the flight number.
+ * 		3. type - byte, the ordinal of the event type {@link JournalEventType}.
+ * 		4. value - int, meaning depends on the event type.
+ * 
+ * @author pramakr2
+ *
+ */
+public class EventJournal implements Closeable {
+	
+	/**
+	 * Magic number at the beginning of every journal, "SAJ1" in ASCII.
+	 */
+	public static final int MAGIC = 0x53414A31;
+	
+	/**
+	 * Version of the record layout.
+	 */
+	public static final int VERSION = 1;
+	
+	/**
+	 * Size of the header in bytes.
+	 */
+	public static final int HEADER_SIZE = 12;
+	
+	/**
+	 * Size of one record in bytes.
+	 */
+	public static final int RECORD_SIZE = 17;
+	
+	/**
+	 * Number of records buffered before they are written to the file.
+	 */
+	private static final int BATCH_RECORDS = 4096;
+	
+	/**
+	 * The file channel the journal is written to.
+	 */
+	private final FileChannel channel;
+	
+	/**
+	 * Buffer which collects records until it is full.
+	 */
+	private final ByteBuffer buffer;
+	
+	/**
+	 * Number of records written.
+	 */
+	private long records;
+
+	/**
+	 * Parameterized constructor, creates the journal file or truncates it if it exists.
+	 * 
+	 * @param file Journal file.
+	 * @throws IOException If the file can not be opened.
+	 */
+	public EventJournal(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		buffer = ByteBuffer.allocateDirect(RECORD_SIZE * BATCH_RECORDS);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(RECORD_SIZE);
+	}
+	
+	/**
+	 * Records an event.
+	 * 
+	 * @param tick The tick at which the event happens.
+	 * @param flight The flight number.
+	 * @param type The event type {@link JournalEventType}.
+	 * @param value Value of the event, its meaning depends on the event type.
+	 */
+	public void record(int tick, long flight, JournalEventType type, int value) {
+		if (buffer.remaining() < RECORD_SIZE)
+			flush();
+		buffer.putInt(tick).putLong(flight).put((byte) type.ordinal()).putInt(value);
+		records++;
+	}
+	
+	/**
+	 * Gets number of records written.
+	 * 
+	 * @return records
+	 */
+	public long getRecords() {
+		return records;
+	}
+	
+	/**
+	 * Writes the buffered records to the file.
+	 * 
+	 * @exception JournalException
+	 *            Indicates that the records could not be written.
+	 */
+	public void flush() {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new JournalException("Exception writing event journal", e);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the buffered records and closes the file.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+
+}
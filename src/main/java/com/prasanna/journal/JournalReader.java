@@ -0,0 +1,193 @@
+package com.prasanna.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import com.prasanna.constant.JournalEventType;
+
+/**
+ * JournalReader decodes the records of an event journal {@link EventJournal} one by one, reading the file in large blocks.
+ * It can also be executed to print a journal as text.
+ * 
+ * @author pramakr2
+ *
+ */
+public class JournalReader implements Closeable {
+	
+	/**
+	 * Event types {@link JournalEventType} indexed by ordinal.
+	 */
+	private static final JournalEventType[] TYPES = JournalEventType.values();
+	
+	/**
+	 * Number of records read from the file at once.
+	 */
+	private static final int BATCH_RECORDS = 4096;
+	
+	/**
+	 * The file channel the journal is read from.
+	 */
+	private final FileChannel channel;
+	
+	/**
+	 * Buffer which holds the records read from the file.
+	 */
+	private final ByteBuffer buffer;
+	
+	private int tick;
+	private long flight;
+	private JournalEventType type;
+	private int value;
+
+	/**
+	 * Parameterized constructor, opens the journal file and checks its header.
+	 * 
+	 * @param file Journal file.
+	 * @throws IOException If the file can not be read.
+	 * 
+	 * @exception JournalException
+	 *            Indicates that the file is not an event journal or has an unknown version.
+	 */
+	public JournalReader(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		buffer = ByteBuffer.allocateDirect(EventJournal.RECORD_SIZE * BATCH_RECORDS);
+		buffer.flip();
+		if (!fill(EventJournal.HEADER_SIZE)) {
+			channel.close();
+			throw new JournalException("Not an event journal: " + file);
+		}
+		int magic = buffer.getInt();
+		int version = buffer.getInt();
+		int recordSize = buffer.getInt();
+		if (magic != EventJournal.MAGIC || version != EventJournal.VERSION || recordSize != EventJournal.RECORD_SIZE) {
+			channel.close();
+			throw new JournalException("Unsupported event journal: " + file + ", version: " + version);
+		}
+	}
+	
+	/**
+	 * Reads the next record.
+	 * 
+	 * @return false when there is no record left.
+	 * @throws IOException If the file can not be read.
+	 */
+	public boolean next() throws IOException {
+		if (!fill(EventJournal.RECORD_SIZE))
+			return false;
+		tick = buffer.getInt();
+		flight = buffer.getLong();
+		type = TYPES[buffer.get()];
+		value = buffer.getInt();
+		return true;
+	}
+	
+	/**
+	 * Gets the tick of the current record.
+	 * 
+	 * @return tick
+	 */
+	public int getTick() {
+		return tick;
+	}
+
+	/**
+	 * Gets the flight number of the current record.
+	 * 
+	 * @return flight number
+	 */
+	public long getFlight() {
+		return flight;
+	}
+
+	/**
+	 * Gets the event type {@link JournalEventType} of the current record.
+	 * 
+	 * @return event type
+	 */
+	public JournalEventType getType() {
+		return type;
+	}
+
+	/**
+	 * Gets the value of the current record.
+	 * 
+	 * @return value
+	 */
+	public int getValue() {
+		return value;
+	}
+	
+	/**
+	 * Formats the current record as text, in the same words as the simulation log.
+	 * 
+	 * @return text
+	 */
+	public String format() {
+		switch (type) {
+		case LANDING_ARRIVAL:
+			return "Tick: " + tick + ", Flight Number: " + flight + ", Flight action: LANDING, Current LANDING time: " + value;
+		case TAKEOFF_ARRIVAL:
+			return "Tick: " + tick + ", Flight Number: " + flight + ", Flight action: TAKING_OFF, Current TAKING_OFF time: " + value;
+		case RUNWAY_START:
+			return "Tick: " + tick + ", Flight Number: " + flight + " Using runway: TRUE, Wait time: " + value;
+		case LANDED:
+			return "Tick: " + tick + ", Flight Number: " + flight + " successfully landed. Runway: " + value;
+		case TAKEN_OFF:
+			return "Tick: " + tick + ", Flight Number: " + flight + " successfully taken off. Runway: " + value;
+		default:
+			return "Tick: " + tick + ", Flight Number: " + flight + " crashed!! Runway: " + value;
+		}
+	}
+	
+	/**
+	 * Makes sure the buffer holds at least the given number of bytes.
+	 * 
+	 * @param bytes Number of bytes needed.
+	 * @return false when the end of the file is reached.
+	 */
+	private boolean fill(int bytes) throws IOException {
+		if (buffer.remaining() >= bytes)
+			return true;
+		buffer.compact();
+		while (buffer.position() < bytes) {
+			if (channel.read(buffer) < 0)
+				break;
+		}
+		buffer.flip();
+		return buffer.remaining() >= bytes;
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+	
+	/**
+	 * Prints an event journal as text.
+	 * 
+	 * @param args Arguments, the journal file.
+	 * @throws IOException If the file can not be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: JournalReader <journal file>");
+			return;
+		}
+		PrintStream out = System.out;
+		JournalReader reader = new JournalReader(Paths.get(args[0]));
+		try {
+			while (reader.next()) {
+				out.println(reader.format());
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+}
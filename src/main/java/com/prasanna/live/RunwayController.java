@@ -0,0 +1,422 @@
+package com.prasanna.live;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.constant.RunwayStatus;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.model.FlightStore;
+import com.prasanna.model.Runway;
+import com.prasanna.model.RunwayPool;
+import com.prasanna.policy.SchedulingPolicy;
+import com.prasanna.util.IndexedMinHeap;
+import com.prasanna.util.IntRingDeque;
+import com.prasanna.util.MpscQueue;
+
+/**
+ * This class runs the runways {@link Runway} of an airport online. Any number of threads submit landing and take off requests concurrently,
+ * requests go through a lock-free queue {@link MpscQueue} to a single controller thread, which is the only thread touching the runways,
+ * the flight store and the waiting queues. Runways are not thread-safe, confining them to the controller thread is what makes concurrent feeds safe.
+ * 
+ * The controller works tick by tick like the fixed-tick engine of SmartAirportSimulator {@link com.prasanna.sim.SmartAirportSimulator}:
+ * requests taken in a tick start waiting in that tick, waiting flights get free runways by the scheduling policy {@link SchedulingPolicy}
+ * and runways in use are cleared. A tick lasts the given tick length of real time, with a tick length of 0 ticks follow each other
+ * as fast as possible and time stands still while the airport is idle.
+ * 
+ * Every request gets a CompletableFuture which completes with the runway grant {@link RunwayGrant} when the flight gets a runway.
+ * Futures are completed on the callback executor, so slow callbacks never hold up the controller.
+ * 
+ * @author pramakr2
+ *
+ */
+public class RunwayController {
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(RunwayController.class);
+	
+	/**
+	 * Last tick of the controller, ticks and arrival times are ints, so the controller stops before they overflow.
+	 * With a tick length of 1 millisecond the controller runs for about 24 days.
+	 */
+	public static final int MAX_TICK = Integer.MAX_VALUE;
+	
+	/**
+	 * Requests submitted and not taken by the controller thread yet.
+	 */
+	private final MpscQueue<Request> intake = new MpscQueue<Request>();
+	
+	/**
+	 * The flight store {@link FlightStore} which holds the waiting flights and the flights on the runways.
+	 */
+	private final FlightStore flights = new FlightStore();
+	
+	/**
+	 * The runway pool {@link RunwayPool} of the airport.
+	 */
+	private final RunwayPool runways;
+	
+	/**
+	 * The scheduling policy {@link SchedulingPolicy} which decides which waiting flight gets a free runway.
+	 */
+	private final SchedulingPolicy policy;
+	
+	/**
+	 * Real time length of a tick in nanoseconds, 0 to run ticks as fast as possible.
+	 */
+	private final long tickNanos;
+	
+	/**
+	 * Executor completing the futures of the requests.
+	 */
+	private final Executor callbacks;
+	
+	/**
+	 * Slots of the flights waiting to land, ordered by priority and flight number.
+	 */
+	private final IndexedMinHeap landingQ = new IndexedMinHeap();
+	
+	/**
+	 * Slots of the flights waiting to take off, ordered by priority and flight number.
+	 */
+	private final IndexedMinHeap takeOffQ = new IndexedMinHeap();
+	
+	/**
+	 * Flights waiting to land in arrival order, as pairs of slot and arrival time, for aging.
+	 */
+	private final IntRingDeque agingLandings = new IntRingDeque();
+	
+	/**
+	 * Flights waiting to take off in arrival order, as pairs of slot and arrival time, for aging.
+	 */
+	private final IntRingDeque agingTakeOffs = new IntRingDeque();
+	
+	/**
+	 * Futures of the flights by slot.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private CompletableFuture<RunwayGrant>[] futures = new CompletableFuture[16];
+	
+	/**
+	 * The controller thread, null until started.
+	 */
+	private volatile Thread thread;
+	
+	/**
+	 * Whether the controller thread keeps running.
+	 */
+	private volatile boolean running;
+	
+	/**
+	 * Whether the controller thread waits for requests because the airport is idle.
+	 */
+	private volatile boolean idle;
+	
+	/**
+	 * The current tick, written by the controller thread only.
+	 */
+	private volatile int tick;
+	
+	/**
+	 * Number of flights which got a runway, written by the controller thread only.
+	 */
+	private volatile long granted;
+	
+	/**
+	 * Parameterized constructor. Futures are completed on the common fork/join pool.
+	 * 
+	 * @param policy The scheduling policy {@link SchedulingPolicy} which decides which waiting flight gets a free runway.
+	 * @param tickMillis Real time length of a tick in milliseconds, 0 to run ticks as fast as possible.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	public RunwayController(SchedulingPolicy policy, long tickMillis, RunwayUse... runwayUses) {
+		this(policy, tickMillis, ForkJoinPool.commonPool(), runwayUses);
+	}
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param policy The scheduling policy {@link SchedulingPolicy} which decides which waiting flight gets a free runway.
+	 * @param tickMillis Real time length of a tick in milliseconds, 0 to run ticks as fast as possible.
+	 * @param callbacks Executor completing the futures of the requests.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the tick length is negative.
+	 */
+	public RunwayController(SchedulingPolicy policy, long tickMillis, Executor callbacks, RunwayUse... runwayUses) {
+		if (tickMillis < 0)
+			throw new IllegalArgumentException("Illegal tick length: " + tickMillis);
+		this.policy = policy;
+		this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+		this.callbacks = callbacks;
+		this.runways = new RunwayPool(flights, runwayUses);
+	}
+	
+	/**
+	 * Starts the controller thread.
+	 * 
+	 * @exception IllegalStateException
+	 *            Indicates that the controller has been started already.
+	 */
+	public synchronized void start() {
+		if (thread != null)
+			throw new IllegalStateException("Runway controller has been started already");
+		running = true;
+		Thread controller = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				control();
+			}
+		}, "runway-controller");
+		controller.setDaemon(true);
+		thread = controller;
+		controller.start();
+	}
+	
+	/**
+	 * Stops the controller thread and waits for it to end. Requests which have not got a runway are cancelled.
+	 * 
+	 * @throws InterruptedException If the calling thread is interrupted while waiting.
+	 */
+	public void stop() throws InterruptedException {
+		running = false;
+		Thread controller = thread;
+		if (controller != null) {
+			LockSupport.unpark(controller);
+			controller.join();
+		}
+	}
+	
+	/**
+	 * Requests a runway, can be called by any thread. The flight starts waiting in the tick in which the controller takes the request.
+	 * 
+	 * @param action The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @param runwayTime The time needed by flight on the runway.
+	 * @return future completing with the runway grant {@link RunwayGrant}, cancelled if the controller stops first.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the action is neither LANDING nor TAKING_OFF or the runway time is less than one tick.
+	 */
+	public CompletableFuture<RunwayGrant> request(FlightAction action, int runwayTime) {
+		if (!FlightAction.LANDING.equals(action) && !FlightAction.TAKING_OFF.equals(action))
+			throw new IllegalArgumentException("Illegal flight action: " + action);
+		if (runwayTime < 1)
+			throw new IllegalArgumentException("Illegal runway time: " + runwayTime);
+		Request request = new Request(action, runwayTime);
+		if (!running) {
+			request.future.cancel(false);
+			return request.future;
+		}
+		intake.offer(request);
+		if (idle)
+			LockSupport.unpark(thread);
+		if (!running)
+			request.future.cancel(false);
+		return request.future;
+	}
+	
+	/**
+	 * Gets the current tick.
+	 * 
+	 * @return tick
+	 */
+	public int getTick() {
+		return tick;
+	}
+	
+	/**
+	 * Gets the number of flights which got a runway.
+	 * 
+	 * @return granted
+	 */
+	public long getGranted() {
+		return granted;
+	}
+	
+	/**
+	 * Loop of the controller thread, the controller fails once it reaches MAX_TICK {@link #MAX_TICK} and cancels the waiting requests.
+	 */
+	private void control() {
+		long start = System.nanoTime();
+		try {
+			for (int t = 0; running; t++) {
+				if (t == MAX_TICK)
+					throw new IllegalStateException("Runway controller ran out of ticks at tick " + t);
+				tick = t;
+				take(t);
+				long busyRunways = runways.getBusyRunways();
+				assignRunways(t);
+				
+				/*
+				 * Clears runways for next flight either take off or landing, a runway cleared in this tick can be used only from the next tick.
+				 */
+				while (busyRunways != 0) {
+					Runway runway = runways.get(Long.numberOfTrailingZeros(busyRunways));
+					busyRunways &= busyRunways - 1;
+					int flight = runway.getFlight();
+					FlightAction flightStatus = runway.clearRunWay();
+					if (FlightAction.LANDED.equals(flightStatus) || FlightAction.TAKEN_OFF.equals(flightStatus)) {
+						runways.release(runway);
+						flights.remove(flight);
+					}
+				}
+				await(start, t + 1);
+			}
+		} catch (RuntimeException e) {
+			LOGGER.error("Runway controller failed at tick " + tick, e);
+			throw e;
+		} finally {
+			running = false;
+			cancel();
+		}
+	}
+	
+	/**
+	 * Waits for the given tick to start. With a tick length of 0 the controller only waits while the airport is idle.
+	 * 
+	 * @param start Real time at which tick 0 started.
+	 * @param next The next tick.
+	 */
+	private void await(long start, int next) {
+		if (tickNanos > 0) {
+			long remaining;
+			while (running && (remaining = start + next * tickNanos - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, remaining);
+			}
+		} else if (flights.size() == 0) {
+			/*
+			 * The flag is set before the intake is checked and producers check it after offering, so no request is missed.
+			 */
+			idle = true;
+			while (running && intake.isEmpty()) {
+				LockSupport.park(this);
+			}
+			idle = false;
+		}
+	}
+	
+	/**
+	 * Takes the submitted requests, the flights start waiting in the given tick.
+	 * 
+	 * @param t Current tick.
+	 */
+	private void take(int t) {
+		Request request;
+		while ((request = intake.poll()) != null) {
+			if (request.future.isDone())
+				continue;
+			int flight = flights.add(request.action, t, request.runwayTime);
+			if (flight >= futures.length)
+				futures = Arrays.copyOf(futures, Math.max(flight + 1, futures.length * 2));
+			futures[flight] = request.future;
+			boolean landing = FlightAction.LANDING.equals(request.action);
+			(landing ? landingQ : takeOffQ).offer(flight, policy.priority(request.action, t, request.runwayTime), flights.getId(flight));
+			if (policy.getAgingTime() != SchedulingPolicy.NEVER) {
+				IntRingDeque aging = landing ? agingLandings : agingTakeOffs;
+				aging.offer(flight);
+				aging.offer(t);
+			}
+		}
+	}
+	
+	/**
+	 * Assigns waiting flights to the free runways, the flight coming first by priority and then by flight number gets a runway first.
+	 * 
+	 * @param t Current tick.
+	 */
+	private void assignRunways(int t) {
+		age(t, agingLandings, landingQ, FlightAction.LANDING);
+		age(t, agingTakeOffs, takeOffQ, FlightAction.TAKING_OFF);
+		while (true) {
+			boolean landing = !landingQ.isEmpty() && runways.isClear(FlightAction.LANDING);
+			boolean takeOff = !takeOffQ.isEmpty() && runways.isClear(FlightAction.TAKING_OFF);
+			if (!landing && !takeOff)
+				break;
+			if (landing && takeOff)
+				landing = landingQ.peekKey() < takeOffQ.peekKey() || (landingQ.peekKey() == takeOffQ.peekKey() && landingQ.peekTie() < takeOffQ.peekTie());
+			int flight = landing ? landingQ.poll() : takeOffQ.poll();
+			if (futures[flight].isDone()) {
+				/*
+				 * The request was cancelled while waiting, the flight leaves without a runway.
+				 */
+				futures[flight] = null;
+				flights.remove(flight);
+				continue;
+			}
+			Runway runway = runways.acquire(flights.getAction(flight));
+			flights.setWaitTime(flight, t - flights.getArrivalTime(flight));
+			runway.useRunway(flight, RunwayStatus.BUSY);
+			granted++;
+			final CompletableFuture<RunwayGrant> future = futures[flight];
+			futures[flight] = null;
+			final RunwayGrant grant = new RunwayGrant(flights.getId(flight), flights.getAction(flight), runway.getId(),
+					flights.getArrivalTime(flight), t, flights.getRunwayTime(flight));
+			callbacks.execute(new Runnable() {
+				@Override
+				public void run() {
+					future.complete(grant);
+				}
+			});
+		}
+	}
+	
+	/**
+	 * Raises the priority of the waiting flights which have waited for the aging time of the scheduling policy {@link SchedulingPolicy}.
+	 * 
+	 * @param t Current tick.
+	 * @param aging Waiting flights in arrival order, as pairs of slot and arrival time.
+	 * @param queue Queue the flights are waiting in.
+	 * @param action The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 */
+	private void age(int t, IntRingDeque aging, IndexedMinHeap queue, FlightAction action) {
+		long aged = (long) t - policy.getAgingTime();
+		while (!aging.isEmpty() && aging.get(1) <= aged) {
+			int flight = aging.poll();
+			aging.poll();
+			if (queue.contains(flight) && flights.getArrivalTime(flight) <= aged) {
+				long priority = policy.agedPriority(action, flights.getArrivalTime(flight), flights.getRunwayTime(flight));
+				if (priority < queue.getKey(flight))
+					queue.decreaseKey(flight, priority);
+			}
+		}
+	}
+	
+	/**
+	 * Cancels the requests which have not got a runway.
+	 */
+	private void cancel() {
+		Request request;
+		while ((request = intake.poll()) != null) {
+			request.future.cancel(false);
+		}
+		for (int i = 0; i < futures.length; i++) {
+			if (futures[i] != null) {
+				futures[i].cancel(false);
+				futures[i] = null;
+			}
+		}
+	}
+	
+	/**
+	 * Runway request of a flight on its way to the controller thread.
+	 */
+	private static final class Request {
+		
+		private final FlightAction action;
+		private final int runwayTime;
+		private final CompletableFuture<RunwayGrant> future = new CompletableFuture<RunwayGrant>();
+		
+		Request(FlightAction action, int runwayTime) {
+			this.action = action;
+			this.runwayTime = runwayTime;
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+package com.prasanna.live;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * This class contains the runway grant of a flight requested from the runway controller {@link RunwayController}.
+ * 
+ * @author pramakr2
+ *
+ */
+public class RunwayGrant {
+
+	/**
+	 * The flight number given by the controller.
+	 */
+	private final long flight;
+	
+	/**
+	 * The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 */
+	private final FlightAction action;
+	
+	/**
+	 * The id of the runway the flight got.
+	 */
+	private final int runway;
+	
+	/**
+	 * The tick at which the controller took the request.
+	 */
+	private final int requestTick;
+	
+	/**
+	 * The tick at which the flight got the runway.
+	 */
+	private final int grantTick;
+	
+	/**
+	 * The time the flight stays on the runway.
+	 */
+	private final int runwayTime;
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param flight The flight number given by the controller.
+	 * @param action The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @param runway The id of the runway the flight got.
+	 * @param requestTick The tick at which the controller took the request.
+	 * @param grantTick The tick at which the flight got the runway.
+	 * @param runwayTime The time the flight stays on the runway.
+	 */
+	public RunwayGrant(long flight, FlightAction action, int runway, int requestTick, int grantTick, int runwayTime) {
+		this.flight = flight;
+		this.action = action;
+		this.runway = runway;
+		this.requestTick = requestTick;
+		this.grantTick = grantTick;
+		this.runwayTime = runwayTime;
+	}
+
+	/**
+	 * Gets the flight number.
+	 * 
+	 * @return flight
+	 */
+	public long getFlight() {
+		return flight;
+	}
+
+	/**
+	 * Gets the flight action {@link FlightAction}.
+	 * 
+	 * @return action
+	 */
+	public FlightAction getAction() {
+		return action;
+	}
+
+	/**
+	 * Gets the id of the runway the flight got.
+	 * 
+	 * @return runway
+	 */
+	public int getRunway() {
+		return runway;
+	}
+
+	/**
+	 * Gets the tick at which the controller took the request.
+	 * 
+	 * @return requestTick
+	 */
+	public int getRequestTick() {
+		return requestTick;
+	}
+
+	/**
+	 * Gets the tick at which the flight got the runway.
+	 * 
+	 * @return grantTick
+	 */
+	public int getGrantTick() {
+		return grantTick;
+	}
+	
+	/**
+	 * Gets the time the flight stays on the runway.
+	 * 
+	 * @return runwayTime
+	 */
+	public int getRunwayTime() {
+		return runwayTime;
+	}
+	
+	/**
+	 * Gets the number of ticks the flight waited for the runway.
+	 * 
+	 * @return wait ticks.
+	 */
+	public int getWaitTicks() {
+		return grantTick - requestTick;
+	}
+	
+	@Override
+	public String toString() {
+		return "Flight Number: " + flight + ", Flight action: " + action + ", Runway: " + runway + ", Requested: " + requestTick + ", Granted: " + grantTick;
+	}
+	
+}
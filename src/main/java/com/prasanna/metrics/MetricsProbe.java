@@ -0,0 +1,81 @@
+package com.prasanna.metrics;
+
+/**
+ * MetricsProbe reports the progress of one simulation to the runtime metrics {@link SimulationMetrics}.
+ * The simulation hands over its own running totals and the probe adds what changed since the last report,
+ * so the simulation loop keeps its plain counters and only pays for the metrics once per report.
+ * A probe belongs to the thread running its simulation.
+ * 
+ * @author pramakr2
+ *
+ */
+public class MetricsProbe {
+
+	private final SimulationMetrics metrics;
+	private final int runways;
+	private int tick;
+	private long flightsLanded;
+	private long flightsTakenOff;
+	private long runwayBusyTicks;
+	private int landingQueueDepth;
+	private int takeOffQueueDepth;
+	private boolean closed;
+	
+	MetricsProbe(SimulationMetrics metrics, int runways) {
+		this.metrics = metrics;
+		this.runways = runways;
+	}
+	
+	/**
+	 * Sets the totals the next report is measured from, without reporting them. Used when a simulation continues from a checkpoint.
+	 * 
+	 * @param tick The next tick of the simulation.
+	 * @param flightsLanded Number of flights which have landed.
+	 * @param flightsTakenOff Number of flights which have taken off.
+	 * @param runwayBusyTicks Number of ticks runways have been in use.
+	 */
+	public void baseline(int tick, long flightsLanded, long flightsTakenOff, long runwayBusyTicks) {
+		this.tick = tick;
+		this.flightsLanded = flightsLanded;
+		this.flightsTakenOff = flightsTakenOff;
+		this.runwayBusyTicks = runwayBusyTicks;
+	}
+	
+	/**
+	 * Reports the totals of the simulation.
+	 * 
+	 * @param tick The next tick of the simulation.
+	 * @param flightsLanded Number of flights which have landed.
+	 * @param flightsTakenOff Number of flights which have taken off.
+	 * @param runwayBusyTicks Number of ticks runways have been in use, summed over all the runways.
+	 * @param landingQueueDepth Number of flights waiting to land.
+	 * @param takeOffQueueDepth Number of flights waiting to take off.
+	 */
+	public void report(int tick, long flightsLanded, long flightsTakenOff, long runwayBusyTicks, int landingQueueDepth, int takeOffQueueDepth) {
+		if (closed)
+			return;
+		metrics.ticks.add(tick - this.tick);
+		metrics.runwayTicks.add((long) (tick - this.tick) * runways);
+		metrics.flightsLanded.add(flightsLanded - this.flightsLanded);
+		metrics.flightsTakenOff.add(flightsTakenOff - this.flightsTakenOff);
+		metrics.runwayBusyTicks.add(runwayBusyTicks - this.runwayBusyTicks);
+		metrics.landingQueueDepth.add(landingQueueDepth - this.landingQueueDepth);
+		metrics.takeOffQueueDepth.add(takeOffQueueDepth - this.takeOffQueueDepth);
+		baseline(tick, flightsLanded, flightsTakenOff, runwayBusyTicks);
+		this.landingQueueDepth = landingQueueDepth;
+		this.takeOffQueueDepth = takeOffQueueDepth;
+	}
+	
+	/**
+	 * Ends the reports of the simulation, its flights no longer count as waiting.
+	 */
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		metrics.landingQueueDepth.add(-landingQueueDepth);
+		metrics.takeOffQueueDepth.add(-takeOffQueueDepth);
+		metrics.activeSimulations.decrement();
+	}
+	
+}
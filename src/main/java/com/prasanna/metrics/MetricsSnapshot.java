@@ -0,0 +1,206 @@
+package com.prasanna.metrics;
+
+/**
+ * This class holds the totals of the runtime metrics {@link SimulationMetrics} at one point in time,
+ * together with the rates measured since the previous snapshot.
+ * 
+ * @author pramakr2
+ *
+ */
+public class MetricsSnapshot {
+
+	/**
+	 * Wall time of the snapshot in nanoseconds, as given by System.nanoTime().
+	 */
+	private final long time;
+	
+	private final long activeSimulations;
+	private final long ticks;
+	private final long flightsLanded;
+	private final long flightsTakenOff;
+	private final long landingQueueDepth;
+	private final long takeOffQueueDepth;
+	private final long runwayBusyTicks;
+	private final long runwayTicks;
+	
+	/**
+	 * Bytes allocated by the threads of the JVM, threads which have exited included, -1 if the JVM does not measure allocations.
+	 * A lower bound, bytes a thread allocated after the last snapshot before it exited are not counted.
+	 */
+	private final long allocatedBytes;
+	
+	private final double runwayUtilization;
+	private final double ticksPerSecond;
+	private final double landingsPerSecond;
+	private final double takeOffsPerSecond;
+	private final double allocationRate;
+	
+	/**
+	 * Parameterized constructor, the rates are measured since the previous snapshot.
+	 * 
+	 * @param previous The previous snapshot, null for the first one.
+	 * @param time Wall time of the snapshot in nanoseconds.
+	 * @param activeSimulations Number of simulations which are not over.
+	 * @param ticks Number of ticks simulated.
+	 * @param flightsLanded Number of flights which have landed.
+	 * @param flightsTakenOff Number of flights which have taken off.
+	 * @param landingQueueDepth Number of flights waiting to land.
+	 * @param takeOffQueueDepth Number of flights waiting to take off.
+	 * @param runwayBusyTicks Number of ticks runways have been in use, summed over all the runways.
+	 * @param runwayTicks Number of ticks simulated, summed over all the runways.
+	 * @param allocatedBytes Bytes allocated by the threads of the JVM, -1 if unknown.
+	 */
+	public MetricsSnapshot(MetricsSnapshot previous, long time, long activeSimulations, long ticks, long flightsLanded, long flightsTakenOff,
+			long landingQueueDepth, long takeOffQueueDepth, long runwayBusyTicks, long runwayTicks, long allocatedBytes) {
+		this.time = time;
+		this.activeSimulations = activeSimulations;
+		this.ticks = ticks;
+		this.flightsLanded = flightsLanded;
+		this.flightsTakenOff = flightsTakenOff;
+		this.landingQueueDepth = landingQueueDepth;
+		this.takeOffQueueDepth = takeOffQueueDepth;
+		this.runwayBusyTicks = runwayBusyTicks;
+		this.runwayTicks = runwayTicks;
+		this.allocatedBytes = allocatedBytes;
+		if (previous == null || time <= previous.time) {
+			runwayUtilization = runwayTicks == 0 ? 0 : (double) runwayBusyTicks / runwayTicks;
+			ticksPerSecond = 0;
+			landingsPerSecond = 0;
+			takeOffsPerSecond = 0;
+			allocationRate = allocatedBytes < 0 ? -1 : 0;
+		} else {
+			double seconds = (time - previous.time) / 1e9;
+			long intervalRunwayTicks = runwayTicks - previous.runwayTicks;
+			runwayUtilization = intervalRunwayTicks == 0 ? 0 : (double) (runwayBusyTicks - previous.runwayBusyTicks) / intervalRunwayTicks;
+			ticksPerSecond = (ticks - previous.ticks) / seconds;
+			landingsPerSecond = (flightsLanded - previous.flightsLanded) / seconds;
+			takeOffsPerSecond = (flightsTakenOff - previous.flightsTakenOff) / seconds;
+			allocationRate = allocatedBytes < 0 || previous.allocatedBytes < 0 ? -1 : Math.max(0, allocatedBytes - previous.allocatedBytes) / seconds;
+		}
+	}
+
+	/**
+	 * Gets the wall time of the snapshot in nanoseconds.
+	 * 
+	 * @return time
+	 */
+	public long getTime() {
+		return time;
+	}
+
+	/**
+	 * Gets the number of simulations which are not over.
+	 * 
+	 * @return activeSimulations
+	 */
+	public long getActiveSimulations() {
+		return activeSimulations;
+	}
+
+	/**
+	 * Gets the number of ticks simulated.
+	 * 
+	 * @return ticks
+	 */
+	public long getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * Gets the number of flights which have landed.
+	 * 
+	 * @return flightsLanded
+	 */
+	public long getFlightsLanded() {
+		return flightsLanded;
+	}
+
+	/**
+	 * Gets the number of flights which have taken off.
+	 * 
+	 * @return flightsTakenOff
+	 */
+	public long getFlightsTakenOff() {
+		return flightsTakenOff;
+	}
+
+	/**
+	 * Gets the number of flights waiting to land.
+	 * 
+	 * @return landingQueueDepth
+	 */
+	public long getLandingQueueDepth() {
+		return landingQueueDepth;
+	}
+
+	/**
+	 * Gets the number of flights waiting to take off.
+	 * 
+	 * @return takeOffQueueDepth
+	 */
+	public long getTakeOffQueueDepth() {
+		return takeOffQueueDepth;
+	}
+	
+	/**
+	 * Gets the bytes allocated by the threads of the JVM, threads which have exited included.
+	 * 
+	 * @return allocatedBytes, -1 if unknown.
+	 */
+	public long getAllocatedBytes() {
+		return allocatedBytes;
+	}
+
+	/**
+	 * Gets the share of the runway ticks the runways have been in use since the previous snapshot.
+	 * 
+	 * @return runwayUtilization
+	 */
+	public double getRunwayUtilization() {
+		return runwayUtilization;
+	}
+
+	/**
+	 * Gets the number of ticks simulated per second since the previous snapshot.
+	 * 
+	 * @return ticksPerSecond
+	 */
+	public double getTicksPerSecond() {
+		return ticksPerSecond;
+	}
+
+	/**
+	 * Gets the number of flights landed per second since the previous snapshot.
+	 * 
+	 * @return landingsPerSecond
+	 */
+	public double getLandingsPerSecond() {
+		return landingsPerSecond;
+	}
+
+	/**
+	 * Gets the number of flights taken off per second since the previous snapshot.
+	 * 
+	 * @return takeOffsPerSecond
+	 */
+	public double getTakeOffsPerSecond() {
+		return takeOffsPerSecond;
+	}
+
+	/**
+	 * Gets the bytes allocated per second since the previous snapshot.
+	 * 
+	 * @return allocationRate, -1 if unknown.
+	 */
+	public double getAllocationRate() {
+		return allocationRate;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("simulations=%d ticks=%d (%.0f/s) landed=%d (%.1f/s) takenOff=%d (%.1f/s) landingQ=%d takeOffQ=%d runwayUtilization=%.3f allocation=%.1f MB/s",
+				activeSimulations, ticks, ticksPerSecond, flightsLanded, landingsPerSecond, flightsTakenOff, takeOffsPerSecond,
+				landingQueueDepth, takeOffQueueDepth, runwayUtilization, allocationRate < 0 ? -1 : allocationRate / (1 << 20));
+	}
+	
+}
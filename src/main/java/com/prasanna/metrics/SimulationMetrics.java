@@ -0,0 +1,262 @@
+package com.prasanna.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * This class collects runtime metrics of running simulations: ticks, flights landed and taken off, queue depths and runway use.
+ * Simulations report through a metrics probe {@link MetricsProbe} once every STRIDE {@link #STRIDE} ticks, never per flight,
+ * and totals are striped LongAdders, so many simulations running in parallel replications report to the same metrics at no measurable cost.
+ * 
+ * When 'sa.sim.metrics.interval' is set, the global metrics {@link #global()} are published as JMX MBean 'com.prasanna:type=SimulationMetrics'
+ * and a snapshot {@link MetricsSnapshot} is logged every interval, which is enough to spot a stalled or runaway simulation.
+ * 
+ * @author pramakr2
+ *
+ */
+public class SimulationMetrics implements SimulationMetricsMXBean {
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(SimulationMetrics.class);
+	
+	/**
+	 * Number of ticks between two reports of a simulation.
+	 */
+	public static final int STRIDE = 1024;
+	
+	/**
+	 * Name of the JMX MBean of the global metrics.
+	 */
+	public static final String OBJECT_NAME = "com.prasanna:type=SimulationMetrics";
+	
+	/**
+	 * METRICS_INTERVAL - Reads the number of seconds between two snapshots from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.metrics.interval', 0 when no metrics are collected.
+	 */
+	public static final int METRICS_INTERVAL = readInterval();
+	
+	/**
+	 * The global metrics, null when no metrics are collected.
+	 */
+	private static final SimulationMetrics GLOBAL = METRICS_INTERVAL > 0 ? startGlobal(METRICS_INTERVAL) : null;
+
+	final LongAdder activeSimulations = new LongAdder();
+	final LongAdder ticks = new LongAdder();
+	final LongAdder flightsLanded = new LongAdder();
+	final LongAdder flightsTakenOff = new LongAdder();
+	final LongAdder landingQueueDepth = new LongAdder();
+	final LongAdder takeOffQueueDepth = new LongAdder();
+	final LongAdder runwayBusyTicks = new LongAdder();
+	final LongAdder runwayTicks = new LongAdder();
+	
+	/**
+	 * The last snapshot, the rates of the MBean are read from it.
+	 */
+	private volatile MetricsSnapshot last;
+	
+	/**
+	 * Bytes allocated by every live thread at the last snapshot, by thread id.
+	 */
+	private Map<Long, Long> threadBytes = new HashMap<Long, Long>();
+	
+	/**
+	 * Bytes allocated by the threads which have exited, up to the last snapshot they were seen in.
+	 */
+	private long exitedBytes;
+	
+	/**
+	 * Gets the global metrics every simulator reports to, configured by 'sa.sim.metrics.interval'.
+	 * 
+	 * @return global metrics, null when no metrics are collected.
+	 */
+	public static SimulationMetrics global() {
+		return GLOBAL;
+	}
+	
+	/**
+	 * Creates the probe {@link MetricsProbe} of one simulation, the simulation is active until the probe is closed.
+	 * 
+	 * @param runways Number of runways of the simulation.
+	 * @return probe
+	 */
+	public MetricsProbe probe(int runways) {
+		activeSimulations.increment();
+		return new MetricsProbe(this, runways);
+	}
+	
+	/**
+	 * Takes a snapshot of the totals and measures the rates since the previous snapshot.
+	 * 
+	 * @return snapshot {@link MetricsSnapshot}.
+	 */
+	public synchronized MetricsSnapshot snapshot() {
+		MetricsSnapshot snapshot = new MetricsSnapshot(last, System.nanoTime(), activeSimulations.sum(), ticks.sum(), flightsLanded.sum(), flightsTakenOff.sum(),
+				landingQueueDepth.sum(), takeOffQueueDepth.sum(), runwayBusyTicks.sum(), runwayTicks.sum(), allocatedBytes());
+		last = snapshot;
+		return snapshot;
+	}
+	
+	/**
+	 * Publishes the metrics as JMX MBean under the given name.
+	 * 
+	 * @param name Object name of the MBean.
+	 * 
+	 * @exception IllegalStateException
+	 *            Indicates that the MBean can not be registered.
+	 */
+	public void register(String name) {
+		try {
+			MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+			ObjectName objectName = new ObjectName(name);
+			if (!server.isRegistered(objectName))
+				server.registerMBean(this, objectName);
+		} catch (JMException e) {
+			throw new IllegalStateException("Metrics MBean can not be registered: " + name, e);
+		}
+	}
+	
+	@Override
+	public long getActiveSimulations() {
+		return activeSimulations.sum();
+	}
+
+	@Override
+	public long getTicks() {
+		return ticks.sum();
+	}
+
+	@Override
+	public long getFlightsLanded() {
+		return flightsLanded.sum();
+	}
+
+	@Override
+	public long getFlightsTakenOff() {
+		return flightsTakenOff.sum();
+	}
+
+	@Override
+	public long getLandingQueueDepth() {
+		return landingQueueDepth.sum();
+	}
+
+	@Override
+	public long getTakeOffQueueDepth() {
+		return takeOffQueueDepth.sum();
+	}
+
+	@Override
+	public double getRunwayUtilization() {
+		MetricsSnapshot snapshot = last;
+		return snapshot == null ? 0 : snapshot.getRunwayUtilization();
+	}
+
+	@Override
+	public double getTicksPerSecond() {
+		MetricsSnapshot snapshot = last;
+		return snapshot == null ? 0 : snapshot.getTicksPerSecond();
+	}
+
+	@Override
+	public double getLandingsPerSecond() {
+		MetricsSnapshot snapshot = last;
+		return snapshot == null ? 0 : snapshot.getLandingsPerSecond();
+	}
+
+	@Override
+	public double getTakeOffsPerSecond() {
+		MetricsSnapshot snapshot = last;
+		return snapshot == null ? 0 : snapshot.getTakeOffsPerSecond();
+	}
+
+	@Override
+	public double getAllocationRate() {
+		MetricsSnapshot snapshot = last;
+		return snapshot == null ? -1 : snapshot.getAllocationRate();
+	}
+	
+	/**
+	 * Gets the bytes allocated by the threads of the JVM, where the JVM measures them. The JVM only measures live threads,
+	 * so the bytes of every thread seen by a snapshot are kept and added to the total once the thread has exited,
+	 * the total does not drop when the pool threads of a study end. Bytes a thread allocated after the last snapshot before it exited are not counted,
+	 * so the total is a lower bound. Called with the lock of the snapshots held.
+	 * 
+	 * @return allocated bytes, -1 if unknown.
+	 */
+	private long allocatedBytes() {
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (!(threads instanceof com.sun.management.ThreadMXBean))
+			return -1;
+		com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+		if (!allocations.isThreadAllocatedMemorySupported() || !allocations.isThreadAllocatedMemoryEnabled())
+			return -1;
+		long[] ids = threads.getAllThreadIds();
+		long[] bytes = allocations.getThreadAllocatedBytes(ids);
+		Map<Long, Long> live = new HashMap<Long, Long>(ids.length * 2);
+		long total = 0;
+		for (int i = 0; i < ids.length; i++) {
+			if (bytes[i] > 0) {
+				live.put(ids[i], bytes[i]);
+				total += bytes[i];
+			}
+		}
+		for (Map.Entry<Long, Long> thread : threadBytes.entrySet()) {
+			if (!live.containsKey(thread.getKey()))
+				exitedBytes += thread.getValue();
+		}
+		threadBytes = live;
+		return exitedBytes + total;
+	}
+	
+	/**
+	 * Creates the global metrics, publishes them as MBean and logs a snapshot every interval on a daemon thread.
+	 * 
+	 * @param interval Seconds between two snapshots.
+	 * @return global metrics.
+	 */
+	private static SimulationMetrics startGlobal(int interval) {
+		final SimulationMetrics metrics = new SimulationMetrics();
+		try {
+			metrics.register(OBJECT_NAME);
+		} catch (IllegalStateException e) {
+			LOGGER.warn(e.getMessage());
+		}
+		metrics.snapshot();
+		ScheduledExecutorService dumper = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(Runnable runnable) {
+				Thread thread = new Thread(runnable, "simulation-metrics");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+		dumper.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				LOGGER.info("Metrics: " + metrics.snapshot());
+			}
+		}, interval, interval, TimeUnit.SECONDS);
+		return metrics;
+	}
+	
+	private static int readInterval() {
+		String interval = PropertiesUtil.get("sa.sim.metrics.interval");
+		return (interval == null || interval.trim().isEmpty()) ? 0 : Integer.parseInt(interval.trim());
+	}
+	
+}
@@ -0,0 +1,89 @@
+package com.prasanna.metrics;
+
+/**
+ * Management interface of the runtime metrics {@link SimulationMetrics}, published as JMX MBean 'com.prasanna:type=SimulationMetrics'.
+ * Totals are summed over every simulation reporting to the metrics, rates are measured between the last two snapshots {@link MetricsSnapshot}.
+ * 
+ * @author pramakr2
+ *
+ */
+public interface SimulationMetricsMXBean {
+
+	/**
+	 * Gets the number of simulations reporting to the metrics which are not over.
+	 * 
+	 * @return active simulations.
+	 */
+	long getActiveSimulations();
+	
+	/**
+	 * Gets the number of ticks simulated.
+	 * 
+	 * @return ticks
+	 */
+	long getTicks();
+	
+	/**
+	 * Gets the number of flights which have landed.
+	 * 
+	 * @return flights landed.
+	 */
+	long getFlightsLanded();
+	
+	/**
+	 * Gets the number of flights which have taken off.
+	 * 
+	 * @return flights taken off.
+	 */
+	long getFlightsTakenOff();
+	
+	/**
+	 * Gets the number of flights waiting to land in the active simulations.
+	 * 
+	 * @return landing queue depth.
+	 */
+	long getLandingQueueDepth();
+	
+	/**
+	 * Gets the number of flights waiting to take off in the active simulations.
+	 * 
+	 * @return take off queue depth.
+	 */
+	long getTakeOffQueueDepth();
+	
+	/**
+	 * Gets the share of the runway ticks the runways have been in use since the last snapshot.
+	 * 
+	 * @return runway busy ratio.
+	 */
+	double getRunwayUtilization();
+	
+	/**
+	 * Gets the number of ticks simulated per second of wall time since the last snapshot.
+	 * 
+	 * @return ticks per second.
+	 */
+	double getTicksPerSecond();
+	
+	/**
+	 * Gets the number of flights landed per second of wall time since the last snapshot.
+	 * 
+	 * @return landings per second.
+	 */
+	double getLandingsPerSecond();
+	
+	/**
+	 * Gets the number of flights taken off per second of wall time since the last snapshot.
+	 * 
+	 * @return take offs per second.
+	 */
+	double getTakeOffsPerSecond();
+	
+	/**
+	 * Gets the number of bytes allocated per second by the threads of the JVM since the last snapshot.
+	 * 
+	 * @return allocation rate, -1 if the JVM does not measure allocations.
+	 */
+	double getAllocationRate();
+	
+}
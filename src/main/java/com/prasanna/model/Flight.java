@@ -5,10 +5,13 @@ import com.prasanna.util.PropertiesUtil;
 
 /**
  * 
- * This class contains code to model a simple flight, used for simulating flight which consists of three attributes,
+ * This class contains code to model a simple flight, used for simulating flight which consists of four attributes,
  * 		1. waitTime - The time the flight is waiting for either landing or taking off.
  * 		2. takeOffTime - The time needed by flight for taking off.
  * 		3. landingTime - The time needed by flight for landing.
+ * 		4. arrivalTime - The tick at which the flight starts waiting for either landing or taking off.
+ * 
+ * The simulator does not create one object per flight, it keeps the same attributes as primitive columns in the flight store {@link FlightStore}.
  * 
  * @author pramakr2
  *
@@ -16,9 +19,9 @@ import com.prasanna.util.PropertiesUtil;
 public class Flight {
 
 	/**
-	 * The flight number.
+	 * The flight number {@link FlightNumbers}.
 	 */
-	private String number;
+	private long number;
 	/**
 	 * The time the flight is waiting for either landing or taking off.
 	 */
@@ -31,6 +34,10 @@ public class Flight {
 	 * The time needed by flight for landing.
 	 */
 	private int landingTime;
+	/**
+	 * The tick at which the flight starts waiting for either landing or taking off.
+	 */
+	private int arrivalTime;
 	
 	/**
 	 * The flight action {@link FlightAction} either LANDING or TAKING_OFF.
@@ -62,28 +69,39 @@ public class Flight {
 	 * @param faction The flight action {@link FlightAction} either LANDING or TAKING_OFF.
 	 */
 	public Flight(FlightAction faction) {
-		number=String.valueOf(java.util.UUID.randomUUID());
+		this(faction, 0);
+	}
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param faction The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @param arrivalTime The tick at which the flight starts waiting for either landing or taking off.
+	 */
+	public Flight(FlightAction faction, int arrivalTime) {
+		number = FlightNumbers.next();
 		waitTime = WAIT_TIME;
 		takeOffTime = TAKEOFF_TIME;
 		landingTime = LANDING_TIME;
 		this.faction = faction;
+		this.arrivalTime = arrivalTime;
 	}
 	
 	/**
-	 * Gets the flight number.
+	 * Gets the flight number {@link FlightNumbers}.
 	 * 
 	 * @return flight number.
 	 */
-	public String getNumber() {
+	public long getNumber() {
 		return number;
 	}
 
 	/**
-	 * Sets the flight number.
+	 * Sets the flight number {@link FlightNumbers}.
 	 * 
 	 * @param number flight number.
 	 */
-	public void setNumber(String number) {
+	public void setNumber(long number) {
 		this.number = number;
 	}
 
@@ -117,6 +135,16 @@ public class Flight {
 		return landingTime;
 	}
 
+	/**
+	 * Get arrivalTime, the tick at which the flight starts waiting for either landing or taking off.
+	 * 
+	 * @return arrivalTime.
+	 * 
+	 */
+	public int getArrivalTime() {
+		return arrivalTime;
+	}
+
 	/**
 	 * Update waitTime for the flight either for taking off or landing.
 	 * 
@@ -0,0 +1,114 @@
+package com.prasanna.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ * This class contains code to number flights without random UUIDs, a flight number is a long made of two parts,
+ * 		1. run - The run prefix in the high bits, the same for every flight of a simulation, a hash of the seed of the simulation
+ * 		   whose lowest bit tells the antithetic simulation of a pair from the other one.
+ * 		2. sequence - The sequence number in the low SEQUENCE_BITS {@link #SEQUENCE_BITS} bits, counting the flights of the simulation from 0.
+ *
+ * Numbering a flight is an increment, it neither allocates nor draws random numbers, and numbers only depend on the seed and the order of
+ * arrivals, so simulations with the same seed number their flights alike, whatever the engine. The two simulations of an antithetic pair
+ * always get different run prefixes. Simulations with different seeds, e.g. the replications of a study, probably get different run prefixes,
+ * but the prefix holds a hash of RUN_BITS - 1 {@link #RUN_BITS} bits: among 1,000 seeds two share a prefix with a chance of about 11%,
+ * among 10,000 seeds two almost surely do. Flight numbers tell flights of one simulation apart, flights of different simulations
+ * are told apart by their replication, not by their flight number alone.
+ *
+ * @author pramakr2
+ *
+ */
+public final class FlightNumbers {
+
+	/**
+	 * Number of bits of the sequence number, a simulation numbers up to 2^40 - 1 flights, the flight store {@link FlightStore} fails after that.
+	 */
+	public static final int SEQUENCE_BITS = 40;
+
+	/**
+	 * Number of bits of the run prefix, the sign bit is left out so flight numbers are never negative.
+	 */
+	public static final int RUN_BITS = 63 - SEQUENCE_BITS;
+
+	private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+	/**
+	 * Flight numbers of the flights which are not part of a simulation, run prefix 0.
+	 */
+	private static final AtomicLong SHARED = new AtomicLong();
+
+	private FlightNumbers() {
+	}
+
+	/**
+	 * Gets the run prefix of the simulation with a seed, the seed is mixed so that neighbouring seeds get unrelated prefixes.
+	 * Prefixes of different seeds may collide, see above.
+	 *
+	 * @param seed Seed of the simulation.
+	 * @param antithetic Whether the simulation is the antithetic one of the pair of simulations with this seed.
+	 * @return run prefix, at least 2 so it differs from the prefix of flights which are not part of a simulation.
+	 */
+	public static int run(long seed, boolean antithetic) {
+		long z = seed + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		z ^= z >>> 31;
+		int run = (int) (z >>> (64 - RUN_BITS)) & ~1;
+		if (run == 0)
+			run = 2;
+		return antithetic ? run | 1 : run;
+	}
+
+	/**
+	 * Gets the first flight number of a run.
+	 *
+	 * @param run Run prefix.
+	 * @return flight number with sequence number 0.
+	 */
+	public static long first(int run) {
+		if (run < 0 || run >= 1 << RUN_BITS)
+			throw new IllegalArgumentException("Illegal run: " + run);
+		return (long) run << SEQUENCE_BITS;
+	}
+
+	/**
+	 * Gets the next flight number of the flights which are not part of a simulation, safe to call from any thread.
+	 *
+	 * @return flight number.
+	 */
+	public static long next() {
+		return SHARED.getAndIncrement();
+	}
+
+	/**
+	 * Gets the run prefix of a flight number.
+	 *
+	 * @param number Flight number.
+	 * @return run prefix.
+	 */
+	public static int getRun(long number) {
+		return (int) (number >>> SEQUENCE_BITS);
+	}
+
+	/**
+	 * Gets the sequence number of a flight number.
+	 *
+	 * @param number Flight number.
+	 * @return sequence number.
+	 */
+	public static long getSequence(long number) {
+		return number & SEQUENCE_MASK;
+	}
+
+	/**
+	 * Formats a flight number for people, the run prefix in hexadecimal and the sequence number, e.g. 3f2a1c-1207.
+	 *
+	 * @param number Flight number.
+	 * @return formatted flight number.
+	 */
+	public static String format(long number) {
+		return Integer.toHexString(getRun(number)) + "-" + getSequence(number);
+	}
+
+}
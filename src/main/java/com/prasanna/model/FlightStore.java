@@ -0,0 +1,298 @@
+package com.prasanna.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * 
+ * This class contains code to store the flights of a simulation as columns of primitive values instead of one flight {@link Flight} object per flight.
+ * A flight is addressed by its slot, the index of its row in the columns. Slots of flights which have left the airport are recycled,
+ * so the columns only grow with the number of flights in the airport at the same time, not with the number of flights of the simulation.
+ * Every flight has four attributes,
+ * 		1. id - The flight number {@link FlightNumbers}, the run prefix of the store and the sequence number of the flight.
+ * 		2. action - The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+ * 		3. arrivalTime - The tick at which the flight starts waiting for either landing or taking off.
+ * 		4. runwayTime - The time needed by flight on the runway either for landing or taking off.
+ * and a waitTime which is known once the flight gets a runway.
+ * 
+ * @author pramakr2
+ *
+ */
+public class FlightStore {
+	
+	/**
+	 * Initial number of slots.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+	
+	/**
+	 * Flight actions {@link FlightAction} indexed by ordinal, used to decode the action column.
+	 */
+	private static final FlightAction[] ACTIONS = FlightAction.values();
+	
+	/**
+	 * Column of flight numbers.
+	 */
+	private long[] ids;
+	
+	/**
+	 * Column of flight actions {@link FlightAction}, stored as ordinal.
+	 */
+	private byte[] actions;
+	
+	/**
+	 * Column of arrival times.
+	 */
+	private int[] arrivalTimes;
+	
+	/**
+	 * Column of runway times.
+	 */
+	private int[] runwayTimes;
+	
+	/**
+	 * Column of wait times.
+	 */
+	private int[] waitTimes;
+	
+	/**
+	 * Stack of recycled slots.
+	 */
+	private int[] freeSlots;
+	
+	/**
+	 * Number of recycled slots on the stack.
+	 */
+	private int freeCount;
+	
+	/**
+	 * Number of slots which have ever been used, slots above it have never been used.
+	 */
+	private int used;
+	
+	/**
+	 * Number of flights in the store.
+	 */
+	private int size;
+	
+	/**
+	 * Flight number of the next flight.
+	 */
+	private long nextId;
+
+	/**
+	 * Default constructor, flights are numbered with run prefix 0.
+	 */
+	public FlightStore() {
+		this(0);
+	}
+	
+	/**
+	 * Parameterized constructor. The store numbers up to 2^SEQUENCE_BITS - 1 {@link FlightNumbers#SEQUENCE_BITS} flights,
+	 * it fails rather than let the sequence number carry into the run prefix.
+	 * 
+	 * @param run Run prefix {@link FlightNumbers#run(long, boolean)} of the flight numbers.
+	 */
+	public FlightStore(int run) {
+		nextId = FlightNumbers.first(run);
+		ids = new long[INITIAL_CAPACITY];
+		actions = new byte[INITIAL_CAPACITY];
+		arrivalTimes = new int[INITIAL_CAPACITY];
+		runwayTimes = new int[INITIAL_CAPACITY];
+		waitTimes = new int[INITIAL_CAPACITY];
+		freeSlots = new int[INITIAL_CAPACITY];
+	}
+	
+	/**
+	 * Adds a flight to the store and gives it the next flight number.
+	 * 
+	 * @param action The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @param arrivalTime The tick at which the flight starts waiting for either landing or taking off.
+	 * @param runwayTime The time needed by flight on the runway either for landing or taking off.
+	 * @return slot of the flight.
+	 * 
+	 * @exception IllegalStateException
+	 *            Indicates that the sequence numbers {@link FlightNumbers#SEQUENCE_BITS} of the run are used up.
+	 */
+	public int add(FlightAction action, int arrivalTime, int runwayTime) {
+		if (FlightNumbers.getSequence(nextId + 1) == 0)
+			throw new IllegalStateException("Flight numbers of run " + Integer.toHexString(FlightNumbers.getRun(nextId)) + " are used up after "
+					+ FlightNumbers.getSequence(nextId) + " flights");
+		int slot;
+		if (freeCount > 0) {
+			slot = freeSlots[--freeCount];
+		} else {
+			if (used == ids.length)
+				grow();
+			slot = used++;
+		}
+		ids[slot] = nextId++;
+		actions[slot] = (byte) action.ordinal();
+		arrivalTimes[slot] = arrivalTime;
+		runwayTimes[slot] = runwayTime;
+		waitTimes[slot] = 0;
+		size++;
+		return slot;
+	}
+	
+	/**
+	 * Removes a flight from the store, its slot will be reused by a next flight.
+	 * 
+	 * @param slot Slot of the flight.
+	 */
+	public void remove(int slot) {
+		freeSlots[freeCount++] = slot;
+		size--;
+	}
+	
+	/**
+	 * Gets the flight number.
+	 * 
+	 * @param slot Slot of the flight.
+	 * @return flight number.
+	 */
+	public long getId(int slot) {
+		return ids[slot];
+	}
+	
+	/**
+	 * Gets the flight action {@link FlightAction}.
+	 * 
+	 * @param slot Slot of the flight.
+	 * @return flight action either LANDING or TAKING_OFF.
+	 */
+	public FlightAction getAction(int slot) {
+		return ACTIONS[actions[slot]];
+	}
+	
+	/**
+	 * Checks whether the flight wants to land.
+	 * 
+	 * @param slot Slot of the flight.
+	 * @return boolean
+	 */
+	public boolean isLanding(int slot) {
+		return actions[slot] == FlightAction.LANDING.ordinal();
+	}
+	
+	/**
+	 * Gets the tick at which the flight starts waiting for either landing or taking off.
+	 * 
+	 * @param slot Slot of the flight.
+	 * @return arrivalTime.
+	 */
+	public int getArrivalTime(int slot) {
+		return arrivalTimes[slot];
+	}
+	
+	/**
+	 * Gets the time needed by flight on the runway either for landing or taking off.
+	 * 
+	 * @param slot Slot of the flight.
+	 * @return runwayTime.
+	 */
+	public int getRunwayTime(int slot) {
+		return runwayTimes[slot];
+	}
+	
+	/**
+	 * Gets the time the flight waited for either landing or taking off.
+	 * 
+	 * @param slot Slot of the flight.
+	 * @return waitTime.
+	 */
+	public int getWaitTime(int slot) {
+		return waitTimes[slot];
+	}
+	
+	/**
+	 * Sets the time the flight waited for either landing or taking off.
+	 * 
+	 * @param slot Slot of the flight.
+	 * @param waitTime Wait time.
+	 */
+	public void setWaitTime(int slot, int waitTime) {
+		waitTimes[slot] = waitTime;
+	}
+	
+	/**
+	 * Gets number of flights in the store.
+	 * 
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Gets number of slots the columns can hold without growing.
+	 * 
+	 * @return capacity
+	 */
+	public int capacity() {
+		return ids.length;
+	}
+	
+	/**
+	 * Writes the flights of the store. Slots are kept, so slots held by queues and runways stay valid once the store is restored.
+	 * 
+	 * @param out Output the flights are written to.
+	 * @throws IOException If the flights can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeLong(nextId);
+		out.writeInt(used);
+		out.writeInt(size);
+		out.writeInt(freeCount);
+		for (int slot = 0; slot < used; slot++) {
+			out.writeLong(ids[slot]);
+			out.writeByte(actions[slot]);
+			out.writeInt(arrivalTimes[slot]);
+			out.writeInt(runwayTimes[slot]);
+			out.writeInt(waitTimes[slot]);
+		}
+		for (int i = 0; i < freeCount; i++) {
+			out.writeInt(freeSlots[i]);
+		}
+	}
+	
+	/**
+	 * Replaces the flights of the store with the flights written by {@link #checkpoint(DataOutput)}.
+	 * 
+	 * @param in Input the flights are read from.
+	 * @throws IOException If the flights can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		nextId = in.readLong();
+		used = in.readInt();
+		size = in.readInt();
+		freeCount = in.readInt();
+		while (ids.length < used)
+			grow();
+		for (int slot = 0; slot < used; slot++) {
+			ids[slot] = in.readLong();
+			actions[slot] = in.readByte();
+			arrivalTimes[slot] = in.readInt();
+			runwayTimes[slot] = in.readInt();
+			waitTimes[slot] = in.readInt();
+		}
+		for (int i = 0; i < freeCount; i++) {
+			freeSlots[i] = in.readInt();
+		}
+	}
+	
+	private void grow() {
+		int capacity = ids.length << 1;
+		ids = Arrays.copyOf(ids, capacity);
+		actions = Arrays.copyOf(actions, capacity);
+		arrivalTimes = Arrays.copyOf(arrivalTimes, capacity);
+		runwayTimes = Arrays.copyOf(runwayTimes, capacity);
+		waitTimes = Arrays.copyOf(waitTimes, capacity);
+		freeSlots = Arrays.copyOf(freeSlots, capacity);
+	}
+
+}
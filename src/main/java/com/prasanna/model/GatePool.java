@@ -0,0 +1,213 @@
+package com.prasanna.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ *
+ * This class contains code to model the gates of an airport. Every gate has a size, the largest flight it can take, and is occupied
+ * up to a known tick. A flight gets the smallest compatible gate which is free when it arrives at the gates, or else the compatible gate
+ * which becomes free first, and occupies it for its turnaround.
+ * Gates are kept sorted by size, so the compatible gates of a flight are a suffix of the gates, in a segment tree of the ticks
+ * up to which gates are occupied. Finding and taking a gate costs O(log n) whatever the number of gates.
+ * Gate pools are not thread-safe, they are used by one simulation.
+ *
+ * @author pramakr2
+ *
+ */
+public class GatePool {
+
+	/**
+	 * Gate value returned when no gate is large enough for a flight.
+	 */
+	public static final int NO_GATE = -1;
+
+	/**
+	 * Size of every gate, ascending. Gate id is the position of its size.
+	 */
+	private final int[] sizes;
+
+	/**
+	 * Number of leaves of the segment tree, the number of gates rounded up to a power of 2.
+	 */
+	private final int leaves;
+
+	/**
+	 * Segment tree, node i covers nodes 2i and 2i+1 and holds the smallest tick up to which one of its gates is occupied.
+	 * Leaf of gate g is node leaves + g, leaves without a gate are never free.
+	 */
+	private final long[] occupiedUntil;
+
+	/**
+	 * Parameterized constructor, creates one free gate per given size.
+	 *
+	 * @param sizes Size of every gate, the largest flight it can take, in any order.
+	 *
+	 * @exception IllegalArgumentException
+	 *            Indicates that there is no gate.
+	 */
+	public GatePool(int... sizes) {
+		if (sizes.length == 0)
+			throw new IllegalArgumentException("Illegal number of gates: " + sizes.length);
+		this.sizes = sizes.clone();
+		Arrays.sort(this.sizes);
+		this.leaves = Integer.highestOneBit(Math.max(1, sizes.length - 1)) << 1;
+		this.occupiedUntil = new long[2 * leaves];
+		Arrays.fill(occupiedUntil, leaves + sizes.length, 2 * leaves, Long.MAX_VALUE);
+		for (int node = leaves - 1; node > 0; node--) {
+			occupiedUntil[node] = Math.min(occupiedUntil[2 * node], occupiedUntil[2 * node + 1]);
+		}
+	}
+
+	/**
+	 * Gets the number of gates.
+	 *
+	 * @return number of gates.
+	 */
+	public int size() {
+		return sizes.length;
+	}
+
+	/**
+	 * Gets the size of a gate.
+	 *
+	 * @param gate The gate id.
+	 * @return size
+	 */
+	public int getSize(int gate) {
+		return sizes[gate];
+	}
+
+	/**
+	 * Gets the tick up to which a gate is occupied, the gate is free from that tick on.
+	 *
+	 * @param gate The gate id.
+	 * @return tick
+	 */
+	public long getOccupiedUntil(int gate) {
+		return occupiedUntil[leaves + gate];
+	}
+
+	/**
+	 * Takes the smallest compatible gate free at the given tick, or else the compatible gate which becomes free first.
+	 * The flight occupies the gate from the later of the given tick and the tick the gate becomes free, for the given number of ticks.
+	 *
+	 * @param size Size of the flight, only gates of at least that size are compatible.
+	 * @param from Tick at which the flight arrives at the gates.
+	 * @param turnaround Number of ticks the flight occupies the gate.
+	 * @return gate id, NO_GATE {@link #NO_GATE} if no gate is large enough.
+	 */
+	public int allocate(int size, long from, int turnaround) {
+		int first = lowerBound(size);
+		if (first == sizes.length)
+			return NO_GATE;
+		int gate = firstFree(1, 0, leaves, first, from);
+		if (gate < 0)
+			gate = earliest(first);
+		int leaf = leaves + gate;
+		occupiedUntil[leaf] = Math.max(from, occupiedUntil[leaf]) + turnaround;
+		for (int node = leaf >>> 1; node > 0; node >>>= 1) {
+			occupiedUntil[node] = Math.min(occupiedUntil[2 * node], occupiedUntil[2 * node + 1]);
+		}
+		return gate;
+	}
+
+	/**
+	 * Finds the first gate of the sizes at least the given size.
+	 *
+	 * @param size Size of the flight.
+	 * @return gate id, the number of gates if no gate is large enough.
+	 */
+	private int lowerBound(int size) {
+		int low = 0;
+		int high = sizes.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (sizes[middle] < size) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Finds the leftmost gate from the given gate on which is free at the given tick, descending only into subtrees with a free gate.
+	 *
+	 * @param node Node of the segment tree.
+	 * @param low First leaf covered by the node.
+	 * @param high Leaf after the last leaf covered by the node.
+	 * @param first First compatible gate.
+	 * @param from Tick at which the gate must be free.
+	 * @return gate id, -1 if no compatible gate is free.
+	 */
+	private int firstFree(int node, int low, int high, int first, long from) {
+		if (high <= first || occupiedUntil[node] > from)
+			return -1;
+		if (node >= leaves)
+			return node - leaves;
+		int middle = (low + high) >>> 1;
+		int gate = firstFree(2 * node, low, middle, first, from);
+		return gate >= 0 ? gate : firstFree(2 * node + 1, middle, high, first, from);
+	}
+
+	/**
+	 * Finds the gate from the given gate on which becomes free first, the leftmost one on a tie.
+	 * The suffix is covered by O(log n) nodes, only the best of them is descended.
+	 *
+	 * @param first First compatible gate.
+	 * @return gate id.
+	 */
+	private int earliest(int first) {
+		int best = -1;
+		int low = first + leaves;
+		int high = 2 * leaves;
+		/*
+		 * Nodes covering the suffix, walked bottom-up from its left end. Nodes found later cover gates further right, so ties keep the earlier node.
+		 */
+		while (low < high) {
+			if ((low & 1) == 1) {
+				if (best < 0 || occupiedUntil[low] < occupiedUntil[best])
+					best = low;
+				low++;
+			}
+			low >>>= 1;
+			high >>>= 1;
+		}
+		while (best < leaves) {
+			best = occupiedUntil[2 * best] <= occupiedUntil[2 * best + 1] ? 2 * best : 2 * best + 1;
+		}
+		return best - leaves;
+	}
+
+	/**
+	 * Writes the ticks up to which the gates are occupied.
+	 *
+	 * @param out Output the gates are written to.
+	 * @throws IOException If the gates can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		for (int gate = 0; gate < sizes.length; gate++) {
+			out.writeLong(occupiedUntil[leaves + gate]);
+		}
+	}
+
+	/**
+	 * Reads back the ticks written by {@link #checkpoint(DataOutput)} into a pool with the same gates.
+	 *
+	 * @param in Input the gates are read from.
+	 * @throws IOException If the gates can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		for (int gate = 0; gate < sizes.length; gate++) {
+			occupiedUntil[leaves + gate] = in.readLong();
+		}
+		for (int node = leaves - 1; node > 0; node--) {
+			occupiedUntil[node] = Math.min(occupiedUntil[2 * node], occupiedUntil[2 * node + 1]);
+		}
+	}
+
+}
@@ -1,15 +1,24 @@
 package com.prasanna.model;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.prasanna.constant.FlightAction;
 import com.prasanna.constant.RunwayStatus;
+import com.prasanna.constant.RunwayUse;
 
 /**
  * 
  * This class contains code to model a runway.The runway is either empty or hasa flight on it.
  * The flight remains on the runway for the amount of time needed for either take off or land.
+ * Runways of an airport are created and handed out by the runway pool {@link RunwayPool}.
+ * The flight on the runway is addressed by its slot in the flight store {@link FlightStore} of the simulation.
+ * Runways are not thread-safe, they are used by one simulation or by the controller thread of the runway controller {@link com.prasanna.live.RunwayController}.
+ * Per flight messages are logged at DEBUG level only, the full audit trail at no formatting cost is the event journal {@link com.prasanna.journal.EventJournal}.
  * 
  * @author pramakr2
  *
@@ -19,14 +28,29 @@ public class Runway {
 	private static final Logger LOGGER = LoggerFactory.getLogger(Runway.class);
 	
 	/**
-	 * Static member to hold only one instance of runway.
+	 * Slot value used when no flight is on the runway.
+	 */
+	public static final int NO_FLIGHT = -1;
+	
+	/**
+	 * The runway id, unique within the runway pool {@link RunwayPool}.
+	 */
+	private final int id;
+	
+	/**
+	 * The runway use {@link RunwayUse} either MIXED, LANDING_ONLY or TAKEOFF_ONLY.
+	 */
+	private final RunwayUse use;
+	
+	/**
+	 * The flight store {@link FlightStore} which holds the flights of the simulation.
 	 */
-	private static Runway runway=null;
+	private final FlightStore flights;
 	
 	/**
-	 * The flight {@link Flight} which is currently on runway for either landing or take off.
+	 * Slot of the flight which is currently on runway for either landing or take off, NO_FLIGHT {@link #NO_FLIGHT} if runway is empty.
 	 */
-	private Flight flight;
+	private int flight = NO_FLIGHT;
 	
 	/**
 	 * The runway status {@link RunwayStatus} either BUSY {@link RunwayStatus#BUSY} or FREE {@link RunwayStatus#FREE}.
@@ -40,35 +64,43 @@ public class Runway {
 	private int time; 
 	
 	/**
-	 * To prevent instantiation of Runway class from outside the class.
+	 * Parameterized constructor
+	 * 
+	 * @param id The runway id.
+	 * @param use The runway use {@link RunwayUse} either MIXED, LANDING_ONLY or TAKEOFF_ONLY.
+	 * @param flights The flight store {@link FlightStore} which holds the flights of the simulation.
 	 */
-	private Runway(){
-		
+	public Runway(int id, RunwayUse use, FlightStore flights) {
+		this.id = id;
+		this.use = use;
+		this.flights = flights;
+		this.rstatus = RunwayStatus.FREE;
 	}
 	
 	/**
-	 * Provides global point of access to the Singleton object of Runway and returns the instance to the caller.
+	 * Gets the runway id.
 	 * 
-	 * @return Runway instance
-	 */
-	public static Runway getRunway(){
-		if (runway == null){
-		      synchronized(Runway.class){ 
-		        if (runway == null){
-		            runway = new Runway();
-		            runway.rstatus = RunwayStatus.FREE;
-		        }
-		    }
-		}
-		return runway;
+	 * @return id
+	 */
+	public int getId() {
+		return id;
 	}
 	
 	/**
-	 * Gets the flight {@link Flight} on runway	
+	 * Gets the runway use {@link RunwayUse}.
 	 * 
-	 * @return flight {@link Flight}
+	 * @return use
 	 */
-	public Flight getFlight() {
+	public RunwayUse getUse() {
+		return use;
+	}
+	
+	/**
+	 * Gets the slot of the flight on runway	
+	 * 
+	 * @return flight slot, NO_FLIGHT {@link #NO_FLIGHT} if runway is empty.
+	 */
+	public int getFlight() {
 		return flight;
 	}
 	
@@ -78,46 +110,90 @@ public class Runway {
 	 * @return boolean
 	 */
 	public boolean isClear() {
-		return (flight == null && RunwayStatus.FREE.equals(rstatus) ? true : false); 
+		return (flight == NO_FLIGHT && RunwayStatus.FREE.equals(rstatus) ? true : false); 
 	}
 
 	
 	/**
 	 * 
-	 * @param flight The flight {@link Flight} which is going to either take off or land {@link FlightAction}
+	 * @param flight Slot of the flight which is going to either take off or land {@link FlightAction}
 	 * @param rstatus The runway status {@link RunwayStatus} either BUSY {@link RunwayStatus#BUSY} or FREE {@link RunwayStatus#FREE}.
 	 */
-	public void useRunway(Flight flight, RunwayStatus rstatus) {
-		if (this.flight != null)
+	public void useRunway(int flight, RunwayStatus rstatus) {
+		if (this.flight != NO_FLIGHT)
 			throw new RuntimeException("Flight crash!! Multiple flights on the runway at the same time.");
 		time = 1;
 		this.flight = flight;
 		this.rstatus = rstatus;
-		LOGGER.info("Flight Number: "+flight.getNumber()+", Flight action: "+flight.getFaction().toString()+" Using runway: TRUE, Current "+ flight.getFaction().toString()+" time: "+(flight.getFaction().equals(FlightAction.LANDING)?(flight.getLandingTime()):(flight.getTakeOffTime())));
+		if (LOGGER.isDebugEnabled())
+			LOGGER.debug("Flight Number: "+FlightNumbers.format(flights.getId(flight))+", Flight action: "+flights.getAction(flight).toString()+" Using runway: TRUE, Current "+ flights.getAction(flight).toString()+" time: "+flights.getRunwayTime(flight)+", Runway: "+id+", Wait time: "+flights.getWaitTime(flight));
 	}
 
 	/**
-	 * Clears the runway based on the flight {@link Flight} take off or land time.
+	 * Clears the runway based on the flight take off or land time.
 	 * 
 	 * @return The flight action {@link FlightAction} either LALDNING {@link FlightAction#LANDING} or TAKING_OFF {@link FlightAction#LANDING} or LANDED {@link FlightAction#LANDED} or TAKEN_OFF {@link FlightAction#TAKEN_OFF}
 	 */
 	public FlightAction clearRunWay() {
-		if (flight.getFaction().equals(FlightAction.LANDING) && time >= flight.getLandingTime()){
-			LOGGER.info("Flight Number: "+flight.getNumber()+" successfully landed.");
-			flight = null;
-			rstatus = RunwayStatus.FREE;
-			return FlightAction.LANDED;
-		}else if (flight.getFaction().equals(FlightAction.TAKING_OFF) && time >= flight.getTakeOffTime()){
-			LOGGER.info("Flight Number: "+flight.getNumber()+" successfully taken off.");
-			flight = null;
-			rstatus = RunwayStatus.FREE;
-			return FlightAction.TAKEN_OFF;
-		}else{
-			LOGGER.info("Flight Number: "+flight.getNumber()+", Flight action: "+flight.getFaction().toString()+" Using runway: TRUE, Current "+ flight.getFaction().toString()+" time: "+(flight.getFaction().equals(FlightAction.LANDING)?(flight.getLandingTime()-time):(flight.getTakeOffTime()-time)));
-			time++;
+		if (time >= flights.getRunwayTime(flight)){
+			return releaseRunway();
 		}
-		
-		return flight.getFaction().equals(FlightAction.LANDING)? FlightAction.LANDING:FlightAction.TAKING_OFF;
+		if (LOGGER.isDebugEnabled())
+			LOGGER.debug("Flight Number: "+FlightNumbers.format(flights.getId(flight))+", Flight action: "+flights.getAction(flight).toString()+" Using runway: TRUE, Current "+ flights.getAction(flight).toString()+" time: "+(flights.getRunwayTime(flight)-time));
+		time++;
+		return flights.getAction(flight);
+	}
+	
+	/**
+	 * Clears the runway straight away without counting the take off or land time down tick by tick.
+	 * Used by the discrete-event engine, which already knows the tick at which the flight leaves the runway.
+	 * 
+	 * @return The flight action {@link FlightAction} either LANDED {@link FlightAction#LANDED} or TAKEN_OFF {@link FlightAction#TAKEN_OFF}
+	 */
+	public FlightAction releaseRunway() {
+		FlightAction faction = flights.isLanding(flight) ? FlightAction.LANDED : FlightAction.TAKEN_OFF;
+		if (LOGGER.isDebugEnabled())
+			LOGGER.debug("Flight Number: "+FlightNumbers.format(flights.getId(flight))+(FlightAction.LANDED.equals(faction)?" successfully landed.":" successfully taken off."));
+		flight = NO_FLIGHT;
+		rstatus = RunwayStatus.FREE;
+		return faction;
+	}
+	
+	/**
+	 * Removes the flight from the runway without landing or taking off, so that the next simulation starts with a free runway.
+	 * 
+	 * @return Slot of the flight which was on the runway, NO_FLIGHT {@link #NO_FLIGHT} if runway was free.
+	 */
+	public int reset() {
+		int flightOnRunway = flight;
+		flight = NO_FLIGHT;
+		rstatus = RunwayStatus.FREE;
+		time = 0;
+		return flightOnRunway;
+	}
+	
+	/**
+	 * Writes the flight on the runway and how long it has been on it.
+	 * 
+	 * @param out Output the runway is written to.
+	 * @throws IOException If the runway can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeInt(flight);
+		out.writeByte(rstatus.ordinal());
+		out.writeInt(time);
+	}
+	
+	/**
+	 * Puts back the flight written by {@link #checkpoint(DataOutput)} on the runway.
+	 * 
+	 * @param in Input the runway is read from.
+	 * @throws IOException If the runway can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		flight = in.readInt();
+		rstatus = RunwayStatus.values()[in.readByte()];
+		time = in.readInt();
 	}
 
 }
@@ -0,0 +1,179 @@
+package com.prasanna.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.constant.RunwayUse;
+
+/**
+ * 
+ * This class contains code to model the runways {@link Runway} of an airport.
+ * Free runways are tracked in a bitmap, so finding a free runway for landing or take off does not scan the runways.
+ * A flight gets a dedicated runway (LANDING_ONLY or TAKEOFF_ONLY) first and a MIXED runway only when no dedicated runway is free,
+ * so that mixed runways stay available for the other flight action.
+ * 
+ * @author pramakr2
+ *
+ */
+public class RunwayPool {
+	
+	/**
+	 * Maximum number of runways, one bit of the bitmap per runway.
+	 */
+	public static final int MAX_RUNWAYS = Long.SIZE;
+	
+	/**
+	 * The runways {@link Runway} indexed by runway id.
+	 */
+	private final Runway[] runways;
+	
+	/**
+	 * Bitmap of the runways which are free.
+	 */
+	private long free;
+	
+	/**
+	 * Bitmap of the runways which can be used for landing.
+	 */
+	private final long landing;
+	
+	/**
+	 * Bitmap of the runways which can be used for take off.
+	 */
+	private final long takeOff;
+	
+	/**
+	 * Bitmap of the runways which can be used either for landing or take off.
+	 */
+	private final long mixed;
+
+	/**
+	 * Parameterized constructor, creates one runway per given use. Runway id is the position of its use.
+	 * 
+	 * @param flights The flight store {@link FlightStore} which holds the flights of the simulation.
+	 * @param uses The runway use {@link RunwayUse} of every runway.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that there is no runway or more than {@link #MAX_RUNWAYS} runways.
+	 */
+	public RunwayPool(FlightStore flights, RunwayUse... uses) {
+		if (uses.length == 0 || uses.length > MAX_RUNWAYS)
+			throw new IllegalArgumentException("Illegal number of runways: " + uses.length);
+		runways = new Runway[uses.length];
+		long landingBits = 0;
+		long takeOffBits = 0;
+		long mixedBits = 0;
+		for (int id = 0; id < uses.length; id++) {
+			runways[id] = new Runway(id, uses[id], flights);
+			long bit = 1L << id;
+			if (!RunwayUse.TAKEOFF_ONLY.equals(uses[id]))
+				landingBits |= bit;
+			if (!RunwayUse.LANDING_ONLY.equals(uses[id]))
+				takeOffBits |= bit;
+			if (RunwayUse.MIXED.equals(uses[id]))
+				mixedBits |= bit;
+		}
+		landing = landingBits;
+		takeOff = takeOffBits;
+		mixed = mixedBits;
+		free = uses.length == MAX_RUNWAYS ? -1L : (1L << uses.length) - 1;
+	}
+	
+	/**
+	 * Gets number of runways.
+	 * 
+	 * @return number of runways.
+	 */
+	public int size() {
+		return runways.length;
+	}
+	
+	/**
+	 * Gets the runway {@link Runway} by id.
+	 * 
+	 * @param id Runway id.
+	 * @return runway {@link Runway}.
+	 */
+	public Runway get(int id) {
+		return runways[id];
+	}
+	
+	/**
+	 * Gets the bitmap of the runways which are in use, bit n is set when runway n is in use.
+	 * 
+	 * @return bitmap of busy runways.
+	 */
+	public long getBusyRunways() {
+		return ~free & (runways.length == MAX_RUNWAYS ? -1L : (1L << runways.length) - 1);
+	}
+	
+	/**
+	 * Checks whether a runway is free for the given flight action.
+	 * 
+	 * @param faction The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @return boolean
+	 */
+	public boolean isClear(FlightAction faction) {
+		return (free & usableBy(faction)) != 0;
+	}
+	
+	/**
+	 * Takes a free runway {@link Runway} for the given flight action. Dedicated runways are taken before mixed runways.
+	 * The runway stays taken until it is given back with {@link #release(Runway)}.
+	 * 
+	 * @param faction The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @return runway {@link Runway}, null if no runway is free for the flight action.
+	 */
+	public Runway acquire(FlightAction faction) {
+		long candidates = free & usableBy(faction);
+		if (candidates == 0)
+			return null;
+		long dedicated = candidates & ~mixed;
+		long bits = dedicated != 0 ? dedicated : candidates;
+		int id = Long.numberOfTrailingZeros(bits);
+		free &= ~(1L << id);
+		return runways[id];
+	}
+	
+	/**
+	 * Gives back a runway {@link Runway} taken with {@link #acquire(FlightAction)}.
+	 * 
+	 * @param runway runway {@link Runway}.
+	 */
+	public void release(Runway runway) {
+		free |= 1L << runway.getId();
+	}
+	
+	/**
+	 * Writes which runways are free and the flights on the runways {@link Runway}.
+	 * 
+	 * @param out Output the runways are written to.
+	 * @throws IOException If the runways can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeLong(free);
+		for (Runway runway : runways) {
+			runway.checkpoint(out);
+		}
+	}
+	
+	/**
+	 * Replaces the state of the runways with the state written by {@link #checkpoint(DataOutput)}, the pool must have the same runways.
+	 * 
+	 * @param in Input the runways are read from.
+	 * @throws IOException If the runways can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		free = in.readLong();
+		for (Runway runway : runways) {
+			runway.restore(in);
+		}
+	}
+	
+	private long usableBy(FlightAction faction) {
+		return FlightAction.LANDING.equals(faction) ? landing : takeOff;
+	}
+
+}
@@ -0,0 +1,142 @@
+package com.prasanna.network;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.prasanna.constant.RunwayUse;
+
+/**
+ * This class describes a network of airports connected by routes {@link Route}.
+ * Airports are numbered in the order they are added. The lookahead of the network is the shortest flight time of its routes,
+ * no departure can land anywhere earlier, which is what lets the network simulator {@link NetworkSimulator} run the airports in parallel.
+ * 
+ * @author pramakr2
+ *
+ */
+public class AirportNetwork {
+
+	/**
+	 * The runway uses {@link RunwayUse} of every airport.
+	 */
+	private final List<RunwayUse[]> airports = new ArrayList<RunwayUse[]>();
+	
+	/**
+	 * The routes of the network in the order they are added.
+	 */
+	private final List<Route> routes = new ArrayList<Route>();
+	
+	/**
+	 * Adds an airport to the network.
+	 * 
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * @return index of the airport.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the airport has no runway.
+	 */
+	public int addAirport(RunwayUse... runwayUses) {
+		if (runwayUses.length == 0)
+			throw new IllegalArgumentException("Airport needs at least one runway");
+		airports.add(runwayUses.clone());
+		return airports.size() - 1;
+	}
+	
+	/**
+	 * Adds a route to the network.
+	 * 
+	 * @param from Index of the origin airport.
+	 * @param to Index of the destination airport.
+	 * @param flightTime Ticks from leaving the runway of the origin airport until arriving at the destination airport.
+	 * @param share Share of the flights taking off at the origin airport which fly this route.
+	 * @return the route {@link Route}.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that an airport does not exist, or the shares of the routes leaving the origin airport add up to more than 1.
+	 */
+	public Route addRoute(int from, int to, int flightTime, double share) {
+		checkAirport(from);
+		checkAirport(to);
+		Route route = new Route(from, to, flightTime, share);
+		double total = share;
+		for (Route r : routes) {
+			if (r.getFrom() == from)
+				total += r.getShare();
+		}
+		if (total > 1 + 1e-9)
+			throw new IllegalArgumentException("Shares of the routes leaving airport " + from + " add up to " + total);
+		routes.add(route);
+		return route;
+	}
+	
+	private void checkAirport(int airport) {
+		if (airport < 0 || airport >= airports.size())
+			throw new IllegalArgumentException("Illegal airport: " + airport);
+	}
+	
+	/**
+	 * Gets the number of airports.
+	 * 
+	 * @return number of airports.
+	 */
+	public int getAirports() {
+		return airports.size();
+	}
+	
+	/**
+	 * Gets the runway uses of an airport.
+	 * 
+	 * @param airport Index of the airport.
+	 * @return runway uses {@link RunwayUse}.
+	 */
+	public RunwayUse[] getRunwayUses(int airport) {
+		checkAirport(airport);
+		return airports.get(airport).clone();
+	}
+	
+	/**
+	 * Gets the routes in the order they have been added.
+	 * 
+	 * @return routes {@link Route}.
+	 */
+	public List<Route> getRoutes() {
+		return Collections.unmodifiableList(routes);
+	}
+	
+	/**
+	 * Gets the lookahead, the shortest flight time of the routes. Integer.MAX_VALUE when there is no route.
+	 * 
+	 * @return lookahead in ticks.
+	 */
+	public int getLookahead() {
+		int lookahead = Integer.MAX_VALUE;
+		for (Route route : routes) {
+			lookahead = Math.min(lookahead, route.getFlightTime());
+		}
+		return lookahead;
+	}
+	
+	/**
+	 * Builds a network in which every airport has a route to every other airport.
+	 * 
+	 * @param airports Number of airports.
+	 * @param flightTime Flight time of every route.
+	 * @param share Share of the departures of an airport flying to another airport of the network, spread evenly over the routes.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of every airport.
+	 * @return the network.
+	 */
+	public static AirportNetwork fullMesh(int airports, int flightTime, double share, RunwayUse... runwayUses) {
+		AirportNetwork network = new AirportNetwork();
+		for (int i = 0; i < airports; i++) {
+			network.addAirport(runwayUses);
+		}
+		for (int from = 0; from < airports; from++) {
+			for (int to = 0; to < airports; to++) {
+				if (from != to)
+					network.addRoute(from, to, flightTime, share / (airports - 1));
+			}
+		}
+		return network;
+	}
+	
+}
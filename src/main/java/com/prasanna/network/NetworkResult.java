@@ -0,0 +1,115 @@
+package com.prasanna.network;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.sim.SimulationResult;
+
+/**
+ * This class contains the results of one simulation run of an airport network by the network simulator {@link NetworkSimulator}.
+ * 
+ * @author pramakr2
+ *
+ */
+public class NetworkResult {
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(NetworkResult.class);
+
+	/**
+	 * The result {@link SimulationResult} of every airport.
+	 */
+	private final SimulationResult[] results;
+	
+	/**
+	 * Number of departures of every airport handed over to another airport.
+	 */
+	private final int[] handedOver;
+	
+	/**
+	 * Number of flights every airport received from other airports.
+	 */
+	private final int[] received;
+	
+	/**
+	 * Number of flights handed over in the last window, still in the air at the end of the simulation.
+	 */
+	private final int inFlight;
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param results The result {@link SimulationResult} of every airport.
+	 * @param handedOver Number of departures of every airport handed over to another airport.
+	 * @param received Number of flights every airport received from other airports.
+	 * @param inFlight Number of flights still in the air at the end of the simulation.
+	 */
+	public NetworkResult(SimulationResult[] results, int[] handedOver, int[] received, int inFlight) {
+		this.results = results;
+		this.handedOver = handedOver;
+		this.received = received;
+		this.inFlight = inFlight;
+	}
+	
+	/**
+	 * Gets the number of airports.
+	 * 
+	 * @return number of airports.
+	 */
+	public int getAirports() {
+		return results.length;
+	}
+
+	/**
+	 * Gets the result of an airport.
+	 * 
+	 * @param airport Index of the airport.
+	 * @return result {@link SimulationResult}.
+	 */
+	public SimulationResult getResult(int airport) {
+		return results[airport];
+	}
+	
+	/**
+	 * Gets the number of departures of an airport handed over to another airport.
+	 * 
+	 * @param airport Index of the airport.
+	 * @return number of flights handed over.
+	 */
+	public int getHandedOver(int airport) {
+		return handedOver[airport];
+	}
+	
+	/**
+	 * Gets the number of flights an airport received from other airports.
+	 * 
+	 * @param airport Index of the airport.
+	 * @return number of flights received.
+	 */
+	public int getReceived(int airport) {
+		return received[airport];
+	}
+	
+	/**
+	 * Gets the number of flights still in the air at the end of the simulation.
+	 * 
+	 * @return inFlight
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+	
+	/**
+	 * Generates report for the airports of the network.
+	 */
+	public void report() {
+		for (int i = 0; i < results.length; i++) {
+			SimulationResult result = results[i];
+			LOGGER.info("Airport " + i + ": " + result.getFlightsLanded() + " landed, " + result.getFlightsTakenOff() + " taken off, "
+					+ result.getFlightsWaitingToLand() + " waiting to land, " + result.getFlightsWaitingToTakeOff() + " waiting to takeoff, "
+					+ result.getFlightsCrashed() + " crashed, " + received[i] + " received, " + handedOver[i] + " handed over.");
+			LOGGER.info("Airport " + i + " landing wait time: " + result.getLandingWaitTimes());
+		}
+		LOGGER.info(inFlight + " Flights in the air.");
+	}
+	
+}
@@ -0,0 +1,384 @@
+package com.prasanna.network;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.FlightAction;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.model.Flight;
+import com.prasanna.sim.DepartureListener;
+import com.prasanna.sim.SimulationResult;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.util.RandomStream;
+
+/**
+ * This class simulates an airport network {@link AirportNetwork}, flights taking off at one airport land at another airport the flight time later.
+ * Every airport is a partition with its own SmartAirportSimulator {@link SmartAirportSimulator}, partitions are spread round robin over the threads.
+ * 
+ * The threads synchronize conservatively: time is cut into windows as long as the lookahead {@link AirportNetwork#getLookahead()},
+ * every thread advances its airports to the end of the window and waits for the others at a barrier.
+ * A flight taking off within a window can not arrive before the next window, so it is handed over through a bounded queue per route
+ * and delivered to the destination airport at the start of the next window. The queues are double buffered by the parity of the window,
+ * which is why threads only meet once per window and never lock while simulating.
+ * 
+ * Routing draws come from a random stream per airport and handed over flights are delivered in route order,
+ * so the results do not depend on the number of threads.
+ * 
+ * @author pramakr2
+ *
+ */
+public class NetworkSimulator {
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(NetworkSimulator.class);
+
+	/**
+	 * The simulator of every airport.
+	 */
+	private final SmartAirportSimulator[] airports;
+	
+	/**
+	 * The router of every airport, hands departures over to the handoff queues.
+	 */
+	private final Router[] routers;
+	
+	/**
+	 * Indexes of the routes arriving at every airport, in route order.
+	 */
+	private final int[][] inbound;
+	
+	/**
+	 * Handoff queues by window parity and route.
+	 */
+	private final HandoffQueue[][] handoffs;
+	
+	/**
+	 * Number of flights every airport received from other airports.
+	 */
+	private final int[] received;
+	
+	/**
+	 * Number of flights handed over to every airport which arrive after SIMULATION_LENGTH, they are still in the air at the end.
+	 */
+	private final int[] late;
+	
+	/**
+	 * Window length in ticks, the lookahead of the network capped to the simulation length.
+	 */
+	private final int window;
+	
+	/**
+	 * Number of threads simulating airports.
+	 */
+	private final int threads;
+	
+	/**
+	 * Whether the network has been simulated.
+	 */
+	private boolean simulated;
+	
+	/**
+	 * Parameterized constructor. Arrivals at every airport follow the configured arrival mode, which must not be TRACE.
+	 * 
+	 * @param network The airport network {@link AirportNetwork}.
+	 * @param engine The engine {@link SimulationEngine} which drives every airport.
+	 * @param seed Seed of the network, the seeds of the airports and of the routing are derived from it.
+	 * @param threads Number of threads simulating airports, capped to the number of airports.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the network has no airport or the number of threads is less than one.
+	 */
+	public NetworkSimulator(AirportNetwork network, SimulationEngine engine, long seed, int threads) {
+		if (network.getAirports() == 0)
+			throw new IllegalArgumentException("Network needs at least one airport");
+		if (threads < 1)
+			throw new IllegalArgumentException("Illegal number of threads: " + threads);
+		ArrivalMode arrivalMode = ArrivalMode.TRACE.equals(SmartAirportSimulator.ARRIVAL_MODE) ? ArrivalMode.BERNOULLI : SmartAirportSimulator.ARRIVAL_MODE;
+		int n = network.getAirports();
+		List<Route> routes = network.getRoutes();
+		this.threads = Math.min(threads, n);
+		this.window = (int) Math.min(network.getLookahead(), SmartAirportSimulator.SIMULATION_LENGTH + 1L);
+		airports = new SmartAirportSimulator[n];
+		routers = new Router[n];
+		inbound = new int[n][];
+		received = new int[n];
+		late = new int[n];
+		handoffs = new HandoffQueue[2][routes.size()];
+		SplittableRandom random = new SplittableRandom(seed);
+		for (int i = 0; i < n; i++) {
+			airports[i] = newAirport(engine, arrivalMode, random.nextLong(), network.getRunwayUses(i));
+			routers[i] = new Router(new RandomStream(random.nextLong()));
+			airports[i].setDepartureListener(routers[i]);
+		}
+		List<List<Integer>> in = new ArrayList<List<Integer>>();
+		for (int i = 0; i < n; i++) {
+			in.add(new ArrayList<Integer>());
+		}
+		for (int r = 0; r < routes.size(); r++) {
+			Route route = routes.get(r);
+			/*
+			 * A runway clears at most one flight per tick, so a window never hands over more flights per route than this.
+			 */
+			int capacity = window * network.getRunwayUses(route.getFrom()).length;
+			handoffs[0][r] = new HandoffQueue(capacity);
+			handoffs[1][r] = new HandoffQueue(capacity);
+			routers[route.getFrom()].add(r, route);
+			in.get(route.getTo()).add(r);
+		}
+		for (int i = 0; i < n; i++) {
+			inbound[i] = new int[in.get(i).size()];
+			for (int k = 0; k < inbound[i].length; k++) {
+				inbound[i][k] = in.get(i).get(k);
+			}
+		}
+	}
+	
+	/**
+	 * Creates the simulator of an airport, called by the constructor for every airport in turn.
+	 * 
+	 * @param engine The engine {@link SimulationEngine} which drives the airport.
+	 * @param arrivalMode How arrivals {@link ArrivalMode} of the airport are generated.
+	 * @param seed Seed of the airport.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * @return simulator {@link SmartAirportSimulator} of the airport.
+	 */
+	protected SmartAirportSimulator newAirport(SimulationEngine engine, ArrivalMode arrivalMode, long seed, RunwayUse... runwayUses) {
+		return new SmartAirportSimulator(engine, arrivalMode, seed, runwayUses);
+	}
+	
+	/**
+	 * Gets the window length in ticks.
+	 * 
+	 * @return window
+	 */
+	public int getWindow() {
+		return window;
+	}
+	
+	/**
+	 * Simulates the network once. The first worker thread which fails fails the simulation, the other threads are interrupted,
+	 * so no thread is left waiting at the barrier for a window which never ends.
+	 * 
+	 * @return result {@link NetworkResult} of the network.
+	 * 
+	 * @exception IllegalStateException
+	 *            Indicates that the network has been simulated already.
+	 */
+	public NetworkResult simulate() {
+		if (simulated)
+			throw new IllegalStateException("Network has been simulated already");
+		simulated = true;
+		CyclicBarrier barrier = new CyclicBarrier(threads);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			/*
+			 * Workers are waited for in the order they end, so the first failure is seen at once,
+			 * whatever the worker, and shutting the pool down interrupts the workers still waiting at the barrier.
+			 */
+			CompletionService<Void> workers = new ExecutorCompletionService<Void>(pool);
+			for (int i = 0; i < threads; i++) {
+				workers.submit(new Worker(i, barrier));
+			}
+			for (int i = 0; i < threads; i++) {
+				workers.take().get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Network simulation interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			if (e.getCause() instanceof Error)
+				throw (Error) e.getCause();
+			throw new IllegalStateException("Network simulation failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		
+		SimulationResult[] results = new SimulationResult[airports.length];
+		int[] handedOver = new int[airports.length];
+		for (int i = 0; i < airports.length; i++) {
+			results[i] = airports[i].getResult();
+			handedOver[i] = routers[i].handedOver;
+		}
+		int inFlight = 0;
+		for (int flights : late) {
+			inFlight += flights;
+		}
+		for (HandoffQueue[] queues : handoffs) {
+			for (HandoffQueue queue : queues) {
+				inFlight += queue.size;
+			}
+		}
+		return new NetworkResult(results, handedOver, received.clone(), inFlight);
+	}
+	
+	/**
+	 * Delivers the flights handed over to an airport in the previous window. Flights arriving after SIMULATION_LENGTH never land,
+	 * they are not received but still in the air at the end.
+	 * 
+	 * @param airport Index of the airport.
+	 * @param parity Parity of the previous window.
+	 */
+	private void deliver(int airport, int parity) {
+		for (int r : inbound[airport]) {
+			HandoffQueue queue = handoffs[parity][r];
+			for (int i = 0; i < queue.size; i++) {
+				airports[airport].addInboundArrival(queue.ticks[i], FlightAction.LANDING, Flight.LANDING_TIME);
+				if (queue.ticks[i] <= SmartAirportSimulator.SIMULATION_LENGTH) {
+					received[airport]++;
+				} else {
+					late[airport]++;
+				}
+			}
+			queue.size = 0;
+		}
+	}
+	
+	/**
+	 * Thread which simulates every threads-th airport window by window.
+	 */
+	private class Worker implements Callable<Void> {
+		
+		private final int first;
+		private final CyclicBarrier barrier;
+		
+		Worker(int first, CyclicBarrier barrier) {
+			this.first = first;
+			this.barrier = barrier;
+		}
+
+		@Override
+		public Void call() throws Exception {
+			try {
+				int parity = 0;
+				for (long start = 0; start <= SmartAirportSimulator.SIMULATION_LENGTH; start += window) {
+					int end = (int) Math.min(start + window - 1, SmartAirportSimulator.SIMULATION_LENGTH);
+					for (int i = first; i < airports.length; i += threads) {
+						deliver(i, parity ^ 1);
+						routers[i].parity = parity;
+						airports[i].advance(end);
+					}
+					barrier.await();
+					parity ^= 1;
+				}
+				for (int i = first; i < airports.length; i += threads) {
+					airports[i].simulate();
+				}
+				return null;
+			} catch (BrokenBarrierException | InterruptedException e) {
+				/*
+				 * Another thread failed and reports why.
+				 */
+				close();
+				return null;
+			} catch (RuntimeException | Error e) {
+				close();
+				throw e;
+			}
+		}
+		
+		/**
+		 * Closes the airports of the thread once the network fails, they are never simulated to the end.
+		 */
+		private void close() {
+			for (int i = first; i < airports.length; i += threads) {
+				airports[i].close();
+			}
+		}
+	}
+	
+	/**
+	 * Departure listener {@link DepartureListener} of an airport, draws the route of every departure and hands it over.
+	 */
+	private class Router implements DepartureListener {
+		
+		private final RandomStream random;
+		private final List<Integer> indexes = new ArrayList<Integer>();
+		private final List<Route> routes = new ArrayList<Route>();
+		private int parity;
+		private int handedOver;
+		
+		Router(RandomStream random) {
+			this.random = random;
+		}
+		
+		void add(int index, Route route) {
+			indexes.add(index);
+			routes.add(route);
+		}
+
+		@Override
+		public void departed(int tick, long flight) {
+			if (routes.isEmpty())
+				return;
+			double u = random.nextDouble();
+			double share = 0;
+			for (int k = 0; k < routes.size(); k++) {
+				Route route = routes.get(k);
+				share += route.getShare();
+				if (u < share) {
+					handoffs[parity][indexes.get(k)].offer(tick + route.getFlightTime());
+					handedOver++;
+					return;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Bounded queue of the arrival ticks of the flights handed over on a route within a window.
+	 */
+	private static final class HandoffQueue {
+		
+		private final int[] ticks;
+		private int size;
+		
+		HandoffQueue(int capacity) {
+			ticks = new int[capacity];
+		}
+		
+		void offer(int tick) {
+			if (size == ticks.length)
+				throw new IllegalStateException("Handoff queue full");
+			ticks[size++] = tick;
+		}
+	}
+	
+	/**
+	 * Execute the network simulation on a network in which every airport has a route to every other airport.
+	 * 
+	 * @param args Arguments, number of airports, number of threads, flight time and share of the departures flying within the network.
+	 */
+	public static void main(String[] args) {
+		int n = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+		int flightTime = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+		double share = args.length > 3 ? Double.parseDouble(args[3]) : 0.5;
+		long seed = SmartAirportSimulator.SEED != null ? SmartAirportSimulator.SEED : new SplittableRandom().nextLong();
+		AirportNetwork network = AirportNetwork.fullMesh(n, flightTime, share, SmartAirportSimulator.RUNWAYS);
+		LOGGER.info("Network simulation of " + n + " airports on " + threads + " threads with seed: " + seed + " starts at: " + new Date());
+		NetworkResult result = new NetworkSimulator(network, SmartAirportSimulator.ENGINE, seed, threads).simulate();
+		LOGGER.info("\n");
+		LOGGER.info("$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$ Network Results $$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$");
+		LOGGER.info("\n");
+		result.report();
+		LOGGER.info("\n");
+		LOGGER.info("Network simulation ends at: " + new Date());
+	}
+
+}
@@ -0,0 +1,95 @@
+package com.prasanna.network;
+
+/**
+ * This class contains code to model a route of the airport network {@link AirportNetwork}.
+ * A share of the flights taking off at the origin airport flies the route and lands at the destination airport the flight time later.
+ * 
+ * @author pramakr2
+ *
+ */
+public class Route {
+
+	/**
+	 * Index of the origin airport.
+	 */
+	private final int from;
+	
+	/**
+	 * Index of the destination airport.
+	 */
+	private final int to;
+	
+	/**
+	 * Ticks from leaving the runway of the origin airport until arriving at the destination airport.
+	 */
+	private final int flightTime;
+	
+	/**
+	 * Share of the flights taking off at the origin airport which fly this route.
+	 */
+	private final double share;
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param from Index of the origin airport.
+	 * @param to Index of the destination airport.
+	 * @param flightTime Ticks from leaving the runway of the origin airport until arriving at the destination airport.
+	 * @param share Share of the flights taking off at the origin airport which fly this route.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the flight time is less than one tick or the share is not between 0 and 1.
+	 */
+	public Route(int from, int to, int flightTime, double share) {
+		if (flightTime < 1)
+			throw new IllegalArgumentException("Illegal flight time: " + flightTime);
+		if (!(share >= 0 && share <= 1))
+			throw new IllegalArgumentException("Illegal share: " + share);
+		this.from = from;
+		this.to = to;
+		this.flightTime = flightTime;
+		this.share = share;
+	}
+
+	/**
+	 * Gets the index of the origin airport.
+	 * 
+	 * @return from
+	 */
+	public int getFrom() {
+		return from;
+	}
+
+	/**
+	 * Gets the index of the destination airport.
+	 * 
+	 * @return to
+	 */
+	public int getTo() {
+		return to;
+	}
+
+	/**
+	 * Gets the flight time in ticks.
+	 * 
+	 * @return flightTime
+	 */
+	public int getFlightTime() {
+		return flightTime;
+	}
+
+	/**
+	 * Gets the share of the flights taking off at the origin airport which fly this route.
+	 * 
+	 * @return share
+	 */
+	public double getShare() {
+		return share;
+	}
+	
+	@Override
+	public String toString() {
+		return from + " -> " + to + " (" + flightTime + " ticks, " + share + ")";
+	}
+	
+}
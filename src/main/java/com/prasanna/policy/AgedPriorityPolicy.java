@@ -0,0 +1,77 @@
+package com.prasanna.policy;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * AgedPriorityPolicy gives landing priority as the strict landing policy {@link StrictLandingPolicy}, but a flight which has waited
+ * to take off for the aging time gets landing priority, it then competes with the flights which want to land by arrival time.
+ * So flights which want to take off never starve on an airport busy with landings.
+ * 
+ * @author pramakr2
+ *
+ */
+public class AgedPriorityPolicy extends StrictLandingPolicy {
+	
+	/**
+	 * AGING_TIME - Reads the number of ticks a take off waits before it gets landing priority from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.scheduling.aging.time', defaults to 10.
+	 */
+	public static final int AGING_TIME = readAgingTime();
+	
+	/**
+	 * Number of ticks a take off waits before it gets landing priority.
+	 */
+	private int agingTime;
+
+	/**
+	 * Default constructor, uses the configured aging time.
+	 */
+	public AgedPriorityPolicy() {
+		this(AGING_TIME);
+	}
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param agingTime Number of ticks a take off waits before it gets landing priority.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the aging time is negative.
+	 */
+	public AgedPriorityPolicy(int agingTime) {
+		if (agingTime < 0)
+			throw new IllegalArgumentException("Illegal aging time: " + agingTime);
+		this.agingTime = agingTime;
+	}
+	
+	@Override
+	public int getAgingTime() {
+		return agingTime;
+	}
+	
+	@Override
+	public long agedPriority(FlightAction action, int arrivalTime, int runwayTime) {
+		return arrivalTime;
+	}
+	
+	@Override
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeInt(agingTime);
+	}
+	
+	@Override
+	public void restore(DataInput in) throws IOException {
+		agingTime = in.readInt();
+	}
+	
+	private static int readAgingTime() {
+		String agingTime = PropertiesUtil.get("sa.sim.scheduling.aging.time");
+		return (agingTime == null || agingTime.trim().isEmpty()) ? 10 : Integer.parseInt(agingTime.trim());
+	}
+
+}
@@ -0,0 +1,19 @@
+package com.prasanna.policy;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * LongestWaitFirstPolicy gives a free runway to the flight which has waited the longest, whether it wants to land or to take off.
+ * A flight which wants to land beats a flight which wants to take off arriving in the same tick.
+ * 
+ * @author pramakr2
+ *
+ */
+public class LongestWaitFirstPolicy implements SchedulingPolicy {
+
+	@Override
+	public long priority(FlightAction action, int arrivalTime, int runwayTime) {
+		return ((long) arrivalTime << 1) | (FlightAction.LANDING.equals(action) ? 0 : 1);
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.prasanna.policy;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * SchedulingPolicy decides which waiting flight gets a free runway. A flight gets a priority when it starts waiting,
+ * the flight with the lowest priority value gets the runway first and flights with the same priority are served in arrival order.
+ * Waiting flights are kept in indexed heaps {@link com.prasanna.util.IndexedMinHeap}, so choosing a flight never scans the queues.
+ * A policy can raise the priority of a flight once it has waited for the aging time {@link #getAgingTime()}.
+ * A policy is restored from a checkpoint by class name, so it needs a public default constructor, its parameters are restored by {@link #restore(DataInput)}.
+ * 
+ * @author pramakr2
+ *
+ */
+public interface SchedulingPolicy {
+	
+	/**
+	 * Aging time of policies which never raise the priority of a waiting flight.
+	 */
+	int NEVER = Integer.MAX_VALUE;
+	
+	/**
+	 * Gets the priority of a flight when it starts waiting.
+	 * 
+	 * @param action The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @param arrivalTime The tick at which the flight starts waiting.
+	 * @param runwayTime The time needed by flight on the runway.
+	 * @return priority, lower values get a runway first.
+	 */
+	long priority(FlightAction action, int arrivalTime, int runwayTime);
+	
+	/**
+	 * Gets the number of ticks a flight waits before its priority is raised to the aged priority {@link #agedPriority(FlightAction, int, int)}.
+	 * 
+	 * @return aging time, NEVER {@link #NEVER} if priorities are never raised.
+	 */
+	default int getAgingTime() {
+		return NEVER;
+	}
+	
+	/**
+	 * Gets the priority of a flight which has waited for the aging time, it is only used when it is lower than the priority of the flight.
+	 * 
+	 * @param action The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @param arrivalTime The tick at which the flight starts waiting.
+	 * @param runwayTime The time needed by flight on the runway.
+	 * @return priority, lower values get a runway first.
+	 */
+	default long agedPriority(FlightAction action, int arrivalTime, int runwayTime) {
+		return priority(action, arrivalTime, runwayTime);
+	}
+	
+	/**
+	 * Writes the parameters of the policy, policies without parameters write nothing.
+	 * 
+	 * @param out Output the parameters are written to.
+	 * @throws IOException If the parameters can not be written.
+	 */
+	default void checkpoint(DataOutput out) throws IOException {
+	}
+	
+	/**
+	 * Reads back the parameters written by {@link #checkpoint(DataOutput)}.
+	 * 
+	 * @param in Input the parameters are read from.
+	 * @throws IOException If the parameters can not be read.
+	 */
+	default void restore(DataInput in) throws IOException {
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.prasanna.policy;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * ShortestServiceFirstPolicy gives a free runway to the flight which needs it for the shortest time, which keeps the average wait low.
+ * Flights needing the runway for the same time are served as by the longest wait first policy {@link LongestWaitFirstPolicy}.
+ * Flights needing the runway for a long time may wait for ever on a busy airport.
+ * 
+ * @author pramakr2
+ *
+ */
+public class ShortestServiceFirstPolicy implements SchedulingPolicy {
+
+	@Override
+	public long priority(FlightAction action, int arrivalTime, int runwayTime) {
+		return ((long) runwayTime << 33) | ((long) arrivalTime << 1) | (FlightAction.LANDING.equals(action) ? 0 : 1);
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.prasanna.policy;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * StrictLandingPolicy gives a free runway to a flight which wants to land whenever there is one, flights which want to take off
+ * get the runways no landing flight can use. Flights are served first come first served within landing and take off.
+ * 
+ * @author pramakr2
+ *
+ */
+public class StrictLandingPolicy implements SchedulingPolicy {
+	
+	/**
+	 * Priority added to every take off, above any arrival time.
+	 */
+	private static final long TAKEOFF_CLASS = 1L << 32;
+
+	@Override
+	public long priority(FlightAction action, int arrivalTime, int runwayTime) {
+		return FlightAction.LANDING.equals(action) ? arrivalTime : TAKEOFF_CLASS + arrivalTime;
+	}
+
+}
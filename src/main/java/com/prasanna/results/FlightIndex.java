@@ -0,0 +1,354 @@
+package com.prasanna.results;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.sim.FlightListener;
+
+/**
+ * FlightIndex keeps the completed flights of a simulation in memory, so questions about them can be answered many times without running
+ * the simulation again or scanning a results file. It is a flight listener {@link FlightListener}, set on the simulation it is built
+ * incrementally while the simulation runs.
+ * Flights are split by action and grouped in buckets of a fixed number of ticks by their completion tick, which only moves forward.
+ * Once the simulation is past a bucket, its flights are sorted by wait time and the bucket keeps its smallest and largest wait, so queries
+ *
+ * 		1. over a tick range visit only the buckets of the range, and look at single flights only in the two buckets at its ends.
+ * 		2. with a wait threshold skip the buckets whose largest wait is below it and binary search the sorted waits of the others.
+ *
+ * The bucket still being filled is searched flight by flight.
+ * Ranges are half-open, from a tick up to, not including, another tick. Flight indexes are not thread-safe, they are used by one simulation.
+ *
+ * @author pramakr2
+ *
+ */
+public class FlightIndex implements FlightListener {
+
+	/**
+	 * Number of ticks of every bucket.
+	 */
+	private final int bucketTicks;
+
+	/**
+	 * Buckets of the landed flights, null for buckets without flights.
+	 */
+	private final List<Bucket> landings = new ArrayList<Bucket>();
+
+	/**
+	 * Buckets of the flights taken off, null for buckets without flights.
+	 */
+	private final List<Bucket> takeOffs = new ArrayList<Bucket>();
+
+	/**
+	 * Longest time from arrival to completion of a landed flight and of a flight taken off.
+	 */
+	private final int[] maxSojourn = new int[2];
+
+	/**
+	 * Number of flights indexed.
+	 */
+	private long flights;
+
+	/**
+	 * Parameterized constructor.
+	 *
+	 * @param bucketTicks Number of ticks of every bucket, e.g. 60 for buckets of an hour with a tick of a minute.
+	 *
+	 * @exception IllegalArgumentException
+	 *            Indicates that the number of ticks is not positive.
+	 */
+	public FlightIndex(int bucketTicks) {
+		if (bucketTicks < 1)
+			throw new IllegalArgumentException("Illegal bucket ticks: " + bucketTicks);
+		this.bucketTicks = bucketTicks;
+	}
+
+	/**
+	 * Indexes a completed flight.
+	 *
+	 * @exception IllegalArgumentException
+	 *            Indicates that the flight completes in a bucket the index is already past, or the action is neither LANDED nor TAKEN_OFF.
+	 */
+	@Override
+	public void completed(long flight, FlightAction action, int arrivalTick, int runwayStartTick, int completionTick, int waitTime) {
+		List<Bucket> buckets = buckets(action);
+		int bucket = completionTick / bucketTicks;
+		if (bucket < buckets.size() - 1)
+			throw new IllegalArgumentException("Flight " + flight + " completes at tick " + completionTick + ", the index is past tick " + (buckets.size() - 1) * bucketTicks);
+		if (!buckets.isEmpty() && bucket >= buckets.size() && buckets.get(buckets.size() - 1) != null)
+			buckets.get(buckets.size() - 1).seal();
+		while (buckets.size() <= bucket) {
+			buckets.add(null);
+		}
+		Bucket target = buckets.get(bucket);
+		if (target == null) {
+			target = new Bucket();
+			buckets.set(bucket, target);
+		}
+		target.add(flight, arrivalTick, runwayStartTick, completionTick, waitTime);
+		int index = FlightAction.LANDED.equals(action) ? 0 : 1;
+		maxSojourn[index] = Math.max(maxSojourn[index], completionTick - arrivalTick);
+		flights++;
+	}
+
+	/**
+	 * Gets the number of ticks of every bucket.
+	 *
+	 * @return bucket ticks
+	 */
+	public int getBucketTicks() {
+		return bucketTicks;
+	}
+
+	/**
+	 * Gets the number of flights indexed.
+	 *
+	 * @return flights
+	 */
+	public long getFlights() {
+		return flights;
+	}
+
+	/**
+	 * Counts the flights of an action completed in a tick range whose wait time is above a threshold.
+	 *
+	 * @param action Either LANDED {@link FlightAction#LANDED} or TAKEN_OFF {@link FlightAction#TAKEN_OFF}.
+	 * @param fromTick First completion tick of the range.
+	 * @param toTick Completion tick after the range.
+	 * @param minWait Threshold, only flights which waited more are counted, Integer.MIN_VALUE to count every flight.
+	 * @return number of flights
+	 */
+	public long count(FlightAction action, int fromTick, int toTick, int minWait) {
+		List<Bucket> buckets = buckets(action);
+		long count = 0;
+		for (int b = Math.max(0, fromTick / bucketTicks); b < buckets.size() && b * (long) bucketTicks < toTick; b++) {
+			Bucket bucket = buckets.get(b);
+			if (bucket == null || bucket.maxWait <= minWait)
+				continue;
+			if (bucket.sealed && within(b, fromTick, toTick)) {
+				count += bucket.size - bucket.above(minWait);
+			} else {
+				for (int i = bucket.sealed ? bucket.above(minWait) : 0; i < bucket.size; i++) {
+					if (bucket.waitTimes[i] > minWait && fromTick <= bucket.completionTicks[i] && bucket.completionTicks[i] < toTick)
+						count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Hands the flights of an action completed in a tick range whose wait time is above a threshold to the given listener,
+	 * bucket by bucket, and within a completed bucket by wait time.
+	 *
+	 * @param action Either LANDED {@link FlightAction#LANDED} or TAKEN_OFF {@link FlightAction#TAKEN_OFF}.
+	 * @param fromTick First completion tick of the range.
+	 * @param toTick Completion tick after the range.
+	 * @param minWait Threshold, only flights which waited more are selected, Integer.MIN_VALUE to select every flight.
+	 * @param listener Flight listener {@link FlightListener} the flights are handed to.
+	 */
+	public void select(FlightAction action, int fromTick, int toTick, int minWait, FlightListener listener) {
+		List<Bucket> buckets = buckets(action);
+		for (int b = Math.max(0, fromTick / bucketTicks); b < buckets.size() && b * (long) bucketTicks < toTick; b++) {
+			Bucket bucket = buckets.get(b);
+			if (bucket == null || bucket.maxWait <= minWait)
+				continue;
+			for (int i = bucket.sealed ? bucket.above(minWait) : 0; i < bucket.size; i++) {
+				if (bucket.waitTimes[i] > minWait && fromTick <= bucket.completionTicks[i] && bucket.completionTicks[i] < toTick)
+					listener.completed(bucket.ids[i], action, bucket.arrivalTicks[i], bucket.runwayStartTicks[i], bucket.completionTicks[i], bucket.waitTimes[i]);
+			}
+		}
+	}
+
+	/**
+	 * Gets the longest wait time of the flights of an action completed in a tick range.
+	 *
+	 * @param action Either LANDED {@link FlightAction#LANDED} or TAKEN_OFF {@link FlightAction#TAKEN_OFF}.
+	 * @param fromTick First completion tick of the range.
+	 * @param toTick Completion tick after the range.
+	 * @return longest wait time, Integer.MIN_VALUE if no flight completed in the range.
+	 */
+	public int getMaxWait(FlightAction action, int fromTick, int toTick) {
+		List<Bucket> buckets = buckets(action);
+		int max = Integer.MIN_VALUE;
+		for (int b = Math.max(0, fromTick / bucketTicks); b < buckets.size() && b * (long) bucketTicks < toTick; b++) {
+			Bucket bucket = buckets.get(b);
+			if (bucket == null || bucket.maxWait <= max)
+				continue;
+			if (within(b, fromTick, toTick)) {
+				max = bucket.maxWait;
+			} else {
+				for (int i = 0; i < bucket.size; i++) {
+					if (fromTick <= bucket.completionTicks[i] && bucket.completionTicks[i] < toTick)
+						max = Math.max(max, bucket.waitTimes[i]);
+				}
+			}
+		}
+		return max;
+	}
+
+	/**
+	 * Gets the largest number of completed flights of an action waiting for a runway at the same tick of a tick range,
+	 * a flight waits from its arrival tick up to, not including, its runway start tick.
+	 * Only the buckets of flights which can have waited in the range are visited: flights completed after the range, at most the longest
+	 * time from arrival to completion so far.
+	 *
+	 * @param action Either LANDED {@link FlightAction#LANDED} or TAKEN_OFF {@link FlightAction#TAKEN_OFF}.
+	 * @param fromTick First tick of the range.
+	 * @param toTick Tick after the range.
+	 * @return largest queue depth
+	 */
+	public int getMaxQueueDepth(FlightAction action, int fromTick, int toTick) {
+		List<Bucket> buckets = buckets(action);
+		long last = (long) toTick + maxSojourn[FlightAction.LANDED.equals(action) ? 0 : 1];
+		/*
+		 * Every waiting flight adds an arrival and a runway start, as tick << 1 | 1 and tick << 1, so a start sorts before an arrival of the same tick.
+		 */
+		long[] events = new long[16];
+		int n = 0;
+		for (int b = Math.max(0, fromTick / bucketTicks); b < buckets.size() && b * (long) bucketTicks <= last; b++) {
+			Bucket bucket = buckets.get(b);
+			if (bucket == null || bucket.minArrival >= toTick || bucket.maxRunwayStart <= fromTick)
+				continue;
+			for (int i = 0; i < bucket.size; i++) {
+				if (bucket.arrivalTicks[i] < toTick && bucket.runwayStartTicks[i] > fromTick && bucket.arrivalTicks[i] < bucket.runwayStartTicks[i]) {
+					if (n + 2 > events.length)
+						events = Arrays.copyOf(events, 2 * events.length);
+					events[n++] = ((long) Math.max(bucket.arrivalTicks[i], fromTick) << 1) | 1;
+					events[n++] = (long) bucket.runwayStartTicks[i] << 1;
+				}
+			}
+		}
+		Arrays.sort(events, 0, n);
+		int depth = 0;
+		int max = 0;
+		for (int i = 0; i < n; i++) {
+			depth += (events[i] & 1) == 1 ? 1 : -1;
+			if ((events[i] >> 1) < toTick)
+				max = Math.max(max, depth);
+		}
+		return max;
+	}
+
+	/**
+	 * Checks whether a bucket lies entirely within a tick range.
+	 *
+	 * @param bucket The bucket.
+	 * @param fromTick First tick of the range.
+	 * @param toTick Tick after the range.
+	 * @return true if every tick of the bucket is in the range.
+	 */
+	private boolean within(int bucket, int fromTick, int toTick) {
+		return fromTick <= bucket * (long) bucketTicks && (bucket + 1) * (long) bucketTicks <= toTick;
+	}
+
+	/**
+	 * Gets the buckets of an action.
+	 *
+	 * @param action Either LANDED {@link FlightAction#LANDED} or TAKEN_OFF {@link FlightAction#TAKEN_OFF}.
+	 * @return buckets
+	 */
+	private List<Bucket> buckets(FlightAction action) {
+		if (FlightAction.LANDED.equals(action))
+			return landings;
+		if (FlightAction.TAKEN_OFF.equals(action))
+			return takeOffs;
+		throw new IllegalArgumentException("Illegal action of a completed flight: " + action);
+	}
+
+	/**
+	 * Flights of one action completed in one bucket, in columns, sorted by wait time once the bucket is sealed.
+	 */
+	private static class Bucket {
+
+		private long[] ids = new long[16];
+		private int[] arrivalTicks = new int[16];
+		private int[] runwayStartTicks = new int[16];
+		private int[] completionTicks = new int[16];
+		private int[] waitTimes = new int[16];
+		private int size;
+		private int minWait = Integer.MAX_VALUE;
+		private int maxWait = Integer.MIN_VALUE;
+		private int minArrival = Integer.MAX_VALUE;
+		private int maxRunwayStart = Integer.MIN_VALUE;
+		private boolean sealed;
+
+		/**
+		 * Adds a flight to the columns, doubling them when they are full.
+		 */
+		private void add(long flight, int arrivalTick, int runwayStartTick, int completionTick, int waitTime) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, 2 * size);
+				arrivalTicks = Arrays.copyOf(arrivalTicks, 2 * size);
+				runwayStartTicks = Arrays.copyOf(runwayStartTicks, 2 * size);
+				completionTicks = Arrays.copyOf(completionTicks, 2 * size);
+				waitTimes = Arrays.copyOf(waitTimes, 2 * size);
+			}
+			ids[size] = flight;
+			arrivalTicks[size] = arrivalTick;
+			runwayStartTicks[size] = runwayStartTick;
+			completionTicks[size] = completionTick;
+			waitTimes[size] = waitTime;
+			size++;
+			minWait = Math.min(minWait, waitTime);
+			maxWait = Math.max(maxWait, waitTime);
+			minArrival = Math.min(minArrival, arrivalTick);
+			maxRunwayStart = Math.max(maxRunwayStart, runwayStartTick);
+		}
+
+		/**
+		 * Sorts the flights by wait time and trims the columns, no flight is added afterwards.
+		 */
+		private void seal() {
+			long[] keys = new long[size];
+			for (int i = 0; i < size; i++) {
+				keys[i] = ((long) waitTimes[i] << 32) | i;
+			}
+			Arrays.sort(keys);
+			long[] sortedIds = new long[size];
+			int[] sortedArrivals = new int[size];
+			int[] sortedStarts = new int[size];
+			int[] sortedCompletions = new int[size];
+			int[] sortedWaits = new int[size];
+			for (int i = 0; i < size; i++) {
+				int from = (int) keys[i];
+				sortedIds[i] = ids[from];
+				sortedArrivals[i] = arrivalTicks[from];
+				sortedStarts[i] = runwayStartTicks[from];
+				sortedCompletions[i] = completionTicks[from];
+				sortedWaits[i] = waitTimes[from];
+			}
+			ids = sortedIds;
+			arrivalTicks = sortedArrivals;
+			runwayStartTicks = sortedStarts;
+			completionTicks = sortedCompletions;
+			waitTimes = sortedWaits;
+			sealed = true;
+		}
+
+		/**
+		 * Finds the first flight of a sealed bucket which waited more than a threshold.
+		 *
+		 * @param minWait Threshold.
+		 * @return index of the flight, the size of the bucket if no flight waited more.
+		 */
+		private int above(int minWait) {
+			if (minWait < this.minWait)
+				return 0;
+			int low = 0;
+			int high = size;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (waitTimes[middle] <= minWait) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+	}
+
+}
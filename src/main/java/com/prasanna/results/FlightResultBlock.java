@@ -0,0 +1,194 @@
+package com.prasanna.results;
+
+import java.nio.ByteBuffer;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * FlightResultBlock holds the decoded columns of one block of a results file {@link FlightResultWriter}.
+ * A block is reused from one read to the next by the flight result reader {@link FlightResultReader}, so scanning a file allocates nothing per flight.
+ *
+ * @author pramakr2
+ *
+ */
+public class FlightResultBlock {
+
+	private final long[] ids = new long[FlightResultWriter.BLOCK_FLIGHTS];
+	private final boolean[] takenOff = new boolean[FlightResultWriter.BLOCK_FLIGHTS];
+	private final int[] arrivalTicks = new int[FlightResultWriter.BLOCK_FLIGHTS];
+	private final int[] runwayStartTicks = new int[FlightResultWriter.BLOCK_FLIGHTS];
+	private final int[] completionTicks = new int[FlightResultWriter.BLOCK_FLIGHTS];
+	private final int[] waitTimes = new int[FlightResultWriter.BLOCK_FLIGHTS];
+
+	/**
+	 * Number of flights of the block.
+	 */
+	private int size;
+
+	/**
+	 * Gets the number of flights of the block.
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the flight number of a flight.
+	 *
+	 * @param i Index of the flight within the block.
+	 * @return flight number
+	 */
+	public long getId(int i) {
+		return ids[i];
+	}
+
+	/**
+	 * Gets the action of a flight.
+	 *
+	 * @param i Index of the flight within the block.
+	 * @return either LANDED {@link FlightAction#LANDED} or TAKEN_OFF {@link FlightAction#TAKEN_OFF}.
+	 */
+	public FlightAction getAction(int i) {
+		return takenOff[i] ? FlightAction.TAKEN_OFF : FlightAction.LANDED;
+	}
+
+	/**
+	 * Gets the tick at which a flight arrived at the airport.
+	 *
+	 * @param i Index of the flight within the block.
+	 * @return arrival tick
+	 */
+	public int getArrivalTick(int i) {
+		return arrivalTicks[i];
+	}
+
+	/**
+	 * Gets the tick at which a flight got a runway.
+	 *
+	 * @param i Index of the flight within the block.
+	 * @return runway start tick
+	 */
+	public int getRunwayStartTick(int i) {
+		return runwayStartTicks[i];
+	}
+
+	/**
+	 * Gets the tick at which a flight left the runway.
+	 *
+	 * @param i Index of the flight within the block.
+	 * @return completion tick
+	 */
+	public int getCompletionTick(int i) {
+		return completionTicks[i];
+	}
+
+	/**
+	 * Gets the wait time of a flight.
+	 *
+	 * @param i Index of the flight within the block.
+	 * @return wait time
+	 */
+	public int getWaitTime(int i) {
+		return waitTimes[i];
+	}
+
+	/**
+	 * Decodes a block written by the flight result writer {@link FlightResultWriter}.
+	 *
+	 * @param in Buffer positioned at the block, read in place.
+	 *
+	 * @exception ResultsException
+	 *            Indicates that the block is broken.
+	 */
+	void decode(ByteBuffer in) {
+		int count = in.getInt();
+		if (count < 0 || count > FlightResultWriter.BLOCK_FLIGHTS)
+			throw new ResultsException("Broken block of " + count + " flights");
+		int[] lengths = new int[FlightResultWriter.COLUMNS];
+		for (int column = 0; column < lengths.length; column++) {
+			lengths[column] = in.getInt();
+		}
+		int start = in.position();
+		long previous = 0;
+		for (int i = 0; i < count; i++) {
+			previous += unzigzag(getVarint(in));
+			ids[i] = previous;
+		}
+		check(in, start, lengths[0]);
+		start = in.position();
+		for (int i = 0; i < count; i += 8) {
+			int bits = in.get();
+			for (int j = i; j < Math.min(i + 8, count); j++) {
+				takenOff[j] = (bits & (1 << (j - i))) != 0;
+			}
+		}
+		check(in, start, lengths[1]);
+		start = in.position();
+		previous = 0;
+		for (int i = 0; i < count; i++) {
+			previous += unzigzag(getVarint(in));
+			arrivalTicks[i] = (int) previous;
+		}
+		check(in, start, lengths[2]);
+		start = in.position();
+		for (int i = 0; i < count; i++) {
+			runwayStartTicks[i] = (int) (arrivalTicks[i] + getVarint(in));
+		}
+		check(in, start, lengths[3]);
+		start = in.position();
+		for (int i = 0; i < count; i++) {
+			completionTicks[i] = (int) (runwayStartTicks[i] + getVarint(in));
+		}
+		check(in, start, lengths[4]);
+		start = in.position();
+		previous = 0;
+		for (int i = 0; i < count; i++) {
+			previous += unzigzag(getVarint(in));
+			waitTimes[i] = (int) previous;
+		}
+		check(in, start, lengths[5]);
+		size = count;
+	}
+
+	/**
+	 * Checks that a column is exactly as long as its header says.
+	 *
+	 * @param in Buffer positioned after the column.
+	 * @param start Position of the column.
+	 * @param length Byte length of the column.
+	 */
+	private static void check(ByteBuffer in, int start, int length) {
+		if (in.position() - start != length)
+			throw new ResultsException("Broken column of " + length + " bytes, decoded " + (in.position() - start));
+	}
+
+	/**
+	 * Reverses the zigzag mapping of the writer.
+	 *
+	 * @param value Unsigned value.
+	 * @return signed value
+	 */
+	private static long unzigzag(long value) {
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * Gets an unsigned varint.
+	 *
+	 * @param in Buffer positioned at the varint.
+	 * @return value
+	 */
+	private static long getVarint(ByteBuffer in) {
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = in.get();
+			value |= (long) (b & 0x7F) << shift;
+			if (b >= 0)
+				return value;
+		}
+		throw new ResultsException("Broken varint at " + in.position());
+	}
+
+}
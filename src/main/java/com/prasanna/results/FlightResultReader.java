@@ -0,0 +1,223 @@
+package com.prasanna.results;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.sim.FlightListener;
+
+/**
+ * FlightResultReader reads a results file written by the flight result writer {@link FlightResultWriter}.
+ * The file is memory-mapped rather than read into buffers, and blocks are decoded in place from the mapping, so a file larger than
+ * the heap is read without copying it. Files larger than one mapping are mapped in segments of whole blocks.
+ * Any block can be decoded on its own through the block index at the end of the file.
+ * It can also be executed to print a results file as CSV.
+ *
+ * @author pramakr2
+ *
+ */
+public class FlightResultReader implements Closeable {
+
+	/**
+	 * Largest number of bytes of one mapping.
+	 */
+	private static final int MAX_SEGMENT = 1 << 30;
+
+	/**
+	 * The file channel the results are mapped from.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Mappings of the file, every one of them covering whole blocks.
+	 */
+	private final MappedByteBuffer[] segments;
+
+	/**
+	 * Segment of every block.
+	 */
+	private final int[] blockSegments;
+
+	/**
+	 * Position of every block within its segment.
+	 */
+	private final int[] blockPositions;
+
+	/**
+	 * Number of flights of every block.
+	 */
+	private final int[] blockFlights;
+
+	/**
+	 * Number of flights of the file.
+	 */
+	private final long flights;
+
+	/**
+	 * Parameterized constructor, opens the results file, checks its header and trailer and maps its blocks.
+	 *
+	 * @param file Results file.
+	 * @throws IOException If the file can not be read.
+	 *
+	 * @exception ResultsException
+	 *            Indicates that the file is not a results file, has an unknown version or was not closed.
+	 */
+	public FlightResultReader(Path file) throws IOException {
+		channel = FileChannel.open(file);
+		try {
+			long size = channel.size();
+			if (size < FlightResultWriter.HEADER_SIZE + FlightResultWriter.TRAILER_SIZE)
+				throw new ResultsException("Not a flight results file: " + file);
+			ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, FlightResultWriter.HEADER_SIZE);
+			int magic = header.getInt();
+			int version = header.getInt();
+			int blockSize = header.getInt();
+			if (magic != FlightResultWriter.MAGIC || version != FlightResultWriter.VERSION || blockSize != FlightResultWriter.BLOCK_FLIGHTS)
+				throw new ResultsException("Unsupported flight results file: " + file + ", version: " + version);
+			ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, size - FlightResultWriter.TRAILER_SIZE, FlightResultWriter.TRAILER_SIZE);
+			long indexOffset = trailer.getLong();
+			int blocks = trailer.getInt();
+			if (trailer.getInt() != FlightResultWriter.MAGIC || indexOffset + (long) blocks * FlightResultWriter.INDEX_ENTRY_SIZE + FlightResultWriter.TRAILER_SIZE != size)
+				throw new ResultsException("Flight results file was not closed: " + file);
+			ByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) blocks * FlightResultWriter.INDEX_ENTRY_SIZE);
+			long[] offsets = new long[blocks + 1];
+			blockFlights = new int[blocks];
+			long total = 0;
+			for (int block = 0; block < blocks; block++) {
+				offsets[block] = index.getLong();
+				blockFlights[block] = index.getInt();
+				total += blockFlights[block];
+			}
+			offsets[blocks] = indexOffset;
+			flights = total;
+			blockSegments = new int[blocks];
+			blockPositions = new int[blocks];
+			/*
+			 * Segments grow block by block up to the size of one mapping, so no block straddles two segments.
+			 */
+			List<MappedByteBuffer> mapped = new ArrayList<MappedByteBuffer>();
+			int first = 0;
+			while (first < blocks) {
+				int last = first + 1;
+				while (last < blocks && offsets[last + 1] - offsets[first] <= MAX_SEGMENT) {
+					last++;
+				}
+				for (int block = first; block < last; block++) {
+					blockSegments[block] = mapped.size();
+					blockPositions[block] = (int) (offsets[block] - offsets[first]);
+				}
+				mapped.add(channel.map(FileChannel.MapMode.READ_ONLY, offsets[first], offsets[last] - offsets[first]));
+				first = last;
+			}
+			segments = mapped.toArray(new MappedByteBuffer[mapped.size()]);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Gets the number of blocks.
+	 *
+	 * @return blocks
+	 */
+	public int getBlockCount() {
+		return blockFlights.length;
+	}
+
+	/**
+	 * Gets the number of flights of a block.
+	 *
+	 * @param block The block.
+	 * @return flights
+	 */
+	public int getBlockFlights(int block) {
+		return blockFlights[block];
+	}
+
+	/**
+	 * Gets the number of flights of the file.
+	 *
+	 * @return flights
+	 */
+	public long getFlights() {
+		return flights;
+	}
+
+	/**
+	 * Decodes a block.
+	 *
+	 * @param block The block.
+	 * @param into Block {@link FlightResultBlock} the columns are decoded into, reused from one read to the next.
+	 * @return into
+	 *
+	 * @exception ResultsException
+	 *            Indicates that the block is broken.
+	 */
+	public FlightResultBlock read(int block, FlightResultBlock into) {
+		ByteBuffer in = segments[blockSegments[block]].duplicate();
+		in.position(blockPositions[block]);
+		into.decode(in);
+		if (into.size() != blockFlights[block])
+			throw new ResultsException("Block " + block + " has " + into.size() + " flights, index says " + blockFlights[block]);
+		return into;
+	}
+
+	/**
+	 * Hands every flight of the file, in the order they were written, to the given listener.
+	 *
+	 * @param listener Flight listener {@link FlightListener}.
+	 */
+	public void scan(FlightListener listener) {
+		FlightResultBlock block = new FlightResultBlock();
+		for (int b = 0; b < blockFlights.length; b++) {
+			read(b, block);
+			for (int i = 0; i < block.size(); i++) {
+				listener.completed(block.getId(i), block.getAction(i), block.getArrivalTick(i), block.getRunwayStartTick(i), block.getCompletionTick(i), block.getWaitTime(i));
+			}
+		}
+	}
+
+	/**
+	 * Closes the file, the mappings are released once they are no longer reachable.
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	/**
+	 * Prints a results file as CSV.
+	 *
+	 * @param args Arguments, the results file.
+	 * @throws IOException If the file can not be read.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.err.println("Usage: FlightResultReader <results file>");
+			return;
+		}
+		final PrintStream out = System.out;
+		FlightResultReader reader = new FlightResultReader(Paths.get(args[0]));
+		try {
+			out.println("flight,action,arrival,runwayStart,completion,wait");
+			reader.scan(new FlightListener() {
+				@Override
+				public void completed(long flight, FlightAction action, int arrivalTick, int runwayStartTick, int completionTick, int waitTime) {
+					out.println(flight + "," + action + "," + arrivalTick + "," + runwayStartTick + "," + completionTick + "," + waitTime);
+				}
+			});
+		} finally {
+			reader.close();
+		}
+	}
+
+}
@@ -0,0 +1,291 @@
+package com.prasanna.results;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.sim.FlightListener;
+
+/**
+ * FlightResultWriter writes one record per completed flight to a columnar file, so runs of hundreds of millions of flights
+ * can be analysed afterwards without keeping them in memory or writing text. Completed flights are collected in blocks of
+ * {@link #BLOCK_FLIGHTS} flights, and every full block is encoded column by column, each column as small variable-length integers
+ * (varints) of the differences between neighbouring values, which are small because flights complete in time order.
+ * The file is read back with the flight result reader {@link FlightResultReader}.
+ *
+ * The file starts with a header of {@link #HEADER_SIZE} bytes (magic, version, block flights) followed by the blocks, every block holding
+ * the number of its flights and the byte length of each of its columns, then the columns,
+ * 		1. flight - the flight number, zigzag varint of the difference from the flight before.
+ * 		2. action - one bit per flight, set when the flight has taken off rather than landed.
+ * 		3. arrival tick - zigzag varint of the difference from the arrival tick of the flight before.
+ * 		4. runway start tick - varint of the ticks from the arrival to the runway start.
+ * 		5. completion tick - varint of the ticks from the runway start to the completion, the runway time.
+ * 		6. wait - zigzag varint of the difference from the wait time of the flight before.
+ * The blocks are followed by an index of the offset and number of flights of every block, and a trailer of {@link #TRAILER_SIZE} bytes
+ * (offset of the index, number of blocks, magic) which lets the reader find any block without decoding the blocks before it.
+ *
+ * @author pramakr2
+ *
+ */
+public class FlightResultWriter implements FlightListener, Closeable {
+
+	/**
+	 * Magic number at the beginning and at the end of every results file, "SAR1" in ASCII.
+	 */
+	public static final int MAGIC = 0x53415231;
+
+	/**
+	 * Version of the file layout.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * Size of the header in bytes.
+	 */
+	public static final int HEADER_SIZE = 12;
+
+	/**
+	 * Size of the trailer in bytes.
+	 */
+	public static final int TRAILER_SIZE = 16;
+
+	/**
+	 * Number of columns of every block.
+	 */
+	public static final int COLUMNS = 6;
+
+	/**
+	 * Size of the header of every block in bytes, the number of flights and the byte length of every column.
+	 */
+	public static final int BLOCK_HEADER_SIZE = 4 + 4 * COLUMNS;
+
+	/**
+	 * Size of one entry of the block index in bytes, the offset and number of flights of the block.
+	 */
+	public static final int INDEX_ENTRY_SIZE = 12;
+
+	/**
+	 * Number of flights of every block but the last one.
+	 */
+	public static final int BLOCK_FLIGHTS = 4096;
+
+	/**
+	 * The file channel the results are written to.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * Buffer every block is encoded into, large enough for a block of the longest varints.
+	 */
+	private final ByteBuffer buffer;
+
+	private final long[] ids = new long[BLOCK_FLIGHTS];
+	private final boolean[] takenOff = new boolean[BLOCK_FLIGHTS];
+	private final int[] arrivalTicks = new int[BLOCK_FLIGHTS];
+	private final int[] runwayStartTicks = new int[BLOCK_FLIGHTS];
+	private final int[] completionTicks = new int[BLOCK_FLIGHTS];
+	private final int[] waitTimes = new int[BLOCK_FLIGHTS];
+
+	/**
+	 * Number of flights of the current block.
+	 */
+	private int count;
+
+	/**
+	 * Offset in the file of every block written.
+	 */
+	private long[] blockOffsets = new long[16];
+
+	/**
+	 * Number of flights of every block written.
+	 */
+	private int[] blockFlights = new int[16];
+
+	/**
+	 * Number of blocks written.
+	 */
+	private int blocks;
+
+	/**
+	 * Offset in the file of the next block.
+	 */
+	private long position;
+
+	/**
+	 * Number of flights written, including the current block.
+	 */
+	private long flights;
+
+	/**
+	 * Parameterized constructor, creates the results file or truncates it if it exists.
+	 *
+	 * @param file Results file.
+	 * @throws IOException If the file can not be opened.
+	 */
+	public FlightResultWriter(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		buffer = ByteBuffer.allocateDirect(BLOCK_HEADER_SIZE + BLOCK_FLIGHTS * (10 + 4 * 5) + BLOCK_FLIGHTS / 8);
+		buffer.putInt(MAGIC).putInt(VERSION).putInt(BLOCK_FLIGHTS);
+		write();
+		position = HEADER_SIZE;
+	}
+
+	@Override
+	public void completed(long flight, FlightAction action, int arrivalTick, int runwayStartTick, int completionTick, int waitTime) {
+		ids[count] = flight;
+		takenOff[count] = FlightAction.TAKEN_OFF.equals(action);
+		arrivalTicks[count] = arrivalTick;
+		runwayStartTicks[count] = runwayStartTick;
+		completionTicks[count] = completionTick;
+		waitTimes[count] = waitTime;
+		count++;
+		flights++;
+		if (count == BLOCK_FLIGHTS)
+			flushBlock();
+	}
+
+	/**
+	 * Gets number of flights written.
+	 *
+	 * @return flights
+	 */
+	public long getFlights() {
+		return flights;
+	}
+
+	/**
+	 * Encodes the current block and writes it to the file.
+	 *
+	 * @exception ResultsException
+	 *            Indicates that the block could not be written.
+	 */
+	private void flushBlock() {
+		buffer.putInt(count);
+		int lengths = buffer.position();
+		buffer.position(BLOCK_HEADER_SIZE);
+		int[] sizes = new int[COLUMNS];
+		int start = buffer.position();
+		long previous = 0;
+		for (int i = 0; i < count; i++) {
+			putVarint(zigzag(ids[i] - previous));
+			previous = ids[i];
+		}
+		sizes[0] = buffer.position() - start;
+		start = buffer.position();
+		for (int i = 0; i < count; i += 8) {
+			int bits = 0;
+			for (int j = i; j < Math.min(i + 8, count); j++) {
+				if (takenOff[j])
+					bits |= 1 << (j - i);
+			}
+			buffer.put((byte) bits);
+		}
+		sizes[1] = buffer.position() - start;
+		start = buffer.position();
+		previous = 0;
+		for (int i = 0; i < count; i++) {
+			putVarint(zigzag((long) arrivalTicks[i] - previous));
+			previous = arrivalTicks[i];
+		}
+		sizes[2] = buffer.position() - start;
+		start = buffer.position();
+		for (int i = 0; i < count; i++) {
+			putVarint((long) runwayStartTicks[i] - arrivalTicks[i]);
+		}
+		sizes[3] = buffer.position() - start;
+		start = buffer.position();
+		for (int i = 0; i < count; i++) {
+			putVarint((long) completionTicks[i] - runwayStartTicks[i]);
+		}
+		sizes[4] = buffer.position() - start;
+		start = buffer.position();
+		previous = 0;
+		for (int i = 0; i < count; i++) {
+			putVarint(zigzag((long) waitTimes[i] - previous));
+			previous = waitTimes[i];
+		}
+		sizes[5] = buffer.position() - start;
+		for (int column = 0; column < COLUMNS; column++) {
+			buffer.putInt(lengths + 4 * column, sizes[column]);
+		}
+		if (blocks == blockOffsets.length) {
+			blockOffsets = Arrays.copyOf(blockOffsets, 2 * blocks);
+			blockFlights = Arrays.copyOf(blockFlights, 2 * blocks);
+		}
+		blockOffsets[blocks] = position;
+		blockFlights[blocks] = count;
+		blocks++;
+		position += buffer.position();
+		write();
+		count = 0;
+	}
+
+	/**
+	 * Maps a signed value to an unsigned one with small magnitudes first, 0, -1, 1, -2, ...
+	 *
+	 * @param value Signed value.
+	 * @return unsigned value
+	 */
+	private static long zigzag(long value) {
+		return (value << 1) ^ (value >> 63);
+	}
+
+	/**
+	 * Puts an unsigned value as a varint, 7 bits per byte with the high bit set on every byte but the last.
+	 *
+	 * @param value Unsigned value.
+	 */
+	private void putVarint(long value) {
+		while ((value & ~0x7FL) != 0) {
+			buffer.put((byte) ((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Writes the buffer to the file and clears it.
+	 *
+	 * @exception ResultsException
+	 *            Indicates that the buffer could not be written.
+	 */
+	private void write() {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} catch (IOException e) {
+			throw new ResultsException("Exception writing flight results", e);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the last block, the block index and the trailer, and closes the file.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			if (count > 0)
+				flushBlock();
+			for (int block = 0; block < blocks; block++) {
+				if (buffer.remaining() < INDEX_ENTRY_SIZE)
+					write();
+				buffer.putLong(blockOffsets[block]).putInt(blockFlights[block]);
+			}
+			if (buffer.remaining() < TRAILER_SIZE)
+				write();
+			buffer.putLong(position).putInt(blocks).putInt(MAGIC);
+			write();
+		} finally {
+			channel.close();
+		}
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.prasanna.results;
+
+/**
+ * ResultsException indicates that a per-flight results file {@link FlightResultWriter} could not be written or read.
+ * It is unchecked because it is raised from the simulation loop, which does not do any I/O otherwise.
+ * 
+ * @author pramakr2
+ *
+ */
+public class ResultsException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param message Detail message.
+	 */
+	public ResultsException(String message) {
+		super(message);
+	}
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param message Detail message.
+	 * @param cause Cause of the exception.
+	 */
+	public ResultsException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,121 @@
+package com.prasanna.sim;
+
+/**
+ * This class holds the outcome of an adaptive run {@link AdaptiveRunner}: the warm-up which was discarded,
+ * how long the simulation ran and the mean wait with the half width of its 95% confidence interval.
+ * 
+ * @author pramakr2
+ *
+ */
+public class AdaptiveResult {
+	
+	/**
+	 * Number of ticks discarded as warm-up.
+	 */
+	private final int warmupTicks;
+	
+	/**
+	 * Number of ticks simulated, warm-up included.
+	 */
+	private final int ticks;
+	
+	/**
+	 * Number of batches the confidence interval is built from.
+	 */
+	private final int batches;
+	
+	/**
+	 * Mean wait time of the flights which got a runway after the warm-up.
+	 */
+	private final double meanWaitTime;
+	
+	/**
+	 * Half width of the 95% confidence interval of the mean wait time.
+	 */
+	private final double halfWidth;
+	
+	/**
+	 * Whether the target half width was reached before the maximum simulation length.
+	 */
+	private final boolean converged;
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param warmupTicks Number of ticks discarded as warm-up.
+	 * @param ticks Number of ticks simulated, warm-up included.
+	 * @param batches Number of batches the confidence interval is built from.
+	 * @param meanWaitTime Mean wait time of the flights which got a runway after the warm-up.
+	 * @param halfWidth Half width of the 95% confidence interval of the mean wait time.
+	 * @param converged Whether the target half width was reached.
+	 */
+	public AdaptiveResult(int warmupTicks, int ticks, int batches, double meanWaitTime, double halfWidth, boolean converged) {
+		this.warmupTicks = warmupTicks;
+		this.ticks = ticks;
+		this.batches = batches;
+		this.meanWaitTime = meanWaitTime;
+		this.halfWidth = halfWidth;
+		this.converged = converged;
+	}
+
+	/**
+	 * Gets number of ticks discarded as warm-up.
+	 * 
+	 * @return warmupTicks.
+	 */
+	public int getWarmupTicks() {
+		return warmupTicks;
+	}
+
+	/**
+	 * Gets number of ticks simulated, warm-up included.
+	 * 
+	 * @return ticks.
+	 */
+	public int getTicks() {
+		return ticks;
+	}
+
+	/**
+	 * Gets number of batches the confidence interval is built from.
+	 * 
+	 * @return batches.
+	 */
+	public int getBatches() {
+		return batches;
+	}
+
+	/**
+	 * Gets mean wait time of the flights which got a runway after the warm-up.
+	 * 
+	 * @return meanWaitTime.
+	 */
+	public double getMeanWaitTime() {
+		return meanWaitTime;
+	}
+
+	/**
+	 * Gets half width of the 95% confidence interval of the mean wait time.
+	 * 
+	 * @return halfWidth, NaN if the warm-up never ended.
+	 */
+	public double getHalfWidth() {
+		return halfWidth;
+	}
+
+	/**
+	 * Checks whether the target half width was reached before the maximum simulation length.
+	 * 
+	 * @return converged.
+	 */
+	public boolean isConverged() {
+		return converged;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("mean wait=%.3f +/- %.3f, warm-up=%d ticks, ticks=%d, batches=%d%s",
+				meanWaitTime, halfWidth, warmupTicks, ticks, batches, converged ? "" : " (not converged)");
+	}
+
+}
@@ -0,0 +1,187 @@
+package com.prasanna.sim;
+
+import java.util.Date;
+import java.util.SplittableRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.util.Mser;
+import com.prasanna.util.Statistic;
+
+/**
+ * This class runs one simulation only as long as it takes to estimate the mean wait time to a target precision,
+ * instead of for a fixed simulation length. The simulation starts from an empty airport, so its first ticks are biased towards short waits.
+ * The run is split in windows of WINDOW {@link #WINDOW} ticks and the mean wait of the flights which got a runway in every window is recorded:
+ *
+ * 		1. The warm-up is found with the MSER rule {@link Mser} over the window means and discarded.
+ * 		2. The windows after the warm-up are grouped in BATCHES {@link #BATCHES} batch means, whose spread gives the confidence interval of the mean wait.
+ * 		3. The simulation goes on until the half width of the interval is down to the target or the simulation length of the configuration is reached.
+ *
+ * @author pramakr2
+ *
+ */
+public class AdaptiveRunner {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveRunner.class);
+
+	/**
+	 * Number of ticks of a window, the observation of the warm-up detection.
+	 */
+	public static final int WINDOW = 100;
+
+	/**
+	 * Number of batches the confidence interval is built from.
+	 */
+	public static final int BATCHES = 20;
+
+	/**
+	 * The configuration {@link SimulationConfig} of the airport, its simulation length is the longest run.
+	 */
+	private final SimulationConfig config;
+
+	/**
+	 * The engine {@link SimulationEngine} which drives the simulation.
+	 */
+	private final SimulationEngine engine;
+
+	/**
+	 * The arrival mode {@link ArrivalMode} of the simulation.
+	 */
+	private final ArrivalMode arrivalMode;
+
+	/**
+	 * The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	private final RunwayUse[] runwayUses;
+
+	/**
+	 * Default constructor, uses the configured airport.
+	 */
+	public AdaptiveRunner() {
+		this(SimulationConfig.defaults(), SmartAirportSimulator.ENGINE, SmartAirportSimulator.ARRIVAL_MODE, SmartAirportSimulator.RUNWAYS);
+	}
+
+	/**
+	 * Parameterized constructor.
+	 *
+	 * @param config The configuration {@link SimulationConfig} of the airport, its simulation length is the longest run.
+	 * @param engine The engine {@link SimulationEngine} which drives the simulation.
+	 * @param arrivalMode The arrival mode {@link ArrivalMode} of the simulation, either BERNOULLI or GEOMETRIC.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	public AdaptiveRunner(SimulationConfig config, SimulationEngine engine, ArrivalMode arrivalMode, RunwayUse[] runwayUses) {
+		if (ArrivalMode.TRACE.equals(arrivalMode))
+			throw new IllegalArgumentException("Adaptive runs need random arrivals, arrival mode: " + arrivalMode);
+		this.config = config;
+		this.engine = engine;
+		this.arrivalMode = arrivalMode;
+		this.runwayUses = runwayUses.clone();
+	}
+
+	/**
+	 * Runs the simulation until the mean wait time is known to the given precision.
+	 *
+	 * @param halfWidth Target half width of the 95% confidence interval of the mean wait time.
+	 * @param seed Seed of the simulation.
+	 * @return result {@link AdaptiveResult} of the run.
+	 */
+	public AdaptiveResult run(double halfWidth, long seed) {
+		if (!(halfWidth > 0))
+			throw new IllegalArgumentException("Illegal half width: " + halfWidth);
+		int maxWindows = config.getSimulationLength() / WINDOW;
+		if (maxWindows < 4 * BATCHES)
+			throw new IllegalArgumentException("Simulation length " + config.getSimulationLength() + " is shorter than " + (4 * BATCHES * WINDOW) + " ticks");
+		long[] waits = new long[maxWindows];
+		int[] grants = new int[maxWindows];
+		double[] means = new double[maxWindows];
+		long lastWait = 0;
+		int lastGrants = 0;
+		AdaptiveResult result = null;
+		/*
+		 * The run ends before the simulation length, so the simulation is never over and it is closed here.
+		 */
+		try (SmartAirportSimulator simulator = new SmartAirportSimulator(config, engine, arrivalMode, seed, runwayUses)) {
+			for (int n = 1; n <= maxWindows; n++) {
+				simulator.advance(n * WINDOW);
+				long wait = simulator.getTotalLandingWaitTime() + simulator.getTotalTakeOffWaitTime();
+				int granted = simulator.getTotalLandingRunwayUses() + simulator.getTotalTakeOffRunwayUses();
+				waits[n - 1] = wait - lastWait;
+				grants[n - 1] = granted - lastGrants;
+				/*
+				 * A window without a single flight on the runway carries the mean of the window before it.
+				 */
+				means[n - 1] = grants[n - 1] > 0 ? (double) waits[n - 1] / grants[n - 1] : (n > 1 ? means[n - 2] : 0);
+				lastWait = wait;
+				lastGrants = granted;
+				if ((n % BATCHES == 0 && n >= 4 * BATCHES) || n == maxWindows) {
+					result = estimate(waits, grants, means, n, n == maxWindows);
+					if (result != null && result.getHalfWidth() <= halfWidth)
+						return new AdaptiveResult(result.getWarmupTicks(), result.getTicks(), result.getBatches(), result.getMeanWaitTime(), result.getHalfWidth(), true);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Estimates the mean wait time from the first n windows.
+	 *
+	 * @param waits Total wait time of the flights which got a runway in every window.
+	 * @param grants Number of flights which got a runway in every window.
+	 * @param means Mean wait time of every window.
+	 * @param n Number of windows simulated so far.
+	 * @param last Whether the simulation length is reached, the second half of the run is used when the warm-up never ended.
+	 * @return result {@link AdaptiveResult}, not converged, null if the warm-up is not over yet.
+	 */
+	private AdaptiveResult estimate(long[] waits, int[] grants, double[] means, int n, boolean last) {
+		int warmup = Mser.truncation(means, n);
+		if (warmup < 0) {
+			if (!last)
+				return null;
+			warmup = n / 2;
+		}
+		/*
+		 * Leftover windows are dropped from the start, next to the warm-up, rather than from the end.
+		 */
+		int size = (n - warmup) / BATCHES;
+		int from = n - size * BATCHES;
+		Statistic batchMeans = new Statistic();
+		long totalWait = 0;
+		long totalGrants = 0;
+		for (int b = 0; b < BATCHES; b++) {
+			long wait = 0;
+			long granted = 0;
+			for (int w = from + b * size; w < from + (b + 1) * size; w++) {
+				wait += waits[w];
+				granted += grants[w];
+			}
+			if (granted > 0)
+				batchMeans.add((double) wait / granted);
+			totalWait += wait;
+			totalGrants += granted;
+		}
+		double mean = totalGrants > 0 ? (double) totalWait / totalGrants : 0;
+		return new AdaptiveResult(from * WINDOW, n * WINDOW, BATCHES, mean, batchMeans.getHalfWidth(), false);
+	}
+
+	/**
+	 * Execute the adaptive run.
+	 *
+	 * @param args Arguments, target half width of the mean wait time and optionally the seed.
+	 */
+	public static void main(String[] args) {
+		double halfWidth = args.length > 0 ? Double.parseDouble(args[0]) : 0.1;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : (SmartAirportSimulator.SEED != null ? SmartAirportSimulator.SEED : new SplittableRandom().nextLong());
+		LOGGER.info("Adaptive run with seed: "+seed+" starts at: "+ new Date());
+		AdaptiveResult result = new AdaptiveRunner().run(halfWidth, seed);
+		LOGGER.info(result.toString());
+		if (!result.isConverged())
+			LOGGER.warn("Half width "+halfWidth+" not reached within "+SmartAirportSimulator.SIMULATION_LENGTH+" ticks, increase sa.sim.simulation.length");
+		LOGGER.info("Adaptive run with seed: "+seed+" ends at: "+ new Date());
+	}
+
+}
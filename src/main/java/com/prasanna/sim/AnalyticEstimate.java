@@ -0,0 +1,174 @@
+package com.prasanna.sim;
+
+/**
+ * This class contains the steady-state metrics of an airport computed by the analytic estimator {@link AnalyticEstimator}.
+ * Waits and queue lengths of a class of flights which is not stable are infinite.
+ * 
+ * @author pramakr2
+ *
+ */
+public class AnalyticEstimate {
+
+	/**
+	 * Offered load of the runway, the share of the ticks it would be in use if every flight got it.
+	 */
+	private final double load;
+	
+	/**
+	 * Flights landing per tick.
+	 */
+	private final double landingThroughput;
+	
+	/**
+	 * Flights taking off per tick.
+	 */
+	private final double takeOffThroughput;
+	
+	/**
+	 * Mean number of ticks a flight waits to land.
+	 */
+	private final double landingWaitTicks;
+	
+	/**
+	 * Mean number of ticks a flight waits to take off.
+	 */
+	private final double takeOffWaitTicks;
+	
+	/**
+	 * Mean wait time of the flights which land, as counted by the simulator.
+	 */
+	private final double landingWaitTime;
+	
+	/**
+	 * Mean wait time of the flights which take off, as counted by the simulator.
+	 */
+	private final double takeOffWaitTime;
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param load Offered load of the runway.
+	 * @param landingThroughput Flights landing per tick.
+	 * @param takeOffThroughput Flights taking off per tick.
+	 * @param landingWaitTicks Mean number of ticks a flight waits to land.
+	 * @param takeOffWaitTicks Mean number of ticks a flight waits to take off.
+	 * @param landingWaitTime Mean wait time of the flights which land.
+	 * @param takeOffWaitTime Mean wait time of the flights which take off.
+	 */
+	public AnalyticEstimate(double load, double landingThroughput, double takeOffThroughput, double landingWaitTicks, double takeOffWaitTicks,
+			double landingWaitTime, double takeOffWaitTime) {
+		this.load = load;
+		this.landingThroughput = landingThroughput;
+		this.takeOffThroughput = takeOffThroughput;
+		this.landingWaitTicks = landingWaitTicks;
+		this.takeOffWaitTicks = takeOffWaitTicks;
+		this.landingWaitTime = landingWaitTime;
+		this.takeOffWaitTime = takeOffWaitTime;
+	}
+	
+	/**
+	 * Checks whether every flight gets the runway in the long run, which needs an offered load below 1.
+	 * 
+	 * @return boolean
+	 */
+	public boolean isStable() {
+		return load < 1;
+	}
+
+	/**
+	 * Gets the offered load of the runway, at or above 1 the take off queue grows without bound.
+	 * 
+	 * @return load
+	 */
+	public double getLoad() {
+		return load;
+	}
+	
+	/**
+	 * Gets the share of the ticks the runway is in use.
+	 * 
+	 * @return runway utilization.
+	 */
+	public double getRunwayUtilization() {
+		return Math.min(load, 1);
+	}
+
+	/**
+	 * Gets the number of flights landing per tick.
+	 * 
+	 * @return landingThroughput
+	 */
+	public double getLandingThroughput() {
+		return landingThroughput;
+	}
+
+	/**
+	 * Gets the number of flights taking off per tick.
+	 * 
+	 * @return takeOffThroughput
+	 */
+	public double getTakeOffThroughput() {
+		return takeOffThroughput;
+	}
+
+	/**
+	 * Gets the mean number of ticks a flight waits to land.
+	 * 
+	 * @return landingWaitTicks
+	 */
+	public double getLandingWaitTicks() {
+		return landingWaitTicks;
+	}
+
+	/**
+	 * Gets the mean number of ticks a flight waits to take off.
+	 * 
+	 * @return takeOffWaitTicks
+	 */
+	public double getTakeOffWaitTicks() {
+		return takeOffWaitTicks;
+	}
+
+	/**
+	 * Gets the mean wait time of the flights which land.
+	 * 
+	 * @return landingWaitTime
+	 */
+	public double getLandingWaitTime() {
+		return landingWaitTime;
+	}
+
+	/**
+	 * Gets the mean wait time of the flights which take off.
+	 * 
+	 * @return takeOffWaitTime
+	 */
+	public double getTakeOffWaitTime() {
+		return takeOffWaitTime;
+	}
+	
+	/**
+	 * Gets the time-averaged number of flights waiting to land, by Little's law.
+	 * 
+	 * @return average landing queue length.
+	 */
+	public double getAverageLandingQueueLength() {
+		return landingThroughput * landingWaitTicks;
+	}
+	
+	/**
+	 * Gets the time-averaged number of flights waiting to take off, by Little's law.
+	 * 
+	 * @return average take off queue length.
+	 */
+	public double getAverageTakeOffQueueLength() {
+		return takeOffThroughput * takeOffWaitTicks;
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("load=%.3f%s, landing wait=%.3f ticks, take off wait=%.3f ticks, landing queue=%.3f, take off queue=%.3f",
+				load, isStable() ? "" : " (unstable)", landingWaitTicks, takeOffWaitTicks, getAverageLandingQueueLength(), getAverageTakeOffQueueLength());
+	}
+	
+}
@@ -0,0 +1,71 @@
+package com.prasanna.sim;
+
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SchedulingRule;
+
+/**
+ * This class computes the steady-state metrics of an airport with one mixed runway and strict landing priority {@link SchedulingRule#STRICT_LANDING}
+ * in closed form, without simulating it. Under BERNOULLI and GEOMETRIC arrival modes at most one landing and one take off arrive per tick
+ * with the configured probabilities, and a flight holds the runway for its runway time plus the tick in which it is cleared.
+ * This is a discrete-time non-preemptive priority queue with deterministic service, solved with the discrete-time form of Cobham's formula:
+ * 
+ * 		1. S = runway time + 1 and rho = p * S for landings (L) and take offs (T).
+ * 		2. R = sum of p * S * (S - 1) / 2, the mean residual service seen by an arriving flight.
+ * 		3. W(L) = R / (1 - rho(L)).
+ * 		4. W(T) = (R + rho(L) * W(L) + rho(L)) / (1 - rho(L) - rho(T)), landings arriving in the same tick go first.
+ * 
+ * The offered load rho(L) + rho(T) tells at once whether a regime is stable. The estimates are long run averages,
+ * they match simulations long enough for the start from an empty airport to wash out. Arrival probabilities which follow a rate profile are not steady,
+ * they are simulated.
+ * 
+ * @author pramakr2
+ *
+ */
+public class AnalyticEstimator {
+	
+	private AnalyticEstimator() {
+	}
+	
+	/**
+	 * Checks whether the estimator models an airport with the given runways and scheduling rule.
+	 * 
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * @param rule The rule {@link SchedulingRule} deciding which waiting flight gets a free runway.
+	 * @return true for one MIXED runway with STRICT_LANDING.
+	 */
+	public static boolean applies(RunwayUse[] runwayUses, SchedulingRule rule) {
+		return runwayUses.length == 1 && RunwayUse.MIXED.equals(runwayUses[0]) && SchedulingRule.STRICT_LANDING.equals(rule);
+	}
+	
+	/**
+	 * Computes the steady-state metrics for the given configuration.
+	 * 
+	 * @param config The configuration {@link SimulationConfig} of the airport.
+	 * @return estimate {@link AnalyticEstimate}.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the arrival probabilities follow a rate profile.
+	 */
+	public static AnalyticEstimate estimate(SimulationConfig config) {
+		if (!config.isConstantRate())
+			throw new IllegalArgumentException("No steady state with rate profiles: " + config);
+		double landingService = config.getLandingTime() + 1;
+		double takeOffService = config.getTakeOffTime() + 1;
+		double landingLoad = config.getLandingProbability() * landingService;
+		double takeOffLoad = config.getTakeOffProbability() * takeOffService;
+		double load = landingLoad + takeOffLoad;
+		
+		/*
+		 * Landings always get the runway first, take offs only get what is left of it.
+		 */
+		double landingThroughput = landingLoad < 1 ? config.getLandingProbability() : 1 / landingService;
+		double takeOffThroughput = load < 1 ? config.getTakeOffProbability() : Math.max(0, 1 - landingLoad) / takeOffService;
+		double residual = (landingThroughput * landingService * (landingService - 1) + takeOffThroughput * takeOffService * (takeOffService - 1)) / 2;
+		
+		double landingWait = landingLoad < 1 ? residual / (1 - landingLoad) : Double.POSITIVE_INFINITY;
+		double takeOffWait = load < 1 ? (residual + landingLoad * landingWait + landingLoad) / (1 - load) : Double.POSITIVE_INFINITY;
+		return new AnalyticEstimate(load, landingThroughput, takeOffThroughput, landingWait, takeOffWait,
+				config.getWaitTime() + landingWait * config.getDeltaWaitTime(), config.getWaitTime() + takeOffWait * config.getDeltaWaitTime());
+	}
+
+}
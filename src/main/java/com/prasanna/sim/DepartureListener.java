@@ -0,0 +1,20 @@
+package com.prasanna.sim;
+
+/**
+ * DepartureListener is told about every flight which has taken off, for instance to hand it over to the airport it flies to.
+ * It is called from the simulation loop, so it should not block.
+ * 
+ * @author pramakr2
+ *
+ */
+public interface DepartureListener {
+
+	/**
+	 * Called when a flight has taken off and left the runway.
+	 * 
+	 * @param tick The tick at which the flight left the runway.
+	 * @param flight The flight number.
+	 */
+	void departed(int tick, long flight);
+	
+}
@@ -0,0 +1,91 @@
+package com.prasanna.sim;
+
+import com.prasanna.constant.EventType;
+
+/**
+ * This class contains code to model an entry of the event calendar used by the discrete-event engine.
+ * Events are ordered by time, then by event type {@link EventType} and then by runway id, so the calendar has one fixed order
+ * whatever the order the events were added in.
+ * 
+ * @author pramakr2
+ *
+ */
+public class Event implements Comparable<Event> {
+
+	/**
+	 * The tick at which the event happens.
+	 */
+	private final int time;
+	
+	/**
+	 * The event type {@link EventType}.
+	 */
+	private final EventType type;
+	
+	/**
+	 * The runway id the event belongs to, -1 when the event does not belong to a runway.
+	 */
+	private final int runway;
+
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param time The tick at which the event happens.
+	 * @param type The event type {@link EventType}.
+	 */
+	public Event(int time, EventType type) {
+		this(time, type, -1);
+	}
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param time The tick at which the event happens.
+	 * @param type The event type {@link EventType}.
+	 * @param runway The runway id the event belongs to.
+	 */
+	public Event(int time, EventType type, int runway) {
+		this.time = time;
+		this.type = type;
+		this.runway = runway;
+	}
+
+	/**
+	 * Gets the tick at which the event happens.
+	 * 
+	 * @return time.
+	 */
+	public int getTime() {
+		return time;
+	}
+
+	/**
+	 * Gets the event type {@link EventType}.
+	 * 
+	 * @return event type.
+	 */
+	public EventType getType() {
+		return type;
+	}
+
+	/**
+	 * Gets the runway id the event belongs to.
+	 * 
+	 * @return runway id, -1 when the event does not belong to a runway.
+	 */
+	public int getRunway() {
+		return runway;
+	}
+
+	@Override
+	public int compareTo(Event other) {
+		if (time != other.time) {
+			return time < other.time ? -1 : 1;
+		}
+		if (type != other.type) {
+			return type.compareTo(other.type);
+		}
+		return Integer.compare(runway, other.runway);
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.prasanna.sim;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * FlightListener is told about every flight which has left the runway, with the ticks of its life at the airport,
+ * for instance to write per-flight results. It is called from the simulation loop, so it should not block.
+ * Flights still waiting or on a runway when the simulation ends are never completed.
+ *
+ * @author pramakr2
+ *
+ */
+public interface FlightListener {
+
+	/**
+	 * Called when a flight has either landed or taken off and left the runway.
+	 *
+	 * @param flight The flight number.
+	 * @param action Either LANDED {@link FlightAction#LANDED} or TAKEN_OFF {@link FlightAction#TAKEN_OFF}.
+	 * @param arrivalTick The tick at which the flight arrived at the airport.
+	 * @param runwayStartTick The tick at which the flight got a runway.
+	 * @param completionTick The tick at which the flight left the runway.
+	 * @param waitTime Wait time of the flight, as in the wait time totals of the simulation.
+	 */
+	void completed(long flight, FlightAction action, int arrivalTick, int runwayStartTick, int completionTick, int waitTime);
+
+}
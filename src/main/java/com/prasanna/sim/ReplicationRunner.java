@@ -0,0 +1,236 @@
+package com.prasanna.sim;
+
+import java.util.Date;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+
+/**
+ * This class runs independent replications of SmartAirportSimulator {@link SmartAirportSimulator} in parallel on a fork/join pool
+ * and merges their results into a replication summary {@link ReplicationSummary}.
+ * Every replication has its own simulator, runways and random streams. The seed of every replication is derived from the seed of the study,
+ * so the summary does not depend on the number of threads or on the order in which replications finish.
+ * With antithetic variates every replication is a pair of simulations with the same seed, the second one with mirrored random numbers,
+ * which costs two simulations but varies much less than two independent replications.
+ * 
+ * @author pramakr2
+ *
+ */
+public class ReplicationRunner {
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationRunner.class);
+	
+	/**
+	 * The configuration {@link SimulationConfig} of every replication.
+	 */
+	private final SimulationConfig config;
+	
+	/**
+	 * The engine {@link SimulationEngine} which drives every replication.
+	 */
+	private final SimulationEngine engine;
+	
+	/**
+	 * How arrivals {@link ArrivalMode} of every replication are generated.
+	 */
+	private final ArrivalMode arrivalMode;
+	
+	/**
+	 * The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	private final RunwayUse[] runwayUses;
+	
+	/**
+	 * Number of threads running replications.
+	 */
+	private final int parallelism;
+	
+	/**
+	 * Whether every replication is a pair of antithetic simulations.
+	 */
+	private final boolean antithetic;
+
+	/**
+	 * Default constructor, uses the configured engine and runways and one thread per core.
+	 */
+	public ReplicationRunner() {
+		this(SmartAirportSimulator.ENGINE, SmartAirportSimulator.RUNWAYS, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param engine The engine {@link SimulationEngine} which drives every replication.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * @param parallelism Number of threads running replications.
+	 */
+	public ReplicationRunner(SimulationEngine engine, RunwayUse[] runwayUses, int parallelism) {
+		this(engine, runwayUses, parallelism, false);
+	}
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param engine The engine {@link SimulationEngine} which drives every replication.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * @param parallelism Number of threads running replications.
+	 * @param antithetic Whether every replication is a pair of antithetic simulations.
+	 */
+	public ReplicationRunner(SimulationEngine engine, RunwayUse[] runwayUses, int parallelism, boolean antithetic) {
+		this(SimulationConfig.defaults(), engine, SmartAirportSimulator.ARRIVAL_MODE, runwayUses, parallelism, antithetic);
+	}
+	
+	/**
+	 * Parameterized constructor with its own configuration {@link SimulationConfig} instead of the configuration file.
+	 * 
+	 * @param config The configuration {@link SimulationConfig} of every replication.
+	 * @param engine The engine {@link SimulationEngine} which drives every replication.
+	 * @param arrivalMode How arrivals {@link ArrivalMode} of every replication are generated, either BERNOULLI or GEOMETRIC.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * @param parallelism Number of threads running replications.
+	 * @param antithetic Whether every replication is a pair of antithetic simulations.
+	 */
+	public ReplicationRunner(SimulationConfig config, SimulationEngine engine, ArrivalMode arrivalMode, RunwayUse[] runwayUses, int parallelism, boolean antithetic) {
+		this.config = config;
+		this.engine = engine;
+		this.arrivalMode = arrivalMode;
+		this.runwayUses = runwayUses.clone();
+		this.parallelism = parallelism;
+		this.antithetic = antithetic;
+	}
+	
+	/**
+	 * Runs the replications and merges their results.
+	 * 
+	 * @param replications Number of replications, pairs of simulations with antithetic variates.
+	 * @param seed Seed of the study, replication seeds are derived from it.
+	 * @return summary {@link ReplicationSummary} of the replications.
+	 */
+	public ReplicationSummary run(int replications, long seed) {
+		return run(seeds(replications, seed));
+	}
+	
+	/**
+	 * Derives the seeds of the replications of a study.
+	 * 
+	 * @param replications Number of replications.
+	 * @param seed Seed of the study.
+	 * @return seed of every replication.
+	 */
+	public static long[] seeds(int replications, long seed) {
+		if (replications < 1)
+			throw new IllegalArgumentException("Illegal number of replications: " + replications);
+		long[] seeds = new long[replications];
+		SplittableRandom random = new SplittableRandom(seed);
+		for (int i = 0; i < replications; i++) {
+			seeds[i] = random.nextLong();
+		}
+		return seeds;
+	}
+	
+	/**
+	 * Runs replications with the given seeds and merges their results, e.g. a share of the replications of a study run on another machine.
+	 * 
+	 * @param seeds Seed of every replication, see {@link #seeds(int, long)}.
+	 * @return summary {@link ReplicationSummary} of the replications.
+	 */
+	public ReplicationSummary run(long[] seeds) {
+		if (seeds.length < 1)
+			throw new IllegalArgumentException("Illegal number of replications: " + seeds.length);
+		int replications = seeds.length;
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			return pool.invoke(new ReplicationTask(seeds, 0, replications));
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Runs one replication.
+	 * 
+	 * @param seed Seed of the replication.
+	 * @return result {@link SimulationResult} of the replication.
+	 */
+	protected SimulationResult replicate(long seed) {
+		return replicate(seed, false);
+	}
+	
+	/**
+	 * Runs one simulation of a pair of antithetic simulations.
+	 * 
+	 * @param seed Seed of the pair.
+	 * @param antithetic Whether the simulation draws mirrored random numbers.
+	 * @return result {@link SimulationResult} of the simulation.
+	 */
+	protected SimulationResult replicate(long seed, boolean antithetic) {
+		SmartAirportSimulator simulator = new SmartAirportSimulator(config, engine, arrivalMode, seed, antithetic, runwayUses);
+		simulator.simulate();
+		return simulator.getResult();
+	}
+	
+	/**
+	 * Fork/join task which splits a range of replications in halves until one replication is left.
+	 */
+	private class ReplicationTask extends RecursiveTask<ReplicationSummary> {
+
+		private static final long serialVersionUID = 1L;
+		
+		private final long[] seeds;
+		private final int from;
+		private final int to;
+		
+		ReplicationTask(long[] seeds, int from, int to) {
+			this.seeds = seeds;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected ReplicationSummary compute() {
+			if (to - from == 1) {
+				ReplicationSummary summary = new ReplicationSummary();
+				if (antithetic) {
+					summary.add(replicate(seeds[from], false), replicate(seeds[from], true));
+				} else {
+					summary.add(replicate(seeds[from]));
+				}
+				return summary;
+			}
+			int middle = (from + to) >>> 1;
+			ReplicationTask left = new ReplicationTask(seeds, from, middle);
+			left.fork();
+			ReplicationSummary summary = new ReplicationTask(seeds, middle, to).compute();
+			summary.merge(left.join());
+			return summary;
+		}
+	}
+	
+	/**
+	 * Execute the replications.
+	 * 
+	 * @param args Arguments, number of replications and optionally the seed of the study, '--antithetic' runs every replication as a pair of antithetic simulations.
+	 */
+	public static void main(String[] args) {
+		boolean antithetic = args.length > 0 && "--antithetic".equals(args[args.length - 1]);
+		int positional = antithetic ? args.length - 1 : args.length;
+		int replications = positional > 0 ? Integer.parseInt(args[0]) : 100;
+		long seed = positional > 1 ? Long.parseLong(args[1]) : (SmartAirportSimulator.SEED != null ? SmartAirportSimulator.SEED : new SplittableRandom().nextLong());
+		LOGGER.info("Replication study with seed: "+seed+" starts at: "+ new Date());
+		ReplicationSummary summary = new ReplicationRunner(SmartAirportSimulator.ENGINE, SmartAirportSimulator.RUNWAYS, Runtime.getRuntime().availableProcessors(), antithetic).run(replications, seed);
+		LOGGER.info("\n");
+		LOGGER.info("$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$ Replication Results $$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$");
+		LOGGER.info("\n");
+		summary.report();
+		LOGGER.info("\n");
+		LOGGER.info("Replication study with seed: "+seed+" ends at: "+ new Date());
+	}
+
+}
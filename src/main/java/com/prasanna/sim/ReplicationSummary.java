@@ -0,0 +1,371 @@
+package com.prasanna.sim;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.util.ControlVariate;
+import com.prasanna.util.Statistic;
+import com.prasanna.util.WaitHistogram;
+
+/**
+ * This class merges the results {@link SimulationResult} of independent replications into statistics {@link Statistic}
+ * with 95% confidence intervals. Summaries of disjoint sets of replications can be merged, also after they have been written and read back,
+ * e.g. by another machine.
+ * The mean wait times are also estimated with control variates {@link ControlVariate}: the numbers of flights created to land and to take off
+ * are known in expectation, so replications with more arrivals than expected, and longer waits, are corrected for it.
+ * A pair of antithetic replications is added as one replication, the mean of the pair, so that the confidence intervals stay valid.
+ * 
+ * @author pramakr2
+ *
+ */
+public class ReplicationSummary {
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(ReplicationSummary.class);
+	
+	/**
+	 * Number of flights that have landed per replication.
+	 */
+	private final Statistic flightsLanded = new Statistic();
+	
+	/**
+	 * Number of flights that have taken off per replication.
+	 */
+	private final Statistic flightsTakenOff = new Statistic();
+	
+	/**
+	 * Number of flights waiting to land at the end of a replication.
+	 */
+	private final Statistic flightsWaitingToLand = new Statistic();
+	
+	/**
+	 * Number of flights waiting to take off at the end of a replication.
+	 */
+	private final Statistic flightsWaitingToTakeOff = new Statistic();
+	
+	/**
+	 * Number of flights that crashed per replication.
+	 */
+	private final Statistic flightsCrashed = new Statistic();
+	
+	/**
+	 * Mean landing wait time per replication.
+	 */
+	private final Statistic landingWaitTime = new Statistic();
+	
+	/**
+	 * Mean take off wait time per replication.
+	 */
+	private final Statistic takeOffWaitTime = new Statistic();
+	
+	/**
+	 * Runway utilization per replication.
+	 */
+	private final Statistic runwayUtilization = new Statistic();
+	
+	/**
+	 * Time-averaged number of flights waiting to land per replication.
+	 */
+	private final Statistic averageLandingQueueLength = new Statistic();
+	
+	/**
+	 * Time-averaged number of flights waiting to take off per replication.
+	 */
+	private final Statistic averageTakeOffQueueLength = new Statistic();
+	
+	/**
+	 * Wait times of the flights that got a runway for landing, pooled over all replications.
+	 */
+	private final WaitHistogram landingWaitTimes = new WaitHistogram();
+	
+	/**
+	 * Wait times of the flights that got a runway for take off, pooled over all replications.
+	 */
+	private final WaitHistogram takeOffWaitTimes = new WaitHistogram();
+	
+	/**
+	 * Mean landing wait time per replication, controlled by the landing and take off arrivals.
+	 */
+	private final ControlVariate controlledLandingWaitTime = new ControlVariate(2);
+	
+	/**
+	 * Mean take off wait time per replication, controlled by the landing and take off arrivals.
+	 */
+	private final ControlVariate controlledTakeOffWaitTime = new ControlVariate(2);
+
+	/**
+	 * Adds the result of one replication.
+	 * 
+	 * @param result Result {@link SimulationResult} of one replication.
+	 */
+	public void add(SimulationResult result) {
+		flightsLanded.add(result.getFlightsLanded());
+		flightsTakenOff.add(result.getFlightsTakenOff());
+		flightsWaitingToLand.add(result.getFlightsWaitingToLand());
+		flightsWaitingToTakeOff.add(result.getFlightsWaitingToTakeOff());
+		flightsCrashed.add(result.getFlightsCrashed());
+		landingWaitTime.add(result.getMeanLandingWaitTime());
+		takeOffWaitTime.add(result.getMeanTakeOffWaitTime());
+		runwayUtilization.add(result.getRunwayUtilization());
+		averageLandingQueueLength.add(result.getAverageLandingQueueLength());
+		averageTakeOffQueueLength.add(result.getAverageTakeOffQueueLength());
+		landingWaitTimes.merge(result.getLandingWaitTimes());
+		takeOffWaitTimes.merge(result.getTakeOffWaitTimes());
+		double landingDeviation = result.getLandingArrivals() - result.getExpectedLandingArrivals();
+		double takeOffDeviation = result.getTakeOffArrivals() - result.getExpectedTakeOffArrivals();
+		controlledLandingWaitTime.add(result.getMeanLandingWaitTime(), landingDeviation, takeOffDeviation);
+		controlledTakeOffWaitTime.add(result.getMeanTakeOffWaitTime(), landingDeviation, takeOffDeviation);
+	}
+	
+	/**
+	 * Adds the results of a pair of antithetic replications as one replication, the mean of the two results.
+	 * 
+	 * @param result Result {@link SimulationResult} of one replication.
+	 * @param antithetic Result {@link SimulationResult} of the antithetic replication with the same seed.
+	 */
+	public void add(SimulationResult result, SimulationResult antithetic) {
+		flightsLanded.add(mean(result.getFlightsLanded(), antithetic.getFlightsLanded()));
+		flightsTakenOff.add(mean(result.getFlightsTakenOff(), antithetic.getFlightsTakenOff()));
+		flightsWaitingToLand.add(mean(result.getFlightsWaitingToLand(), antithetic.getFlightsWaitingToLand()));
+		flightsWaitingToTakeOff.add(mean(result.getFlightsWaitingToTakeOff(), antithetic.getFlightsWaitingToTakeOff()));
+		flightsCrashed.add(mean(result.getFlightsCrashed(), antithetic.getFlightsCrashed()));
+		landingWaitTime.add(mean(result.getMeanLandingWaitTime(), antithetic.getMeanLandingWaitTime()));
+		takeOffWaitTime.add(mean(result.getMeanTakeOffWaitTime(), antithetic.getMeanTakeOffWaitTime()));
+		runwayUtilization.add(mean(result.getRunwayUtilization(), antithetic.getRunwayUtilization()));
+		averageLandingQueueLength.add(mean(result.getAverageLandingQueueLength(), antithetic.getAverageLandingQueueLength()));
+		averageTakeOffQueueLength.add(mean(result.getAverageTakeOffQueueLength(), antithetic.getAverageTakeOffQueueLength()));
+		landingWaitTimes.merge(result.getLandingWaitTimes());
+		landingWaitTimes.merge(antithetic.getLandingWaitTimes());
+		takeOffWaitTimes.merge(result.getTakeOffWaitTimes());
+		takeOffWaitTimes.merge(antithetic.getTakeOffWaitTimes());
+		double landingDeviation = mean(result.getLandingArrivals() - result.getExpectedLandingArrivals(), antithetic.getLandingArrivals() - antithetic.getExpectedLandingArrivals());
+		double takeOffDeviation = mean(result.getTakeOffArrivals() - result.getExpectedTakeOffArrivals(), antithetic.getTakeOffArrivals() - antithetic.getExpectedTakeOffArrivals());
+		controlledLandingWaitTime.add(mean(result.getMeanLandingWaitTime(), antithetic.getMeanLandingWaitTime()), landingDeviation, takeOffDeviation);
+		controlledTakeOffWaitTime.add(mean(result.getMeanTakeOffWaitTime(), antithetic.getMeanTakeOffWaitTime()), landingDeviation, takeOffDeviation);
+	}
+	
+	private static double mean(double value, double antitheticValue) {
+		return (value + antitheticValue) / 2;
+	}
+	
+	/**
+	 * Merges the replications of the other summary into this summary.
+	 * 
+	 * @param other Summary of other replications.
+	 */
+	public void merge(ReplicationSummary other) {
+		flightsLanded.merge(other.flightsLanded);
+		flightsTakenOff.merge(other.flightsTakenOff);
+		flightsWaitingToLand.merge(other.flightsWaitingToLand);
+		flightsWaitingToTakeOff.merge(other.flightsWaitingToTakeOff);
+		flightsCrashed.merge(other.flightsCrashed);
+		landingWaitTime.merge(other.landingWaitTime);
+		takeOffWaitTime.merge(other.takeOffWaitTime);
+		runwayUtilization.merge(other.runwayUtilization);
+		averageLandingQueueLength.merge(other.averageLandingQueueLength);
+		averageTakeOffQueueLength.merge(other.averageTakeOffQueueLength);
+		landingWaitTimes.merge(other.landingWaitTimes);
+		takeOffWaitTimes.merge(other.takeOffWaitTimes);
+		controlledLandingWaitTime.merge(other.controlledLandingWaitTime);
+		controlledTakeOffWaitTime.merge(other.controlledTakeOffWaitTime);
+	}
+	
+	/**
+	 * Writes the summary.
+	 * 
+	 * @param out Output the summary is written to.
+	 * @throws IOException If the summary can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		for (Statistic statistic : statistics()) {
+			statistic.checkpoint(out);
+		}
+		landingWaitTimes.checkpoint(out);
+		takeOffWaitTimes.checkpoint(out);
+		controlledLandingWaitTime.checkpoint(out);
+		controlledTakeOffWaitTime.checkpoint(out);
+	}
+	
+	/**
+	 * Replaces the replications of the summary with the replications written by {@link #checkpoint(DataOutput)}.
+	 * 
+	 * @param in Input the summary is read from.
+	 * @throws IOException If the summary can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		for (Statistic statistic : statistics()) {
+			statistic.restore(in);
+		}
+		landingWaitTimes.restore(in);
+		takeOffWaitTimes.restore(in);
+		controlledLandingWaitTime.restore(in);
+		controlledTakeOffWaitTime.restore(in);
+	}
+	
+	private Statistic[] statistics() {
+		return new Statistic[] { flightsLanded, flightsTakenOff, flightsWaitingToLand, flightsWaitingToTakeOff, flightsCrashed, landingWaitTime,
+				takeOffWaitTime, runwayUtilization, averageLandingQueueLength, averageTakeOffQueueLength };
+	}
+	
+	/**
+	 * Gets number of replications.
+	 * 
+	 * @return replications.
+	 */
+	public long getReplications() {
+		return flightsLanded.getCount();
+	}
+
+	/**
+	 * Gets statistic of the number of flights that have landed per replication.
+	 * 
+	 * @return flightsLanded.
+	 */
+	public Statistic getFlightsLanded() {
+		return flightsLanded;
+	}
+
+	/**
+	 * Gets statistic of the number of flights that have taken off per replication.
+	 * 
+	 * @return flightsTakenOff.
+	 */
+	public Statistic getFlightsTakenOff() {
+		return flightsTakenOff;
+	}
+
+	/**
+	 * Gets statistic of the number of flights waiting to land at the end of a replication.
+	 * 
+	 * @return flightsWaitingToLand.
+	 */
+	public Statistic getFlightsWaitingToLand() {
+		return flightsWaitingToLand;
+	}
+
+	/**
+	 * Gets statistic of the number of flights waiting to take off at the end of a replication.
+	 * 
+	 * @return flightsWaitingToTakeOff.
+	 */
+	public Statistic getFlightsWaitingToTakeOff() {
+		return flightsWaitingToTakeOff;
+	}
+
+	/**
+	 * Gets statistic of the number of flights that crashed per replication.
+	 * 
+	 * @return flightsCrashed.
+	 */
+	public Statistic getFlightsCrashed() {
+		return flightsCrashed;
+	}
+
+	/**
+	 * Gets statistic of the mean landing wait time per replication.
+	 * 
+	 * @return landingWaitTime.
+	 */
+	public Statistic getLandingWaitTime() {
+		return landingWaitTime;
+	}
+
+	/**
+	 * Gets statistic of the mean take off wait time per replication.
+	 * 
+	 * @return takeOffWaitTime.
+	 */
+	public Statistic getTakeOffWaitTime() {
+		return takeOffWaitTime;
+	}
+	
+	/**
+	 * Gets statistic of the runway utilization per replication.
+	 * 
+	 * @return runwayUtilization.
+	 */
+	public Statistic getRunwayUtilization() {
+		return runwayUtilization;
+	}
+
+	/**
+	 * Gets statistic of the time-averaged number of flights waiting to land per replication.
+	 * 
+	 * @return averageLandingQueueLength.
+	 */
+	public Statistic getAverageLandingQueueLength() {
+		return averageLandingQueueLength;
+	}
+
+	/**
+	 * Gets statistic of the time-averaged number of flights waiting to take off per replication.
+	 * 
+	 * @return averageTakeOffQueueLength.
+	 */
+	public Statistic getAverageTakeOffQueueLength() {
+		return averageTakeOffQueueLength;
+	}
+
+	/**
+	 * Gets histogram {@link WaitHistogram} of the landing wait times pooled over all replications.
+	 * 
+	 * @return landingWaitTimes.
+	 */
+	public WaitHistogram getLandingWaitTimes() {
+		return landingWaitTimes;
+	}
+
+	/**
+	 * Gets histogram {@link WaitHistogram} of the take off wait times pooled over all replications.
+	 * 
+	 * @return takeOffWaitTimes.
+	 */
+	public WaitHistogram getTakeOffWaitTimes() {
+		return takeOffWaitTimes;
+	}
+	
+	/**
+	 * Gets control variate estimate {@link ControlVariate} of the mean landing wait time per replication.
+	 * 
+	 * @return controlledLandingWaitTime.
+	 */
+	public ControlVariate getControlledLandingWaitTime() {
+		return controlledLandingWaitTime;
+	}
+	
+	/**
+	 * Gets control variate estimate {@link ControlVariate} of the mean take off wait time per replication.
+	 * 
+	 * @return controlledTakeOffWaitTime.
+	 */
+	public ControlVariate getControlledTakeOffWaitTime() {
+		return controlledTakeOffWaitTime;
+	}
+	
+	/**
+	 * Generates report for the replications.
+	 */
+	public void report() {
+		LOGGER.info(getReplications() + " Replications.");
+		LOGGER.info("Flights have landed: " + flightsLanded);
+		LOGGER.info("Flights have taken off: " + flightsTakenOff);
+		LOGGER.info("Flights waiting to land: " + flightsWaitingToLand);
+		LOGGER.info("Flights waiting to takeoff: " + flightsWaitingToTakeOff);
+		LOGGER.info("Flights crashed: " + flightsCrashed);
+		LOGGER.info("Landing wait time: " + landingWaitTime);
+		LOGGER.info("Take off wait time: " + takeOffWaitTime);
+		if (controlledLandingWaitTime.getCount() > 0) {
+			LOGGER.info("Landing wait time with control variates: " + controlledLandingWaitTime);
+			LOGGER.info("Take off wait time with control variates: " + controlledTakeOffWaitTime);
+		}
+		LOGGER.info("Runway utilization: " + runwayUtilization);
+		LOGGER.info("Average flights waiting to land: " + averageLandingQueueLength);
+		LOGGER.info("Average flights waiting to takeoff: " + averageTakeOffQueueLength);
+		LOGGER.info("Landing wait time percentiles: " + landingWaitTimes);
+		LOGGER.info("Take off wait time percentiles: " + takeOffWaitTimes);
+	}
+
+}
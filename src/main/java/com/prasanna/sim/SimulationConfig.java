@@ -0,0 +1,331 @@
+package com.prasanna.sim;
+
+import com.prasanna.model.Flight;
+import com.prasanna.util.RateProfile;
+
+/**
+ * This class holds the configuration of one SmartAirportSimulator {@link SmartAirportSimulator}: simulation length, arrival probabilities,
+ * wait times and runway times. The configuration file 'smart-airport.properties' gives the defaults {@link #defaults()},
+ * every simulator can be built with its own configuration, so simulations with different parameters run side by side in one JVM.
+ * Configurations are immutable, with {@link #with(String, double)} gives a copy with one parameter changed.
+ * The arrival probabilities are constant unless a rate profile {@link RateProfile} is set for them with {@link #withProfiles(RateProfile, RateProfile)},
+ * the factors of a profile then apply to the probability, so sweeping a probability scales the whole profile.
+ * 
+ * @author pramakr2
+ *
+ */
+public class SimulationConfig {
+	
+	/**
+	 * Property key of the simulation length.
+	 */
+	public static final String SIMULATION_LENGTH = "sa.sim.simulation.length";
+	
+	/**
+	 * Property key of the landing probability.
+	 */
+	public static final String LANDING_PROBABILITY = "sa.sim.langing.probability";
+	
+	/**
+	 * Property key of the take off probability.
+	 */
+	public static final String TAKEOFF_PROBABILITY = "sa.sim.takeoff.probability";
+	
+	/**
+	 * Property key of the delta wait time.
+	 */
+	public static final String DELTA_WAIT_TIME = "sa.sim.delta.wait.time";
+	
+	/**
+	 * Property key of the flight initial wait time.
+	 */
+	public static final String WAIT_TIME = "sa.flight.wait.time";
+	
+	/**
+	 * Property key of the landing time.
+	 */
+	public static final String LANDING_TIME = "sa.flight.landing.time";
+	
+	/**
+	 * Property key of the take off time.
+	 */
+	public static final String TAKEOFF_TIME = "sa.flight.takeoff.time";
+	
+	/**
+	 * Property key of the landing rate profile.
+	 */
+	public static final String LANDING_PROFILE = "sa.sim.landing.profile";
+	
+	/**
+	 * Property key of the take off rate profile.
+	 */
+	public static final String TAKEOFF_PROFILE = "sa.sim.takeoff.profile";
+	
+	/**
+	 * Property key of the number of ticks of every period of the rate profiles.
+	 */
+	public static final String PROFILE_PERIOD = "sa.sim.profile.period";
+
+	/**
+	 * Number of ticks simulated is the simulation length + 1.
+	 */
+	private final int simulationLength;
+	
+	/**
+	 * Probability that a flight wants to land in a tick.
+	 */
+	private final double landingProbability;
+	
+	/**
+	 * Probability that a flight wants to take off in a tick.
+	 */
+	private final double takeOffProbability;
+	
+	/**
+	 * Wait time added for every tick a flight waits.
+	 */
+	private final int deltaWaitTime;
+	
+	/**
+	 * Initial wait time of a flight.
+	 */
+	private final int waitTime;
+	
+	/**
+	 * Time needed by a flight on the runway for landing.
+	 */
+	private final int landingTime;
+	
+	/**
+	 * Time needed by a flight on the runway for taking off.
+	 */
+	private final int takeOffTime;
+	
+	/**
+	 * Rate profile of the landing probability, null for a constant probability.
+	 */
+	private final RateProfile landingProfile;
+	
+	/**
+	 * Rate profile of the take off probability, null for a constant probability.
+	 */
+	private final RateProfile takeOffProfile;
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param simulationLength Number of ticks simulated is the simulation length + 1.
+	 * @param landingProbability Probability between 0 and 1 that a flight wants to land in a tick.
+	 * @param takeOffProbability Probability between 0 and 1 that a flight wants to take off in a tick.
+	 * @param deltaWaitTime Wait time added for every tick a flight waits.
+	 * @param waitTime Initial wait time of a flight.
+	 * @param landingTime Time needed by a flight on the runway for landing, greater than 0.
+	 * @param takeOffTime Time needed by a flight on the runway for taking off, greater than 0.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that a parameter is out of its range.
+	 */
+	public SimulationConfig(int simulationLength, double landingProbability, double takeOffProbability, int deltaWaitTime,
+			int waitTime, int landingTime, int takeOffTime) {
+		this(simulationLength, landingProbability, takeOffProbability, deltaWaitTime, waitTime, landingTime, takeOffTime, null, null);
+	}
+	
+	private SimulationConfig(int simulationLength, double landingProbability, double takeOffProbability, int deltaWaitTime,
+			int waitTime, int landingTime, int takeOffTime, RateProfile landingProfile, RateProfile takeOffProfile) {
+		if (simulationLength < 0 || simulationLength == Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Illegal simulation length: " + simulationLength);
+		if (!(landingProbability >= 0 && landingProbability <= 1))
+			throw new IllegalArgumentException("Illegal landing probability: " + landingProbability);
+		if (!(takeOffProbability >= 0 && takeOffProbability <= 1))
+			throw new IllegalArgumentException("Illegal take off probability: " + takeOffProbability);
+		if (landingTime < 1)
+			throw new IllegalArgumentException("Illegal landing time: " + landingTime);
+		if (takeOffTime < 1)
+			throw new IllegalArgumentException("Illegal take off time: " + takeOffTime);
+		this.simulationLength = simulationLength;
+		this.landingProbability = landingProbability;
+		this.takeOffProbability = takeOffProbability;
+		this.deltaWaitTime = deltaWaitTime;
+		this.waitTime = waitTime;
+		this.landingTime = landingTime;
+		this.takeOffTime = takeOffTime;
+		this.landingProfile = landingProfile;
+		this.takeOffProfile = takeOffProfile;
+	}
+	
+	/**
+	 * Gets the configuration read from the configuration file 'smart-airport.properties'.
+	 * 
+	 * @return default configuration.
+	 */
+	public static SimulationConfig defaults() {
+		return new SimulationConfig(SmartAirportSimulator.SIMULATION_LENGTH, SmartAirportSimulator.LANDING_PROBABILITY, SmartAirportSimulator.TAKEOFF_PROBABILITY,
+				SmartAirportSimulator.DELTA_WAIT_TIME, Flight.WAIT_TIME, Flight.LANDING_TIME, Flight.TAKEOFF_TIME,
+				SmartAirportSimulator.LANDING_PROFILE, SmartAirportSimulator.TAKEOFF_PROFILE);
+	}
+	
+	/**
+	 * Gets a copy of the configuration with one parameter changed.
+	 * 
+	 * @param key Property key of the parameter, as in the configuration file 'smart-airport.properties'.
+	 * @param value New value, a whole number for the lengths and times.
+	 * @return changed configuration.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the key is unknown or the value is out of range.
+	 */
+	public SimulationConfig with(String key, double value) {
+		if (LANDING_PROBABILITY.equals(key))
+			return copy(simulationLength, value, takeOffProbability, deltaWaitTime, waitTime, landingTime, takeOffTime);
+		if (TAKEOFF_PROBABILITY.equals(key))
+			return copy(simulationLength, landingProbability, value, deltaWaitTime, waitTime, landingTime, takeOffTime);
+		if (value != Math.rint(value) || Math.abs(value) > Integer.MAX_VALUE)
+			throw new IllegalArgumentException("Illegal value of " + key + ": " + value);
+		int n = (int) value;
+		if (SIMULATION_LENGTH.equals(key))
+			return copy(n, landingProbability, takeOffProbability, deltaWaitTime, waitTime, landingTime, takeOffTime);
+		if (DELTA_WAIT_TIME.equals(key))
+			return copy(simulationLength, landingProbability, takeOffProbability, n, waitTime, landingTime, takeOffTime);
+		if (WAIT_TIME.equals(key))
+			return copy(simulationLength, landingProbability, takeOffProbability, deltaWaitTime, n, landingTime, takeOffTime);
+		if (LANDING_TIME.equals(key))
+			return copy(simulationLength, landingProbability, takeOffProbability, deltaWaitTime, waitTime, n, takeOffTime);
+		if (TAKEOFF_TIME.equals(key))
+			return copy(simulationLength, landingProbability, takeOffProbability, deltaWaitTime, waitTime, landingTime, n);
+		throw new IllegalArgumentException("Unknown parameter: " + key);
+	}
+	
+	private SimulationConfig copy(int simulationLength, double landingProbability, double takeOffProbability, int deltaWaitTime,
+			int waitTime, int landingTime, int takeOffTime) {
+		return new SimulationConfig(simulationLength, landingProbability, takeOffProbability, deltaWaitTime, waitTime, landingTime, takeOffTime, landingProfile, takeOffProfile);
+	}
+	
+	/**
+	 * Gets a copy of the configuration with the given rate profiles.
+	 * 
+	 * @param landingProfile Rate profile {@link RateProfile} of the landing probability, null for a constant probability.
+	 * @param takeOffProfile Rate profile {@link RateProfile} of the take off probability, null for a constant probability.
+	 * @return changed configuration.
+	 */
+	public SimulationConfig withProfiles(RateProfile landingProfile, RateProfile takeOffProfile) {
+		return new SimulationConfig(simulationLength, landingProbability, takeOffProbability, deltaWaitTime, waitTime, landingTime, takeOffTime, landingProfile, takeOffProfile);
+	}
+
+	/**
+	 * Gets the simulation length.
+	 * 
+	 * @return simulationLength
+	 */
+	public int getSimulationLength() {
+		return simulationLength;
+	}
+
+	/**
+	 * Gets the landing probability.
+	 * 
+	 * @return landingProbability
+	 */
+	public double getLandingProbability() {
+		return landingProbability;
+	}
+
+	/**
+	 * Gets the take off probability.
+	 * 
+	 * @return takeOffProbability
+	 */
+	public double getTakeOffProbability() {
+		return takeOffProbability;
+	}
+
+	/**
+	 * Gets the wait time added for every tick a flight waits.
+	 * 
+	 * @return deltaWaitTime
+	 */
+	public int getDeltaWaitTime() {
+		return deltaWaitTime;
+	}
+
+	/**
+	 * Gets the initial wait time of a flight.
+	 * 
+	 * @return waitTime
+	 */
+	public int getWaitTime() {
+		return waitTime;
+	}
+
+	/**
+	 * Gets the time needed by a flight on the runway for landing.
+	 * 
+	 * @return landingTime
+	 */
+	public int getLandingTime() {
+		return landingTime;
+	}
+
+	/**
+	 * Gets the time needed by a flight on the runway for taking off.
+	 * 
+	 * @return takeOffTime
+	 */
+	public int getTakeOffTime() {
+		return takeOffTime;
+	}
+	
+	/**
+	 * Gets the rate profile of the landing probability.
+	 * 
+	 * @return landingProfile, null for a constant probability.
+	 */
+	public RateProfile getLandingProfile() {
+		return landingProfile;
+	}
+	
+	/**
+	 * Gets the rate profile of the take off probability.
+	 * 
+	 * @return takeOffProfile, null for a constant probability.
+	 */
+	public RateProfile getTakeOffProfile() {
+		return takeOffProfile;
+	}
+	
+	/**
+	 * Checks whether the arrival probabilities are the same in every tick.
+	 * 
+	 * @return true if no rate profile is set.
+	 */
+	public boolean isConstantRate() {
+		return landingProfile == null && takeOffProfile == null;
+	}
+	
+	/**
+	 * Gets the expected number of flights created to land in the SIMULATION_LENGTH + 1 ticks of a simulation.
+	 * 
+	 * @return expected landing arrivals.
+	 */
+	public double getExpectedLandingArrivals() {
+		long ticks = (long) simulationLength + 1;
+		return landingProfile == null ? landingProbability * ticks : landingProfile.getExpectedArrivals(landingProbability, ticks);
+	}
+	
+	/**
+	 * Gets the expected number of flights created to take off in the SIMULATION_LENGTH + 1 ticks of a simulation.
+	 * 
+	 * @return expected take off arrivals.
+	 */
+	public double getExpectedTakeOffArrivals() {
+		long ticks = (long) simulationLength + 1;
+		return takeOffProfile == null ? takeOffProbability * ticks : takeOffProfile.getExpectedArrivals(takeOffProbability, ticks);
+	}
+	
+	@Override
+	public String toString() {
+		return SIMULATION_LENGTH + "=" + simulationLength + ", " + LANDING_PROBABILITY + "=" + landingProbability + ", " + TAKEOFF_PROBABILITY + "=" + takeOffProbability
+				+ ", " + DELTA_WAIT_TIME + "=" + deltaWaitTime + ", " + WAIT_TIME + "=" + waitTime + ", " + LANDING_TIME + "=" + landingTime + ", " + TAKEOFF_TIME + "=" + takeOffTime
+				+ (landingProfile == null ? "" : ", " + LANDING_PROFILE + "=" + landingProfile) + (takeOffProfile == null ? "" : ", " + TAKEOFF_PROFILE + "=" + takeOffProfile);
+	}
+	
+}
@@ -0,0 +1,331 @@
+package com.prasanna.sim;
+
+import com.prasanna.util.WaitHistogram;
+
+/**
+ * This class contains the results of one simulation run of SmartAirportSimulator {@link SmartAirportSimulator}.
+ * 
+ * @author pramakr2
+ *
+ */
+public class SimulationResult {
+
+	/**
+	 * Total number of flights that have landed.
+	 */
+	private final int flightsLanded;
+	
+	/**
+	 * Total number of flights that have taken off.
+	 */
+	private final int flightsTakenOff;
+	
+	/**
+	 * Number of flights waiting to land at the end of the simulation.
+	 */
+	private final int flightsWaitingToLand;
+	
+	/**
+	 * Number of flights waiting to take off at the end of the simulation.
+	 */
+	private final int flightsWaitingToTakeOff;
+	
+	/**
+	 * Total number of flights that crashed.
+	 */
+	private final int flightsCrashed;
+	
+	/**
+	 * Number of flights that got a runway for landing.
+	 */
+	private final int landingRunwayUses;
+	
+	/**
+	 * Number of flights that got a runway for take off.
+	 */
+	private final int takeOffRunwayUses;
+	
+	/**
+	 * Total wait time of the flights that got a runway for landing.
+	 */
+	private final long landingWaitTime;
+	
+	/**
+	 * Total wait time of the flights that got a runway for take off.
+	 */
+	private final long takeOffWaitTime;
+	
+	/**
+	 * Histogram of the wait times of the flights that got a runway for landing.
+	 */
+	private final WaitHistogram landingWaitTimes;
+	
+	/**
+	 * Histogram of the wait times of the flights that got a runway for take off.
+	 */
+	private final WaitHistogram takeOffWaitTimes;
+	
+	/**
+	 * Share of the time runways have been in use.
+	 */
+	private final double runwayUtilization;
+	
+	/**
+	 * Time-averaged number of flights waiting to land.
+	 */
+	private final double averageLandingQueueLength;
+	
+	/**
+	 * Time-averaged number of flights waiting to take off.
+	 */
+	private final double averageTakeOffQueueLength;
+	
+	/**
+	 * Number of flights created to land.
+	 */
+	private final int landingArrivals;
+	
+	/**
+	 * Number of flights created to take off.
+	 */
+	private final int takeOffArrivals;
+	
+	/**
+	 * Expected number of flights created to land, NaN if it is not known.
+	 */
+	private final double expectedLandingArrivals;
+	
+	/**
+	 * Expected number of flights created to take off, NaN if it is not known.
+	 */
+	private final double expectedTakeOffArrivals;
+
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param flightsLanded Total number of flights that have landed.
+	 * @param flightsTakenOff Total number of flights that have taken off.
+	 * @param flightsWaitingToLand Number of flights waiting to land at the end of the simulation.
+	 * @param flightsWaitingToTakeOff Number of flights waiting to take off at the end of the simulation.
+	 * @param flightsCrashed Total number of flights that crashed.
+	 * @param landingRunwayUses Number of flights that got a runway for landing.
+	 * @param takeOffRunwayUses Number of flights that got a runway for take off.
+	 * @param landingWaitTime Total wait time of the flights that got a runway for landing.
+	 * @param takeOffWaitTime Total wait time of the flights that got a runway for take off.
+	 * @param landingWaitTimes Histogram {@link WaitHistogram} of the wait times of the flights that got a runway for landing.
+	 * @param takeOffWaitTimes Histogram {@link WaitHistogram} of the wait times of the flights that got a runway for take off.
+	 * @param runwayUtilization Share of the time runways have been in use.
+	 * @param averageLandingQueueLength Time-averaged number of flights waiting to land.
+	 * @param averageTakeOffQueueLength Time-averaged number of flights waiting to take off.
+	 * @param landingArrivals Number of flights created to land.
+	 * @param takeOffArrivals Number of flights created to take off.
+	 * @param expectedLandingArrivals Expected number of flights created to land, NaN if it is not known.
+	 * @param expectedTakeOffArrivals Expected number of flights created to take off, NaN if it is not known.
+	 */
+	public SimulationResult(int flightsLanded, int flightsTakenOff, int flightsWaitingToLand, int flightsWaitingToTakeOff, int flightsCrashed,
+			int landingRunwayUses, int takeOffRunwayUses, long landingWaitTime, long takeOffWaitTime,
+			WaitHistogram landingWaitTimes, WaitHistogram takeOffWaitTimes, double runwayUtilization,
+			double averageLandingQueueLength, double averageTakeOffQueueLength,
+			int landingArrivals, int takeOffArrivals, double expectedLandingArrivals, double expectedTakeOffArrivals) {
+		this.flightsLanded = flightsLanded;
+		this.flightsTakenOff = flightsTakenOff;
+		this.flightsWaitingToLand = flightsWaitingToLand;
+		this.flightsWaitingToTakeOff = flightsWaitingToTakeOff;
+		this.flightsCrashed = flightsCrashed;
+		this.landingRunwayUses = landingRunwayUses;
+		this.takeOffRunwayUses = takeOffRunwayUses;
+		this.landingWaitTime = landingWaitTime;
+		this.takeOffWaitTime = takeOffWaitTime;
+		this.landingWaitTimes = landingWaitTimes;
+		this.takeOffWaitTimes = takeOffWaitTimes;
+		this.runwayUtilization = runwayUtilization;
+		this.averageLandingQueueLength = averageLandingQueueLength;
+		this.averageTakeOffQueueLength = averageTakeOffQueueLength;
+		this.landingArrivals = landingArrivals;
+		this.takeOffArrivals = takeOffArrivals;
+		this.expectedLandingArrivals = expectedLandingArrivals;
+		this.expectedTakeOffArrivals = expectedTakeOffArrivals;
+	}
+
+	/**
+	 * Gets total number of flights that have landed.
+	 * 
+	 * @return flightsLanded.
+	 */
+	public int getFlightsLanded() {
+		return flightsLanded;
+	}
+
+	/**
+	 * Gets total number of flights that have taken off.
+	 * 
+	 * @return flightsTakenOff.
+	 */
+	public int getFlightsTakenOff() {
+		return flightsTakenOff;
+	}
+
+	/**
+	 * Gets number of flights waiting to land at the end of the simulation.
+	 * 
+	 * @return flightsWaitingToLand.
+	 */
+	public int getFlightsWaitingToLand() {
+		return flightsWaitingToLand;
+	}
+
+	/**
+	 * Gets number of flights waiting to take off at the end of the simulation.
+	 * 
+	 * @return flightsWaitingToTakeOff.
+	 */
+	public int getFlightsWaitingToTakeOff() {
+		return flightsWaitingToTakeOff;
+	}
+
+	/**
+	 * Gets total number of flights that crashed.
+	 * 
+	 * @return flightsCrashed.
+	 */
+	public int getFlightsCrashed() {
+		return flightsCrashed;
+	}
+
+	/**
+	 * Gets number of flights that got a runway for landing.
+	 * 
+	 * @return landingRunwayUses.
+	 */
+	public int getLandingRunwayUses() {
+		return landingRunwayUses;
+	}
+
+	/**
+	 * Gets number of flights that got a runway for take off.
+	 * 
+	 * @return takeOffRunwayUses.
+	 */
+	public int getTakeOffRunwayUses() {
+		return takeOffRunwayUses;
+	}
+
+	/**
+	 * Gets total wait time of the flights that got a runway for landing.
+	 * 
+	 * @return landingWaitTime.
+	 */
+	public long getLandingWaitTime() {
+		return landingWaitTime;
+	}
+
+	/**
+	 * Gets total wait time of the flights that got a runway for take off.
+	 * 
+	 * @return takeOffWaitTime.
+	 */
+	public long getTakeOffWaitTime() {
+		return takeOffWaitTime;
+	}
+	
+	/**
+	 * Gets histogram {@link WaitHistogram} of the wait times of the flights that got a runway for landing.
+	 * 
+	 * @return landingWaitTimes.
+	 */
+	public WaitHistogram getLandingWaitTimes() {
+		return landingWaitTimes;
+	}
+
+	/**
+	 * Gets histogram {@link WaitHistogram} of the wait times of the flights that got a runway for take off.
+	 * 
+	 * @return takeOffWaitTimes.
+	 */
+	public WaitHistogram getTakeOffWaitTimes() {
+		return takeOffWaitTimes;
+	}
+
+	/**
+	 * Gets share of the time runways have been in use.
+	 * 
+	 * @return runwayUtilization.
+	 */
+	public double getRunwayUtilization() {
+		return runwayUtilization;
+	}
+
+	/**
+	 * Gets time-averaged number of flights waiting to land.
+	 * 
+	 * @return averageLandingQueueLength.
+	 */
+	public double getAverageLandingQueueLength() {
+		return averageLandingQueueLength;
+	}
+
+	/**
+	 * Gets time-averaged number of flights waiting to take off.
+	 * 
+	 * @return averageTakeOffQueueLength.
+	 */
+	public double getAverageTakeOffQueueLength() {
+		return averageTakeOffQueueLength;
+	}
+	
+	/**
+	 * Gets mean wait time of the flights that got a runway for landing.
+	 * 
+	 * @return mean landing wait time, NaN if no flight got a runway for landing.
+	 */
+	public double getMeanLandingWaitTime() {
+		return landingRunwayUses == 0 ? Double.NaN : (double) landingWaitTime / landingRunwayUses;
+	}
+	
+	/**
+	 * Gets mean wait time of the flights that got a runway for take off.
+	 * 
+	 * @return mean take off wait time, NaN if no flight got a runway for take off.
+	 */
+	public double getMeanTakeOffWaitTime() {
+		return takeOffRunwayUses == 0 ? Double.NaN : (double) takeOffWaitTime / takeOffRunwayUses;
+	}
+
+	
+	/**
+	 * Gets number of flights created to land.
+	 * 
+	 * @return landingArrivals.
+	 */
+	public int getLandingArrivals() {
+		return landingArrivals;
+	}
+	
+	/**
+	 * Gets number of flights created to take off.
+	 * 
+	 * @return takeOffArrivals.
+	 */
+	public int getTakeOffArrivals() {
+		return takeOffArrivals;
+	}
+	
+	/**
+	 * Gets expected number of flights created to land, the landing probability times the number of ticks for random arrivals.
+	 * 
+	 * @return expectedLandingArrivals, NaN if it is not known.
+	 */
+	public double getExpectedLandingArrivals() {
+		return expectedLandingArrivals;
+	}
+	
+	/**
+	 * Gets expected number of flights created to take off, the take off probability times the number of ticks for random arrivals.
+	 * 
+	 * @return expectedTakeOffArrivals, NaN if it is not known.
+	 */
+	public double getExpectedTakeOffArrivals() {
+		return expectedTakeOffArrivals;
+	}
+
+}
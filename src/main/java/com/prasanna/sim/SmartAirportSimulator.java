@@ -1,29 +1,71 @@
 package com.prasanna.sim;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Date;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.EventType;
 import com.prasanna.constant.FlightAction;
+import com.prasanna.constant.JournalEventType;
 import com.prasanna.constant.RunwayStatus;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SchedulingRule;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.journal.EventJournal;
+import com.prasanna.metrics.MetricsProbe;
+import com.prasanna.metrics.SimulationMetrics;
 import com.prasanna.model.Flight;
+import com.prasanna.model.FlightNumbers;
+import com.prasanna.model.FlightStore;
+import com.prasanna.model.GatePool;
 import com.prasanna.model.Runway;
+import com.prasanna.model.RunwayPool;
+import com.prasanna.policy.AgedPriorityPolicy;
+import com.prasanna.policy.LongestWaitFirstPolicy;
+import com.prasanna.policy.SchedulingPolicy;
+import com.prasanna.policy.ShortestServiceFirstPolicy;
+import com.prasanna.policy.StrictLandingPolicy;
+import com.prasanna.results.FlightResultWriter;
+import com.prasanna.trace.TraceReader;
+import com.prasanna.util.ArrivalSource;
 import com.prasanna.util.BooleanSource;
+import com.prasanna.util.GeometricSource;
+import com.prasanna.util.IndexedMinHeap;
+import com.prasanna.util.IntRingDeque;
 import com.prasanna.util.PropertiesUtil;
+import com.prasanna.util.RandomStream;
+import com.prasanna.util.RateProfile;
+import com.prasanna.util.ThinnedSource;
+import com.prasanna.util.WaitHistogram;
 
 /**
- * This class contains code for simulating a smart airport which has only one runway.
- * No two or more flights can share the runway, only one flight can use the runway either for landing or take off.
+ * This class contains code for simulating a smart airport which has one or more runways.
+ * No two or more flights can share a runway, only one flight can use a runway either for landing or take off.
+ * A simulation can be advanced in steps {@link #advance(int)}, checkpointed {@link #checkpoint(OutputStream)} between two steps
+ * and restored {@link #restore(InputStream)} later on, the restored simulation continues exactly as the checkpointed one would have.
+ * A simulation which is only advanced is closed {@link #close()} by its owner once it is no longer advanced.
  * 
  * @author pramakr2
  *
  */
-public class SmartAirportSimulator {
+public class SmartAirportSimulator implements Closeable {
 	
 	private static final Logger LOGGER = LoggerFactory.getLogger(SmartAirportSimulator.class);
 
@@ -55,184 +97,1551 @@ public class SmartAirportSimulator {
 	public static final int DELTA_WAIT_TIME = Integer.parseInt(PropertiesUtil.get("sa.sim.delta.wait.time"));
 	
 	/**
-	 * Queue holds flights {@link Flight} waiting for take off.
+	 * ENGINE - Reads simulation engine {@link SimulationEngine} from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.engine', defaults to TICK {@link SimulationEngine#TICK}.
 	 */
-	private Queue<Flight> takeOffQ; 
+	public static final SimulationEngine ENGINE = readEngine();
 	
 	/**
-	 * Queue holds flights {@link Flight} waiting for landing.
+	 * SEED - Reads the seed of the random streams from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.seed', when it is empty every simulation is seeded randomly.
 	 */
-	private Queue<Flight> landingQ;
+	public static final Long SEED = readSeed();
 	
 	/**
-	 * List holds flights {@link Flight} that are generated dynamically.
+	 * ARRIVAL_MODE - Reads how arrivals {@link ArrivalMode} are generated from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.arrival.mode', defaults to BERNOULLI {@link ArrivalMode#BERNOULLI}.
 	 */
-	private LinkedList<Flight> dynamicallyGeneratedFlights; 
+	public static final ArrivalMode ARRIVAL_MODE = readArrivalMode();
+	
+	/**
+	 * LANDING_PROFILE - Reads the rate profile {@link RateProfile} of the landing probability from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.landing.profile', comma separated factors of the landing probability, one per 'sa.sim.profile.period' ticks, empty for a constant probability.
+	 */
+	public static final RateProfile LANDING_PROFILE = readProfile(SimulationConfig.LANDING_PROFILE);
+	
+	/**
+	 * TAKEOFF_PROFILE - Reads the rate profile {@link RateProfile} of the take off probability from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.takeoff.profile', comma separated factors of the take off probability, one per 'sa.sim.profile.period' ticks, empty for a constant probability.
+	 */
+	public static final RateProfile TAKEOFF_PROFILE = readProfile(SimulationConfig.TAKEOFF_PROFILE);
+	
+	/**
+	 * GATES - Reads the size of every gate {@link GatePool} from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.gates', comma separated sizes, 'count*size' for many gates of one size, empty to end the model at the runway.
+	 */
+	public static final int[] GATES = readGates();
+	
+	/**
+	 * TAXI_IN_TIME - Reads the number of ticks a landed flight taxis to the gates from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.gate.taxi.in.time'.
+	 */
+	public static final int TAXI_IN_TIME = readGateTime("sa.sim.gate.taxi.in.time", 0);
+	
+	/**
+	 * TURNAROUND_TIME - Reads the number of ticks a flight occupies its gate from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.gate.turnaround.time'.
+	 */
+	public static final int TURNAROUND_TIME = readGateTime("sa.sim.gate.turnaround.time", 1);
+	
+	/**
+	 * TAXI_OUT_TIME - Reads the number of ticks a departure taxis from its gate to the runway from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.gate.taxi.out.time'.
+	 */
+	public static final int TAXI_OUT_TIME = readGateTime("sa.sim.gate.taxi.out.time", 0);
+	
+	/**
+	 * RUNWAYS - Reads the runway use {@link RunwayUse} of every runway from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.runways', comma separated list with one entry per runway, defaults to one MIXED {@link RunwayUse#MIXED} runway.
+	 */
+	public static final RunwayUse[] RUNWAYS = readRunways();
+	
+	/**
+	 * SCHEDULING_RULE - Reads the rule {@link SchedulingRule} deciding which waiting flight gets a free runway from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.scheduling.policy', defaults to STRICT_LANDING {@link SchedulingRule#STRICT_LANDING}.
+	 */
+	public static final SchedulingRule SCHEDULING_RULE = readSchedulingRule();
+	
+	/**
+	 * JOURNAL_FILE - Reads the event journal file from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.journal.file', when it is empty no journal is written.
+	 */
+	public static final String JOURNAL_FILE = PropertiesUtil.get("sa.sim.journal.file");
+	
+	/**
+	 * RESULTS_FILE - Reads the per-flight results file from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.results.file', when it is empty no results are written.
+	 */
+	public static final String RESULTS_FILE = PropertiesUtil.get("sa.sim.results.file");
+	
+	/**
+	 * TRACE_FILE - Reads the schedule trace file from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.trace.file', arrivals are replayed from it when the arrival mode is TRACE {@link ArrivalMode#TRACE}.
+	 */
+	public static final String TRACE_FILE = PropertiesUtil.get("sa.sim.trace.file");
+	
+	/**
+	 * CHECKPOINT_FILE - Reads the checkpoint file from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.checkpoint.file', when it is empty no checkpoint is written. When the file exists the simulation resumes from it.
+	 */
+	public static final String CHECKPOINT_FILE = PropertiesUtil.get("sa.sim.checkpoint.file");
+	
+	/**
+	 * CHECKPOINT_INTERVAL - Reads the number of ticks between two checkpoints from the configuration file 'smart-airport.properties'.
+	 * Property key 'sa.sim.checkpoint.interval', defaults to SIMULATION_LENGTH.
+	 */
+	public static final int CHECKPOINT_INTERVAL = readCheckpointInterval();
+	
+	/**
+	 * Magic number of a checkpoint, "SAC1" in ASCII.
+	 */
+	public static final int CHECKPOINT_MAGIC = 0x53414331;
+	
+	/**
+	 * Version of the checkpoint format.
+	 */
+	public static final int CHECKPOINT_VERSION = 7;
+	
+	/**
+	 * The flight store {@link FlightStore} which holds the flights of the simulation as primitive columns.
+	 */
+	private FlightStore flights;
+	
+	/**
+	 * Queue holds slots of the flights waiting for take off, ordered by the priority given by the scheduling policy.
+	 */
+	private IndexedMinHeap takeOffQ; 
+	
+	/**
+	 * Queue holds slots of the flights waiting for landing, ordered by the priority given by the scheduling policy.
+	 */
+	private IndexedMinHeap landingQ;
+	
+	/**
+	 * Holds slots of the flights handed over by other airports which have not arrived yet, ordered by arrival time.
+	 */
+	private IndexedMinHeap inbound;
+	
+	/**
+	 * The scheduling policy {@link SchedulingPolicy} which decides which waiting flight gets a free runway.
+	 */
+	private SchedulingPolicy policy;
+	
+	/**
+	 * Flights waiting for take off in arrival order, as pairs of slot and arrival time, kept to raise their priority once they have waited for the aging time.
+	 * Only used when the scheduling policy ages waiting flights.
+	 */
+	private IntRingDeque agingTakeOffs;
+	
+	/**
+	 * Flights waiting for landing in arrival order, as pairs of slot and arrival time, kept to raise their priority once they have waited for the aging time.
+	 * Only used when the scheduling policy ages waiting flights.
+	 */
+	private IntRingDeque agingLandings;
+	
+	/**
+	 * Sum of the arrival times of the flights waiting in landingQ, kept to derive their wait time without walking the queue.
+	 */
+	private long landingArrivalTimes;
+	
+	/**
+	 * Sum of the arrival times of the flights waiting in takeOffQ, kept to derive their wait time without walking the queue.
+	 */
+	private long takeOffArrivalTimes;
+	
+	/**
+	 * Number of flights created to land, by the arrival source or the schedule trace.
+	 */
+	private int landingArrivals;
+	
+	/**
+	 * Number of flights created to take off, by the arrival source or the schedule trace.
+	 */
+	private int takeOffArrivals;
+
+	/**
+	 * ArrivalSource {@link ArrivalSource}} provides a random sequence of boolean values.
+	 * Basically used to create flights dynamically based on the randomly generated boolean value(true) and take off probability.
+	 */
+	private ArrivalSource wantsToTakeOff;
+	
+	/**
+	 * ArrivalSource {@link ArrivalSource}} provides a random sequence of boolean values.
+	 * Basically used to create flights dynamically based on the randomly generated boolean value(true) and landing probability.
+	 */
+	private ArrivalSource wantsToLand;
+	
+	/**
+	 * The schedule trace {@link TraceReader} the arrivals are replayed from, null when arrivals are generated by the arrival sources.
+	 */
+	private TraceReader trace;
+	
+	/**
+	 * Flag whether the current record of the trace is still to be replayed.
+	 */
+	private boolean tracePending;
 
 	/**
-	 * BooleanSource {@link BooleanSource}} provides a random sequence of boolean values.
-	 * Basically used to create flights dynamically based on the randomly generated boolean value(true) and take off probability.
+	 * The runways {@link RunwayPool} which will be used by the flights to take off or landing.
+	 */
+	private RunwayPool runways;
+	
+	/**
+	 * Number of runways of the airport.
+	 */
+	private int runwayCount;
+	
+	/**
+	 * The configuration {@link SimulationConfig} of the simulation.
+	 */
+	private final SimulationConfig config;
+	
+	/**
+	 * The engine {@link SimulationEngine} which drives the simulation.
+	 */
+	private SimulationEngine engine;
+	
+	/**
+	 * How arrivals {@link ArrivalMode} are generated.
+	 */
+	private ArrivalMode arrivalMode;
+	
+	/**
+	 * The next tick to simulate.
+	 */
+	private int tick;
+	
+	/**
+	 * The event calendar {@link Event} of the discrete-event engine, null for the fixed-tick engine.
+	 */
+	private PriorityQueue<Event> calendar;
+	
+	/**
+	 * Flag of the discrete-event engine to avoid scheduling two runway starts for the same tick.
+	 */
+	private boolean startScheduled;
+	
+	/**
+	 * The event journal {@link EventJournal} which records the audit trail of the simulation, null when no journal is written.
+	 */
+	private EventJournal journal;
+	
+	/**
+	 * The probe {@link MetricsProbe} reporting to the runtime metrics, null when no metrics are collected.
+	 */
+	private MetricsProbe metrics;
+	
+	/**
+	 * The departure listener {@link DepartureListener} told about every flight which has taken off, null when nobody listens.
+	 */
+	private DepartureListener departureListener;
+	
+	/**
+	 * The flight listener {@link FlightListener} told about every flight which has left the runway, null when nobody listens.
+	 */
+	private FlightListener flightListener;
+	
+	/**
+	 * The gates {@link GatePool} landed flights turn around at, null when the model ends at the runway.
+	 */
+	private GatePool gates;
+	
+	/**
+	 * Number of ticks a landed flight taxis to the gates.
+	 */
+	private int taxiInTime;
+	
+	/**
+	 * Number of ticks a flight occupies its gate.
+	 */
+	private int turnaroundTime;
+	
+	/**
+	 * Number of ticks a departure taxis from its gate to the runway.
+	 */
+	private int taxiOutTime;
+	
+	/**
+	 * Number of landed flights which got a gate.
+	 */
+	private int totalGateTurnarounds;
+	
+	/**
+	 * Total number of ticks landed flights waited at the gates for a free gate.
+	 */
+	private long totalGateWaitTime;
+	
+	/**
+	 * Number of landed flights for which no gate is large enough.
+	 */
+	private int totalFlightsWithoutGate;
+
+	/**
+	 * The following attributes are used to capture results on the simulation.
+	 */
+
+	/**
+	 * Total number of flights that have landed.
+	 */
+	int totalFlightsLanded; 
+	
+	/**
+	 * Total number of flights that have taken off.
+	 */
+	int totalFlightsTakenOff;
+	
+	/**
+	 * Flag to check any flight crashed or not
+	 */
+	boolean flightCrashed;
+	
+	/**
+	 * Total number of flights that crashed.
+	 */
+	int totalFlightsCrashed;
+	
+	/**
+	 * Total number of flights that got a runway for landing.
+	 */
+	int totalLandingRunwayUses;
+	
+	/**
+	 * Total number of flights that got a runway for take off.
+	 */
+	int totalTakeOffRunwayUses;
+	
+	/**
+	 * Total wait time of the flights that got a runway for landing.
+	 */
+	long totalLandingWaitTime;
+	
+	/**
+	 * Total wait time of the flights that got a runway for take off.
+	 */
+	long totalTakeOffWaitTime;
+	
+	/**
+	 * Histogram {@link WaitHistogram} of the wait times of the flights that got a runway for landing.
+	 */
+	WaitHistogram landingWaitTimes = new WaitHistogram();
+	
+	/**
+	 * Histogram {@link WaitHistogram} of the wait times of the flights that got a runway for take off.
+	 */
+	WaitHistogram takeOffWaitTimes = new WaitHistogram();
+	
+	/**
+	 * Number of ticks the flights that got a runway for landing spent in landingQ, the area under the landingQ length.
+	 */
+	long landingQueueTicks;
+	
+	/**
+	 * Number of ticks the flights that got a runway for take off spent in takeOffQ, the area under the takeOffQ length.
+	 */
+	long takeOffQueueTicks;
+	
+	/**
+	 * Number of ticks runways have been in use within SIMULATION_LENGTH, summed over all the runways.
+	 */
+	long runwayBusyTicks;
+
+	/**
+	 * Default constructor, uses the configured engine and seed.
+	 */
+	public SmartAirportSimulator() {
+		this(ENGINE, SEED != null ? SEED : new SplittableRandom().nextLong());
+	}
+	
+	/**
+	 * Parameterized constructor. Two simulators built with the same seed produce the same results, whatever the engine.
+	 * 
+	 * @param engine The engine {@link SimulationEngine} which drives the simulation.
+	 * @param seed Seed of the random streams used to create flights.
+	 */
+	public SmartAirportSimulator(SimulationEngine engine, long seed) {
+		this(engine, seed, RUNWAYS);
+	}
+	
+	/**
+	 * Parameterized constructor. Two simulators built with the same seed produce the same results, whatever the engine.
+	 * 
+	 * @param engine The engine {@link SimulationEngine} which drives the simulation.
+	 * @param seed Seed of the random streams used to create flights.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	public SmartAirportSimulator(SimulationEngine engine, long seed, RunwayUse... runwayUses) {
+		this(engine, ARRIVAL_MODE, seed, runwayUses);
+	}
+	
+	/**
+	 * Parameterized constructor. Two simulators built with the same arrival mode and seed produce the same results, whatever the engine.
+	 * 
+	 * @param engine The engine {@link SimulationEngine} which drives the simulation.
+	 * @param arrivalMode How arrivals {@link ArrivalMode} are generated.
+	 * @param seed Seed of the random streams used to create flights.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	public SmartAirportSimulator(SimulationEngine engine, ArrivalMode arrivalMode, long seed, RunwayUse... runwayUses) {
+		this(SimulationConfig.defaults(), engine, arrivalMode, seed, runwayUses);
+	}
+	
+	/**
+	 * Parameterized constructor with its own configuration {@link SimulationConfig} instead of the configuration file.
+	 * Two simulators built with the same arrival mode and seed draw the same random numbers, whatever their configuration,
+	 * so simulations of different configurations share common random numbers.
+	 * 
+	 * @param config The configuration {@link SimulationConfig} of the simulation.
+	 * @param engine The engine {@link SimulationEngine} which drives the simulation.
+	 * @param arrivalMode How arrivals {@link ArrivalMode} are generated.
+	 * @param seed Seed of the random streams used to create flights.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	public SmartAirportSimulator(SimulationConfig config, SimulationEngine engine, ArrivalMode arrivalMode, long seed, RunwayUse... runwayUses) {
+		this(config, engine, arrivalMode, seed, false, runwayUses);
+	}
+	
+	/**
+	 * Parameterized constructor with its own configuration {@link SimulationConfig}, see {@link #SmartAirportSimulator(SimulationConfig, SimulationEngine, ArrivalMode, long, RunwayUse...)}.
+	 * The antithetic simulation draws mirrored random numbers {@link RandomStream#isAntithetic()}: where one simulation of the pair sees a busy spell
+	 * the other one tends to see a quiet one, so the mean of the pair varies much less than the mean of two independent simulations.
+	 * 
+	 * @param config The configuration {@link SimulationConfig} of the simulation.
+	 * @param engine The engine {@link SimulationEngine} which drives the simulation.
+	 * @param arrivalMode How arrivals {@link ArrivalMode} are generated.
+	 * @param seed Seed of the random streams used to create flights.
+	 * @param antithetic Whether the simulation is the antithetic one of the pair of simulations with this seed.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	public SmartAirportSimulator(SimulationConfig config, SimulationEngine engine, ArrivalMode arrivalMode, long seed, boolean antithetic, RunwayUse... runwayUses) {
+		this(config, engine, arrivalMode, seed, antithetic, null, runwayUses);
+		if (ArrivalMode.TRACE.equals(arrivalMode))
+			throw new IllegalArgumentException("Arrival mode TRACE needs a schedule trace");
+	}
+	
+	/**
+	 * Parameterized constructor, the arrivals are replayed from the schedule trace {@link TraceReader} as the simulation advances.
+	 * Every flight of the trace needs the runway for its own service time. The trace is owned by the caller, which closes it once the simulation is over.
+	 * 
+	 * @param engine The engine {@link SimulationEngine} which drives the simulation.
+	 * @param trace The schedule trace the arrivals are replayed from.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	public SmartAirportSimulator(SimulationEngine engine, TraceReader trace, RunwayUse... runwayUses) {
+		this(SimulationConfig.defaults(), engine, ArrivalMode.TRACE, 0L, false, trace, runwayUses);
+	}
+	
+	private SmartAirportSimulator(SimulationConfig config, SimulationEngine engine, ArrivalMode arrivalMode, long seed, boolean antithetic, TraceReader trace, RunwayUse... runwayUses) {
+		this.config = config;
+		this.engine = engine;
+		this.arrivalMode = arrivalMode;
+		
+		if (trace != null) {
+			this.trace = trace;
+			tracePending = trace.next();
+		} else {
+			/*
+			 * Every ArrivalSource gets its own stream split from the stream of the simulation,
+			 * so the sequence of one source does not depend on how often the other one is asked.
+			 */
+			RandomStream random = new RandomStream(seed, antithetic);
+			wantsToLand = newArrivalSource(arrivalMode, config.getLandingProbability(), config.getLandingProfile(), random.split());
+			wantsToTakeOff = newArrivalSource(arrivalMode, config.getTakeOffProbability(), config.getTakeOffProfile(), random.split());
+		}
+
+		flights = new FlightStore(FlightNumbers.run(seed, antithetic));
+		runways = new RunwayPool(flights, runwayUses);
+		runwayCount = runways.size();
+
+		takeOffQ = new IndexedMinHeap();
+		landingQ = new IndexedMinHeap();
+		inbound = new IndexedMinHeap();
+		agingTakeOffs = new IntRingDeque();
+		agingLandings = new IntRingDeque();
+		policy = newSchedulingPolicy(SCHEDULING_RULE);
+		if (GATES != null) {
+			gates = new GatePool(GATES);
+			taxiInTime = TAXI_IN_TIME;
+			turnaroundTime = TURNAROUND_TIME;
+			taxiOutTime = TAXI_OUT_TIME;
+		}
+		if (SimulationMetrics.global() != null)
+			metrics = SimulationMetrics.global().probe(runwayCount);
+
+		totalFlightsLanded = 0;
+		totalFlightsTakenOff = 0;
+		
+		if (SimulationEngine.EVENT.equals(engine)) {
+			calendar = new PriorityQueue<Event>();
+			if (trace != null) {
+				scheduleTraceArrival();
+			} else {
+				scheduleArrival(wantsToTakeOff, EventType.TAKEOFF_ARRIVAL, 0);
+				scheduleArrival(wantsToLand, EventType.LANDING_ARRIVAL, 0);
+			}
+		}
+	}
+
+	/**
+	 * Simulates smart airport by creating flights dynamically using ArrivalSource{@link ArrivalSource} either for take off or land.
+	 * It assigns flights to the free runways {@link RunwayPool} either for takeoff or land.
+	 * It clears the runways {@link Runway} for the next flight either for take off or land.
+	 * Since landing takes priority over taking off. Runway {@link Runway} will be used by the flight that wants to take off, only when no flight wants to land
+	 * on that runway.
+	 * It also populates attributes for capturing results.
+	 * The simulation is driven either tick by tick or event by event based on the engine {@link SimulationEngine}.
+	 * A simulation which has been advanced {@link #advance(int)} already continues from its next tick.
+	 * The simulation is closed {@link #close()} once it is over, also when it fails.
+	 */
+	public void simulate() {
+		try {
+			advance(config.getSimulationLength());
+		
+			/*
+			 * Kill the runway instances once the simulation length is reached.
+			 */
+			for (int id = 0; id < runways.size(); id++) {
+				int flightOnRuway = runways.get(id).reset();
+			
+				/*
+				 * If simulation exceeds SIMULATION_LENGTH then runway will be killed so flight which is either taking off or landing would be crashed.
+				 */
+				if(Runway.NO_FLIGHT != flightOnRuway){
+					flightCrashed=true;
+					totalFlightsCrashed++;
+					if (journal != null)
+						journal.record(config.getSimulationLength(), flights.getId(flightOnRuway), JournalEventType.CRASHED, id);
+					LOGGER.info("\n");
+					LOGGER.info("?????????????????????????????????????????????????????? Flight crashed!! ????????????????????????????????????????????????????");
+					LOGGER.info("\n");
+					LOGGER.info("Flight crashed!! Runway "+id+" no longer available because it is killed by the simulator.");
+					LOGGER.info("Flight Number: "+FlightNumbers.format(flights.getId(flightOnRuway))+", Flight action: "+flights.getAction(flightOnRuway).toString());
+					LOGGER.info("TIME needed is "+flights.getRunwayTime(flightOnRuway)+" for "+flights.getAction(flightOnRuway).toString());
+					flights.remove(flightOnRuway);
+				}
+			}
+			runways=null;
+		} finally {
+			close();
+		}
+	}
+	
+	/**
+	 * Advances the simulation up to and including the given tick, without ending it.
+	 * 
+	 * @param untilTick Last tick to simulate, capped to SIMULATION_LENGTH.
+	 * 
+	 * @exception IllegalStateException
+	 *            Indicates that the simulation is over.
+	 */
+	public void advance(int untilTick) {
+		if (runways == null)
+			throw new IllegalStateException("Simulation is over");
+		int last = Math.min(untilTick, config.getSimulationLength());
+		try {
+			/*
+			 * With metrics the ticks are simulated in strides, the totals are reported after every stride.
+			 */
+			while (tick <= last) {
+				int end = metrics == null ? last : (int) Math.min((long) tick + SimulationMetrics.STRIDE - 1, last);
+				if (SimulationEngine.EVENT.equals(engine)) {
+					simulateEvents(end);
+				} else {
+					simulateTicks(end);
+				}
+				tick = end + 1;
+				if (metrics != null)
+					metrics.report(tick, totalFlightsLanded, totalFlightsTakenOff, runwayBusyTicks, landingQ.size(), takeOffQ.size());
+			}
+		} catch (RuntimeException | Error e) {
+			close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Closes the probe {@link MetricsProbe} of the simulation, so the runtime metrics no longer count it as active.
+	 * A simulation is closed when it is over or fails, a simulation which is only advanced {@link #advance(int)} is closed by its owner.
+	 * A closed simulation can still be advanced, without reporting to the metrics.
+	 */
+	@Override
+	public void close() {
+		if (metrics != null)
+			metrics.close();
+		metrics = null;
+	}
+	
+	/**
+	 * Fixed-tick engine, executes every tick from the next tick up to the given tick.
+	 * 
+	 * @param last Last tick to simulate.
+	 */
+	private void simulateTicks(int last) {
+
+		for (int t = tick; t <= last; t++) {
+			if (trace != null) {
+				/*
+				 * Replays the flights of the trace which arrive in this tick.
+				 */
+				offerTraced(t);
+			} else {
+				/*
+				 * Checks whether flight wants to take off.
+				 * If yes then dynamically generate flight and add it takeOffQ
+				 */
+				if (wantsToTakeOff.random()) {
+					offerTakeOff(t, config.getTakeOffTime());
+				}
+	
+				/*
+				 * Checks whether flight wants to land.
+				 * If yes then dynamically generate flight and add it landingQ
+				 */
+				if (wantsToLand.random()) {
+					offerLanding(t, config.getLandingTime());
+				}
+			}
+			
+			/*
+			 * Flights handed over by other airports which arrive in this tick.
+			 */
+			offerInbound(t);
+			/*
+			 * Runways which are in use at the beginning of the tick, a runway cleared in this tick can be used only from the next tick.
+			 */
+			long busyRunways = runways.getBusyRunways();
+			
+			/*
+			 * Runway utilization. Since landing takes priority over taking off. If one flight wants to take off, one flight wants to land at the same time 
+			 * and the runway is free then flight that wants to land will be given priority. Runway will be used by the flight that wants to take off, 
+			 * only when no flight wants to land and runway is free. Means landingQ will be processed first for every loop. If landingQ is empty then only takeOffQ will be
+			 * processed.
+			 */
+			assignRunways(t);
+			
+			/*
+			 * Clears runways for next flight either take off or landing
+			 */
+			while (busyRunways != 0) {
+				Runway runway = runways.get(Long.numberOfTrailingZeros(busyRunways));
+				busyRunways &= busyRunways - 1;
+				int flight = runway.getFlight();
+				FlightAction flightStatus = runway.clearRunWay();
+				if(flightStatus.equals(FlightAction.LANDED)){
+					/*
+					 * Count number of flights successfully landed
+					 */
+					totalFlightsLanded++;
+					leaveRunway(t, runway, flight, JournalEventType.LANDED);
+				}else if(flightStatus.equals(FlightAction.TAKEN_OFF)){
+					/*
+					 * Count number of flights successfully taken off
+					 */
+					totalFlightsTakenOff++;
+					leaveRunway(t, runway, flight, JournalEventType.TAKEN_OFF);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Discrete-event engine, keeps a time-ordered event calendar {@link Event} and jumps straight to the next event.
+	 * Ticks where nothing happens cost nothing. Events of the same tick are processed in the order of the fixed-tick engine,
+	 * so for the same seed both engines produce the same results.
+	 * 
+	 * @param last Last tick to simulate, events after it stay in the calendar.
+	 */
+	private void simulateEvents(int last) {
+		while (!calendar.isEmpty() && calendar.peek().getTime() <= last) {
+			Event event = calendar.poll();
+			int t = event.getTime();
+			switch (event.getType()) {
+			case TAKEOFF_ARRIVAL:
+				offerTakeOff(t, config.getTakeOffTime());
+				scheduleArrival(wantsToTakeOff, EventType.TAKEOFF_ARRIVAL, t + 1);
+				break;
+			case LANDING_ARRIVAL:
+				offerLanding(t, config.getLandingTime());
+				scheduleArrival(wantsToLand, EventType.LANDING_ARRIVAL, t + 1);
+				break;
+			case TRACE_ARRIVAL:
+				offerTraced(t);
+				scheduleTraceArrival();
+				break;
+			case INBOUND_ARRIVAL:
+				offerInbound(t);
+				break;
+			case RUNWAY_START:
+				startScheduled = false;
+				/*
+				 * Landing takes priority over taking off, same as the fixed-tick engine.
+				 */
+				long started = assignRunways(t);
+				while (started != 0) {
+					Runway runway = runways.get(Long.numberOfTrailingZeros(started));
+					started &= started - 1;
+					calendar.offer(new Event(t + flights.getRunwayTime(runway.getFlight()), EventType.RUNWAY_CLEAR, runway.getId()));
+				}
+				break;
+			case RUNWAY_CLEAR:
+				Runway runway = runways.get(event.getRunway());
+				int flight = runway.getFlight();
+				FlightAction flightStatus = runway.releaseRunway();
+				if (FlightAction.LANDED.equals(flightStatus)) {
+					totalFlightsLanded++;
+					leaveRunway(t, runway, flight, JournalEventType.LANDED);
+				} else {
+					totalFlightsTakenOff++;
+					leaveRunway(t, runway, flight, JournalEventType.TAKEN_OFF);
+				}
+				/*
+				 * Runway can be used again from the next tick.
+				 */
+				if (!startScheduled && (!landingQ.isEmpty() || !takeOffQ.isEmpty())) {
+					calendar.offer(new Event(t + 1, EventType.RUNWAY_START));
+					startScheduled = true;
+				}
+				break;
+			}
+			
+			/*
+			 * A flight which arrives when a runway is free for it gets the runway in the same tick.
+			 */
+			if (!startScheduled && ((!landingQ.isEmpty() && runways.isClear(FlightAction.LANDING)) || (!takeOffQ.isEmpty() && runways.isClear(FlightAction.TAKING_OFF)))) {
+				calendar.offer(new Event(t, EventType.RUNWAY_START));
+				startScheduled = true;
+			}
+		}
+	}
+	
+	/**
+	 * Creates a flight which wants to land and adds it to the landingQ.
+	 * 
+	 * @param t Tick at which the flight arrives.
+	 * @param runwayTime The time needed by flight on the runway for landing.
+	 */
+	private void offerLanding(int t, int runwayTime) {
+		landingArrivals++;
+		enqueue(flights.add(FlightAction.LANDING, t, runwayTime));
+	}
+	
+	/**
+	 * Creates a flight which wants to take off and adds it to the takeOffQ.
+	 * 
+	 * @param t Tick at which the flight arrives.
+	 * @param runwayTime The time needed by flight on the runway for taking off.
+	 */
+	private void offerTakeOff(int t, int runwayTime) {
+		takeOffArrivals++;
+		enqueue(flights.add(FlightAction.TAKING_OFF, t, runwayTime));
+	}
+	
+	/**
+	 * Adds a flight which has arrived to the landingQ or to the takeOffQ, with the priority given by the scheduling policy {@link SchedulingPolicy}.
+	 * 
+	 * @param flight Slot of the flight, its arrival time is the current tick.
+	 */
+	private void enqueue(int flight) {
+		int t = flights.getArrivalTime(flight);
+		int runwayTime = flights.getRunwayTime(flight);
+		if (flights.isLanding(flight)) {
+			landingQ.offer(flight, policy.priority(FlightAction.LANDING, t, runwayTime), flights.getId(flight));
+			if (policy.getAgingTime() != SchedulingPolicy.NEVER) {
+				agingLandings.offer(flight);
+				agingLandings.offer(t);
+			}
+			landingArrivalTimes += t;
+			if (journal != null)
+				journal.record(t, flights.getId(flight), JournalEventType.LANDING_ARRIVAL, runwayTime);
+		} else {
+			takeOffQ.offer(flight, policy.priority(FlightAction.TAKING_OFF, t, runwayTime), flights.getId(flight));
+			if (policy.getAgingTime() != SchedulingPolicy.NEVER) {
+				agingTakeOffs.offer(flight);
+				agingTakeOffs.offer(t);
+			}
+			takeOffArrivalTimes += t;
+			if (journal != null)
+				journal.record(t, flights.getId(flight), JournalEventType.TAKEOFF_ARRIVAL, runwayTime);
+		}
+	}
+	
+	/**
+	 * Adds the flights handed over by other airports which arrive up to the given tick, in order of arrival and then of flight number.
+	 * 
+	 * @param t Current tick.
+	 */
+	private void offerInbound(int t) {
+		while (!inbound.isEmpty() && inbound.peekKey() <= t) {
+			enqueue(inbound.poll());
+		}
+	}
+	
+	/**
+	 * Creates the flights of the schedule trace {@link TraceReader} which arrive up to the given tick, in the order of the trace.
+	 * 
+	 * @param t Current tick.
+	 */
+	private void offerTraced(int t) {
+		while (tracePending && trace.getTick() <= t) {
+			if (FlightAction.LANDING.equals(trace.getAction())) {
+				offerLanding(t, trace.getServiceTime());
+			} else {
+				offerTakeOff(t, trace.getServiceTime());
+			}
+			tracePending = trace.next();
+		}
+	}
+	
+	/**
+	 * Gives back the runway {@link Runway} of a flight which has either landed or taken off and removes the flight from the airport.
+	 * 
+	 * @param t Current tick.
+	 * @param runway The runway the flight was on.
+	 * @param flight Slot of the flight.
+	 * @param type Either LANDED {@link JournalEventType#LANDED} or TAKEN_OFF {@link JournalEventType#TAKEN_OFF}.
+	 */
+	private void leaveRunway(int t, Runway runway, int flight, JournalEventType type) {
+		runways.release(runway);
+		if (journal != null)
+			journal.record(t, flights.getId(flight), type, runway.getId());
+		if (departureListener != null && JournalEventType.TAKEN_OFF.equals(type))
+			departureListener.departed(t, flights.getId(flight));
+		if (flightListener != null) {
+			/*
+			 * The runway start is not kept per flight, a flight is on the runway for exactly its runway time.
+			 */
+			FlightAction action = JournalEventType.LANDED.equals(type) ? FlightAction.LANDED : FlightAction.TAKEN_OFF;
+			flightListener.completed(flights.getId(flight), action, flights.getArrivalTime(flight), t - flights.getRunwayTime(flight), t, flights.getWaitTime(flight));
+		}
+		if (gates != null && JournalEventType.LANDED.equals(type))
+			turnAround(t, flight);
+		flights.remove(flight);
+	}
+	
+	/**
+	 * Sends a landed flight to the gates. The flight taxis in, takes the gate given by the gate pool {@link GatePool} as soon as it is free,
+	 * and taxis out to wait for the runway as a departure once its turnaround is over.
+	 * The gate is taken when the flight lands, in landing order, so the tick of the departure is known at once and is added as an inbound arrival.
+	 * Gates are compatible with flights whose landing runway time is at most their size, heavier flights need longer runways and larger gates.
+	 * 
+	 * @param t Tick at which the flight has landed.
+	 * @param flight Slot of the flight.
+	 */
+	private void turnAround(int t, int flight) {
+		long atGates = (long) t + taxiInTime;
+		int gate = gates.allocate(flights.getRunwayTime(flight), atGates, turnaroundTime);
+		if (gate == GatePool.NO_GATE) {
+			totalFlightsWithoutGate++;
+			return;
+		}
+		long pushBack = gates.getOccupiedUntil(gate);
+		totalGateTurnarounds++;
+		totalGateWaitTime += pushBack - turnaroundTime - atGates;
+		long departure = pushBack + taxiOutTime;
+		if (departure <= config.getSimulationLength())
+			addInboundArrival((int) departure, FlightAction.TAKING_OFF, config.getTakeOffTime());
+	}
+	
+	/**
+	 * Assigns waiting flights to the free runways {@link RunwayPool}. The waiting flight with the lowest priority given by the scheduling policy
+	 * {@link SchedulingPolicy} gets a runway first, as long as a runway is free for it. Only the first flight of the landingQ and of the takeOffQ are compared,
+	 * so choosing a flight costs O(log n) whatever the number of waiting flights.
+	 * The wait time of a flight is derived from its arrival time when it gets the runway, waiting flights are never walked.
+	 * 
+	 * @param t Current tick.
+	 * @return bitmap of the runways which have been assigned.
+	 */
+	private long assignRunways(int t) {
+		age(t, agingLandings, landingQ, FlightAction.LANDING);
+		age(t, agingTakeOffs, takeOffQ, FlightAction.TAKING_OFF);
+		long assigned = 0;
+		while (true) {
+			boolean landing = !landingQ.isEmpty() && runways.isClear(FlightAction.LANDING);
+			boolean takeOff = !takeOffQ.isEmpty() && runways.isClear(FlightAction.TAKING_OFF);
+			if (!landing && !takeOff)
+				break;
+			/*
+			 * Both a landing and a take off can get a runway, the one coming first by priority and then by flight number gets it.
+			 */
+			if (landing && takeOff)
+				landing = landingQ.peekKey() < takeOffQ.peekKey() || (landingQ.peekKey() == takeOffQ.peekKey() && landingQ.peekTie() < takeOffQ.peekTie());
+			
+			int flight;
+			if (landing) {
+				flight = landingQ.poll();
+				landingArrivalTimes -= flights.getArrivalTime(flight);
+				landingQueueTicks += t - flights.getArrivalTime(flight);
+			} else {
+				flight = takeOffQ.poll();
+				takeOffArrivalTimes -= flights.getArrivalTime(flight);
+				takeOffQueueTicks += t - flights.getArrivalTime(flight);
+			}
+			Runway runway = runways.acquire(flights.getAction(flight));
+			flights.setWaitTime(flight, config.getWaitTime() + (t - flights.getArrivalTime(flight)) * config.getDeltaWaitTime());
+			if (landing) {
+				totalLandingWaitTime += flights.getWaitTime(flight);
+				landingWaitTimes.record(flights.getWaitTime(flight));
+				totalLandingRunwayUses++;
+			} else {
+				totalTakeOffWaitTime += flights.getWaitTime(flight);
+				takeOffWaitTimes.record(flights.getWaitTime(flight));
+				totalTakeOffRunwayUses++;
+			}
+			runwayBusyTicks += Math.min(flights.getRunwayTime(flight) + 1, config.getSimulationLength() + 1 - t);
+			runway.useRunway(flight, RunwayStatus.BUSY);
+			if (journal != null)
+				journal.record(t, flights.getId(flight), JournalEventType.RUNWAY_START, flights.getWaitTime(flight));
+			assigned |= 1L << runway.getId();
+		}
+		return assigned;
+	}
+	
+	/**
+	 * Raises the priority of the waiting flights which have waited for the aging time of the scheduling policy {@link SchedulingPolicy}.
+	 * Entries of flights which got a runway in the meantime are skipped, an entry whose slot has been reused by a later flight
+	 * only raises that flight if it has waited long enough too.
+	 * 
+	 * @param t Current tick.
+	 * @param aging Waiting flights in arrival order, as pairs of slot and arrival time.
+	 * @param queue Queue the flights are waiting in.
+	 * @param action The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 */
+	private void age(int t, IntRingDeque aging, IndexedMinHeap queue, FlightAction action) {
+		long aged = (long) t - policy.getAgingTime();
+		while (!aging.isEmpty() && aging.get(1) <= aged) {
+			int flight = aging.poll();
+			aging.poll();
+			if (queue.contains(flight) && flights.getArrivalTime(flight) <= aged) {
+				long priority = policy.agedPriority(action, flights.getArrivalTime(flight), flights.getRunwayTime(flight));
+				if (priority < queue.getKey(flight))
+					queue.decreaseKey(flight, priority);
+			}
+		}
+	}
+	
+	/**
+	 * Creates the scheduling policy {@link SchedulingPolicy} for the given rule.
+	 * 
+	 * @param rule The rule {@link SchedulingRule} deciding which waiting flight gets a free runway.
+	 * @return scheduling policy.
+	 */
+	private static SchedulingPolicy newSchedulingPolicy(SchedulingRule rule) {
+		switch (rule) {
+		case LONGEST_WAIT_FIRST:
+			return new LongestWaitFirstPolicy();
+		case SHORTEST_SERVICE_FIRST:
+			return new ShortestServiceFirstPolicy();
+		case AGED_PRIORITY:
+			return new AgedPriorityPolicy();
+		default:
+			return new StrictLandingPolicy();
+		}
+	}
+	
+	/**
+	 * Creates the arrival source {@link ArrivalSource} for the given arrival mode.
+	 * 
+	 * @param arrivalMode How arrivals {@link ArrivalMode} are generated.
+	 * @param probability Probability between 0 and 1
+	 * @param profile The rate profile {@link RateProfile} of the probability, null for a constant probability.
+	 * @param random The random stream owned by the source.
+	 * @return arrival source.
+	 */
+	private static ArrivalSource newArrivalSource(ArrivalMode arrivalMode, double probability, RateProfile profile, RandomStream random) {
+		boolean geometric = ArrivalMode.GEOMETRIC.equals(arrivalMode);
+		if (profile != null)
+			return new ThinnedSource(probability, profile, geometric, random);
+		return geometric ? new GeometricSource(probability, random) : new BooleanSource(probability, random);
+	}
+	
+	/**
+	 * Schedules the next arrival of the given source {@link ArrivalSource}, if it happens within SIMULATION_LENGTH.
+	 * 
+	 * @param source Source which decides when the flight arrives.
+	 * @param type Arrival event type {@link EventType}.
+	 * @param from First tick at which the flight can arrive.
+	 */
+	private void scheduleArrival(ArrivalSource source, EventType type, int from) {
+		if (from > config.getSimulationLength()) {
+			return;
+		}
+		int limit = config.getSimulationLength() - from + 1;
+		int gap = source.skip(limit);
+		if (gap < limit) {
+			calendar.offer(new Event(from + gap, type));
+		}
+	}
+
+	/**
+	 * Schedules the arrival of the next flights of the schedule trace {@link TraceReader}, if they arrive within SIMULATION_LENGTH.
+	 */
+	private void scheduleTraceArrival() {
+		if (tracePending && trace.getTick() <= config.getSimulationLength())
+			calendar.offer(new Event(trace.getTick(), EventType.TRACE_ARRIVAL));
+	}
+
+	/**
+	 * Sets the event journal {@link EventJournal} which records the audit trail of the simulation.
+	 * The journal is owned by the caller, which closes it once the simulation is over.
+	 * 
+	 * @param journal Event journal, null to record nothing.
+	 */
+	public void setJournal(EventJournal journal) {
+		this.journal = journal;
+	}
+	
+	/**
+	 * Sets the runtime metrics {@link SimulationMetrics} the simulation reports to, instead of the global metrics {@link SimulationMetrics#global()}.
+	 * 
+	 * @param metrics Runtime metrics, null to report to none.
+	 */
+	public void setMetrics(SimulationMetrics metrics) {
+		if (this.metrics != null)
+			this.metrics.close();
+		this.metrics = metrics == null ? null : metrics.probe(runwayCount);
+		if (this.metrics != null)
+			this.metrics.baseline(tick, totalFlightsLanded, totalFlightsTakenOff, runwayBusyTicks);
+	}
+	
+	/**
+	 * Sets the departure listener {@link DepartureListener} told about every flight which has taken off.
+	 * 
+	 * @param departureListener Departure listener, null to tell nobody.
+	 */
+	public void setDepartureListener(DepartureListener departureListener) {
+		this.departureListener = departureListener;
+	}
+	
+	/**
+	 * Sets the flight listener {@link FlightListener} told about every flight which has left the runway.
+	 * 
+	 * @param flightListener Flight listener, null to tell nobody.
 	 */
-	private BooleanSource wantsToTakeOff;
+	public void setFlightListener(FlightListener flightListener) {
+		this.flightListener = flightListener;
+	}
 	
 	/**
-	 * BooleanSource {@link BooleanSource}} provides a random sequence of boolean values.
-	 * Basically used to create flights dynamically based on the randomly generated boolean value(true) and landing probability.
+	 * Sets the gates {@link GatePool} landed flights turn around at, instead of the configured gates.
+	 * Every landed flight then taxis in, occupies a gate for the turnaround time and departs again, see {@link #getTotalGateTurnarounds()}.
+	 * 
+	 * @param gates Gate pool, null to end the model at the runway.
+	 * @param taxiInTime Number of ticks a landed flight taxis to the gates.
+	 * @param turnaroundTime Number of ticks a flight occupies its gate, greater than 0.
+	 * @param taxiOutTime Number of ticks a departure taxis from its gate to the runway.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that a time is out of its range.
+	 * @exception IllegalStateException
+	 *            Indicates that the simulation has already started.
 	 */
-	private BooleanSource wantsToLand;
-
+	public void setGates(GatePool gates, int taxiInTime, int turnaroundTime, int taxiOutTime) {
+		if (tick > 0)
+			throw new IllegalStateException("Simulation has already started");
+		if (taxiInTime < 0 || turnaroundTime < 1 || taxiOutTime < 0)
+			throw new IllegalArgumentException("Illegal gate times: " + taxiInTime + ", " + turnaroundTime + ", " + taxiOutTime);
+		this.gates = gates;
+		this.taxiInTime = taxiInTime;
+		this.turnaroundTime = turnaroundTime;
+		this.taxiOutTime = taxiOutTime;
+	}
+	
 	/**
-	 * The runway {@link Runway} which will be used by the flights to take off or landing.
+	 * Adds a flight handed over by another airport, it starts waiting for the runway at the given tick.
+	 * The tick must not be before the next tick {@link #getTick()}, so that the flight never arrives in the past.
+	 * 
+	 * @param arrivalTime The tick at which the flight arrives.
+	 * @param action The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @param runwayTime The time needed by flight on the runway.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the arrival time is before the next tick.
+	 * @exception IllegalStateException
+	 *            Indicates that the simulation is over.
 	 */
-	private Runway runway;
-
+	public void addInboundArrival(int arrivalTime, FlightAction action, int runwayTime) {
+		if (runways == null)
+			throw new IllegalStateException("Simulation is over");
+		if (arrivalTime < tick)
+			throw new IllegalArgumentException("Illegal arrival time: " + arrivalTime + ", next tick: " + tick);
+		int flight = flights.add(action, arrivalTime, runwayTime);
+		inbound.offer(flight, arrivalTime, flights.getId(flight));
+		if (calendar != null && arrivalTime <= config.getSimulationLength())
+			calendar.offer(new Event(arrivalTime, EventType.INBOUND_ARRIVAL));
+	}
+	
 	/**
-	 * The following attributes are used to capture results on the simulation.
+	 * Sets the scheduling policy {@link SchedulingPolicy} which decides which waiting flight gets a free runway.
+	 * Waiting flights get their priority when they arrive, so the policy can only be set before the simulation starts.
+	 * 
+	 * @param policy Scheduling policy.
+	 * 
+	 * @exception IllegalStateException
+	 *            Indicates that the simulation has already started.
 	 */
-
+	public void setSchedulingPolicy(SchedulingPolicy policy) {
+		if (tick > 0)
+			throw new IllegalStateException("Simulation has already started");
+		this.policy = policy;
+	}
+	
 	/**
-	 * Total number of flights that have landed.
+	 * Gets the scheduling policy {@link SchedulingPolicy} which decides which waiting flight gets a free runway.
+	 * 
+	 * @return policy.
 	 */
-	int totalFlightsLanded; 
+	public SchedulingPolicy getSchedulingPolicy() {
+		return policy;
+	}
 	
 	/**
-	 * Total number of flights that have taken off.
+	 * Gets the schedule trace {@link TraceReader} the arrivals are replayed from.
+	 * 
+	 * @return trace, null when arrivals are generated by the arrival sources.
 	 */
-	int totalFlightsTakenOff;
+	public TraceReader getTrace() {
+		return trace;
+	}
 	
 	/**
-	 * Flag to check any flight crashed or not
+	 * Gets the configuration {@link SimulationConfig} of the simulation.
+	 * 
+	 * @return config
 	 */
-	boolean flightCrashed;
+	public SimulationConfig getConfig() {
+		return config;
+	}
+	
+	/**
+	 * Gets the next tick to simulate.
+	 * 
+	 * @return tick, SIMULATION_LENGTH + 1 once every tick has been simulated.
+	 */
+	public int getTick() {
+		return tick;
+	}
+	
+	/**
+	 * Writes the whole state of the simulation, random streams included, in a compact versioned binary format.
+	 * The configuration the simulation depends on is written along, so that a checkpoint is never restored under a different configuration.
+	 * The stream is flushed but not closed.
+	 * 
+	 * @param out Stream the checkpoint is written to.
+	 * @throws IOException If the checkpoint can not be written.
+	 * 
+	 * @exception IllegalStateException
+	 *            Indicates that the simulation is over.
+	 */
+	public void checkpoint(OutputStream out) throws IOException {
+		if (runways == null)
+			throw new IllegalStateException("Simulation is over");
+		DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+		data.writeInt(CHECKPOINT_MAGIC);
+		data.writeInt(CHECKPOINT_VERSION);
+		data.writeByte(engine.ordinal());
+		data.writeByte(arrivalMode.ordinal());
+		data.writeByte(runwayCount);
+		for (int id = 0; id < runwayCount; id++) {
+			data.writeByte(runways.get(id).getUse().ordinal());
+		}
+		data.writeInt(config.getSimulationLength());
+		data.writeDouble(config.getLandingProbability());
+		data.writeDouble(config.getTakeOffProbability());
+		data.writeInt(config.getDeltaWaitTime());
+		data.writeInt(config.getWaitTime());
+		data.writeInt(config.getLandingTime());
+		data.writeInt(config.getTakeOffTime());
+		data.writeUTF(String.valueOf(config.getLandingProfile()));
+		data.writeUTF(String.valueOf(config.getTakeOffProfile()));
+		
+		data.writeInt(tick);
+		if (trace != null) {
+			data.writeUTF(trace.getFile().toString());
+			data.writeLong(tracePending ? trace.getPosition() : -1L);
+		} else {
+			wantsToLand.checkpoint(data);
+			wantsToTakeOff.checkpoint(data);
+		}
+		flights.checkpoint(data);
+		runways.checkpoint(data);
+		data.writeUTF(policy.getClass().getName());
+		policy.checkpoint(data);
+		landingQ.checkpoint(data);
+		takeOffQ.checkpoint(data);
+		inbound.checkpoint(data);
+		agingLandings.checkpoint(data);
+		agingTakeOffs.checkpoint(data);
+		data.writeLong(landingArrivalTimes);
+		data.writeLong(takeOffArrivalTimes);
+		data.writeInt(landingArrivals);
+		data.writeInt(takeOffArrivals);
+		if (calendar != null) {
+			data.writeBoolean(startScheduled);
+			data.writeInt(calendar.size());
+			for (Event event : calendar) {
+				data.writeInt(event.getTime());
+				data.writeByte(event.getType().ordinal());
+				data.writeByte(event.getRunway());
+			}
+		}
+		
+		data.writeInt(totalFlightsLanded);
+		data.writeInt(totalFlightsTakenOff);
+		data.writeBoolean(flightCrashed);
+		data.writeInt(totalFlightsCrashed);
+		data.writeInt(totalLandingRunwayUses);
+		data.writeInt(totalTakeOffRunwayUses);
+		data.writeLong(totalLandingWaitTime);
+		data.writeLong(totalTakeOffWaitTime);
+		landingWaitTimes.checkpoint(data);
+		takeOffWaitTimes.checkpoint(data);
+		data.writeLong(landingQueueTicks);
+		data.writeLong(takeOffQueueTicks);
+		data.writeLong(runwayBusyTicks);
+		data.writeBoolean(gates != null);
+		if (gates != null) {
+			data.writeInt(gates.size());
+			for (int gate = 0; gate < gates.size(); gate++) {
+				data.writeInt(gates.getSize(gate));
+			}
+			data.writeInt(taxiInTime);
+			data.writeInt(turnaroundTime);
+			data.writeInt(taxiOutTime);
+			gates.checkpoint(data);
+			data.writeInt(totalGateTurnarounds);
+			data.writeLong(totalGateWaitTime);
+			data.writeInt(totalFlightsWithoutGate);
+		}
+		data.flush();
+	}
+	
+	/**
+	 * Restores a simulation from a checkpoint written by {@link #checkpoint(OutputStream)}. The restored simulation continues
+	 * from the tick the checkpoint was taken at and produces the same results as the checkpointed simulation.
+	 * The event journal is not part of the checkpoint, a journal set on the restored simulation starts at that tick.
+	 * A schedule trace {@link TraceReader} is opened again from its file, the restored simulation owns it and it is closed through {@link #getTrace()}.
+	 * The stream may be read ahead beyond the end of the checkpoint and is not closed.
+	 * 
+	 * @param in Stream the checkpoint is read from.
+	 * @return restored simulator.
+	 * @throws IOException If the checkpoint can not be read, is not a checkpoint or has an unknown version.
+	 * 
+	 * @exception IllegalStateException
+	 *            Indicates that the checkpoint was taken under a different configuration.
+	 */
+	public static SmartAirportSimulator restore(InputStream in) throws IOException {
+		return restore(in, SimulationConfig.defaults());
+	}
+	
+	/**
+	 * Restores a simulation built with its own configuration {@link SimulationConfig} from a checkpoint written by {@link #checkpoint(OutputStream)},
+	 * see {@link #restore(InputStream)}.
+	 * 
+	 * @param in Stream the checkpoint is read from.
+	 * @param config The configuration {@link SimulationConfig} the checkpointed simulation was built with.
+	 * @return restored simulator.
+	 * @throws IOException If the checkpoint can not be read, is not a checkpoint or has an unknown version.
+	 * 
+	 * @exception IllegalStateException
+	 *            Indicates that the checkpoint was taken under a different configuration.
+	 */
+	public static SmartAirportSimulator restore(InputStream in, SimulationConfig config) throws IOException {
+		DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+		int magic = data.readInt();
+		int version = data.readInt();
+		if (magic != CHECKPOINT_MAGIC || version != CHECKPOINT_VERSION)
+			throw new IOException("Unsupported checkpoint, version: " + version);
+		SimulationEngine engine = SimulationEngine.values()[data.readByte()];
+		ArrivalMode arrivalMode = ArrivalMode.values()[data.readByte()];
+		RunwayUse[] uses = new RunwayUse[data.readUnsignedByte()];
+		for (int id = 0; id < uses.length; id++) {
+			uses[id] = RunwayUse.values()[data.readByte()];
+		}
+		checkConfiguration("sa.sim.simulation.length", config.getSimulationLength() == data.readInt());
+		checkConfiguration("sa.sim.langing.probability", config.getLandingProbability() == data.readDouble());
+		checkConfiguration("sa.sim.takeoff.probability", config.getTakeOffProbability() == data.readDouble());
+		checkConfiguration("sa.sim.delta.wait.time", config.getDeltaWaitTime() == data.readInt());
+		checkConfiguration("sa.flight.wait.time", config.getWaitTime() == data.readInt());
+		checkConfiguration("sa.flight.landing.time", config.getLandingTime() == data.readInt());
+		checkConfiguration("sa.flight.takeoff.time", config.getTakeOffTime() == data.readInt());
+		checkConfiguration(SimulationConfig.LANDING_PROFILE, String.valueOf(config.getLandingProfile()).equals(data.readUTF()));
+		checkConfiguration(SimulationConfig.TAKEOFF_PROFILE, String.valueOf(config.getTakeOffProfile()).equals(data.readUTF()));
+		
+		int tick = data.readInt();
+		SmartAirportSimulator sim;
+		if (ArrivalMode.TRACE.equals(arrivalMode)) {
+			TraceReader trace = new TraceReader(Paths.get(data.readUTF()));
+			long position = data.readLong();
+			sim = new SmartAirportSimulator(config, engine, ArrivalMode.TRACE, 0L, false, trace, uses);
+			trace.seek(Math.max(position, 0L));
+			sim.tracePending = position >= 0 && trace.next();
+		} else {
+			sim = new SmartAirportSimulator(config, engine, arrivalMode, 0L, uses);
+			sim.wantsToLand.restore(data);
+			sim.wantsToTakeOff.restore(data);
+		}
+		sim.tick = tick;
+		sim.flights.restore(data);
+		sim.runways.restore(data);
+		sim.policy = newSchedulingPolicy(data.readUTF());
+		sim.policy.restore(data);
+		sim.landingQ.restore(data);
+		sim.takeOffQ.restore(data);
+		sim.inbound.restore(data);
+		sim.agingLandings.restore(data);
+		sim.agingTakeOffs.restore(data);
+		sim.landingArrivalTimes = data.readLong();
+		sim.takeOffArrivalTimes = data.readLong();
+		sim.landingArrivals = data.readInt();
+		sim.takeOffArrivals = data.readInt();
+		if (sim.calendar != null) {
+			sim.calendar.clear();
+			sim.startScheduled = data.readBoolean();
+			int events = data.readInt();
+			for (int i = 0; i < events; i++) {
+				sim.calendar.offer(new Event(data.readInt(), EventType.values()[data.readByte()], data.readByte()));
+			}
+		}
+		
+		sim.totalFlightsLanded = data.readInt();
+		sim.totalFlightsTakenOff = data.readInt();
+		sim.flightCrashed = data.readBoolean();
+		sim.totalFlightsCrashed = data.readInt();
+		sim.totalLandingRunwayUses = data.readInt();
+		sim.totalTakeOffRunwayUses = data.readInt();
+		sim.totalLandingWaitTime = data.readLong();
+		sim.totalTakeOffWaitTime = data.readLong();
+		sim.landingWaitTimes.restore(data);
+		sim.takeOffWaitTimes.restore(data);
+		sim.landingQueueTicks = data.readLong();
+		sim.takeOffQueueTicks = data.readLong();
+		sim.runwayBusyTicks = data.readLong();
+		sim.gates = null;
+		if (data.readBoolean()) {
+			int[] sizes = new int[data.readInt()];
+			for (int gate = 0; gate < sizes.length; gate++) {
+				sizes[gate] = data.readInt();
+			}
+			sim.gates = new GatePool(sizes);
+			sim.taxiInTime = data.readInt();
+			sim.turnaroundTime = data.readInt();
+			sim.taxiOutTime = data.readInt();
+			sim.gates.restore(data);
+			sim.totalGateTurnarounds = data.readInt();
+			sim.totalGateWaitTime = data.readLong();
+			sim.totalFlightsWithoutGate = data.readInt();
+		}
+		if (sim.metrics != null)
+			sim.metrics.baseline(sim.tick, sim.totalFlightsLanded, sim.totalFlightsTakenOff, sim.runwayBusyTicks);
+		return sim;
+	}
+	
+	/**
+	 * Creates a scheduling policy {@link SchedulingPolicy} by class name with its default constructor.
+	 * 
+	 * @param className Class name of the policy.
+	 * @return scheduling policy.
+	 * @throws IOException If the policy can not be created.
+	 */
+	private static SchedulingPolicy newSchedulingPolicy(String className) throws IOException {
+		try {
+			return (SchedulingPolicy) Class.forName(className).getConstructor().newInstance();
+		} catch (ReflectiveOperationException | ClassCastException e) {
+			throw new IOException("Scheduling policy can not be restored: " + className, e);
+		}
+	}
+	
+	private static void checkConfiguration(String key, boolean same) {
+		if (!same)
+			throw new IllegalStateException("Checkpoint was taken with a different '" + key + "' configuration");
+	}
 
 	/**
-	 * Default constructor.
+	 * Gets total number of flights that have landed.
+	 * 
+	 * @return totalFlightsLanded.
 	 */
-	public SmartAirportSimulator() {
-		wantsToLand = new BooleanSource(LANDING_PROBABILITY);
-		wantsToTakeOff = new BooleanSource(TAKEOFF_PROBABILITY);
+	public int getTotalFlightsLanded() {
+		return totalFlightsLanded;
+	}
 
-		runway = Runway.getRunway();
+	/**
+	 * Gets total number of flights that have taken off.
+	 * 
+	 * @return totalFlightsTakenOff.
+	 */
+	public int getTotalFlightsTakenOff() {
+		return totalFlightsTakenOff;
+	}
 
-		takeOffQ = new LinkedList<Flight>();
-		landingQ = new LinkedList<Flight>();
-		dynamicallyGeneratedFlights = new LinkedList<Flight>();
+	/**
+	 * Gets number of flights waiting to land.
+	 * 
+	 * @return landingQ size.
+	 */
+	public int getLandingQueueSize() {
+		return landingQ.size();
+	}
 
-		totalFlightsLanded = 0;
-		totalFlightsTakenOff = 0;
+	/**
+	 * Gets number of flights waiting to take off.
+	 * 
+	 * @return takeOffQ size.
+	 */
+	public int getTakeOffQueueSize() {
+		return takeOffQ.size();
 	}
 
 	/**
-	 * Simulates smart airport by creating flights dynamically using BooleanSource{@link BooleanSource} either for take off or land.
-	 * It assigns flights to the runway {@link Runway} either for takeoff or land.
-	 * It clears the runway {@link Runway} for the next flight either for take off or land.
-	 * Since landing takes priority over taking off. Runway {@link Runway} will be used by the flight that wants to take off, only when no flight wants to land. 
-	 * It also populates attributes for capturing results.
+	 * Checks whether any flight crashed or not.
+	 * 
+	 * @return flightCrashed.
 	 */
-	public void simulate() {
+	public boolean isFlightCrashed() {
+		return flightCrashed;
+	}
+	
+	/**
+	 * Gets total number of flights that crashed.
+	 * 
+	 * @return totalFlightsCrashed.
+	 */
+	public int getTotalFlightsCrashed() {
+		return totalFlightsCrashed;
+	}
 
-		for (int t = 0; t <= SIMULATION_LENGTH; t++) {
-			/*
-			 * Checks whether flight wants to take off.
-			 * If yes then dynamically generate flight and add it takeOffQ and dynamicallyGeneratedFlights
-			 */
-			if (wantsToTakeOff.random()) {
-				Flight fligt = new Flight(FlightAction.TAKING_OFF);
-				takeOffQ.offer(fligt);
-				dynamicallyGeneratedFlights.add(fligt);
-			}
+	/**
+	 * Gets total wait time of the flights that got a runway for landing.
+	 * 
+	 * @return totalLandingWaitTime.
+	 */
+	public long getTotalLandingWaitTime() {
+		return totalLandingWaitTime;
+	}
 
-			/*
-			 * Checks whether flight wants to land.
-			 * If yes then dynamically generate flight and add it landingQ and dynamicallyGeneratedFlights
-			 */
-			if (wantsToLand.random()) {
-				Flight flight = new Flight(FlightAction.LANDING);
-				landingQ.offer(flight);
-				dynamicallyGeneratedFlights.add(flight);
-			} 
-			/*
-			 * Runway utilization. Since landing takes priority over taking off. If one flight wants to take off, one flight wants to land at the same time 
-			 * and the runway is free then flight that wants to land will be given priority. Runway will be used by the flight that wants to take off, 
-			 * only when no flight wants to land and runway is free. Means landingQ will be processed first for every loop. If landingQ is empty then only takeOffQ will be
-			 * processed.
-			 */
-			if (runway.isClear()) {
-				if (landingQ.peek() != null) {
-					/*
-					 * Remove from the landingQ and assign it to runway
-					 */
-					Flight landingFlight = landingQ.poll();
-					runway.useRunway(landingFlight, RunwayStatus.BUSY);
-					
-					/*
-					 * Remove from the dynamicallyGeneratedFlights
-					 */
-					dynamicallyGeneratedFlights.remove(landingFlight);
-				} else if (takeOffQ.peek() != null) {
-					/*
-					 * Remove from the takeOffQ and assign it to runway
-					 */
-					Flight takeOffFlight = takeOffQ.poll();
-					runway.useRunway(takeOffFlight, RunwayStatus.BUSY);
-					
-					/*
-					 * Remove from the dynamicallyGeneratedFlights
-					 */
-					dynamicallyGeneratedFlights.remove(takeOffFlight);
-				}
-			} else {
-				/*
-				 * Clears runway for next flight either take off or landing
-				 */
-				FlightAction flightStatus = runway.clearRunWay();
-				if(flightStatus.equals(FlightAction.LANDED)){
-					/*
-					 * Count number of flights successfully landed
-					 */
-					totalFlightsLanded++;
-				}else if(flightStatus.equals(FlightAction.TAKEN_OFF)){
-					/*
-					 * Count number of flights successfully taken off
-					 */
-					totalFlightsTakenOff++;
-				}
-			}
-			
-			/*
-			 * Update delta wait time for all the flights which are waiting for either take off or landing.
-			 */
-			Iterator<Flight> it = dynamicallyGeneratedFlights.iterator();
-			while (it.hasNext()) {
-				Flight flight = it.next();
-				flight.updateWaitTime(DELTA_WAIT_TIME);
-				if(FlightAction.LANDING.equals(flight.getFaction())){
-					LOGGER.info("Flight Number: "+flight.getNumber()+", Flight action: "+FlightAction.LANDING+ " Using runway: FALSE, Wait time: "+flight.getWaitTime());
-				}else if(FlightAction.TAKING_OFF.equals(flight.getFaction())){
-					LOGGER.info("Flight Number: "+flight.getNumber()+", Flight action: "+FlightAction.TAKING_OFF+" Using runway: FALSE, Wait time: "+flight.getWaitTime());
-				}
-			}
-		}
-		
-		/*
-		 * Kill the runway instance once the simulation length is reached.
-		 */
-		Flight flightOnRuway = runway.getFlight();
-		runway=null;
-		
+	/**
+	 * Gets total wait time of the flights that got a runway for take off.
+	 * 
+	 * @return totalTakeOffWaitTime.
+	 */
+	public long getTotalTakeOffWaitTime() {
+		return totalTakeOffWaitTime;
+	}
+	
+	/**
+	 * Gets number of flights that got a runway for landing.
+	 * 
+	 * @return totalLandingRunwayUses.
+	 */
+	public int getTotalLandingRunwayUses() {
+		return totalLandingRunwayUses;
+	}
+	
+	/**
+	 * Gets number of flights that got a runway for take off.
+	 * 
+	 * @return totalTakeOffRunwayUses.
+	 */
+	public int getTotalTakeOffRunwayUses() {
+		return totalTakeOffRunwayUses;
+	}
+	
+	/**
+	 * Gets number of landed flights which got a gate.
+	 * 
+	 * @return totalGateTurnarounds.
+	 */
+	public int getTotalGateTurnarounds() {
+		return totalGateTurnarounds;
+	}
+	
+	/**
+	 * Gets total number of ticks landed flights waited at the gates for a free gate.
+	 * 
+	 * @return totalGateWaitTime.
+	 */
+	public long getTotalGateWaitTime() {
+		return totalGateWaitTime;
+	}
+	
+	/**
+	 * Gets number of landed flights for which no gate is large enough.
+	 * 
+	 * @return totalFlightsWithoutGate.
+	 */
+	public int getTotalFlightsWithoutGate() {
+		return totalFlightsWithoutGate;
+	}
+	
+	/**
+	 * Gets total wait time of the flights still waiting either to land or to take off at the end of the simulation.
+	 * A flight waits from its arrival tick up to and including the last tick, so the total is derived from the sums of the arrival times.
+	 * 
+	 * @return wait time of the waiting flights.
+	 */
+	public long getWaitingFlightsWaitTime() {
+		long waitingFlights = landingQ.size() + takeOffQ.size();
+		return waitingFlights * config.getWaitTime() + (waitingFlights * (config.getSimulationLength() + 1) - landingArrivalTimes - takeOffArrivalTimes) * config.getDeltaWaitTime();
+	}
+
+	/**
+	 * Gets histogram {@link WaitHistogram} of the wait times of the flights that got a runway for landing.
+	 * 
+	 * @return landingWaitTimes.
+	 */
+	public WaitHistogram getLandingWaitTimes() {
+		return landingWaitTimes;
+	}
+
+	/**
+	 * Gets histogram {@link WaitHistogram} of the wait times of the flights that got a runway for take off.
+	 * 
+	 * @return takeOffWaitTimes.
+	 */
+	public WaitHistogram getTakeOffWaitTimes() {
+		return takeOffWaitTimes;
+	}
+	
+	/**
+	 * Gets the share of the time runways have been in use, a runway is in use from the tick a flight gets it up to and including the tick the flight leaves it.
+	 * 
+	 * @return runway utilization between 0 and 1.
+	 */
+	public double getRunwayUtilization() {
+		return (double) runwayBusyTicks / ((long) runwayCount * (config.getSimulationLength() + 1));
+	}
+	
+	/**
+	 * Gets the time-averaged length of the landingQ, measured at the end of every tick.
+	 * 
+	 * @return average landingQ length.
+	 */
+	public double getAverageLandingQueueLength() {
+		return (double) (landingQueueTicks + (long) landingQ.size() * (config.getSimulationLength() + 1) - landingArrivalTimes) / (config.getSimulationLength() + 1);
+	}
+	
+	/**
+	 * Gets the time-averaged length of the takeOffQ, measured at the end of every tick.
+	 * 
+	 * @return average takeOffQ length.
+	 */
+	public double getAverageTakeOffQueueLength() {
+		return (double) (takeOffQueueTicks + (long) takeOffQ.size() * (config.getSimulationLength() + 1) - takeOffArrivalTimes) / (config.getSimulationLength() + 1);
+	}
+	
+	/**
+	 * Gets the results {@link SimulationResult} of the simulation.
+	 * 
+	 * @return simulation result.
+	 */
+	public SimulationResult getResult() {
 		/*
-		 * If simulation exceeds SIMULATION_LENGTH then runway will be killed so flight which is either taking off or landing would be crashed.
+		 * Random arrivals come in every tick from 0 up to and including SIMULATION_LENGTH, replayed arrivals have no known expectation.
 		 */
-		if(null != flightOnRuway){
-			flightCrashed=true;
-			LOGGER.info("\n");
-			LOGGER.info("?????????????????????????????????????????????????????? Flight crashed!! ????????????????????????????????????????????????????");
-			LOGGER.info("\n");
-			LOGGER.info("Flight crashed!! Runway no longer available because it is killed by the simulator.");
-			LOGGER.info("Flight Number: "+flightOnRuway.getNumber()+", Flight action: "+flightOnRuway.getFaction().toString());
-			LOGGER.info("TIME needed is "+(flightOnRuway.getFaction().equals(FlightAction.LANDING)?(flightOnRuway.getLandingTime()):(flightOnRuway.getTakeOffTime()))+" for "+flightOnRuway.getFaction().toString());
-		}
-		
+		boolean random = trace == null;
+		return new SimulationResult(totalFlightsLanded, totalFlightsTakenOff, landingQ.size(), takeOffQ.size(), totalFlightsCrashed,
+				totalLandingRunwayUses, totalTakeOffRunwayUses, totalLandingWaitTime, totalTakeOffWaitTime,
+				landingWaitTimes, takeOffWaitTimes, getRunwayUtilization(), getAverageLandingQueueLength(), getAverageTakeOffQueueLength(),
+				landingArrivals, takeOffArrivals, random ? config.getExpectedLandingArrivals() : Double.NaN, random ? config.getExpectedTakeOffArrivals() : Double.NaN);
 	}
 
 	/**
@@ -244,17 +1653,106 @@ public class SmartAirportSimulator {
 		LOGGER.info(landingQ.size() + " Flights waiting to land.");
 		LOGGER.info(takeOffQ.size() + " Flights waiting to takeoff.");
 		LOGGER.info((landingQ.size()+takeOffQ.size())+" Flights available in the airport.");
+		LOGGER.info((totalLandingWaitTime + totalTakeOffWaitTime + getWaitingFlightsWaitTime()) + " Total wait time of the flights.");
+		LOGGER.info("Landing wait time: " + landingWaitTimes);
+		LOGGER.info("Take off wait time: " + takeOffWaitTimes);
+		LOGGER.info(String.format("%.3f", getRunwayUtilization()) + " Runway utilization.");
+		LOGGER.info(String.format("%.3f", getAverageLandingQueueLength()) + " Average flights waiting to land.");
+		LOGGER.info(String.format("%.3f", getAverageTakeOffQueueLength()) + " Average flights waiting to takeoff.");
+		if (gates != null) {
+			LOGGER.info(totalGateTurnarounds + " Flights turned around at " + gates.size() + " gates.");
+			LOGGER.info(String.format("%.3f", totalGateTurnarounds == 0 ? 0.0 : (double) totalGateWaitTime / totalGateTurnarounds) + " Average ticks waiting for a gate.");
+			if (totalFlightsWithoutGate > 0)
+				LOGGER.info(totalFlightsWithoutGate + " Flights without a large enough gate.");
+		}
 		if(flightCrashed){
-			LOGGER.info("1 Flight crashed!!");
+			LOGGER.info(totalFlightsCrashed + " Flight crashed!!");
+		}
+	}
+
+	private static SimulationEngine readEngine() {
+		String engine = PropertiesUtil.get("sa.sim.engine");
+		return (engine == null || engine.trim().isEmpty()) ? SimulationEngine.TICK : SimulationEngine.valueOf(engine.trim().toUpperCase());
+	}
+	
+	private static RunwayUse[] readRunways() {
+		String runways = PropertiesUtil.get("sa.sim.runways");
+		if (runways == null || runways.trim().isEmpty()) {
+			return new RunwayUse[] { RunwayUse.MIXED };
+		}
+		String[] names = runways.split(",");
+		RunwayUse[] uses = new RunwayUse[names.length];
+		for (int i = 0; i < names.length; i++) {
+			uses[i] = RunwayUse.valueOf(names[i].trim().toUpperCase());
+		}
+		return uses;
+	}
+	
+	private static int[] readGates() {
+		String gates = PropertiesUtil.get("sa.sim.gates");
+		if (gates == null || gates.trim().isEmpty())
+			return null;
+		int count = 0;
+		String[] entries = gates.split(",");
+		int[][] groups = new int[entries.length][];
+		for (int i = 0; i < entries.length; i++) {
+			String[] group = entries[i].trim().split("\\*");
+			groups[i] = group.length == 1 ? new int[] { 1, Integer.parseInt(group[0].trim()) } : new int[] { Integer.parseInt(group[0].trim()), Integer.parseInt(group[1].trim()) };
+			count += groups[i][0];
 		}
+		int[] sizes = new int[count];
+		int gate = 0;
+		for (int[] group : groups) {
+			for (int i = 0; i < group[0]; i++) {
+				sizes[gate++] = group[1];
+			}
+		}
+		return sizes;
+	}
+	
+	private static int readGateTime(String key, int minimum) {
+		String time = PropertiesUtil.get(key);
+		int ticks = (time == null || time.trim().isEmpty()) ? minimum : Integer.parseInt(time.trim());
+		if (ticks < minimum)
+			throw new IllegalArgumentException("Illegal value of " + key + ": " + ticks);
+		return ticks;
+	}
+	
+	private static RateProfile readProfile(String key) {
+		String period = PropertiesUtil.get(SimulationConfig.PROFILE_PERIOD);
+		return RateProfile.parse(PropertiesUtil.get(key), (period == null || period.trim().isEmpty()) ? 60 : Integer.parseInt(period.trim()));
+	}
+	
+	private static SchedulingRule readSchedulingRule() {
+		String rule = PropertiesUtil.get("sa.sim.scheduling.policy");
+		return (rule == null || rule.trim().isEmpty()) ? SchedulingRule.STRICT_LANDING : SchedulingRule.valueOf(rule.trim().toUpperCase());
+	}
+	
+	private static ArrivalMode readArrivalMode() {
+		String arrivalMode = PropertiesUtil.get("sa.sim.arrival.mode");
+		return (arrivalMode == null || arrivalMode.trim().isEmpty()) ? ArrivalMode.BERNOULLI : ArrivalMode.valueOf(arrivalMode.trim().toUpperCase());
+	}
+	
+	private static int readCheckpointInterval() {
+		String interval = PropertiesUtil.get("sa.sim.checkpoint.interval");
+		int ticks = (interval == null || interval.trim().isEmpty()) ? SIMULATION_LENGTH : Integer.parseInt(interval.trim());
+		if (ticks <= 0)
+			throw new IllegalArgumentException("Illegal checkpoint interval: " + ticks);
+		return ticks;
+	}
+	
+	private static Long readSeed() {
+		String seed = PropertiesUtil.get("sa.sim.seed");
+		return (seed == null || seed.trim().isEmpty()) ? null : Long.valueOf(seed.trim());
 	}
 
 	/**
 	 * Execute the simulator.
 	 * 
 	 * @param args Arguments
+	 * @throws IOException If the event journal or the flight results can not be written.
 	 */
-	public static void main(String[] args) {
+	public static void main(String[] args) throws IOException {
 		UUID randomNumber = java.util.UUID.randomUUID();
 		LOGGER.info("\n");
 		LOGGER.info("---------------------------------------------------------------------------------------------------------------------------");
@@ -267,12 +1765,60 @@ public class SmartAirportSimulator {
 		LOGGER.info("################################################# Smart Airport Simulator ##################################################");
 		LOGGER.info("############################################################################################################################");
 		LOGGER.info("\n");
-		SmartAirportSimulator sim = new SmartAirportSimulator();
-		sim.simulate();
+		Path checkpoint = (CHECKPOINT_FILE == null || CHECKPOINT_FILE.trim().isEmpty()) ? null : Paths.get(CHECKPOINT_FILE.trim());
+		SmartAirportSimulator sim;
+		if (checkpoint != null && Files.exists(checkpoint)) {
+			try (InputStream in = Files.newInputStream(checkpoint)) {
+				sim = restore(in);
+			}
+			LOGGER.info("Simulation resumes at tick " + sim.getTick() + " from checkpoint " + checkpoint);
+		} else if (ArrivalMode.TRACE.equals(ARRIVAL_MODE)) {
+			sim = new SmartAirportSimulator(ENGINE, new TraceReader(Paths.get(TRACE_FILE.trim())), RUNWAYS);
+		} else {
+			sim = new SmartAirportSimulator();
+		}
+		EventJournal journal = (JOURNAL_FILE == null || JOURNAL_FILE.trim().isEmpty()) ? null : new EventJournal(Paths.get(JOURNAL_FILE.trim()));
+		sim.setJournal(journal);
+		FlightResultWriter results = (RESULTS_FILE == null || RESULTS_FILE.trim().isEmpty()) ? null : new FlightResultWriter(Paths.get(RESULTS_FILE.trim()));
+		sim.setFlightListener(results);
+		try {
+			if (checkpoint != null) {
+				/*
+				 * Checkpoints are written to a temporary file first, so a crash while writing never leaves a broken checkpoint behind.
+				 */
+				Path temporary = Paths.get(checkpoint + ".tmp");
+				while (sim.getTick() + CHECKPOINT_INTERVAL <= SIMULATION_LENGTH) {
+					sim.advance(sim.getTick() + CHECKPOINT_INTERVAL - 1);
+					try (OutputStream out = Files.newOutputStream(temporary)) {
+						sim.checkpoint(out);
+					}
+					Files.move(temporary, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+			}
+			sim.simulate();
+			if (checkpoint != null)
+				Files.deleteIfExists(checkpoint);
+		} finally {
+			if (journal != null)
+				journal.close();
+			if (results != null)
+				results.close();
+			if (sim.getTrace() != null)
+				sim.getTrace().close();
+		}
 		LOGGER.info("\n");
 		LOGGER.info("$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$ Simulation Results $$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$$");
 		LOGGER.info("\n");
 		sim.report();
+		if (!ArrivalMode.TRACE.equals(ARRIVAL_MODE) && AnalyticEstimator.applies(RUNWAYS, SCHEDULING_RULE) && sim.getConfig().isConstantRate()) {
+			/*
+			 * Cross-check against the steady state, an unstable regime is flagged whatever the simulation shows.
+			 */
+			AnalyticEstimate estimate = AnalyticEstimator.estimate(sim.getConfig());
+			LOGGER.info("Analytic estimate: " + estimate);
+			if (!estimate.isStable())
+				LOGGER.warn("Unstable regime, offered load " + String.format("%.3f", estimate.getLoad()) + ", the take off queue grows without bound.");
+		}
 		LOGGER.info("\n");
 		LOGGER.info("@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@ End @@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@@");
 		LOGGER.info("\n");
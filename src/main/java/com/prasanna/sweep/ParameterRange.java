@@ -0,0 +1,135 @@
+package com.prasanna.sweep;
+
+import java.util.Arrays;
+
+import com.prasanna.sim.SimulationConfig;
+
+/**
+ * This class holds the values a parameter of the simulation configuration {@link SimulationConfig} takes in a sweep.
+ * A range is written either as 'key=from:to:step' or as a list of values 'key=v1,v2,v3'.
+ * 
+ * @author pramakr2
+ *
+ */
+public class ParameterRange {
+
+	/**
+	 * Property key of the parameter, as in the configuration file 'smart-airport.properties'.
+	 */
+	private final String key;
+	
+	/**
+	 * Values of the parameter.
+	 */
+	private final double[] values;
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param key Property key of the parameter, as in the configuration file 'smart-airport.properties'.
+	 * @param values Values of the parameter.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that there is no value or the key is not a parameter of the configuration.
+	 */
+	public ParameterRange(String key, double... values) {
+		if (values.length == 0)
+			throw new IllegalArgumentException("No value for " + key);
+		SimulationConfig.defaults().with(key, values[0]);
+		this.key = key;
+		this.values = values.clone();
+	}
+	
+	/**
+	 * Builds a range from a first to a last value in steps.
+	 * 
+	 * @param key Property key of the parameter.
+	 * @param from First value.
+	 * @param to Last value, included when it is reached by the steps.
+	 * @param step Step between two values, greater than 0.
+	 * @return range.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the step is not greater than 0 or the last value is before the first one.
+	 */
+	public static ParameterRange of(String key, double from, double to, double step) {
+		if (!(step > 0) || to < from)
+			throw new IllegalArgumentException("Illegal range of " + key + ": " + from + ":" + to + ":" + step);
+		int count = (int) Math.floor((to - from) / step + 1e-9) + 1;
+		double[] values = new double[count];
+		for (int i = 0; i < count; i++) {
+			/*
+			 * Rounded so that 0.1 + 2 * 0.1 prints as 0.3.
+			 */
+			values[i] = Math.round((from + i * step) * 1e9) / 1e9;
+		}
+		return new ParameterRange(key, values);
+	}
+	
+	/**
+	 * Parses a range written as 'key=from:to:step' or 'key=v1,v2,v3'.
+	 * 
+	 * @param range The range.
+	 * @return range.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the range can not be parsed.
+	 */
+	public static ParameterRange parse(String range) {
+		int equals = range.indexOf('=');
+		if (equals < 1)
+			throw new IllegalArgumentException("Illegal range: " + range);
+		String key = range.substring(0, equals).trim();
+		String spec = range.substring(equals + 1).trim();
+		try {
+			if (spec.indexOf(':') >= 0) {
+				String[] bounds = spec.split(":");
+				if (bounds.length != 3)
+					throw new IllegalArgumentException("Illegal range: " + range);
+				return of(key, Double.parseDouble(bounds[0].trim()), Double.parseDouble(bounds[1].trim()), Double.parseDouble(bounds[2].trim()));
+			}
+			String[] names = spec.split(",");
+			double[] values = new double[names.length];
+			for (int i = 0; i < names.length; i++) {
+				values[i] = Double.parseDouble(names[i].trim());
+			}
+			return new ParameterRange(key, values);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Illegal range: " + range, e);
+		}
+	}
+
+	/**
+	 * Gets the property key of the parameter.
+	 * 
+	 * @return key
+	 */
+	public String getKey() {
+		return key;
+	}
+	
+	/**
+	 * Gets the number of values.
+	 * 
+	 * @return number of values.
+	 */
+	public int size() {
+		return values.length;
+	}
+	
+	/**
+	 * Gets a value of the parameter.
+	 * 
+	 * @param index Index of the value.
+	 * @return value
+	 */
+	public double get(int index) {
+		return values[index];
+	}
+	
+	@Override
+	public String toString() {
+		return key + "=" + Arrays.toString(values);
+	}
+	
+}
@@ -0,0 +1,111 @@
+package com.prasanna.sweep;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+import com.prasanna.sim.AnalyticEstimate;
+import com.prasanna.sim.ReplicationSummary;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.util.Statistic;
+
+/**
+ * This class streams the points of a parameter sweep to CSV, one line per point flushed as soon as the point is done.
+ * Every result is written as mean and half width of its 95% confidence interval.
+ * Points answered by the analytic estimator {@link com.prasanna.sim.AnalyticEstimator} are written with 0 replications, steady-state means and no half widths.
+ * 
+ * @author pramakr2
+ *
+ */
+public class SweepCsvWriter implements SweepListener, Closeable {
+	
+	/**
+	 * Names of the result columns, every name is followed by its half width column.
+	 */
+	private static final String[] RESULTS = { "landed", "taken_off", "waiting_to_land", "waiting_to_takeoff", "crashed",
+			"landing_wait", "takeoff_wait", "runway_utilization", "avg_landing_queue", "avg_takeoff_queue" };
+
+	/**
+	 * Writer the CSV is written to.
+	 */
+	private final Writer out;
+	
+	/**
+	 * Parameterized constructor, writes the header line.
+	 * 
+	 * @param out Writer the CSV is written to, closed with the CSV writer.
+	 * @param ranges Swept parameters, one column per parameter.
+	 * @throws IOException If the header can not be written.
+	 */
+	public SweepCsvWriter(Writer out, List<ParameterRange> ranges) throws IOException {
+		this.out = out;
+		StringBuilder header = new StringBuilder("point");
+		for (ParameterRange range : ranges) {
+			header.append(',').append(range.getKey());
+		}
+		header.append(",replications");
+		for (String result : RESULTS) {
+			header.append(',').append(result).append(',').append(result).append("_hw");
+		}
+		out.write(header.append('\n').toString());
+		out.flush();
+	}
+
+	@Override
+	public void finished(int point, double[] values, SimulationConfig config, ReplicationSummary summary) throws IOException {
+		StringBuilder line = new StringBuilder().append(point);
+		for (double value : values) {
+			line.append(',').append(value);
+		}
+		line.append(',').append(summary.getReplications());
+		append(line, summary.getFlightsLanded());
+		append(line, summary.getFlightsTakenOff());
+		append(line, summary.getFlightsWaitingToLand());
+		append(line, summary.getFlightsWaitingToTakeOff());
+		append(line, summary.getFlightsCrashed());
+		append(line, summary.getLandingWaitTime());
+		append(line, summary.getTakeOffWaitTime());
+		append(line, summary.getRunwayUtilization());
+		append(line, summary.getAverageLandingQueueLength());
+		append(line, summary.getAverageTakeOffQueueLength());
+		out.write(line.append('\n').toString());
+		out.flush();
+	}
+	
+	@Override
+	public void estimated(int point, double[] values, SimulationConfig config, AnalyticEstimate estimate) throws IOException {
+		StringBuilder line = new StringBuilder().append(point);
+		for (double value : values) {
+			line.append(',').append(value);
+		}
+		long ticks = config.getSimulationLength() + 1L;
+		line.append(",0");
+		append(line, estimate.getLandingThroughput() * ticks);
+		append(line, estimate.getTakeOffThroughput() * ticks);
+		append(line, estimate.getAverageLandingQueueLength());
+		append(line, estimate.getAverageTakeOffQueueLength());
+		line.append(",,");
+		append(line, estimate.getLandingWaitTime());
+		append(line, estimate.getTakeOffWaitTime());
+		append(line, estimate.getRunwayUtilization());
+		append(line, estimate.getAverageLandingQueueLength());
+		append(line, estimate.getAverageTakeOffQueueLength());
+		out.write(line.append('\n').toString());
+		out.flush();
+	}
+	
+	private static void append(StringBuilder line, double mean) {
+		line.append(',').append(mean).append(',');
+	}
+	
+	private static void append(StringBuilder line, Statistic statistic) {
+		line.append(',').append(statistic.getMean()).append(',').append(statistic.getHalfWidth());
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+	
+}
@@ -0,0 +1,43 @@
+package com.prasanna.sweep;
+
+import java.io.IOException;
+
+import com.prasanna.sim.AnalyticEstimate;
+import com.prasanna.sim.ReplicationSummary;
+import com.prasanna.sim.SimulationConfig;
+
+/**
+ * SweepListener is told about every point of a parameter sweep as soon as its replications are done, in the order points finish.
+ * It is always called from the thread running the sweep.
+ * 
+ * @author pramakr2
+ *
+ */
+public interface SweepListener {
+
+	/**
+	 * Called when the replications of a point are done.
+	 * 
+	 * @param point Index of the point in the grid.
+	 * @param values Values of the swept parameters, in the order of the ranges.
+	 * @param config The configuration {@link SimulationConfig} of the point.
+	 * @param summary The summary {@link ReplicationSummary} of the replications of the point.
+	 * @throws IOException If the point can not be written.
+	 */
+	void finished(int point, double[] values, SimulationConfig config, ReplicationSummary summary) throws IOException;
+	
+	/**
+	 * Called instead of {@link #finished(int, double[], SimulationConfig, ReplicationSummary)} for a point which is not simulated
+	 * because the analytic estimator {@link com.prasanna.sim.AnalyticEstimator} answers it, see {@link SweepRunner#setAnalyticLoad(double)}.
+	 * Listeners which do not override it ignore estimated points.
+	 * 
+	 * @param point Index of the point in the grid.
+	 * @param values Values of the swept parameters, in the order of the ranges.
+	 * @param config The configuration {@link SimulationConfig} of the point.
+	 * @param estimate The steady-state estimate {@link AnalyticEstimate} of the point.
+	 * @throws IOException If the point can not be written.
+	 */
+	default void estimated(int point, double[] values, SimulationConfig config, AnalyticEstimate estimate) throws IOException {
+	}
+	
+}
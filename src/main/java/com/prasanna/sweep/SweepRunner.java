@@ -0,0 +1,255 @@
+package com.prasanna.sweep;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.sim.AnalyticEstimate;
+import com.prasanna.sim.AnalyticEstimator;
+import com.prasanna.sim.ReplicationRunner;
+import com.prasanna.sim.ReplicationSummary;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sim.SmartAirportSimulator;
+
+/**
+ * This class sweeps parameters of the simulation configuration {@link SimulationConfig} over a grid, every point of the grid runs its own replications
+ * with its own configuration, points run in parallel on a pool of threads.
+ * 
+ * Every point uses the same replication seeds, derived from the seed of the sweep, so replication k of every point draws the same random numbers.
+ * These common random numbers make the differences between points far less noisy than independent runs would.
+ * Points are reported to the sweep listener {@link SweepListener} as soon as they are done.
+ * 
+ * Where the analytic estimator {@link AnalyticEstimator} models the airport, points whose offered load is 1 or more are flagged as unstable
+ * before anything runs, and stable points up to the analytic load {@link #setAnalyticLoad(double)} are estimated instead of simulated.
+ * 
+ * @author pramakr2
+ *
+ */
+public class SweepRunner {
+	
+	private static final Logger LOGGER = LoggerFactory.getLogger(SweepRunner.class);
+
+	/**
+	 * The engine {@link SimulationEngine} which drives every replication.
+	 */
+	private final SimulationEngine engine;
+	
+	/**
+	 * How arrivals {@link ArrivalMode} are generated, never TRACE.
+	 */
+	private final ArrivalMode arrivalMode;
+	
+	/**
+	 * The runway use {@link RunwayUse} of every runway of the airport.
+	 */
+	private final RunwayUse[] runwayUses;
+	
+	/**
+	 * Number of threads running points.
+	 */
+	private final int parallelism;
+	
+	/**
+	 * Points whose offered load is at most this load are estimated instead of simulated, 0 to simulate every point.
+	 */
+	private double analyticLoad;
+	
+	/**
+	 * Default constructor, uses the configured engine, arrival mode and runways and one thread per core.
+	 */
+	public SweepRunner() {
+		this(SmartAirportSimulator.ENGINE, ArrivalMode.TRACE.equals(SmartAirportSimulator.ARRIVAL_MODE) ? ArrivalMode.BERNOULLI : SmartAirportSimulator.ARRIVAL_MODE,
+				SmartAirportSimulator.RUNWAYS, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param engine The engine {@link SimulationEngine} which drives every replication.
+	 * @param arrivalMode How arrivals {@link ArrivalMode} are generated.
+	 * @param runwayUses The runway use {@link RunwayUse} of every runway of the airport.
+	 * @param parallelism Number of threads running points.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the arrival mode is TRACE or the parallelism is less than one.
+	 */
+	public SweepRunner(SimulationEngine engine, ArrivalMode arrivalMode, RunwayUse[] runwayUses, int parallelism) {
+		if (ArrivalMode.TRACE.equals(arrivalMode))
+			throw new IllegalArgumentException("Arrival mode TRACE can not be swept");
+		if (parallelism < 1)
+			throw new IllegalArgumentException("Illegal parallelism: " + parallelism);
+		this.engine = engine;
+		this.arrivalMode = arrivalMode;
+		this.runwayUses = runwayUses.clone();
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Sets the offered load up to which stable points are estimated by the analytic estimator {@link AnalyticEstimator} instead of simulated.
+	 * Estimates are long run averages, so this suits sweeps whose simulation length is long compared to the time queues take to settle.
+	 * 
+	 * @param analyticLoad Load between 0 and 1, 0 to simulate every point.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the load is not between 0 and 1.
+	 */
+	public void setAnalyticLoad(double analyticLoad) {
+		if (!(analyticLoad >= 0 && analyticLoad <= 1))
+			throw new IllegalArgumentException("Illegal analytic load: " + analyticLoad);
+		this.analyticLoad = analyticLoad;
+	}
+	
+	/**
+	 * Runs the replications of every point of the grid spanned by the ranges. The first range varies slowest.
+	 * 
+	 * @param base The configuration {@link SimulationConfig} of the parameters which are not swept.
+	 * @param ranges Swept parameters.
+	 * @param replications Number of replications per point.
+	 * @param seed Seed of the sweep, replication seeds are derived from it as by the replication runner {@link ReplicationRunner#seeds(int, long)}.
+	 * @param listener Listener {@link SweepListener} told about every point once it is done.
+	 * @return number of points.
+	 * @throws IOException If the listener fails to write a point.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the number of replications is less than one or a value is out of range.
+	 */
+	public int run(SimulationConfig base, List<ParameterRange> ranges, int replications, long seed, SweepListener listener) throws IOException {
+		final long[] seeds = ReplicationRunner.seeds(replications, seed);
+		long count = 1;
+		for (ParameterRange range : ranges) {
+			count *= range.size();
+			if (count > Integer.MAX_VALUE)
+				throw new IllegalArgumentException("Grid too large");
+		}
+		
+		/*
+		 * Configurations are built up front, so a value out of range fails the sweep before anything runs.
+		 */
+		int points = (int) count;
+		double[][] values = new double[points][];
+		SimulationConfig[] configs = new SimulationConfig[points];
+		for (int point = 0; point < points; point++) {
+			values[point] = new double[ranges.size()];
+			SimulationConfig config = base;
+			int rest = point;
+			for (int i = ranges.size() - 1; i >= 0; i--) {
+				ParameterRange range = ranges.get(i);
+				values[point][i] = range.get(rest % range.size());
+				config = config.with(range.getKey(), values[point][i]);
+				rest /= range.size();
+			}
+			configs[point] = config;
+		}
+		
+		ExecutorService pool = Executors.newFixedThreadPool(parallelism);
+		try {
+			CompletionService<Integer> done = new ExecutorCompletionService<Integer>(pool);
+			final ReplicationSummary[] summaries = new ReplicationSummary[points];
+			boolean analytic = AnalyticEstimator.applies(runwayUses, SmartAirportSimulator.SCHEDULING_RULE);
+			int simulated = 0;
+			for (int point = 0; point < points; point++) {
+				final int p = point;
+				final SimulationConfig config = configs[point];
+				if (analytic && config.isConstantRate()) {
+					AnalyticEstimate estimate = AnalyticEstimator.estimate(config);
+					if (!estimate.isStable()) {
+						LOGGER.warn("Point " + point + " is unstable, offered load " + estimate.getLoad() + ": " + config);
+					} else if (estimate.getLoad() <= analyticLoad) {
+						listener.estimated(point, values[point], config, estimate);
+						continue;
+					}
+				}
+				simulated++;
+				done.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						summaries[p] = replicate(config, seeds);
+						return p;
+					}
+				});
+			}
+			for (int i = 0; i < simulated; i++) {
+				int point = done.take().get();
+				listener.finished(point, values[point], configs[point], summaries[point]);
+				summaries[point] = null;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Sweep interrupted", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw new IllegalStateException("Sweep failed", e.getCause());
+		} finally {
+			pool.shutdownNow();
+		}
+		return points;
+	}
+	
+	/**
+	 * Runs the replications of one point.
+	 * 
+	 * @param config The configuration {@link SimulationConfig} of the point.
+	 * @param seeds Seeds of the replications, the same for every point.
+	 * @return summary {@link ReplicationSummary} of the replications.
+	 */
+	protected ReplicationSummary replicate(SimulationConfig config, long[] seeds) {
+		ReplicationSummary summary = new ReplicationSummary();
+		for (long seed : seeds) {
+			SmartAirportSimulator simulator = new SmartAirportSimulator(config, engine, arrivalMode, seed, runwayUses);
+			simulator.simulate();
+			summary.add(simulator.getResult());
+		}
+		return summary;
+	}
+	
+	/**
+	 * Execute the parameter sweep.
+	 * 
+	 * @param args Arguments, number of replications per point, seed of the sweep, CSV file and one range per swept parameter, e.g. 'sa.sim.langing.probability=0.05:0.5:0.05',
+	 *             optionally '--analytic=load' to estimate stable points up to that offered load.
+	 * @throws IOException If the CSV file can not be written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 4) {
+			LOGGER.info("Usage: SweepRunner <replications> <seed> <csv file> [--analytic=<load>] <key=from:to:step | key=v1,v2,...>...");
+			return;
+		}
+		int replications = Integer.parseInt(args[0]);
+		long seed = Long.parseLong(args[1]);
+		List<ParameterRange> ranges = new ArrayList<ParameterRange>();
+		SweepRunner runner = new SweepRunner();
+		for (int i = 3; i < args.length; i++) {
+			if (args[i].startsWith("--analytic="))
+				runner.setAnalyticLoad(Double.parseDouble(args[i].substring("--analytic=".length())));
+			else
+				ranges.add(ParameterRange.parse(args[i]));
+		}
+		LOGGER.info("Parameter sweep " + ranges + " with seed: " + seed + " starts at: " + new Date());
+		SweepCsvWriter csv = new SweepCsvWriter(Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8), ranges);
+		try {
+			int points = runner.run(SimulationConfig.defaults(), ranges, replications, seed, csv);
+			LOGGER.info(points + " Points written to " + args[2]);
+		} finally {
+			csv.close();
+		}
+		LOGGER.info("Parameter sweep ends at: " + new Date());
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.prasanna.trace;
+
+/**
+ * TraceException indicates that a schedule trace {@link TraceReader} could not be read or holds a malformed record.
+ * It is unchecked because it is raised from the simulation loop, which does not do any I/O otherwise.
+ * 
+ * @author pramakr2
+ *
+ */
+public class TraceException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param message Detail message.
+	 */
+	public TraceException(String message) {
+		super(message);
+	}
+	
+	/**
+	 * Parameterized constructor
+	 * 
+	 * @param message Detail message.
+	 * @param cause Cause of the exception.
+	 */
+	public TraceException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+}
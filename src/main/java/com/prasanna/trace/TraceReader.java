@@ -0,0 +1,355 @@
+package com.prasanna.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * TraceReader replays a schedule trace, the flights which arrive at the airport either to land or to take off, one record at a time.
+ * The file is memory-mapped in windows of {@link #WINDOW_SIZE} bytes and parsed in place, so traces of several GB are read
+ * without loading them into memory and without creating a string per line.
+ * 
+ * A trace is either a binary trace written by the trace writer {@link TraceWriter}, a header of {@link #HEADER_SIZE} bytes
+ * (magic, version, record size) followed by records of {@link #RECORD_SIZE} bytes,
+ * 		1. tick - int, the tick at which the flight arrives.
+ * 		2. action - byte, the ordinal of the flight action {@link FlightAction} either LANDING or TAKING_OFF.
+ * 		3. serviceTime - int, the time needed by the flight on the runway.
+ * or a CSV file with one 'tick,action,serviceTime' line per flight, where action is either LANDING (L) or TAKEOFF (T).
+ * The first line of a CSV file may be a header, lines starting with '#' are comments.
+ * Records must be ordered by tick.
+ * 
+ * @author pramakr2
+ *
+ */
+public class TraceReader implements Closeable {
+	
+	/**
+	 * Magic number at the beginning of every binary trace, "SAT1" in ASCII.
+	 */
+	public static final int MAGIC = 0x53415431;
+	
+	/**
+	 * Version of the record layout.
+	 */
+	public static final int VERSION = 1;
+	
+	/**
+	 * Size of the header of a binary trace in bytes.
+	 */
+	public static final int HEADER_SIZE = 12;
+	
+	/**
+	 * Size of one record of a binary trace in bytes.
+	 */
+	public static final int RECORD_SIZE = 9;
+	
+	/**
+	 * Number of bytes of the file mapped at once.
+	 */
+	public static final long WINDOW_SIZE = 64L << 20;
+	
+	/**
+	 * Flight actions {@link FlightAction} indexed by ordinal.
+	 */
+	private static final FlightAction[] ACTIONS = FlightAction.values();
+	
+	/**
+	 * The trace file.
+	 */
+	private final Path file;
+	
+	/**
+	 * The file channel the windows are mapped from.
+	 */
+	private final FileChannel channel;
+	
+	/**
+	 * Size of the file in bytes.
+	 */
+	private final long size;
+	
+	/**
+	 * Flag whether the trace is binary or CSV.
+	 */
+	private final boolean binary;
+	
+	/**
+	 * The mapped window of the file.
+	 */
+	private MappedByteBuffer window;
+	
+	/**
+	 * File position of the first byte of the window.
+	 */
+	private long windowStart;
+	
+	/**
+	 * File position of the byte after the window.
+	 */
+	private long windowEnd;
+	
+	/**
+	 * File position of the current record.
+	 */
+	private long position;
+	
+	/**
+	 * File position of the next record.
+	 */
+	private long next;
+	
+	private int tick;
+	private FlightAction action;
+	private int serviceTime;
+
+	/**
+	 * Parameterized constructor, opens the trace file and finds out whether it is binary or CSV.
+	 * 
+	 * @param file Trace file.
+	 * @throws IOException If the file can not be read.
+	 * 
+	 * @exception TraceException
+	 *            Indicates that the file is a binary trace with an unknown version.
+	 */
+	public TraceReader(Path file) throws IOException {
+		this.file = file;
+		channel = FileChannel.open(file, StandardOpenOption.READ);
+		size = channel.size();
+		if (size >= HEADER_SIZE) {
+			map(0);
+			binary = window.getInt(0) == MAGIC;
+		} else {
+			binary = false;
+		}
+		if (binary) {
+			if (window.getInt(4) != VERSION || window.getInt(8) != RECORD_SIZE) {
+				channel.close();
+				throw new TraceException("Unsupported schedule trace: " + file + ", version: " + window.getInt(4));
+			}
+			next = HEADER_SIZE;
+		} else if (size > 0) {
+			/*
+			 * A first line which does not start with a tick is a header.
+			 */
+			int first = byteAt(0, 0);
+			if (first != '#' && (first < '0' || first > '9'))
+				next = lineEnd(0);
+		}
+	}
+	
+	/**
+	 * Reads the next record.
+	 * 
+	 * @return false when there is no record left.
+	 * 
+	 * @exception TraceException
+	 *            Indicates that the record is malformed, out of order or can not be read.
+	 */
+	public boolean next() {
+		int previous = tick;
+		boolean found = binary ? nextBinary() : nextCsv();
+		if (!found)
+			return false;
+		if (tick < previous)
+			throw new TraceException("Schedule trace out of order at byte " + position + ", tick " + tick + " after tick " + previous);
+		if (serviceTime <= 0)
+			throw new TraceException("Illegal service time at byte " + position + ": " + serviceTime);
+		return true;
+	}
+	
+	/**
+	 * Moves to a file position returned by {@link #getPosition()}, the next record read is the record at that position.
+	 * 
+	 * @param position File position of a record.
+	 */
+	public void seek(long position) {
+		this.next = position;
+		this.tick = 0;
+	}
+	
+	/**
+	 * Gets the trace file.
+	 * 
+	 * @return file
+	 */
+	public Path getFile() {
+		return file;
+	}
+	
+	/**
+	 * Gets the file position of the current record.
+	 * 
+	 * @return position
+	 */
+	public long getPosition() {
+		return position;
+	}
+	
+	/**
+	 * Gets the tick at which the flight of the current record arrives.
+	 * 
+	 * @return tick
+	 */
+	public int getTick() {
+		return tick;
+	}
+	
+	/**
+	 * Gets the flight action {@link FlightAction} of the current record.
+	 * 
+	 * @return flight action either LANDING or TAKING_OFF.
+	 */
+	public FlightAction getAction() {
+		return action;
+	}
+	
+	/**
+	 * Gets the time needed by the flight of the current record on the runway.
+	 * 
+	 * @return serviceTime
+	 */
+	public int getServiceTime() {
+		return serviceTime;
+	}
+	
+	private boolean nextBinary() {
+		if (next + RECORD_SIZE > size) {
+			if (next != size)
+				throw new TraceException("Truncated schedule trace: " + file);
+			return false;
+		}
+		if (next + RECORD_SIZE > windowEnd || next < windowStart)
+			map(next);
+		int offset = (int) (next - windowStart);
+		position = next;
+		tick = window.getInt(offset);
+		byte ordinal = window.get(offset + 4);
+		if (ordinal != FlightAction.LANDING.ordinal() && ordinal != FlightAction.TAKING_OFF.ordinal())
+			throw new TraceException("Illegal flight action at byte " + position + ": " + ordinal);
+		action = ACTIONS[ordinal];
+		serviceTime = window.getInt(offset + 5);
+		next += RECORD_SIZE;
+		return true;
+	}
+	
+	private boolean nextCsv() {
+		while (next < size) {
+			long p = next;
+			int c = byteAt(p, p);
+			if (c == '\n' || c == '\r' || c == '#') {
+				/*
+				 * Blank line or comment.
+				 */
+				next = lineEnd(p);
+				continue;
+			}
+			position = p;
+			
+			long value = 0;
+			int digits = 0;
+			while ((c = byteAt(p, position)) >= '0' && c <= '9') {
+				value = value * 10 + (c - '0');
+				if (value > Integer.MAX_VALUE)
+					throw malformed();
+				digits++;
+				p++;
+			}
+			if (digits == 0 || c != ',')
+				throw malformed();
+			tick = (int) value;
+			p++;
+			
+			while ((c = byteAt(p, position)) == ' ')
+				p++;
+			if (c == 'L' || c == 'l')
+				action = FlightAction.LANDING;
+			else if (c == 'T' || c == 't')
+				action = FlightAction.TAKING_OFF;
+			else
+				throw malformed();
+			while ((c = byteAt(p, position)) != ',' && c != '\n' && c != -1)
+				p++;
+			if (c != ',')
+				throw malformed();
+			p++;
+			
+			while ((c = byteAt(p, position)) == ' ')
+				p++;
+			value = 0;
+			digits = 0;
+			while ((c = byteAt(p, position)) >= '0' && c <= '9') {
+				value = value * 10 + (c - '0');
+				if (value > Integer.MAX_VALUE)
+					throw malformed();
+				digits++;
+				p++;
+			}
+			if (digits == 0)
+				throw malformed();
+			serviceTime = (int) value;
+			while ((c = byteAt(p, position)) == ' ' || c == '\r')
+				p++;
+			if (c != '\n' && c != -1)
+				throw malformed();
+			next = c == -1 ? p : p + 1;
+			return true;
+		}
+		return false;
+	}
+	
+	/**
+	 * Gets the byte at the given file position, the window is moved to the start of the line when the position is beyond the window.
+	 * 
+	 * @param p File position.
+	 * @param lineStart File position of the start of the line being parsed.
+	 * @return byte, -1 at the end of the file.
+	 */
+	private int byteAt(long p, long lineStart) {
+		if (p >= size)
+			return -1;
+		if (p >= windowEnd || p < windowStart) {
+			if (window != null && lineStart == windowStart && p >= windowEnd)
+				throw new TraceException("Line too long at byte " + lineStart + " of " + file);
+			map(lineStart);
+		}
+		return window.get((int) (p - windowStart));
+	}
+	
+	/**
+	 * Gets the file position after the end of the line which contains the given position.
+	 * 
+	 * @param p File position.
+	 * @return position of the next line.
+	 */
+	private long lineEnd(long p) {
+		int c;
+		while ((c = byteAt(p, p)) != '\n' && c != -1)
+			p++;
+		return c == -1 ? p : p + 1;
+	}
+	
+	private void map(long start) {
+		try {
+			window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW_SIZE, size - start));
+		} catch (IOException e) {
+			throw new TraceException("Exception reading schedule trace: " + file, e);
+		}
+		windowStart = start;
+		windowEnd = start + window.capacity();
+	}
+	
+	private TraceException malformed() {
+		return new TraceException("Malformed schedule trace line at byte " + position + " of " + file);
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
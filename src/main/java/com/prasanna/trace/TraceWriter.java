@@ -0,0 +1,107 @@
+package com.prasanna.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import com.prasanna.constant.FlightAction;
+
+/**
+ * TraceWriter writes a binary schedule trace, the format read by the trace reader {@link TraceReader}.
+ * Records are collected in a direct buffer and written to the file channel in batches.
+ * It can also be executed to convert a CSV trace into a binary trace, which is about half the size and needs no parsing.
+ * 
+ * @author pramakr2
+ *
+ */
+public class TraceWriter implements Closeable {
+	
+	/**
+	 * Number of records buffered before they are written to the file.
+	 */
+	private static final int BATCH_RECORDS = 4096;
+	
+	/**
+	 * The file channel the trace is written to.
+	 */
+	private final FileChannel channel;
+	
+	/**
+	 * Buffer which collects records until it is full.
+	 */
+	private final ByteBuffer buffer;
+
+	/**
+	 * Parameterized constructor, creates the trace file or truncates it if it exists.
+	 * 
+	 * @param file Trace file.
+	 * @throws IOException If the file can not be opened.
+	 */
+	public TraceWriter(Path file) throws IOException {
+		channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		buffer = ByteBuffer.allocateDirect(TraceReader.RECORD_SIZE * BATCH_RECORDS);
+		buffer.putInt(TraceReader.MAGIC).putInt(TraceReader.VERSION).putInt(TraceReader.RECORD_SIZE);
+	}
+	
+	/**
+	 * Writes a flight of the schedule.
+	 * 
+	 * @param tick The tick at which the flight arrives.
+	 * @param action The flight action {@link FlightAction} either LANDING or TAKING_OFF.
+	 * @param serviceTime The time needed by the flight on the runway.
+	 * @throws IOException If the records can not be written.
+	 */
+	public void write(int tick, FlightAction action, int serviceTime) throws IOException {
+		if (buffer.remaining() < TraceReader.RECORD_SIZE)
+			flush();
+		buffer.putInt(tick).put((byte) action.ordinal()).putInt(serviceTime);
+	}
+	
+	/**
+	 * Writes the buffered records to the file.
+	 * 
+	 * @throws IOException If the records can not be written.
+	 */
+	public void flush() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the buffered records and closes the file.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Converts a CSV schedule trace into a binary schedule trace.
+	 * 
+	 * @param args Arguments, the CSV trace file and the binary trace file.
+	 * @throws IOException If a file can not be read or written.
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: TraceWriter <csv trace file> <binary trace file>");
+			return;
+		}
+		try (TraceReader reader = new TraceReader(Paths.get(args[0])); TraceWriter writer = new TraceWriter(Paths.get(args[1]))) {
+			while (reader.next()) {
+				writer.write(reader.getTick(), reader.getAction(), reader.getServiceTime());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.prasanna.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * ArrivalSource decides at which ticks a flight arrives, either to land or to take off.
+ * It is seen as a random sequence of boolean values, one per tick, true when a flight arrives.
+ * 
+ * @author pramakr2
+ *
+ */
+public interface ArrivalSource {
+
+	/**
+	 * Generates the value of the next tick either true or false.
+	 * 
+	 * @return boolean
+	 */
+	boolean random();
+	
+	/**
+	 * Skips ahead to the next true value. Consumes exactly the same ticks as calling {@link #random()} repeatedly,
+	 * so a caller that jumps from one true value to the next sees the same sequence as a caller that asks every tick.
+	 * 
+	 * @param limit Maximum number of ticks to consume.
+	 * @return Number of false values before the first true value, or limit if all the consumed values are false.
+	 */
+	int skip(int limit);
+	
+	/**
+	 * Writes the state of the source, including the state of its random stream {@link RandomStream}.
+	 * 
+	 * @param out Output the state is written to.
+	 * @throws IOException If the state can not be written.
+	 */
+	void checkpoint(DataOutput out) throws IOException;
+	
+	/**
+	 * Reads back the state written by {@link #checkpoint(DataOutput)}, the source continues with the same sequence as the checkpointed source.
+	 * 
+	 * @param in Input the state is read from.
+	 * @throws IOException If the state can not be read.
+	 */
+	void restore(DataInput in) throws IOException;
+	
+}
@@ -1,22 +1,34 @@
 package com.prasanna.util;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.SplittableRandom;
+
 /**
- * BooleanSource provides a random sequence of boolean values based on the probability and {@link Math#random()}.
+ * BooleanSource provides a random sequence of boolean values based on the probability and its own {@link RandomStream} stream.
+ * Each source owns its stream, so two sources built with the same seed always produce the same sequence and sources used by
+ * different threads never contend on a shared seed.
  * 
  * @author pramakr2
  *
  */
-public class BooleanSource {
+public class BooleanSource implements ArrivalSource {
 	
 	/**
-	 * Probability used along with {@link Math#random()} to generate random boolean values.
+	 * Probability used along with {@link RandomStream#nextDouble()} to generate random boolean values.
 	 * Probability value is expressed between 0 and 1. Higher the value, higher the probability.
 	 * Lower the value, lower the probability.
 	 */
 	private double probability; 
+	
+	/**
+	 * The random stream owned by this source.
+	 */
+	private RandomStream random;
 
 	/**
-	 * Parameterized constructor.
+	 * Parameterized constructor, the source is seeded randomly.
 	 * 
 	 * @param probability Probability between 0 and 1
 	 * 
@@ -24,19 +36,66 @@ public class BooleanSource {
 	 *            Indicates that probability is outside of its range and it should be between 0 and 1.
 	 */
 	public BooleanSource(double probability) {
+		this(probability, new SplittableRandom().nextLong());
+	}
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param probability Probability between 0 and 1
+	 * @param seed Seed for the random stream of this source.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that probability is outside of its range and it should be between 0 and 1.
+	 */
+	public BooleanSource(double probability, long seed) {
+		this(probability, new RandomStream(seed));
+	}
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param probability Probability between 0 and 1
+	 * @param random The random stream owned by this source, usually split from the stream of the simulation.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that probability is outside of its range and it should be between 0 and 1.
+	 */
+	public BooleanSource(double probability, RandomStream random) {
 		if ((probability < 0) || (1 < probability))
 			throw new IllegalArgumentException("Illegal probability: " + probability);
 		this.probability = probability;
+		this.random = random;
 	}
 
 	/**
 	 * Generates random boolean value either true or false.
-	 * It generates based on the probability and {@link Math#random()}.
+	 * It generates based on the probability and {@link RandomStream#nextDouble()}.
 	 * 
 	 * @return boolean
 	 */
+	@Override
 	public boolean random() {
-		return (Math.random() < probability);
+		return (random.nextDouble() < probability);
+	}
+	
+	@Override
+	public int skip(int limit) {
+		int gap = 0;
+		while (gap < limit && !random()) {
+			gap++;
+		}
+		return gap;
+	}
+	
+	@Override
+	public void checkpoint(DataOutput out) throws IOException {
+		random.checkpoint(out);
+	}
+	
+	@Override
+	public void restore(DataInput in) throws IOException {
+		random.restore(in);
 	}
 
-}
\ No newline at end of file
+}
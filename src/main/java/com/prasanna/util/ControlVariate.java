@@ -0,0 +1,293 @@
+package com.prasanna.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * ControlVariate estimates the mean of a response with control variates: quantities observed along with the response whose expectation is known.
+ * Every value of the response is paired with the deviations of the controls from their expectations. The part of the response which moves
+ * with the controls is removed by least squares regression, mean(y) - beta * mean(c), which keeps the expectation of the mean and lowers its variance
+ * by the share of the variance of the response explained by the controls.
+ * Like Statistic {@link Statistic} the values are kept in constant memory as means and co-moments, and two estimators can be merged.
+ *
+ * @author pramakr2
+ *
+ */
+public class ControlVariate {
+
+	/**
+	 * Number of values.
+	 */
+	private long count;
+
+	/**
+	 * Mean of the response.
+	 */
+	private double mean;
+
+	/**
+	 * Means of the control deviations.
+	 */
+	private final double[] controlMeans;
+
+	/**
+	 * Sum of squared differences of the response from its mean.
+	 */
+	private double m2;
+
+	/**
+	 * Sums of products of the differences of the response and of every control from their means.
+	 */
+	private final double[] cross;
+
+	/**
+	 * Sums of products of the differences of every two controls from their means.
+	 */
+	private final double[][] controlM2;
+
+	/**
+	 * Parameterized constructor.
+	 *
+	 * @param controls Number of controls.
+	 *
+	 * @exception IllegalArgumentException
+	 *            Indicates that there are no controls.
+	 */
+	public ControlVariate(int controls) {
+		if (controls < 1)
+			throw new IllegalArgumentException("Illegal number of controls: " + controls);
+		controlMeans = new double[controls];
+		cross = new double[controls];
+		controlM2 = new double[controls][controls];
+	}
+
+	/**
+	 * Adds a value of the response, values with NaN response or deviations are ignored.
+	 *
+	 * @param response Value of the response.
+	 * @param deviations Deviation of every control from its expectation, observed along with the response.
+	 *
+	 * @exception IllegalArgumentException
+	 *            Indicates that the number of deviations is not the number of controls.
+	 */
+	public void add(double response, double... deviations) {
+		if (deviations.length != controlMeans.length)
+			throw new IllegalArgumentException("Expected " + controlMeans.length + " controls, got: " + deviations.length);
+		if (Double.isNaN(response))
+			return;
+		for (double deviation : deviations) {
+			if (Double.isNaN(deviation))
+				return;
+		}
+		count++;
+		double delta = response - mean;
+		mean += delta / count;
+		m2 += delta * (response - mean);
+		double[] deltas = new double[deviations.length];
+		for (int i = 0; i < deviations.length; i++) {
+			deltas[i] = deviations[i] - controlMeans[i];
+			controlMeans[i] += deltas[i] / count;
+		}
+		for (int i = 0; i < deviations.length; i++) {
+			cross[i] += deltas[i] * (response - mean);
+			for (int j = 0; j < deviations.length; j++) {
+				controlM2[i][j] += deltas[i] * (deviations[j] - controlMeans[j]);
+			}
+		}
+	}
+
+	/**
+	 * Merges the values of the other estimator into this estimator (Chan's parallel algorithm).
+	 *
+	 * @param other Estimator of other values, with the same controls.
+	 */
+	public void merge(ControlVariate other) {
+		if (other.count == 0)
+			return;
+		if (count == 0) {
+			count = other.count;
+			mean = other.mean;
+			m2 = other.m2;
+			for (int i = 0; i < cross.length; i++) {
+				controlMeans[i] = other.controlMeans[i];
+				cross[i] = other.cross[i];
+				System.arraycopy(other.controlM2[i], 0, controlM2[i], 0, cross.length);
+			}
+			return;
+		}
+		long total = count + other.count;
+		double weight = (double) count * other.count / total;
+		double delta = other.mean - mean;
+		double[] deltas = new double[cross.length];
+		for (int i = 0; i < cross.length; i++) {
+			deltas[i] = other.controlMeans[i] - controlMeans[i];
+		}
+		m2 += other.m2 + delta * delta * weight;
+		for (int i = 0; i < cross.length; i++) {
+			cross[i] += other.cross[i] + deltas[i] * delta * weight;
+			for (int j = 0; j < cross.length; j++) {
+				controlM2[i][j] += other.controlM2[i][j] + deltas[i] * deltas[j] * weight;
+			}
+		}
+		mean += delta * other.count / total;
+		for (int i = 0; i < cross.length; i++) {
+			controlMeans[i] += deltas[i] * other.count / total;
+		}
+		count = total;
+	}
+
+	/**
+	 * Gets number of values.
+	 *
+	 * @return count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets mean of the response without control variates.
+	 *
+	 * @return mean, NaN if there are no values
+	 */
+	public double getRawMean() {
+		return count == 0 ? Double.NaN : mean;
+	}
+
+	/**
+	 * Gets the regression coefficients beta of the response on the controls.
+	 *
+	 * @return coefficients, null if there are not more values than controls or the controls do not vary independently.
+	 */
+	public double[] getCoefficients() {
+		return count > cross.length ? solve(cross) : null;
+	}
+
+	/**
+	 * Gets the mean of the response corrected with the controls.
+	 *
+	 * @return mean, the mean without control variates if the coefficients can not be estimated.
+	 */
+	public double getMean() {
+		double[] beta = getCoefficients();
+		if (beta == null)
+			return getRawMean();
+		double corrected = mean;
+		for (int i = 0; i < beta.length; i++) {
+			corrected -= beta[i] * controlMeans[i];
+		}
+		return corrected;
+	}
+
+	/**
+	 * Gets half width of the 95% confidence interval of the corrected mean.
+	 * Every control costs a degree of freedom, the variance is the residual variance of the regression at the expectation of the controls.
+	 *
+	 * @return half width, NaN if there are not more than two values more than controls
+	 */
+	public double getHalfWidth() {
+		long degrees = count - cross.length - 1;
+		double[] beta = getCoefficients();
+		if (degrees < 1 || beta == null)
+			return Double.NaN;
+		double residual = m2;
+		for (int i = 0; i < beta.length; i++) {
+			residual -= beta[i] * cross[i];
+		}
+		double[] scaled = solve(controlMeans);
+		double leverage = 1.0 / count;
+		for (int i = 0; i < scaled.length; i++) {
+			leverage += scaled[i] * controlMeans[i];
+		}
+		return Statistic.quantile95(degrees) * Math.sqrt(Math.max(residual, 0) / degrees * leverage);
+	}
+
+	/**
+	 * Solves the co-moments of the controls times x = b by Gaussian elimination with partial pivoting.
+	 *
+	 * @param b Right-hand side.
+	 * @return x, null if the co-moments are singular.
+	 */
+	private double[] solve(double[] b) {
+		int n = b.length;
+		double[][] a = new double[n][n + 1];
+		double scale = 0;
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(controlM2[i], 0, a[i], 0, n);
+			a[i][n] = b[i];
+			scale = Math.max(scale, controlM2[i][i]);
+		}
+		for (int column = 0; column < n; column++) {
+			int pivot = column;
+			for (int row = column + 1; row < n; row++) {
+				if (Math.abs(a[row][column]) > Math.abs(a[pivot][column]))
+					pivot = row;
+			}
+			if (!(Math.abs(a[pivot][column]) > 1e-12 * scale))
+				return null;
+			double[] swap = a[pivot];
+			a[pivot] = a[column];
+			a[column] = swap;
+			for (int row = column + 1; row < n; row++) {
+				double factor = a[row][column] / a[column][column];
+				for (int k = column; k <= n; k++) {
+					a[row][k] -= factor * a[column][k];
+				}
+			}
+		}
+		double[] x = new double[n];
+		for (int row = n - 1; row >= 0; row--) {
+			double sum = a[row][n];
+			for (int k = row + 1; k < n; k++) {
+				sum -= a[row][k] * x[k];
+			}
+			x[row] = sum / a[row][row];
+		}
+		return x;
+	}
+
+	/**
+	 * Writes the means and co-moments of the estimator.
+	 *
+	 * @param out Output the estimator is written to.
+	 * @throws IOException If the estimator can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeLong(count);
+		out.writeDouble(mean);
+		out.writeDouble(m2);
+		for (int i = 0; i < cross.length; i++) {
+			out.writeDouble(controlMeans[i]);
+			out.writeDouble(cross[i]);
+			for (int j = 0; j < cross.length; j++) {
+				out.writeDouble(controlM2[i][j]);
+			}
+		}
+	}
+
+	/**
+	 * Replaces the values of the estimator with the values written by {@link #checkpoint(DataOutput)} from an estimator with the same controls.
+	 *
+	 * @param in Input the estimator is read from.
+	 * @throws IOException If the estimator can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		count = in.readLong();
+		mean = in.readDouble();
+		m2 = in.readDouble();
+		for (int i = 0; i < cross.length; i++) {
+			controlMeans[i] = in.readDouble();
+			cross[i] = in.readDouble();
+			for (int j = 0; j < cross.length; j++) {
+				controlM2[i][j] = in.readDouble();
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%.3f +/- %.3f (95%% CI, n=%d, without controls=%.3f)", getMean(), getHalfWidth(), count, getRawMean());
+	}
+
+}
@@ -0,0 +1,120 @@
+package com.prasanna.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * GeometricSource provides the same distribution of boolean values as BooleanSource {@link BooleanSource}, but instead of
+ * flipping a coin every tick it draws the number of false values before the next true value directly from the geometric distribution.
+ * One random number is drawn per true value, so sources with a low probability are much cheaper.
+ * 
+ * @author pramakr2
+ *
+ */
+public class GeometricSource implements ArrivalSource {
+	
+	/**
+	 * Probability of a true value, between 0 and 1.
+	 */
+	private final double probability;
+	
+	/**
+	 * Natural logarithm of the probability of a false value, used to invert the geometric distribution.
+	 */
+	private final double logFalse;
+	
+	/**
+	 * The random stream owned by this source.
+	 */
+	private final RandomStream random;
+	
+	/**
+	 * Number of false values left before the next true value, -1 when the next gap has not been drawn yet.
+	 */
+	private int pending = -1;
+
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param probability Probability between 0 and 1
+	 * @param random The random stream owned by this source, usually split from the stream of the simulation.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that probability is outside of its range and it should be between 0 and 1.
+	 */
+	public GeometricSource(double probability, RandomStream random) {
+		if ((probability < 0) || (1 < probability))
+			throw new IllegalArgumentException("Illegal probability: " + probability);
+		this.probability = probability;
+		this.logFalse = Math.log1p(-probability);
+		this.random = random;
+	}
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param probability Probability between 0 and 1
+	 * @param seed Seed for the random stream of this source.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that probability is outside of its range and it should be between 0 and 1.
+	 */
+	public GeometricSource(double probability, long seed) {
+		this(probability, new RandomStream(seed));
+	}
+
+	@Override
+	public boolean random() {
+		if (probability <= 0)
+			return false;
+		if (pending < 0)
+			pending = nextGap();
+		if (pending == 0) {
+			pending = -1;
+			return true;
+		}
+		pending--;
+		return false;
+	}
+
+	@Override
+	public int skip(int limit) {
+		if (probability <= 0)
+			return limit;
+		if (pending < 0)
+			pending = nextGap();
+		if (pending >= limit) {
+			pending -= limit;
+			return limit;
+		}
+		int gap = pending;
+		pending = -1;
+		return gap;
+	}
+	
+	@Override
+	public void checkpoint(DataOutput out) throws IOException {
+		random.checkpoint(out);
+		out.writeInt(pending);
+	}
+	
+	@Override
+	public void restore(DataInput in) throws IOException {
+		random.restore(in);
+		pending = in.readInt();
+	}
+	
+	/**
+	 * Draws the number of false values before the next true value, capped to {@link Integer#MAX_VALUE}.
+	 * 
+	 * @return gap
+	 */
+	private int nextGap() {
+		if (probability >= 1)
+			return 0;
+		double gap = Math.floor(Math.log(1.0 - random.nextDouble()) / logFalse);
+		return gap >= Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) gap;
+	}
+
+}
@@ -0,0 +1,296 @@
+package com.prasanna.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IndexedMinHeap is a binary min-heap of non-negative int items, ordered by a long key and then by a long tie breaker.
+ * Every item knows its position in the heap, so the key of an item in the heap can be decreased in O(log n)
+ * without searching for it. Items are used as indexes, so they should be small, like the slots of the flight store.
+ * Nothing is boxed, so heaps of millions of items cost no garbage.
+ * 
+ * @author pramakr2
+ *
+ */
+public class IndexedMinHeap {
+	
+	/**
+	 * Initial capacity.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+	
+	/**
+	 * Position used for items which are not in the heap.
+	 */
+	private static final int ABSENT = -1;
+	
+	/**
+	 * Items in heap order.
+	 */
+	private int[] heap;
+	
+	/**
+	 * Keys in heap order.
+	 */
+	private long[] keys;
+	
+	/**
+	 * Tie breakers in heap order, items with the same key are ordered by tie breaker.
+	 */
+	private long[] ties;
+	
+	/**
+	 * Position in the heap indexed by item, ABSENT for items which are not in the heap.
+	 */
+	private int[] positions;
+	
+	/**
+	 * Number of items.
+	 */
+	private int size;
+
+	/**
+	 * Default constructor.
+	 */
+	public IndexedMinHeap() {
+		heap = new int[INITIAL_CAPACITY];
+		keys = new long[INITIAL_CAPACITY];
+		ties = new long[INITIAL_CAPACITY];
+		positions = new int[INITIAL_CAPACITY];
+		Arrays.fill(positions, ABSENT);
+	}
+	
+	/**
+	 * Adds an item.
+	 * 
+	 * @param item Item, must not be negative.
+	 * @param key Key, lower keys come first.
+	 * @param tie Tie breaker, items with the same key and a lower tie breaker come first.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the item is negative or already in the heap.
+	 */
+	public void offer(int item, long key, long tie) {
+		if (item < 0 || contains(item))
+			throw new IllegalArgumentException("Illegal item: " + item);
+		while (item >= positions.length)
+			growPositions();
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, size << 1);
+			keys = Arrays.copyOf(keys, size << 1);
+			ties = Arrays.copyOf(ties, size << 1);
+		}
+		siftUp(size++, item, key, tie);
+	}
+	
+	/**
+	 * Removes the first item.
+	 * 
+	 * @return item
+	 * 
+	 * @exception NoSuchElementException
+	 *            Indicates that the heap is empty.
+	 */
+	public int poll() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		int first = heap[0];
+		positions[first] = ABSENT;
+		size--;
+		if (size > 0)
+			siftDown(0, heap[size], keys[size], ties[size]);
+		return first;
+	}
+	
+	/**
+	 * Gets the first item without removing it.
+	 * 
+	 * @return item
+	 * 
+	 * @exception NoSuchElementException
+	 *            Indicates that the heap is empty.
+	 */
+	public int peek() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return heap[0];
+	}
+	
+	/**
+	 * Gets the key of the first item.
+	 * 
+	 * @return key
+	 * 
+	 * @exception NoSuchElementException
+	 *            Indicates that the heap is empty.
+	 */
+	public long peekKey() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return keys[0];
+	}
+	
+	/**
+	 * Gets the tie breaker of the first item.
+	 * 
+	 * @return tie breaker
+	 * 
+	 * @exception NoSuchElementException
+	 *            Indicates that the heap is empty.
+	 */
+	public long peekTie() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return ties[0];
+	}
+	
+	/**
+	 * Checks whether the item is in the heap.
+	 * 
+	 * @param item Item
+	 * @return boolean
+	 */
+	public boolean contains(int item) {
+		return item >= 0 && item < positions.length && positions[item] != ABSENT;
+	}
+	
+	/**
+	 * Gets the key of an item in the heap.
+	 * 
+	 * @param item Item
+	 * @return key
+	 * 
+	 * @exception NoSuchElementException
+	 *            Indicates that the item is not in the heap.
+	 */
+	public long getKey(int item) {
+		if (!contains(item))
+			throw new NoSuchElementException("Item: " + item);
+		return keys[positions[item]];
+	}
+	
+	/**
+	 * Lowers the key of an item in the heap, the item moves up towards the front.
+	 * 
+	 * @param item Item
+	 * @param key New key, must not be above the current key.
+	 * 
+	 * @exception NoSuchElementException
+	 *            Indicates that the item is not in the heap.
+	 * @exception IllegalArgumentException
+	 *            Indicates that the new key is above the current key.
+	 */
+	public void decreaseKey(int item, long key) {
+		if (!contains(item))
+			throw new NoSuchElementException("Item: " + item);
+		int position = positions[item];
+		if (key > keys[position])
+			throw new IllegalArgumentException("Key " + key + " is above the current key " + keys[position]);
+		siftUp(position, item, key, ties[position]);
+	}
+	
+	/**
+	 * Gets number of items.
+	 * 
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Checks whether the heap is empty or not.
+	 * 
+	 * @return boolean
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Removes all the items.
+	 */
+	public void clear() {
+		for (int i = 0; i < size; i++) {
+			positions[heap[i]] = ABSENT;
+		}
+		size = 0;
+	}
+	
+	/**
+	 * Writes the items with their keys and tie breakers in heap order.
+	 * 
+	 * @param out Output the items are written to.
+	 * @throws IOException If the items can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			out.writeInt(heap[i]);
+			out.writeLong(keys[i]);
+			out.writeLong(ties[i]);
+		}
+	}
+	
+	/**
+	 * Replaces the items of the heap with the items written by {@link #checkpoint(DataOutput)}.
+	 * Items are added in heap order, so the restored heap has the same layout as the checkpointed one.
+	 * 
+	 * @param in Input the items are read from.
+	 * @throws IOException If the items can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		clear();
+		int count = in.readInt();
+		for (int i = 0; i < count; i++) {
+			offer(in.readInt(), in.readLong(), in.readLong());
+		}
+	}
+	
+	private void siftUp(int position, int item, long key, long tie) {
+		while (position > 0) {
+			int parent = (position - 1) >>> 1;
+			if (!before(key, tie, keys[parent], ties[parent]))
+				break;
+			place(position, heap[parent], keys[parent], ties[parent]);
+			position = parent;
+		}
+		place(position, item, key, tie);
+	}
+	
+	private void siftDown(int position, int item, long key, long tie) {
+		int half = size >>> 1;
+		while (position < half) {
+			int child = (position << 1) + 1;
+			int right = child + 1;
+			if (right < size && before(keys[right], ties[right], keys[child], ties[child]))
+				child = right;
+			if (!before(keys[child], ties[child], key, tie))
+				break;
+			place(position, heap[child], keys[child], ties[child]);
+			position = child;
+		}
+		place(position, item, key, tie);
+	}
+	
+	private void place(int position, int item, long key, long tie) {
+		heap[position] = item;
+		keys[position] = key;
+		ties[position] = tie;
+		positions[item] = position;
+	}
+	
+	private static boolean before(long key, long tie, long otherKey, long otherTie) {
+		return key < otherKey || (key == otherKey && tie < otherTie);
+	}
+	
+	private void growPositions() {
+		int length = positions.length;
+		positions = Arrays.copyOf(positions, length << 1);
+		Arrays.fill(positions, length, positions.length, ABSENT);
+	}
+
+}
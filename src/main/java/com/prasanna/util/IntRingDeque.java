@@ -0,0 +1,190 @@
+package com.prasanna.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * IntRingDeque is a double ended queue of primitive int values backed by a growable ring buffer.
+ * Values are never boxed, so queues of millions of entries cost four bytes per entry and no garbage.
+ * 
+ * @author pramakr2
+ *
+ */
+public class IntRingDeque {
+	
+	/**
+	 * Initial capacity, must be a power of two.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
+	
+	/**
+	 * The ring buffer, its length is always a power of two.
+	 */
+	private int[] elements;
+	
+	/**
+	 * Index of the first value.
+	 */
+	private int head;
+	
+	/**
+	 * Number of values.
+	 */
+	private int size;
+
+	/**
+	 * Default constructor.
+	 */
+	public IntRingDeque() {
+		elements = new int[INITIAL_CAPACITY];
+	}
+	
+	/**
+	 * Adds a value at the end of the queue.
+	 * 
+	 * @param value Value
+	 */
+	public void offer(int value) {
+		if (size == elements.length)
+			grow();
+		elements[(head + size) & (elements.length - 1)] = value;
+		size++;
+	}
+	
+	/**
+	 * Adds a value at the front of the queue.
+	 * 
+	 * @param value Value
+	 */
+	public void offerFirst(int value) {
+		if (size == elements.length)
+			grow();
+		head = (head - 1) & (elements.length - 1);
+		elements[head] = value;
+		size++;
+	}
+	
+	/**
+	 * Removes the value at the front of the queue.
+	 * 
+	 * @return value
+	 * 
+	 * @exception NoSuchElementException
+	 *            Indicates that the queue is empty.
+	 */
+	public int poll() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		int value = elements[head];
+		head = (head + 1) & (elements.length - 1);
+		size--;
+		return value;
+	}
+	
+	/**
+	 * Gets the value at the front of the queue without removing it.
+	 * 
+	 * @return value
+	 * 
+	 * @exception NoSuchElementException
+	 *            Indicates that the queue is empty.
+	 */
+	public int peek() {
+		if (size == 0)
+			throw new NoSuchElementException();
+		return elements[head];
+	}
+	
+	/**
+	 * Gets the value at the given position, 0 being the front of the queue.
+	 * 
+	 * @param index Position
+	 * @return value
+	 * 
+	 * @exception IndexOutOfBoundsException
+	 *            Indicates that the position is outside of the queue.
+	 */
+	public int get(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		return elements[(head + index) & (elements.length - 1)];
+	}
+	
+	/**
+	 * Gets number of values.
+	 * 
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+	
+	/**
+	 * Checks whether the queue is empty or not.
+	 * 
+	 * @return boolean
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+	
+	/**
+	 * Removes all the values.
+	 */
+	public void clear() {
+		head = 0;
+		size = 0;
+	}
+	
+	/**
+	 * Writes the values of the queue from front to back.
+	 * 
+	 * @param out Output the values are written to.
+	 * @throws IOException If the values can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeInt(size);
+		for (int i = 0; i < size; i++) {
+			out.writeInt(elements[(head + i) & (elements.length - 1)]);
+		}
+	}
+	
+	/**
+	 * Replaces the values of the queue with the values written by {@link #checkpoint(DataOutput)}.
+	 * 
+	 * @param in Input the values are read from.
+	 * @throws IOException If the values can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		clear();
+		int count = in.readInt();
+		while (elements.length < count)
+			grow();
+		for (int i = 0; i < count; i++) {
+			elements[i] = in.readInt();
+		}
+		size = count;
+	}
+	
+	private void grow() {
+		int[] grown = new int[elements.length << 1];
+		int firstPart = elements.length - head;
+		System.arraycopy(elements, head, grown, 0, firstPart);
+		System.arraycopy(elements, 0, grown, firstPart, head);
+		elements = grown;
+		head = 0;
+	}
+	
+	@Override
+	public String toString() {
+		int[] values = new int[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = get(i);
+		}
+		return Arrays.toString(values);
+	}
+
+}
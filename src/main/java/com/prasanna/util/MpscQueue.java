@@ -0,0 +1,82 @@
+package com.prasanna.util;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * MpscQueue is an unbounded lock-free queue for many producer threads and one consumer thread.
+ * Producers link a new node with a single atomic swap and never wait for each other or for the consumer,
+ * the consumer unlinks nodes without any atomic instruction.
+ * An element whose producer has swapped but not linked it yet is not seen by {@link #poll()}, it is seen by the next poll.
+ * 
+ * @author pramakr2
+ *
+ * @param <E> Type of the elements.
+ */
+public class MpscQueue<E> {
+	
+	/**
+	 * Last node of the queue, swapped by the producers.
+	 */
+	private final AtomicReference<Node<E>> last;
+	
+	/**
+	 * Node before the first element, only used by the consumer.
+	 */
+	private Node<E> first;
+	
+	/**
+	 * Default constructor.
+	 */
+	public MpscQueue() {
+		Node<E> stub = new Node<E>(null);
+		last = new AtomicReference<Node<E>>(stub);
+		first = stub;
+	}
+	
+	/**
+	 * Adds an element at the end of the queue, can be called by any thread.
+	 * 
+	 * @param element Element, not null.
+	 */
+	public void offer(E element) {
+		if (element == null)
+			throw new NullPointerException();
+		Node<E> node = new Node<E>(element);
+		last.getAndSet(node).next = node;
+	}
+	
+	/**
+	 * Removes the first element of the queue, must only be called by the consumer thread.
+	 * 
+	 * @return first element, null if the queue is empty.
+	 */
+	public E poll() {
+		Node<E> next = first.next;
+		if (next == null)
+			return null;
+		E element = next.element;
+		next.element = null;
+		first = next;
+		return element;
+	}
+	
+	/**
+	 * Checks whether the queue is empty, must only be called by the consumer thread.
+	 * 
+	 * @return boolean
+	 */
+	public boolean isEmpty() {
+		return first.next == null;
+	}
+	
+	private static final class Node<E> {
+		
+		private E element;
+		private volatile Node<E> next;
+		
+		Node(E element) {
+			this.element = element;
+		}
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.prasanna.util;
+
+/**
+ * Mser finds the end of the warm-up of a simulation output series with the MSER rule (marginal standard error rule).
+ * The series is cut at the point d which minimizes the squared standard error of the mean of what is left,
+ * sum of (x(i) - mean)^2 over i >= d divided by (n - d)^2, searched over the first half of the series only.
+ * A minimum in the second half means the series is still in its transient and more output is needed.
+ * 
+ * @author pramakr2
+ *
+ */
+public class Mser {
+	
+	private Mser() {
+	}
+
+	/**
+	 * Finds the warm-up of the first n values of a series.
+	 * 
+	 * @param values The series, typically batch means of five observations (MSER-5).
+	 * @param n Number of values of the series.
+	 * @return number of values to discard, -1 if the transient is not over within the first half of the series.
+	 */
+	public static int truncation(double[] values, int n) {
+		if (n < 2)
+			return -1;
+		/*
+		 * Suffix sums, so every candidate cut is evaluated in constant time.
+		 */
+		double[] sum = new double[n + 1];
+		double[] squares = new double[n + 1];
+		for (int i = n - 1; i >= 0; i--) {
+			sum[i] = sum[i + 1] + values[i];
+			squares[i] = squares[i + 1] + values[i] * values[i];
+		}
+		int best = 0;
+		double bestError = Double.POSITIVE_INFINITY;
+		for (int d = 0; d <= n / 2; d++) {
+			int left = n - d;
+			double error = (squares[d] - sum[d] * sum[d] / left) / ((double) left * left);
+			if (error < bestError) {
+				bestError = error;
+				best = d;
+			}
+		}
+		return best < n / 2 ? best : -1;
+	}
+	
+}
@@ -0,0 +1,151 @@
+package com.prasanna.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * RandomStream is a SplitMix64 stream of pseudo random numbers which produces exactly the same values as {@link java.util.SplittableRandom}
+ * built with the same seed, for {@link #nextLong()}, {@link #nextDouble()} and {@link #split()}.
+ * Unlike SplittableRandom its whole state, two long values, can be written and read back, so a simulation can be
+ * checkpointed and continued with the same random numbers.
+ * An antithetic stream draws the same long values but mirrors every double value u to 1 - 2^-53 - u, still between 0 (inclusive) and 1 (exclusive),
+ * so a simulation run once with a stream and once with its antithetic stream sees negatively correlated arrivals (antithetic variates).
+ * 
+ * @author pramakr2
+ *
+ */
+public class RandomStream {
+	
+	/**
+	 * The gamma of a stream built from a seed, the odd integer closest to 2^64 divided by the golden ratio.
+	 */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+	
+	/**
+	 * Scale of the 53 bits of a double value.
+	 */
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+	
+	/**
+	 * Current seed, advanced by gamma for every value.
+	 */
+	private long seed;
+	
+	/**
+	 * Step of the seed, always odd.
+	 */
+	private long gamma;
+	
+	/**
+	 * Whether double values are mirrored, true for an antithetic stream.
+	 */
+	private boolean antithetic;
+
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param seed Seed of the stream.
+	 */
+	public RandomStream(long seed) {
+		this(seed, GOLDEN_GAMMA, false);
+	}
+	
+	/**
+	 * Parameterized constructor.
+	 * 
+	 * @param seed Seed of the stream.
+	 * @param antithetic Whether double values are mirrored, true for the antithetic stream of the stream with the same seed.
+	 */
+	public RandomStream(long seed, boolean antithetic) {
+		this(seed, GOLDEN_GAMMA, antithetic);
+	}
+	
+	private RandomStream(long seed, long gamma, boolean antithetic) {
+		this.seed = seed;
+		this.gamma = gamma;
+		this.antithetic = antithetic;
+	}
+	
+	/**
+	 * Generates the next pseudo random long value.
+	 * 
+	 * @return long value
+	 */
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+	
+	/**
+	 * Generates the next pseudo random double value between 0 (inclusive) and 1 (exclusive).
+	 * The 53 bits of the value are inverted by an antithetic stream.
+	 * 
+	 * @return double value
+	 */
+	public double nextDouble() {
+		long bits = antithetic ? ~nextLong() : nextLong();
+		return (bits >>> 11) * DOUBLE_UNIT;
+	}
+	
+	/**
+	 * Checks whether double values are mirrored.
+	 * 
+	 * @return true for an antithetic stream.
+	 */
+	public boolean isAntithetic() {
+		return antithetic;
+	}
+	
+	/**
+	 * Creates a new stream which shares no state with this stream, the way {@link java.util.SplittableRandom#split()} does.
+	 * The new stream of an antithetic stream is antithetic too.
+	 * 
+	 * @return random stream
+	 */
+	public RandomStream split() {
+		return new RandomStream(nextLong(), mixGamma(nextSeed()), antithetic);
+	}
+	
+	/**
+	 * Writes the state of the stream.
+	 * 
+	 * @param out Output the state is written to.
+	 * @throws IOException If the state can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeLong(seed);
+		out.writeLong(gamma);
+		out.writeBoolean(antithetic);
+	}
+	
+	/**
+	 * Reads back the state written by {@link #checkpoint(DataOutput)}, the stream continues where the checkpointed stream stopped.
+	 * 
+	 * @param in Input the state is read from.
+	 * @throws IOException If the state can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		seed = in.readLong();
+		gamma = in.readLong();
+		antithetic = in.readBoolean();
+	}
+	
+	private long nextSeed() {
+		return seed += gamma;
+	}
+	
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+	
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+
+}
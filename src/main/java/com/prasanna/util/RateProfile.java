@@ -0,0 +1,158 @@
+package com.prasanna.util;
+
+import java.util.Arrays;
+
+/**
+ * RateProfile describes how the arrival rate varies over the day: a piecewise constant factor of the arrival probability,
+ * one factor for every period of a fixed number of ticks, e.g. one factor per hour with a tick of a minute. The profile repeats itself
+ * once its last period is over, so a profile of 24 hourly factors models the same daily banks every day of a long simulation.
+ * The probability of an arrival in a tick is the configured probability times the factor of the tick, at most 1.
+ *
+ * @author pramakr2
+ *
+ */
+public class RateProfile {
+
+	/**
+	 * Number of ticks of every period.
+	 */
+	private final int period;
+
+	/**
+	 * Factor of the arrival probability in every period.
+	 */
+	private final double[] factors;
+
+	/**
+	 * Largest factor.
+	 */
+	private final double maxFactor;
+
+	/**
+	 * Parameterized constructor.
+	 *
+	 * @param period Number of ticks of every period, greater than 0.
+	 * @param factors Factor of the arrival probability in every period, 0 or more.
+	 *
+	 * @exception IllegalArgumentException
+	 *            Indicates that the period is not positive, there are no factors or a factor is negative.
+	 */
+	public RateProfile(int period, double... factors) {
+		if (period < 1)
+			throw new IllegalArgumentException("Illegal profile period: " + period);
+		if (factors.length == 0)
+			throw new IllegalArgumentException("Profile without factors");
+		double max = 0;
+		for (double factor : factors) {
+			if (!(factor >= 0) || Double.isInfinite(factor))
+				throw new IllegalArgumentException("Illegal profile factor: " + factor);
+			max = Math.max(max, factor);
+		}
+		this.period = period;
+		this.factors = factors.clone();
+		this.maxFactor = max;
+	}
+
+	/**
+	 * Parses a comma separated list of factors, e.g. '0.2,0.2,1.5,2.5,1.0'.
+	 *
+	 * @param factors Comma separated factors, null or empty for a constant rate.
+	 * @param period Number of ticks of every period.
+	 * @return profile, null for a constant rate.
+	 *
+	 * @exception IllegalArgumentException
+	 *            Indicates that a factor is not a number or is out of range.
+	 */
+	public static RateProfile parse(String factors, int period) {
+		if (factors == null || factors.trim().isEmpty())
+			return null;
+		String[] values = factors.split(",");
+		double[] parsed = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			parsed[i] = Double.parseDouble(values[i].trim());
+		}
+		return new RateProfile(period, parsed);
+	}
+
+	/**
+	 * Gets the number of ticks of every period.
+	 *
+	 * @return period
+	 */
+	public int getPeriod() {
+		return period;
+	}
+
+	/**
+	 * Gets the number of periods before the profile repeats itself.
+	 *
+	 * @return number of factors.
+	 */
+	public int size() {
+		return factors.length;
+	}
+
+	/**
+	 * Gets the factor of the given period.
+	 *
+	 * @param index Index of the period within the profile.
+	 * @return factor
+	 */
+	public double getFactor(int index) {
+		return factors[index];
+	}
+
+	/**
+	 * Gets the largest factor, the factor of the peak.
+	 *
+	 * @return maxFactor
+	 */
+	public double getMaxFactor() {
+		return maxFactor;
+	}
+
+	/**
+	 * Gets the expected number of arrivals from tick 0 up to, not including, the given tick.
+	 * Whole periods are summed at once, the profile is not walked tick by tick.
+	 *
+	 * @param probability Arrival probability the factors apply to.
+	 * @param ticks Number of ticks.
+	 * @return expected arrivals
+	 */
+	public double getExpectedArrivals(double probability, long ticks) {
+		long cycle = (long) period * factors.length;
+		double perCycle = 0;
+		for (double factor : factors) {
+			perCycle += Math.min(1, probability * factor) * period;
+		}
+		double expected = (ticks / cycle) * perCycle;
+		long rest = ticks % cycle;
+		for (int i = 0; rest > 0; i++, rest -= period) {
+			expected += Math.min(1, probability * factors[i]) * Math.min(rest, period);
+		}
+		return expected;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof RateProfile))
+			return false;
+		RateProfile other = (RateProfile) obj;
+		return period == other.period && Arrays.equals(factors, other.factors);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * period + Arrays.hashCode(factors);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < factors.length; i++) {
+			builder.append(i == 0 ? "" : ",").append(factors[i]);
+		}
+		return builder.append(" every ").append(period).append(" ticks").toString();
+	}
+
+}
@@ -0,0 +1,194 @@
+package com.prasanna.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Statistic keeps count, mean and variance of a sequence of values in constant memory (Welford's algorithm).
+ * Two statistics can be merged, so values collected on different threads can be combined without keeping the values.
+ * 
+ * @author pramakr2
+ *
+ */
+public class Statistic {
+	
+	/**
+	 * Two-sided 95% quantiles of the Student t distribution for 1 to 30 degrees of freedom.
+	 */
+	private static final double[] T_95 = { 12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+			2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+			2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042 };
+	
+	/**
+	 * Two-sided 95% quantile of the normal distribution, used above 30 degrees of freedom.
+	 */
+	private static final double Z_95 = 1.96;
+	
+	/**
+	 * Number of values.
+	 */
+	private long count;
+	
+	/**
+	 * Mean of the values.
+	 */
+	private double mean;
+	
+	/**
+	 * Sum of squared differences from the mean.
+	 */
+	private double m2;
+	
+	/**
+	 * Smallest value.
+	 */
+	private double min = Double.POSITIVE_INFINITY;
+	
+	/**
+	 * Largest value.
+	 */
+	private double max = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Adds a value, NaN values are ignored.
+	 * 
+	 * @param value Value
+	 */
+	public void add(double value) {
+		if (Double.isNaN(value))
+			return;
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+	}
+	
+	/**
+	 * Merges the values of the other statistic into this statistic.
+	 * 
+	 * @param other Statistic
+	 */
+	public void merge(Statistic other) {
+		if (other.count == 0)
+			return;
+		long total = count + other.count;
+		double delta = other.mean - mean;
+		m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+		mean += delta * other.count / total;
+		count = total;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+
+	/**
+	 * Gets number of values.
+	 * 
+	 * @return count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Gets mean of the values.
+	 * 
+	 * @return mean, NaN if there is no value
+	 */
+	public double getMean() {
+		return count == 0 ? Double.NaN : mean;
+	}
+	
+	/**
+	 * Gets sample variance of the values.
+	 * 
+	 * @return variance, NaN if there are less than two values
+	 */
+	public double getVariance() {
+		return count < 2 ? Double.NaN : m2 / (count - 1);
+	}
+	
+	/**
+	 * Gets sample standard deviation of the values.
+	 * 
+	 * @return standard deviation, NaN if there are less than two values
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+	
+	/**
+	 * Gets half width of the 95% confidence interval of the mean.
+	 * 
+	 * @return half width, NaN if there are less than two values
+	 */
+	public double getHalfWidth() {
+		if (count < 2)
+			return Double.NaN;
+		return quantile95(count - 1) * Math.sqrt(getVariance() / count);
+	}
+	
+	/**
+	 * Gets the two-sided 95% quantile of the Student t distribution.
+	 * 
+	 * @param degrees Degrees of freedom, at least 1.
+	 * @return quantile
+	 */
+	static double quantile95(long degrees) {
+		return degrees <= T_95.length ? T_95[(int) degrees - 1] : Z_95;
+	}
+
+	/**
+	 * Gets smallest value.
+	 * 
+	 * @return min, NaN if there is no value
+	 */
+	public double getMin() {
+		return count == 0 ? Double.NaN : min;
+	}
+
+	/**
+	 * Gets largest value.
+	 * 
+	 * @return max, NaN if there is no value
+	 */
+	public double getMax() {
+		return count == 0 ? Double.NaN : max;
+	}
+	
+	/**
+	 * Writes the statistic.
+	 * 
+	 * @param out Output the statistic is written to.
+	 * @throws IOException If the statistic can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeLong(count);
+		out.writeDouble(mean);
+		out.writeDouble(m2);
+		out.writeDouble(min);
+		out.writeDouble(max);
+	}
+	
+	/**
+	 * Replaces the values of the statistic with the values written by {@link #checkpoint(DataOutput)}.
+	 * 
+	 * @param in Input the statistic is read from.
+	 * @throws IOException If the statistic can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		count = in.readLong();
+		mean = in.readDouble();
+		m2 = in.readDouble();
+		min = in.readDouble();
+		max = in.readDouble();
+	}
+	
+	@Override
+	public String toString() {
+		return String.format("%.3f +/- %.3f (95%% CI, n=%d, min=%.3f, max=%.3f)", getMean(), getHalfWidth(), count, getMin(), getMax());
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.prasanna.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * ThinnedSource provides arrivals whose probability follows a rate profile {@link RateProfile} (thinning).
+ * Candidate arrivals come from a source with the constant probability of the peak, the envelope of the profile,
+ * and a candidate at a tick is kept with the probability of that tick divided by the probability of the peak.
+ * Every tick then has an arrival with exactly its own probability, independently of the other ticks.
+ * The share of candidates kept in every period is computed once, when the source is built, so the profile is never evaluated again
+ * and with GEOMETRIC candidates {@link GeometricSource} the ticks between two candidates are skipped in one step.
+ *
+ * @author pramakr2
+ *
+ */
+public class ThinnedSource implements ArrivalSource {
+
+	/**
+	 * Source of the candidate arrivals, with the probability of the peak.
+	 */
+	private final ArrivalSource candidates;
+
+	/**
+	 * The random stream deciding which candidates are kept.
+	 */
+	private final RandomStream random;
+
+	/**
+	 * Share of the candidates kept in every period of the profile.
+	 */
+	private final double[] accept;
+
+	/**
+	 * Number of ticks of every period.
+	 */
+	private final int period;
+
+	/**
+	 * Next tick, the number of ticks consumed so far.
+	 */
+	private int tick;
+
+	/**
+	 * Parameterized constructor.
+	 *
+	 * @param probability Probability between 0 and 1 the factors of the profile apply to.
+	 * @param profile The rate profile {@link RateProfile}.
+	 * @param geometric Whether candidates are drawn as gaps {@link GeometricSource} rather than one coin per tick {@link BooleanSource}.
+	 * @param random The random stream owned by this source, usually split from the stream of the simulation.
+	 *
+	 * @exception IllegalArgumentException
+	 *            Indicates that probability is outside of its range and it should be between 0 and 1.
+	 */
+	public ThinnedSource(double probability, RateProfile profile, boolean geometric, RandomStream random) {
+		if ((probability < 0) || (1 < probability))
+			throw new IllegalArgumentException("Illegal probability: " + probability);
+		double peak = Math.min(1, probability * profile.getMaxFactor());
+		RandomStream candidateStream = random.split();
+		this.candidates = geometric ? new GeometricSource(peak, candidateStream) : new BooleanSource(peak, candidateStream);
+		this.random = random;
+		this.period = profile.getPeriod();
+		this.accept = new double[profile.size()];
+		for (int i = 0; i < accept.length; i++) {
+			accept[i] = peak > 0 ? Math.min(1, probability * profile.getFactor(i)) / peak : 0;
+		}
+	}
+
+	@Override
+	public boolean random() {
+		int t = tick++;
+		return candidates.random() && keep(t);
+	}
+
+	@Override
+	public int skip(int limit) {
+		int gap = 0;
+		while (gap < limit) {
+			int candidate = candidates.skip(limit - gap);
+			if (candidate == limit - gap) {
+				tick += candidate;
+				return limit;
+			}
+			int t = tick + candidate;
+			tick = t + 1;
+			if (keep(t))
+				return gap + candidate;
+			gap += candidate + 1;
+		}
+		return limit;
+	}
+
+	/**
+	 * Decides whether the candidate at the given tick is kept. Candidates of periods at the peak are always kept without drawing a random number.
+	 *
+	 * @param t Tick of the candidate.
+	 * @return true if the candidate arrives.
+	 */
+	private boolean keep(int t) {
+		double share = accept[(t / period) % accept.length];
+		return share >= 1 || random.nextDouble() < share;
+	}
+
+	@Override
+	public void checkpoint(DataOutput out) throws IOException {
+		candidates.checkpoint(out);
+		random.checkpoint(out);
+		out.writeInt(tick);
+	}
+
+	@Override
+	public void restore(DataInput in) throws IOException {
+		candidates.restore(in);
+		random.restore(in);
+		tick = in.readInt();
+	}
+
+}
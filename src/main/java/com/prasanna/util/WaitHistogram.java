@@ -0,0 +1,231 @@
+package com.prasanna.util;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * WaitHistogram counts non-negative values in log-bucketed buckets, so percentiles of millions of wait times are kept in constant memory.
+ * Values below {@link #SUB_BUCKETS} have a bucket of their own, every power of two above is split in {@link #SUB_BUCKETS}/2 buckets,
+ * so a percentile is never more than 1/32 (about 3%) above the exact value. Count, mean, min and max are exact.
+ * Histograms have a fixed layout, so histograms of different runs and threads can be merged by adding their buckets.
+ * 
+ * @author pramakr2
+ *
+ */
+public class WaitHistogram {
+	
+	/**
+	 * Number of bits of precision kept for every value.
+	 */
+	private static final int SUB_BUCKET_BITS = 6;
+	
+	/**
+	 * Number of buckets holding exactly one value.
+	 */
+	public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	
+	/**
+	 * Number of buckets per power of two above SUB_BUCKETS.
+	 */
+	private static final int HALF_SUB_BUCKETS = SUB_BUCKETS >> 1;
+	
+	/**
+	 * Number of buckets needed to hold any non-negative long value.
+	 */
+	private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - 1 - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+	
+	/**
+	 * Count of values per bucket.
+	 */
+	private final long[] counts = new long[BUCKETS];
+	
+	/**
+	 * Number of values.
+	 */
+	private long count;
+	
+	/**
+	 * Sum of the values.
+	 */
+	private long sum;
+	
+	/**
+	 * Smallest value.
+	 */
+	private long min = Long.MAX_VALUE;
+	
+	/**
+	 * Largest value.
+	 */
+	private long max = Long.MIN_VALUE;
+
+	/**
+	 * Adds a value.
+	 * 
+	 * @param value Value, must not be negative.
+	 * 
+	 * @exception IllegalArgumentException
+	 *            Indicates that the value is negative.
+	 */
+	public void record(long value) {
+		if (value < 0)
+			throw new IllegalArgumentException("Illegal value: " + value);
+		counts[bucket(value)]++;
+		count++;
+		sum += value;
+		if (value < min)
+			min = value;
+		if (value > max)
+			max = value;
+	}
+	
+	/**
+	 * Merges the values of the other histogram into this histogram.
+	 * 
+	 * @param other Histogram
+	 */
+	public void merge(WaitHistogram other) {
+		if (other.count == 0)
+			return;
+		for (int i = 0; i < BUCKETS; i++) {
+			counts[i] += other.counts[i];
+		}
+		count += other.count;
+		sum += other.sum;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+	}
+	
+	/**
+	 * Removes all the values.
+	 */
+	public void clear() {
+		Arrays.fill(counts, 0);
+		count = 0;
+		sum = 0;
+		min = Long.MAX_VALUE;
+		max = Long.MIN_VALUE;
+	}
+	
+	/**
+	 * Gets the value below or at which the given percentage of the values are.
+	 * 
+	 * @param percentile Percentage between 0 and 100.
+	 * @return highest value of the bucket holding the percentile, capped to the largest value. 0 if there is no value.
+	 */
+	public long getPercentile(double percentile) {
+		if (count == 0)
+			return 0;
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+			if (seen >= rank)
+				return Math.min(highestValue(i), max);
+		}
+		return max;
+	}
+
+	/**
+	 * Gets number of values.
+	 * 
+	 * @return count
+	 */
+	public long getCount() {
+		return count;
+	}
+	
+	/**
+	 * Gets mean of the values.
+	 * 
+	 * @return mean, NaN if there is no value
+	 */
+	public double getMean() {
+		return count == 0 ? Double.NaN : (double) sum / count;
+	}
+
+	/**
+	 * Gets smallest value.
+	 * 
+	 * @return min, 0 if there is no value
+	 */
+	public long getMin() {
+		return count == 0 ? 0 : min;
+	}
+
+	/**
+	 * Gets largest value.
+	 * 
+	 * @return max, 0 if there is no value
+	 */
+	public long getMax() {
+		return count == 0 ? 0 : max;
+	}
+	
+	/**
+	 * Writes the histogram, only the buckets holding values are written.
+	 * 
+	 * @param out Output the histogram is written to.
+	 * @throws IOException If the histogram can not be written.
+	 */
+	public void checkpoint(DataOutput out) throws IOException {
+		out.writeLong(count);
+		out.writeLong(sum);
+		out.writeLong(min);
+		out.writeLong(max);
+		int used = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			if (counts[i] != 0)
+				used++;
+		}
+		out.writeShort(used);
+		for (int i = 0; i < BUCKETS; i++) {
+			if (counts[i] != 0) {
+				out.writeShort(i);
+				out.writeLong(counts[i]);
+			}
+		}
+	}
+	
+	/**
+	 * Replaces the values of the histogram with the values written by {@link #checkpoint(DataOutput)}.
+	 * 
+	 * @param in Input the histogram is read from.
+	 * @throws IOException If the histogram can not be read.
+	 */
+	public void restore(DataInput in) throws IOException {
+		clear();
+		count = in.readLong();
+		sum = in.readLong();
+		min = in.readLong();
+		max = in.readLong();
+		int used = in.readUnsignedShort();
+		for (int i = 0; i < used; i++) {
+			int bucket = in.readUnsignedShort();
+			counts[bucket] = in.readLong();
+		}
+	}
+	
+	private static int bucket(long value) {
+		if (value < SUB_BUCKETS)
+			return (int) value;
+		int shift = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+		return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) ((value >>> shift) - HALF_SUB_BUCKETS);
+	}
+	
+	private static long highestValue(int bucket) {
+		if (bucket < SUB_BUCKETS)
+			return bucket;
+		int shift = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+		long mantissa = (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+		return ((mantissa + 1) << shift) - 1;
+	}
+	
+	@Override
+	public String toString() {
+		return "p50=" + getPercentile(50) + ", p95=" + getPercentile(95) + ", p99=" + getPercentile(99) + ", max=" + getMax() + ", mean=" + String.format("%.3f", getMean()) + ", count=" + count;
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.sim.AdaptiveResult;
+import com.prasanna.sim.AdaptiveRunner;
+import com.prasanna.sim.AnalyticEstimate;
+import com.prasanna.sim.AnalyticEstimator;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.util.Mser;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the AdaptiveRunner
+ * 
+ * @author pramakr2
+ * 
+ */
+public class AdaptiveRunnerTest {
+	
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+	
+	/**
+	 * MSER should cut off an initial transient and ask for more output while the series is still in it.
+	 */
+	@Test
+	public void mserFindsTransient(){
+		Random random = new Random(11);
+		double[] values = new double[200];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = 10 + random.nextGaussian() - (i < 40 ? 10 * (1 - i / 40.0) : 0);
+		}
+		int warmup = Mser.truncation(values, values.length);
+		
+		assertTrue("warm-up " + warmup, warmup >= 20 && warmup <= 50);
+		assertEquals(-1, Mser.truncation(values, 40));
+	}
+	
+	/**
+	 * An adaptive run should stop well before the simulation length with the requested precision, around the analytic mean wait.
+	 */
+	@Test
+	public void adaptiveRunReachesHalfWidth(){
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 2000000)
+				.with(SimulationConfig.LANDING_PROBABILITY, 0.2).with(SimulationConfig.TAKEOFF_PROBABILITY, 0.15)
+				.with(SimulationConfig.LANDING_TIME, 1).with(SimulationConfig.TAKEOFF_TIME, 1);
+		AnalyticEstimate estimate = AnalyticEstimator.estimate(config);
+		double expected = (0.2 * estimate.getLandingWaitTime() + 0.15 * estimate.getTakeOffWaitTime()) / 0.35;
+		AdaptiveResult result = new AdaptiveRunner(config, SimulationEngine.EVENT, ArrivalMode.BERNOULLI, new RunwayUse[] { RunwayUse.MIXED }).run(0.05, 7L);
+		
+		assertTrue(result.toString(), result.isConverged());
+		assertTrue(result.getHalfWidth() <= 0.05);
+		assertTrue(result.getTicks() < config.getSimulationLength());
+		assertTrue(result.getWarmupTicks() < result.getTicks() / 2);
+		assertEquals(result.toString(), expected, result.getMeanWaitTime(), 0.1);
+	}
+	
+}
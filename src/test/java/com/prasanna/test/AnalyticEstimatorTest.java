@@ -0,0 +1,97 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.sim.AnalyticEstimate;
+import com.prasanna.sim.AnalyticEstimator;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sim.SimulationResult;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.sweep.ParameterRange;
+import com.prasanna.sweep.SweepCsvWriter;
+import com.prasanna.sweep.SweepRunner;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the AnalyticEstimator
+ * 
+ * @author pramakr2
+ * 
+ */
+public class AnalyticEstimatorTest {
+	
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+	
+	/**
+	 * The estimate of a stable regime should match a long simulation.
+	 */
+	@Test
+	public void estimateMatchesLongSimulation(){
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 200000)
+				.with(SimulationConfig.LANDING_PROBABILITY, 0.2).with(SimulationConfig.TAKEOFF_PROBABILITY, 0.15)
+				.with(SimulationConfig.LANDING_TIME, 1).with(SimulationConfig.TAKEOFF_TIME, 1);
+		AnalyticEstimate estimate = AnalyticEstimator.estimate(config);
+		SmartAirportSimulator simulator = new SmartAirportSimulator(config, SimulationEngine.EVENT, ArrivalMode.BERNOULLI, 5L, RunwayUse.MIXED);
+		simulator.simulate();
+		SimulationResult result = simulator.getResult();
+		
+		assertTrue(estimate.isStable());
+		assertEquals(0.7, estimate.getLoad(), 1e-12);
+		assertEquals(estimate.getRunwayUtilization(), result.getRunwayUtilization(), 0.01);
+		assertEquals(estimate.getLandingWaitTime(), result.getMeanLandingWaitTime(), 0.05 * estimate.getLandingWaitTime());
+		assertEquals(estimate.getTakeOffWaitTime(), result.getMeanTakeOffWaitTime(), 0.05 * estimate.getTakeOffWaitTime());
+		assertEquals(estimate.getAverageLandingQueueLength(), result.getAverageLandingQueueLength(), 0.05 * estimate.getAverageLandingQueueLength());
+	}
+	
+	/**
+	 * An offered load of 1 or more should be flagged as unstable, the take off queue grows without bound.
+	 */
+	@Test
+	public void overloadIsUnstable(){
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.LANDING_PROBABILITY, 0.25)
+				.with(SimulationConfig.TAKEOFF_PROBABILITY, 0.1).with(SimulationConfig.LANDING_TIME, 2).with(SimulationConfig.TAKEOFF_TIME, 3);
+		AnalyticEstimate estimate = AnalyticEstimator.estimate(config);
+		
+		assertFalse(estimate.isStable());
+		assertEquals(1, estimate.getRunwayUtilization(), 0);
+		assertTrue(Double.isInfinite(estimate.getTakeOffWaitTicks()));
+		assertFalse(Double.isInfinite(estimate.getLandingWaitTicks()));
+	}
+	
+	/**
+	 * A sweep should estimate the stable points up to the analytic load and simulate the others.
+	 */
+	@Test
+	public void sweepEstimatesStablePoints() throws IOException {
+		List<ParameterRange> ranges = Arrays.asList(ParameterRange.parse("sa.sim.langing.probability=0.05,0.3"));
+		StringWriter out = new StringWriter();
+		SweepRunner runner = new SweepRunner(SimulationEngine.TICK, ArrivalMode.BERNOULLI, new RunwayUse[] { RunwayUse.MIXED }, 2);
+		runner.setAnalyticLoad(0.8);
+		runner.run(SimulationConfig.defaults().with(SimulationConfig.TAKEOFF_PROBABILITY, 0.05), ranges, 3, 1L, new SweepCsvWriter(out, ranges));
+		
+		String[] lines = out.toString().split("\n");
+		assertEquals(3, lines.length);
+		assertTrue(lines[1].startsWith("0,0.05,0,"));
+		assertTrue(lines[2].startsWith("1,0.3,3,"));
+	}
+
+}
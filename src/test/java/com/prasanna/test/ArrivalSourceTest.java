@@ -0,0 +1,148 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.prasanna.util.ArrivalSource;
+import com.prasanna.util.BooleanSource;
+import com.prasanna.util.GeometricSource;
+import com.prasanna.util.RandomStream;
+import com.prasanna.util.RateProfile;
+import com.prasanna.util.ThinnedSource;
+
+/**
+ * Class which tests the arrival sources BooleanSource and GeometricSource
+ * 
+ * @author pramakr2
+ * 
+ */
+public class ArrivalSourceTest {
+	
+	/**
+	 * Two sources {@link ArrivalSource} with the same seed should produce the same sequence.
+	 */
+	@Test
+	public void sameSeedSameSequence(){
+		ArrivalSource first = new BooleanSource(0.3, 7L);
+		ArrivalSource second = new BooleanSource(0.3, 7L);
+		ArrivalSource firstGeometric = new GeometricSource(0.3, 7L);
+		ArrivalSource secondGeometric = new GeometricSource(0.3, 7L);
+		for (int t = 0; t < 10000; t++) {
+			assertEquals(first.random(), second.random());
+			assertEquals(firstGeometric.random(), secondGeometric.random());
+		}
+	}
+	
+	/**
+	 * Random stream {@link RandomStream} should produce the same values as SplittableRandom {@link SplittableRandom} with the same seed, split streams included.
+	 */
+	@Test
+	public void randomStreamMatchesSplittableRandom(){
+		RandomStream stream = new RandomStream(42L);
+		SplittableRandom random = new SplittableRandom(42L);
+		RandomStream splitStream = stream.split();
+		SplittableRandom splitRandom = random.split();
+		for (int i = 0; i < 10000; i++) {
+			assertEquals(random.nextLong(), stream.nextLong());
+			assertEquals(splitRandom.nextDouble(), splitStream.nextDouble(), 0);
+		}
+	}
+	
+	/**
+	 * An antithetic stream and its split streams should mirror every double value of the stream with the same seed.
+	 */
+	@Test
+	public void antitheticStreamMirrorsValues(){
+		RandomStream stream = new RandomStream(42L);
+		RandomStream antithetic = new RandomStream(42L, true);
+		RandomStream splitStream = stream.split();
+		RandomStream splitAntithetic = antithetic.split();
+		for (int i = 0; i < 10000; i++) {
+			double value = antithetic.nextDouble();
+			assertEquals(1 - 0x1.0p-53 - stream.nextDouble(), value, 0);
+			assertTrue(value >= 0 && value < 1);
+			assertEquals(1 - 0x1.0p-53 - splitStream.nextDouble(), splitAntithetic.nextDouble(), 0);
+		}
+	}
+	
+	/**
+	 * Skipping to the next true value should consume the same ticks as asking every tick.
+	 */
+	@Test
+	public void skipMatchesRandom(){
+		ArrivalSource ticking = new GeometricSource(0.05, 11L);
+		ArrivalSource skipping = new GeometricSource(0.05, 11L);
+		int t = 0;
+		while (t < 100000) {
+			int gap = skipping.skip(100000 - t);
+			for (int i = 0; i < gap; i++) {
+				assertEquals(false, ticking.random());
+			}
+			t += gap;
+			if (t < 100000) {
+				assertEquals(true, ticking.random());
+				t++;
+			}
+		}
+	}
+	
+	/**
+	 * Geometric source {@link GeometricSource} should produce true values with the given probability.
+	 */
+	@Test
+	public void geometricSourceMatchesProbability(){
+		double probability = 0.02;
+		int ticks = 2000000;
+		ArrivalSource source = new GeometricSource(probability, 3L);
+		int arrivals = 0;
+		int t = 0;
+		while ((t += source.skip(ticks - t)) < ticks) {
+			arrivals++;
+			t++;
+		}
+		double expected = probability * ticks;
+		assertEquals(expected, arrivals, 4 * Math.sqrt(expected));
+	}
+	
+	/**
+	 * Thinned source {@link ThinnedSource} should follow the rate of every period of its profile, and skipping should consume the same ticks as asking every tick.
+	 */
+	@Test
+	public void thinnedSourceFollowsProfile(){
+		RateProfile profile = new RateProfile(1000, 0.5, 2, 0, 1);
+		double probability = 0.1;
+		ArrivalSource ticking = new ThinnedSource(probability, profile, true, new RandomStream(5L));
+		ArrivalSource skipping = new ThinnedSource(probability, profile, true, new RandomStream(5L));
+		ArrivalSource bernoulli = new ThinnedSource(probability, profile, false, new RandomStream(5L));
+		int ticks = 400000;
+		int[] arrivals = new int[profile.size()];
+		int[] bernoulliArrivals = new int[profile.size()];
+		for (int t = 0; t < ticks; t++) {
+			if (ticking.random())
+				arrivals[(t / profile.getPeriod()) % profile.size()]++;
+			if (bernoulli.random())
+				bernoulliArrivals[(t / profile.getPeriod()) % profile.size()]++;
+		}
+		int t = 0;
+		int skipped = 0;
+		while ((t += skipping.skip(ticks - t)) < ticks) {
+			skipped++;
+			t++;
+		}
+		
+		int total = 0;
+		for (int i = 0; i < profile.size(); i++) {
+			double expected = probability * profile.getFactor(i) * ticks / profile.size();
+			assertEquals(expected, arrivals[i], 4 * Math.sqrt(expected) + 1e-9);
+			assertEquals(expected, bernoulliArrivals[i], 4 * Math.sqrt(expected) + 1e-9);
+			total += arrivals[i];
+		}
+		assertEquals(total, skipped);
+		assertEquals(profile.getExpectedArrivals(probability, ticks), probability * 3.5 * ticks / profile.size(), 1e-6);
+	}
+
+}
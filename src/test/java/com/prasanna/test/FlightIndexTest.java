@@ -0,0 +1,99 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.FlightAction;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.results.FlightIndex;
+import com.prasanna.sim.FlightListener;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the FlightIndex
+ *
+ * @author pramakr2
+ *
+ */
+public class FlightIndexTest {
+
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+
+	/**
+	 * Queries of an index built while the simulation runs should give the same answers as a scan of every completed flight.
+	 */
+	@Test
+	public void queriesMatchScanOfEveryFlight(){
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 20000);
+		SmartAirportSimulator simulator = new SmartAirportSimulator(config, SimulationEngine.EVENT, ArrivalMode.GEOMETRIC, 4L, RunwayUse.MIXED);
+		final FlightIndex index = new FlightIndex(60);
+		final List<int[]> flights = new ArrayList<int[]>();
+		simulator.setFlightListener(new FlightListener() {
+			@Override
+			public void completed(long flight, FlightAction action, int arrivalTick, int runwayStartTick, int completionTick, int waitTime) {
+				flights.add(new int[] { action.ordinal(), arrivalTick, runwayStartTick, completionTick, waitTime });
+				index.completed(flight, action, arrivalTick, runwayStartTick, completionTick, waitTime);
+			}
+		});
+		simulator.simulate();
+		assertEquals(flights.size(), index.getFlights());
+		int[][] depths = new int[2][config.getSimulationLength() + 2];
+		for (int[] flight : flights) {
+			for (int t = flight[1]; t < flight[2]; t++) {
+				depths[flight[0] == FlightAction.LANDED.ordinal() ? 0 : 1][t]++;
+			}
+		}
+
+		Random random = new Random(1);
+		for (int query = 0; query < 300; query++) {
+			FlightAction action = random.nextBoolean() ? FlightAction.LANDED : FlightAction.TAKEN_OFF;
+			int from = random.nextInt(21000) - 500;
+			int to = from + random.nextInt(query % 2 == 0 ? 200 : 8000);
+			int minWait = random.nextInt(8) - 1;
+			long count = 0;
+			int maxWait = Integer.MIN_VALUE;
+			for (int[] flight : flights) {
+				if (flight[0] == action.ordinal() && from <= flight[3] && flight[3] < to) {
+					maxWait = Math.max(maxWait, flight[4]);
+					if (flight[4] > minWait)
+						count++;
+				}
+			}
+			int maxDepth = 0;
+			for (int t = Math.max(0, from); t < Math.min(to, depths[0].length); t++) {
+				maxDepth = Math.max(maxDepth, depths[FlightAction.LANDED.equals(action) ? 0 : 1][t]);
+			}
+			assertEquals(count, index.count(action, from, to, minWait));
+			assertEquals(maxWait, index.getMaxWait(action, from, to));
+			assertEquals(maxDepth, index.getMaxQueueDepth(action, from, to));
+			final long[] selected = new long[1];
+			final int threshold = minWait;
+			index.select(action, from, to, minWait, new FlightListener() {
+				@Override
+				public void completed(long flight, FlightAction action, int arrivalTick, int runwayStartTick, int completionTick, int waitTime) {
+					assertTrue(waitTime > threshold);
+					selected[0]++;
+				}
+			});
+			assertEquals(count, selected[0]);
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.FlightAction;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.results.FlightResultBlock;
+import com.prasanna.results.FlightResultReader;
+import com.prasanna.results.FlightResultWriter;
+import com.prasanna.results.ResultsException;
+import com.prasanna.sim.FlightListener;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the per-flight results FlightResultWriter and FlightResultReader
+ *
+ * @author pramakr2
+ *
+ */
+public class FlightResultTest {
+
+	/**
+	 * Folder for the files written by the tests.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+
+	/**
+	 * Flights read back should be the flights written, over several blocks and with values going back and forth.
+	 *
+	 * @throws IOException If the results can not be written or read.
+	 */
+	@Test
+	public void flightsReadBackAsWritten() throws IOException{
+		File file = folder.newFile("flights.results");
+		int flights = 2 * FlightResultWriter.BLOCK_FLIGHTS + 123;
+		long[][] written = new long[flights][];
+		Random random = new Random(5);
+		FlightResultWriter writer = new FlightResultWriter(file.toPath());
+		for (int i = 0; i < flights; i++) {
+			int arrival = random.nextInt(Integer.MAX_VALUE / 2);
+			int start = arrival + random.nextInt(1000);
+			int completion = start + 1 + random.nextInt(5);
+			long[] flight = { random.nextLong(), random.nextInt(2), arrival, start, completion, random.nextInt() };
+			writer.completed(flight[0], flight[1] == 0 ? FlightAction.LANDED : FlightAction.TAKEN_OFF, arrival, start, completion, (int) flight[5]);
+			written[i] = flight;
+		}
+		writer.close();
+
+		FlightResultReader reader = new FlightResultReader(file.toPath());
+		assertEquals(flights, reader.getFlights());
+		assertEquals(3, reader.getBlockCount());
+		FlightResultBlock block = new FlightResultBlock();
+		/*
+		 * Blocks are read out of order, every block is found through the index.
+		 */
+		for (int b = reader.getBlockCount() - 1; b >= 0; b--) {
+			reader.read(b, block);
+			assertEquals(reader.getBlockFlights(b), block.size());
+			for (int i = 0; i < block.size(); i++) {
+				long[] flight = written[b * FlightResultWriter.BLOCK_FLIGHTS + i];
+				long[] read = { block.getId(i), FlightAction.LANDED.equals(block.getAction(i)) ? 0 : 1, block.getArrivalTick(i), block.getRunwayStartTick(i), block.getCompletionTick(i), block.getWaitTime(i) };
+				assertArrayEquals(flight, read);
+			}
+		}
+		reader.close();
+		assertTrue(file.length() < (long) flights * (8 + 4 * 4));
+	}
+
+	/**
+	 * Every flight which leaves the runway should be written once, with the same results from both engines, and a file which was not closed should be refused.
+	 *
+	 * @throws IOException If the results can not be written or read.
+	 */
+	@Test
+	public void simulationWritesEveryCompletedFlight() throws IOException{
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 20000);
+		long[][] results = new long[2][];
+		for (SimulationEngine engine : SimulationEngine.values()) {
+			File file = folder.newFile("flights-" + engine + ".results");
+			SmartAirportSimulator simulator = new SmartAirportSimulator(config, engine, ArrivalMode.BERNOULLI, 11L, RunwayUse.MIXED, RunwayUse.TAKEOFF_ONLY);
+			FlightResultWriter writer = new FlightResultWriter(file.toPath());
+			simulator.setFlightListener(writer);
+			simulator.simulate();
+			writer.close();
+
+			final long[] summary = new long[3];
+			final SimulationConfig checked = config;
+			FlightResultReader reader = new FlightResultReader(file.toPath());
+			reader.scan(new FlightListener() {
+				@Override
+				public void completed(long flight, FlightAction action, int arrivalTick, int runwayStartTick, int completionTick, int waitTime) {
+					int runwayTime = FlightAction.LANDED.equals(action) ? checked.getLandingTime() : checked.getTakeOffTime();
+					assertEquals(runwayTime, completionTick - runwayStartTick);
+					assertEquals(checked.getWaitTime() + (runwayStartTick - arrivalTick) * checked.getDeltaWaitTime(), waitTime);
+					summary[FlightAction.LANDED.equals(action) ? 0 : 1]++;
+					summary[2] += 31 * flight + waitTime;
+				}
+			});
+			reader.close();
+			assertEquals(simulator.getTotalFlightsLanded(), summary[0]);
+			assertEquals(simulator.getTotalFlightsTakenOff(), summary[1]);
+			assertTrue(summary[0] > FlightResultWriter.BLOCK_FLIGHTS);
+			results[engine.ordinal()] = summary;
+		}
+		assertArrayEquals(results[0], results[1]);
+
+		File unclosed = folder.newFile("unclosed.results");
+		FlightResultWriter writer = new FlightResultWriter(unclosed.toPath());
+		writer.completed(1, FlightAction.LANDED, 0, 0, 2, 0);
+		try {
+			new FlightResultReader(unclosed.toPath()).close();
+			assertTrue("An unclosed results file should be refused", false);
+		} catch (ResultsException e) {
+			// expected, the trailer is written on close
+		} finally {
+			writer.close();
+		}
+	}
+
+}
@@ -0,0 +1,138 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.model.FlightNumbers;
+import com.prasanna.model.FlightStore;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the FlightStore
+ *
+ * @author pramakr2
+ *
+ */
+public class FlightStoreTest {
+
+	private static final int RUN = FlightNumbers.run(9L, false);
+
+	@BeforeClass
+	public static void setup(){
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+	}
+
+	/**
+	 * Slots of removed flights should be reused last removed first before new slots are used, flights added past the initial capacity
+	 * should grow the columns without losing the flights already in the store.
+	 */
+	@Test
+	public void slotsAreReused(){
+		FlightStore store = new FlightStore(RUN);
+		int initialCapacity = store.capacity();
+		int flights = initialCapacity + 10;
+		for (int i = 0; i < flights; i++) {
+			assertEquals(i, store.add(action(i), i, runwayTime(i)));
+		}
+		assertEquals(flights, store.size());
+		assertTrue(store.capacity() > initialCapacity);
+
+		store.remove(3);
+		store.remove(initialCapacity + 5);
+		store.remove(10);
+		assertEquals(flights - 3, store.size());
+
+		long id = FlightNumbers.first(RUN) + flights;
+		assertEquals(10, store.add(FlightAction.LANDING, 100, 2));
+		assertEquals(initialCapacity + 5, store.add(FlightAction.TAKING_OFF, 101, 3));
+		assertEquals(3, store.add(FlightAction.LANDING, 102, 2));
+		assertEquals(flights, store.add(FlightAction.TAKING_OFF, 103, 3));
+		assertEquals(flights + 1, store.size());
+
+		assertEquals(id, store.getId(10));
+		assertEquals(FlightAction.LANDING, store.getAction(10));
+		assertEquals(100, store.getArrivalTime(10));
+		assertEquals(id + 1, store.getId(initialCapacity + 5));
+		assertEquals(FlightAction.TAKING_OFF, store.getAction(initialCapacity + 5));
+		assertEquals(101, store.getArrivalTime(initialCapacity + 5));
+		assertEquals(3, store.getRunwayTime(initialCapacity + 5));
+		assertEquals(id + 2, store.getId(3));
+		assertEquals(id + 3, store.getId(flights));
+
+		for (int slot = 0; slot < flights; slot++) {
+			if (slot == 3 || slot == 10 || slot == initialCapacity + 5)
+				continue;
+			assertEquals(FlightNumbers.first(RUN) + slot, store.getId(slot));
+			assertEquals(action(slot), store.getAction(slot));
+			assertEquals(slot, store.getArrivalTime(slot));
+			assertEquals(runwayTime(slot), store.getRunwayTime(slot));
+		}
+	}
+
+	/**
+	 * Store restored from a checkpoint should hold the flights in the same slots with the same columns, and number and place
+	 * the next flights as the checkpointed store does.
+	 *
+	 * @throws IOException If the checkpoint can not be written or read.
+	 */
+	@Test
+	public void checkpointKeepsSlotsAndNumbers() throws IOException{
+		FlightStore store = new FlightStore(RUN);
+		int flights = store.capacity() * 2 + 3;
+		for (int i = 0; i < flights; i++) {
+			int slot = store.add(action(i), i, runwayTime(i));
+			store.setWaitTime(slot, 2 * i + 1);
+		}
+		store.remove(5);
+		store.remove(flights - 1);
+		store.remove(40);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		store.checkpoint(out);
+		out.close();
+		FlightStore restored = new FlightStore();
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		restored.restore(in);
+		in.close();
+
+		assertEquals(store.size(), restored.size());
+		for (int slot = 0; slot < flights; slot++) {
+			if (slot == 5 || slot == 40 || slot == flights - 1)
+				continue;
+			assertEquals(store.getId(slot), restored.getId(slot));
+			assertEquals(store.getAction(slot), restored.getAction(slot));
+			assertEquals(store.getArrivalTime(slot), restored.getArrivalTime(slot));
+			assertEquals(store.getRunwayTime(slot), restored.getRunwayTime(slot));
+			assertEquals(store.getWaitTime(slot), restored.getWaitTime(slot));
+		}
+
+		for (int i = 0; i < 5; i++) {
+			int slot = store.add(FlightAction.LANDING, flights + i, 2);
+			assertEquals(slot, restored.add(FlightAction.LANDING, flights + i, 2));
+			assertEquals(store.getId(slot), restored.getId(slot));
+			assertEquals(RUN, FlightNumbers.getRun(restored.getId(slot)));
+			assertEquals(flights + i, FlightNumbers.getSequence(restored.getId(slot)));
+		}
+		assertEquals(store.size(), restored.size());
+	}
+
+	private static FlightAction action(int i) {
+		return i % 3 == 0 ? FlightAction.TAKING_OFF : FlightAction.LANDING;
+	}
+
+	private static int runwayTime(int i) {
+		return i % 3 == 0 ? 3 : 2;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.model.GatePool;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the GatePool
+ * 
+ * @author pramakr2
+ * 
+ */
+public class GatePoolTest {
+	
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+	
+	/**
+	 * The gate pool should hand out the same gates as a linear scan: the smallest compatible gate free on arrival, or else the compatible gate free first.
+	 */
+	@Test
+	public void allocationMatchesLinearScan(){
+		Random random = new Random(9);
+		int[] sizes = new int[300];
+		for (int gate = 0; gate < sizes.length; gate++) {
+			sizes[gate] = 1 + random.nextInt(4);
+		}
+		GatePool gates = new GatePool(sizes);
+		int[] sorted = sizes.clone();
+		Arrays.sort(sorted);
+		long[] occupiedUntil = new long[sorted.length];
+		long t = 0;
+		for (int i = 0; i < 20000; i++) {
+			t += random.nextInt(3);
+			int size = 1 + random.nextInt(5);
+			int turnaround = 1 + random.nextInt(400);
+			int expected = GatePool.NO_GATE;
+			for (int gate = 0; gate < sorted.length; gate++) {
+				if (sorted[gate] >= size && occupiedUntil[gate] <= t) {
+					expected = gate;
+					break;
+				}
+			}
+			for (int gate = 0; expected == GatePool.NO_GATE && gate < sorted.length; gate++) {
+				if (sorted[gate] >= size && (expected == GatePool.NO_GATE || occupiedUntil[gate] < occupiedUntil[expected]))
+					expected = gate;
+			}
+			if (expected != GatePool.NO_GATE)
+				occupiedUntil[expected] = Math.max(t, occupiedUntil[expected]) + turnaround;
+			
+			int gate = gates.allocate(size, t, turnaround);
+			assertEquals(expected, gate);
+			if (gate != GatePool.NO_GATE)
+				assertEquals(occupiedUntil[gate], gates.getOccupiedUntil(gate));
+		}
+	}
+	
+	/**
+	 * With gates both engines should give the same results, and too few gates should hold landed flights back.
+	 */
+	@Test
+	public void gatesHoldBackLandedFlights(){
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 5000)
+				.with(SimulationConfig.LANDING_PROBABILITY, 0.1).with(SimulationConfig.TAKEOFF_PROBABILITY, 0);
+		long[] gateWaits = new long[2];
+		int[] gateCounts = { 4, 40 };
+		for (int i = 0; i < gateCounts.length; i++) {
+			int[] sizes = new int[gateCounts[i]];
+			Arrays.fill(sizes, config.getLandingTime());
+			SmartAirportSimulator tickSimulator = new SmartAirportSimulator(config, SimulationEngine.TICK, ArrivalMode.BERNOULLI, 3L, RunwayUse.MIXED);
+			tickSimulator.setGates(new GatePool(sizes), 2, 60, 3);
+			tickSimulator.simulate();
+			SmartAirportSimulator eventSimulator = new SmartAirportSimulator(config, SimulationEngine.EVENT, ArrivalMode.BERNOULLI, 3L, RunwayUse.MIXED);
+			eventSimulator.setGates(new GatePool(sizes), 2, 60, 3);
+			eventSimulator.simulate();
+			
+			assertEquals(tickSimulator.getTotalFlightsTakenOff(), eventSimulator.getTotalFlightsTakenOff());
+			assertEquals(tickSimulator.getTotalTakeOffWaitTime(), eventSimulator.getTotalTakeOffWaitTime());
+			assertEquals(tickSimulator.getTotalGateWaitTime(), eventSimulator.getTotalGateWaitTime());
+			assertEquals(tickSimulator.getTotalFlightsLanded(), tickSimulator.getTotalGateTurnarounds());
+			assertTrue(tickSimulator.getTotalFlightsTakenOff() > 0);
+			gateWaits[i] = tickSimulator.getTotalGateWaitTime();
+		}
+		assertTrue(gateWaits[0] > 0);
+		assertEquals(0, gateWaits[1]);
+	}
+	
+}
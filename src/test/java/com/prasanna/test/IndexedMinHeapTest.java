@@ -0,0 +1,54 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import com.prasanna.util.IndexedMinHeap;
+
+/**
+ * Class which tests the IndexedMinHeap
+ * 
+ * @author pramakr2
+ * 
+ */
+public class IndexedMinHeapTest {
+	
+	/**
+	 * Items should come out of the heap in the same order as out of a PriorityQueue {@link PriorityQueue}, also when keys are decreased.
+	 */
+	@Test
+	public void pollsInKeyOrder(){
+		IndexedMinHeap heap = new IndexedMinHeap();
+		PriorityQueue<long[]> reference = new PriorityQueue<long[]>((a, b) -> a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(a[2], b[2]));
+		long[][] entries = new long[1000][];
+		SplittableRandom random = new SplittableRandom(5L);
+		long tie = 0;
+		for (int round = 0; round < 100000; round++) {
+			int item = random.nextInt(entries.length);
+			int operation = random.nextInt(3);
+			if (operation == 0 && entries[item] == null) {
+				entries[item] = new long[] { item, random.nextInt(500), tie++ };
+				heap.offer(item, entries[item][1], entries[item][2]);
+				reference.offer(entries[item]);
+			} else if (operation == 1 && entries[item] != null) {
+				reference.remove(entries[item]);
+				entries[item][1] -= random.nextInt(100);
+				heap.decreaseKey(item, entries[item][1]);
+				reference.offer(entries[item]);
+			} else if (operation == 2 && !reference.isEmpty()) {
+				long[] first = reference.poll();
+				assertEquals(first[0], heap.poll());
+				entries[(int) first[0]] = null;
+			}
+			assertEquals(reference.size(), heap.size());
+		}
+		while (!reference.isEmpty()) {
+			assertEquals(reference.poll()[0], heap.poll());
+		}
+	}
+
+}
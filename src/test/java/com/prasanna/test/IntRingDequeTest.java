@@ -0,0 +1,50 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.prasanna.util.IntRingDeque;
+
+/**
+ * Class which tests the IntRingDeque
+ * 
+ * @author pramakr2
+ * 
+ */
+public class IntRingDequeTest {
+	
+	/**
+	 * Ring buffer {@link IntRingDeque} should behave like {@link ArrayDeque} while it wraps around and grows.
+	 */
+	@Test
+	public void behavesLikeArrayDeque(){
+		IntRingDeque deque = new IntRingDeque();
+		ArrayDeque<Integer> expected = new ArrayDeque<Integer>();
+		Random random = new Random(5L);
+		for (int i = 0; i < 100000; i++) {
+			int operation = random.nextInt(5);
+			if (operation < 2) {
+				deque.offer(i);
+				expected.offerLast(i);
+			} else if (operation == 2) {
+				deque.offerFirst(i);
+				expected.offerFirst(i);
+			} else if (!expected.isEmpty()) {
+				assertEquals(expected.peekFirst().intValue(), deque.peek());
+				assertEquals(expected.pollFirst().intValue(), deque.poll());
+			}
+			assertEquals(expected.size(), deque.size());
+		}
+		int index = 0;
+		for (Integer value : expected) {
+			assertEquals(value.intValue(), deque.get(index++));
+		}
+		assertTrue(deque.size() > 16);
+	}
+
+}
@@ -0,0 +1,160 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.network.AirportNetwork;
+import com.prasanna.network.NetworkResult;
+import com.prasanna.network.NetworkSimulator;
+import com.prasanna.sim.SimulationResult;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the NetworkSimulator
+ * 
+ * @author pramakr2
+ * 
+ */
+public class NetworkSimulatorTest {
+	
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+	
+	/**
+	 * A network simulated on several threads should give the same results {@link NetworkResult} as on one thread, for both engines.
+	 */
+	@Test
+	public void resultsDoNotDependOnThreads(){
+		AirportNetwork network = AirportNetwork.fullMesh(5, 3, 0.6, RunwayUse.MIXED, RunwayUse.LANDING_ONLY);
+		for (SimulationEngine engine : SimulationEngine.values()) {
+			NetworkResult sequential = new NetworkSimulator(network, engine, 42L, 1).simulate();
+			NetworkResult parallel = new NetworkSimulator(network, engine, 42L, 3).simulate();
+			assertSameResults(sequential, parallel);
+		}
+	}
+	
+	/**
+	 * The tick engine and the discrete-event engine should give the same results {@link NetworkResult} for the same network and seed.
+	 */
+	@Test
+	public void eventEngineMatchesTickEngine(){
+		AirportNetwork network = AirportNetwork.fullMesh(3, 2, 1, RunwayUse.MIXED);
+		assertSameResults(new NetworkSimulator(network, SimulationEngine.TICK, 7L, 2).simulate(),
+				new NetworkSimulator(network, SimulationEngine.EVENT, 7L, 2).simulate());
+	}
+	
+	/**
+	 * Every flight handed over is either received by its destination airport or still in the air at the end.
+	 */
+	@Test
+	public void handoffsAreConserved(){
+		AirportNetwork network = new AirportNetwork();
+		network.addAirport(RunwayUse.MIXED);
+		network.addAirport(RunwayUse.MIXED, RunwayUse.TAKEOFF_ONLY);
+		network.addRoute(0, 1, 4, 0.5);
+		network.addRoute(1, 0, 6, 1);
+		NetworkResult result = new NetworkSimulator(network, SimulationEngine.EVENT, 3L, 2).simulate();
+		
+		int handedOver = result.getHandedOver(0) + result.getHandedOver(1);
+		int received = result.getReceived(0) + result.getReceived(1);
+		assertTrue(result.getReceived(0) > 0);
+		assertTrue(result.getReceived(1) > 0);
+		assertEquals(handedOver, received + result.getInFlight());
+	}
+	
+	/**
+	 * Flights handed over which arrive after the simulation length are still in the air at the end, not received.
+	 * With a flight time as long as the simulation, no departure can arrive in time.
+	 */
+	@Test
+	public void lateArrivalsAreNotReceived(){
+		AirportNetwork network = new AirportNetwork();
+		network.addAirport(RunwayUse.MIXED);
+		network.addAirport(RunwayUse.MIXED);
+		network.addRoute(0, 1, SmartAirportSimulator.SIMULATION_LENGTH, 1);
+		NetworkResult result = new NetworkSimulator(network, SimulationEngine.TICK, 3L, 2).simulate();
+		
+		assertTrue(result.getHandedOver(0) > 0);
+		assertEquals(0, result.getReceived(1));
+		assertEquals(result.getHandedOver(0), result.getInFlight());
+	}
+	
+	/**
+	 * An airport failing while a slower airport of another thread has not reached the barrier yet should fail the simulation,
+	 * not leave the slower thread waiting at the barrier for good.
+	 */
+	@Test(timeout = 10000)
+	public void failingAirportFailsSimulation(){
+		AirportNetwork network = AirportNetwork.fullMesh(3, 2, 1, RunwayUse.MIXED);
+		NetworkSimulator simulator = new NetworkSimulator(network, SimulationEngine.TICK, 5L, 3) {
+			private int airports;
+			
+			@Override
+			protected SmartAirportSimulator newAirport(SimulationEngine engine, ArrivalMode arrivalMode, long seed, RunwayUse... runwayUses) {
+				final int airport = airports++;
+				return new SmartAirportSimulator(engine, arrivalMode, seed, runwayUses) {
+					@Override
+					public void advance(int untilTick) {
+						if (airport == 2)
+							throw new IllegalStateException("Airport failed");
+						if (airport == 0) {
+							try {
+								Thread.sleep(300);
+							} catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+							}
+						}
+						super.advance(untilTick);
+					}
+				};
+			}
+		};
+		try {
+			simulator.simulate();
+			fail("Network simulation should fail");
+		} catch (IllegalStateException e) {
+			assertEquals("Airport failed", e.getMessage());
+		}
+	}
+	
+	/**
+	 * The shares of the routes leaving an airport must not add up to more than 1.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void sharesMustNotExceedOne(){
+		AirportNetwork network = AirportNetwork.fullMesh(2, 3, 0.6, RunwayUse.MIXED);
+		network.addRoute(0, 1, 5, 0.5);
+	}
+	
+	private void assertSameResults(NetworkResult expected, NetworkResult actual) {
+		assertEquals(expected.getInFlight(), actual.getInFlight());
+		for (int i = 0; i < expected.getAirports(); i++) {
+			SimulationResult a = expected.getResult(i);
+			SimulationResult b = actual.getResult(i);
+			assertEquals(expected.getHandedOver(i), actual.getHandedOver(i));
+			assertEquals(expected.getReceived(i), actual.getReceived(i));
+			assertEquals(a.getFlightsLanded(), b.getFlightsLanded());
+			assertEquals(a.getFlightsTakenOff(), b.getFlightsTakenOff());
+			assertEquals(a.getFlightsWaitingToLand(), b.getFlightsWaitingToLand());
+			assertEquals(a.getFlightsWaitingToTakeOff(), b.getFlightsWaitingToTakeOff());
+			assertEquals(a.getFlightsCrashed(), b.getFlightsCrashed());
+			assertEquals(a.getLandingWaitTime(), b.getLandingWaitTime());
+			assertEquals(a.getTakeOffWaitTime(), b.getTakeOffWaitTime());
+			assertEquals(a.getAverageLandingQueueLength(), b.getAverageLandingQueueLength(), 0);
+		}
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.cluster.ClusterException;
+import com.prasanna.cluster.ReplicationCoordinator;
+import com.prasanna.cluster.ReplicationWorker;
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.sim.ReplicationRunner;
+import com.prasanna.sim.ReplicationSummary;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the distributed replications ReplicationCoordinator and ReplicationWorker
+ *
+ * @author pramakr2
+ *
+ */
+public class ReplicationCoordinatorTest {
+
+	private static final RunwayUse[] RUNWAYS = { RunwayUse.MIXED, RunwayUse.TAKEOFF_ONLY };
+
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+
+	/**
+	 * Replications spread over workers, some of which fail or die, should give the summary of the same replications on one machine.
+	 *
+	 * @throws Exception If the coordinator or a worker fails.
+	 */
+	@Test
+	public void workersMatchOneMachineDespiteFailures() throws Exception{
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 500);
+		ReplicationCoordinator coordinator = new ReplicationCoordinator(config, SimulationEngine.EVENT, ArrivalMode.GEOMETRIC, RUNWAYS, false, 3, 0);
+		final AtomicInteger failures = new AtomicInteger(1);
+		List<Thread> workers = new ArrayList<Thread>();
+		workers.add(start(new ReplicationWorker("localhost", coordinator.getPort(), 2)));
+		workers.add(start(new ReplicationWorker("localhost", coordinator.getPort(), 1) {
+			@Override
+			protected ReplicationSummary replicate(ReplicationRunner runner, long[] seeds) {
+				if (failures.getAndDecrement() > 0)
+					throw new IllegalStateException("Replication failed");
+				return super.replicate(runner, seeds);
+			}
+		}));
+		workers.add(start(new ReplicationWorker("localhost", coordinator.getPort(), 1) {
+			@Override
+			protected ReplicationSummary replicate(ReplicationRunner runner, long[] seeds) {
+				throw new Error("Worker died");
+			}
+		}));
+		ReplicationSummary distributed = coordinator.run(20, 9L);
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		ReplicationSummary local = new ReplicationRunner(config, SimulationEngine.EVENT, ArrivalMode.GEOMETRIC, RUNWAYS, 4, false).run(20, 9L);
+		assertEquals(20, distributed.getReplications());
+		assertEquals(local.getFlightsLanded().getMean(), distributed.getFlightsLanded().getMean(), 1e-9);
+		assertEquals(local.getTakeOffWaitTime().getMean(), distributed.getTakeOffWaitTime().getMean(), 1e-9);
+		assertEquals(local.getTakeOffWaitTime().getHalfWidth(), distributed.getTakeOffWaitTime().getHalfWidth(), 1e-9);
+		assertEquals(local.getLandingWaitTimes().getCount(), distributed.getLandingWaitTimes().getCount());
+		assertEquals(local.getTakeOffWaitTimes().getPercentile(99), distributed.getTakeOffWaitTimes().getPercentile(99));
+		assertEquals(local.getControlledTakeOffWaitTime().getMean(), distributed.getControlledTakeOffWaitTime().getMean(), 1e-9);
+	}
+
+	/**
+	 * A task which fails on every attempt should fail the study.
+	 *
+	 * @throws Exception If the coordinator is interrupted.
+	 */
+	@Test(expected = ClusterException.class)
+	public void taskFailingEveryAttemptFailsStudy() throws Exception{
+		ReplicationCoordinator coordinator = new ReplicationCoordinator(SimulationConfig.defaults(), SimulationEngine.EVENT, ArrivalMode.GEOMETRIC, RUNWAYS, false, 3, 0);
+		start(new ReplicationWorker("localhost", coordinator.getPort(), 1) {
+			@Override
+			protected ReplicationSummary replicate(ReplicationRunner runner, long[] seeds) {
+				throw new IllegalStateException("Replication failed");
+			}
+		});
+		coordinator.run(6, 1L);
+	}
+
+	/**
+	 * Workers which hang with their connection open should time out, and a task timing out on every attempt should fail the study.
+	 *
+	 * @throws Exception If the coordinator is interrupted.
+	 */
+	@Test(expected = ClusterException.class, timeout = 30000)
+	public void hangingWorkersTimeOut() throws Exception{
+		ReplicationCoordinator coordinator = new ReplicationCoordinator(SimulationConfig.defaults(), SimulationEngine.EVENT, ArrivalMode.GEOMETRIC, RUNWAYS, false, 2, 0);
+		coordinator.setTimeout(200, 1);
+		final CountDownLatch released = new CountDownLatch(1);
+		try {
+			for (int i = 0; i < ReplicationCoordinator.MAX_ATTEMPTS; i++) {
+				start(new ReplicationWorker("localhost", coordinator.getPort(), 1) {
+					@Override
+					protected ReplicationSummary replicate(ReplicationRunner runner, long[] seeds) {
+						try {
+							released.await();
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+						return super.replicate(runner, seeds);
+					}
+				});
+			}
+			coordinator.run(2, 1L);
+		} finally {
+			released.countDown();
+		}
+	}
+
+	private static Thread start(final ReplicationWorker worker) {
+		Thread thread = new Thread(() -> {
+			try {
+				worker.run();
+			} catch (IOException | Error e) {
+				// the worker is lost, the coordinator runs its task elsewhere
+			}
+		});
+		thread.start();
+		return thread;
+	}
+
+}
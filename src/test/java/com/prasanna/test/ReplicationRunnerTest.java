@@ -0,0 +1,64 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.sim.ReplicationRunner;
+import com.prasanna.sim.ReplicationSummary;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the ReplicationRunner
+ * 
+ * @author pramakr2
+ * 
+ */
+public class ReplicationRunnerTest {
+	
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+	
+	/**
+	 * Replications run on several threads should give the same summary {@link ReplicationSummary} as replications run on one thread.
+	 */
+	@Test
+	public void summaryDoesNotDependOnParallelism(){
+		RunwayUse[] runways = { RunwayUse.MIXED };
+		ReplicationSummary sequential = new ReplicationRunner(SimulationEngine.EVENT, runways, 1).run(32, 42L);
+		ReplicationSummary parallel = new ReplicationRunner(SimulationEngine.EVENT, runways, 4).run(32, 42L);
+		
+		assertEquals(32, sequential.getReplications());
+		assertEquals(32, parallel.getReplications());
+		assertEquals(sequential.getFlightsLanded().getMean(), parallel.getFlightsLanded().getMean(), 0);
+		assertEquals(sequential.getFlightsTakenOff().getVariance(), parallel.getFlightsTakenOff().getVariance(), 0);
+		assertEquals(sequential.getLandingWaitTime().getHalfWidth(), parallel.getLandingWaitTime().getHalfWidth(), 0);
+		assertEquals(sequential.getFlightsCrashed().getMean(), parallel.getFlightsCrashed().getMean(), 0);
+	}
+	
+	/**
+	 * Antithetic pairs and control variates should give narrower confidence intervals of the landing wait time for the same number of simulations.
+	 */
+	@Test
+	public void varianceReductionNarrowsIntervals(){
+		RunwayUse[] runways = { RunwayUse.MIXED };
+		ReplicationSummary independent = new ReplicationRunner(SimulationEngine.EVENT, runways, 4).run(128, 1L);
+		ReplicationSummary antithetic = new ReplicationRunner(SimulationEngine.EVENT, runways, 4, true).run(64, 1L);
+		
+		assertEquals(64, antithetic.getReplications());
+		assertTrue(antithetic.getLandingWaitTime().getHalfWidth() < independent.getLandingWaitTime().getHalfWidth());
+		assertTrue(independent.getControlledLandingWaitTime().getHalfWidth() < independent.getLandingWaitTime().getHalfWidth());
+		assertEquals(independent.getLandingWaitTime().getMean(), independent.getControlledLandingWaitTime().getRawMean(), 1e-9);
+		assertEquals(independent.getLandingWaitTime().getMean(), independent.getControlledLandingWaitTime().getMean(), independent.getLandingWaitTime().getHalfWidth());
+	}
+
+}
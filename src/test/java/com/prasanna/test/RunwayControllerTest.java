@@ -0,0 +1,142 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.live.RunwayController;
+import com.prasanna.live.RunwayGrant;
+import com.prasanna.policy.StrictLandingPolicy;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the RunwayController
+ * 
+ * @author pramakr2
+ * 
+ */
+public class RunwayControllerTest {
+	
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+	
+	/**
+	 * Requests submitted concurrently by several threads should all get a runway, and never two flights the same runway at the same time.
+	 */
+	@Test
+	public void concurrentRequestsGetRunways() throws Exception {
+		final RunwayController controller = new RunwayController(new StrictLandingPolicy(), 0, RunwayUse.MIXED, RunwayUse.LANDING_ONLY);
+		controller.start();
+		final int producers = 4;
+		final int requests = 500;
+		final List<List<CompletableFuture<RunwayGrant>>> futures = new ArrayList<List<CompletableFuture<RunwayGrant>>>();
+		final CountDownLatch go = new CountDownLatch(1);
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int p = 0; p < producers; p++) {
+			final List<CompletableFuture<RunwayGrant>> own = new ArrayList<CompletableFuture<RunwayGrant>>();
+			futures.add(own);
+			final boolean landing = p % 2 == 0;
+			Thread thread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						go.await();
+					} catch (InterruptedException e) {
+						return;
+					}
+					for (int i = 0; i < requests; i++) {
+						own.add(controller.request(landing ? FlightAction.LANDING : FlightAction.TAKING_OFF, 1 + i % 3));
+					}
+				}
+			});
+			threads.add(thread);
+			thread.start();
+		}
+		go.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		
+		List<RunwayGrant> grants = new ArrayList<RunwayGrant>();
+		for (List<CompletableFuture<RunwayGrant>> own : futures) {
+			for (CompletableFuture<RunwayGrant> future : own) {
+				grants.add(future.get(30, TimeUnit.SECONDS));
+			}
+		}
+		controller.stop();
+		
+		assertEquals(producers * requests, grants.size());
+		assertEquals(producers * requests, controller.getGranted());
+		for (RunwayGrant a : grants) {
+			assertTrue(a.getWaitTicks() >= 0);
+			if (FlightAction.TAKING_OFF.equals(a.getAction()))
+				assertEquals(0, a.getRunway());
+			for (RunwayGrant b : grants) {
+				if (a != b && a.getRunway() == b.getRunway())
+					assertFalse(a.getGrantTick() <= b.getGrantTick() && b.getGrantTick() <= a.getGrantTick() + a.getRunwayTime());
+			}
+		}
+	}
+	
+	/**
+	 * A request cancelled while waiting in its queue should not take a runway, the next request gets the runway as soon as it is free.
+	 */
+	@Test
+	public void cancelledWaitingRequestTakesNoRunway() throws Exception {
+		RunwayController controller = new RunwayController(new StrictLandingPolicy(), 5, RunwayUse.MIXED);
+		controller.start();
+		RunwayGrant first = controller.request(FlightAction.LANDING, 40).get(5, TimeUnit.SECONDS);
+		CompletableFuture<RunwayGrant> cancelled = controller.request(FlightAction.TAKING_OFF, 1000);
+		awaitTicks(controller, 2);
+		assertTrue(cancelled.cancel(false));
+		CompletableFuture<RunwayGrant> next = controller.request(FlightAction.TAKING_OFF, 1);
+		awaitTicks(controller, 2);
+		RunwayGrant grant = next.get(5, TimeUnit.SECONDS);
+		controller.stop();
+		assertTrue(grant.getGrantTick() <= first.getGrantTick() + first.getRunwayTime() + 1);
+		assertEquals(2, controller.getGranted());
+	}
+	
+	private static void awaitTicks(RunwayController controller, int ticks) throws InterruptedException {
+		int tick = controller.getTick() + ticks;
+		while (controller.getTick() < tick) {
+			Thread.sleep(1);
+		}
+	}
+	
+	/**
+	 * Requests which have not got a runway when the controller stops are cancelled.
+	 */
+	@Test
+	public void stopCancelsWaitingRequests() throws Exception {
+		RunwayController controller = new RunwayController(new StrictLandingPolicy(), 1000, RunwayUse.MIXED);
+		controller.start();
+		List<CompletableFuture<RunwayGrant>> futures = new ArrayList<CompletableFuture<RunwayGrant>>();
+		for (int i = 0; i < 5; i++) {
+			futures.add(controller.request(FlightAction.LANDING, 2));
+		}
+		controller.stop();
+		for (CompletableFuture<RunwayGrant> future : futures) {
+			assertTrue(future.isDone());
+		}
+		assertTrue(futures.get(4).isCancelled());
+		assertTrue(controller.request(FlightAction.TAKING_OFF, 1).isCancelled());
+	}
+
+}
@@ -0,0 +1,143 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.FlightAction;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.metrics.MetricsSnapshot;
+import com.prasanna.metrics.SimulationMetrics;
+import com.prasanna.sim.FlightListener;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the SimulationMetrics
+ * 
+ * @author pramakr2
+ * 
+ */
+public class SimulationMetricsTest {
+	
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+	
+	/**
+	 * Totals reported by simulations should add up to the totals of the simulations, and queues of finished simulations no longer count.
+	 * Reporting in strides should not change the results of a simulation.
+	 */
+	@Test
+	public void totalsAddUp(){
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 5000);
+		SimulationMetrics metrics = new SimulationMetrics();
+		long landed = 0;
+		long takenOff = 0;
+		for (SimulationEngine engine : SimulationEngine.values()) {
+			SmartAirportSimulator measured = new SmartAirportSimulator(config, engine, ArrivalMode.BERNOULLI, 11L, RunwayUse.MIXED, RunwayUse.MIXED);
+			measured.setMetrics(metrics);
+			measured.advance(3000);
+			assertEquals(1, metrics.getActiveSimulations());
+			assertEquals(measured.getLandingQueueSize(), metrics.getLandingQueueDepth());
+			measured.simulate();
+			landed += measured.getTotalFlightsLanded();
+			takenOff += measured.getTotalFlightsTakenOff();
+			
+			SmartAirportSimulator plain = new SmartAirportSimulator(config, engine, ArrivalMode.BERNOULLI, 11L, RunwayUse.MIXED, RunwayUse.MIXED);
+			plain.simulate();
+			assertEquals(plain.getTotalFlightsLanded(), measured.getTotalFlightsLanded());
+			assertEquals(plain.getTotalTakeOffWaitTime(), measured.getTotalTakeOffWaitTime());
+			assertEquals(plain.getAverageLandingQueueLength(), measured.getAverageLandingQueueLength(), 0);
+		}
+		
+		MetricsSnapshot snapshot = metrics.snapshot();
+		assertEquals(0, snapshot.getActiveSimulations());
+		assertEquals(2 * 5001, snapshot.getTicks());
+		assertEquals(landed, snapshot.getFlightsLanded());
+		assertEquals(takenOff, snapshot.getFlightsTakenOff());
+		assertEquals(0, snapshot.getLandingQueueDepth());
+		assertEquals(0, snapshot.getTakeOffQueueDepth());
+		assertTrue(snapshot.getRunwayUtilization() > 0 && snapshot.getRunwayUtilization() <= 1);
+	}
+
+	/**
+	 * Simulations which fail, and simulations which are only advanced and closed, should no longer count as active nor their queues as waiting.
+	 */
+	@Test
+	public void failedAndClosedSimulationsNoLongerCount(){
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 5000);
+		SimulationMetrics metrics = new SimulationMetrics();
+		SmartAirportSimulator failing = new SmartAirportSimulator(config, SimulationEngine.EVENT, ArrivalMode.BERNOULLI, 11L, RunwayUse.MIXED);
+		failing.setMetrics(metrics);
+		failing.setFlightListener(new FlightListener() {
+			@Override
+			public void completed(long flight, FlightAction action, int arrivalTick, int runwayStartTick, int completionTick, int waitTime) {
+				if (completionTick > 2000)
+					throw new IllegalStateException("Listener failed");
+			}
+		});
+		try {
+			failing.simulate();
+			fail("Simulation should fail");
+		} catch (IllegalStateException e) {
+			assertEquals("Listener failed", e.getMessage());
+		}
+		assertEquals(0, metrics.getActiveSimulations());
+		
+		try (SmartAirportSimulator advanced = new SmartAirportSimulator(config, SimulationEngine.TICK, ArrivalMode.BERNOULLI, 11L, RunwayUse.MIXED)) {
+			advanced.setMetrics(metrics);
+			advanced.advance(3000);
+			assertEquals(1, metrics.getActiveSimulations());
+		}
+		MetricsSnapshot snapshot = metrics.snapshot();
+		assertEquals(0, snapshot.getActiveSimulations());
+		assertEquals(0, snapshot.getLandingQueueDepth());
+		assertEquals(0, snapshot.getTakeOffQueueDepth());
+	}
+
+	/**
+	 * Bytes allocated by a thread should still count once the thread has exited.
+	 * 
+	 * @throws InterruptedException If the test is interrupted.
+	 */
+	@Test
+	public void allocationsOfExitedThreadsStillCount() throws InterruptedException{
+		SimulationMetrics metrics = new SimulationMetrics();
+		if (metrics.snapshot().getAllocatedBytes() < 0)
+			return;
+		final CountDownLatch allocated = new CountDownLatch(1);
+		final CountDownLatch measured = new CountDownLatch(1);
+		Thread thread = new Thread(() -> {
+			long[][] garbage = new long[64][];
+			for (int i = 0; i < garbage.length; i++) {
+				garbage[i] = new long[1 << 14];
+			}
+			allocated.countDown();
+			try {
+				measured.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		thread.start();
+		allocated.await();
+		long alive = metrics.snapshot().getAllocatedBytes();
+		measured.countDown();
+		thread.join();
+		assertTrue(metrics.snapshot().getAllocatedBytes() >= alive);
+	}
+
+}
@@ -1,16 +1,54 @@
 package com.prasanna.test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.FlightAction;
+import com.prasanna.constant.JournalEventType;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.journal.EventJournal;
+import com.prasanna.journal.JournalReader;
+import com.prasanna.model.Flight;
+import com.prasanna.model.FlightNumbers;
+import com.prasanna.model.FlightStore;
+import com.prasanna.policy.AgedPriorityPolicy;
+import com.prasanna.policy.LongestWaitFirstPolicy;
+import com.prasanna.policy.SchedulingPolicy;
+import com.prasanna.policy.ShortestServiceFirstPolicy;
+import com.prasanna.policy.StrictLandingPolicy;
+import com.prasanna.sim.FlightListener;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sim.SimulationResult;
 import com.prasanna.sim.SmartAirportSimulator;
+import com.prasanna.trace.TraceReader;
+import com.prasanna.trace.TraceWriter;
+import com.prasanna.util.BooleanSource;
 import com.prasanna.util.PropertiesUtil;
+import com.prasanna.util.RandomStream;
+import com.prasanna.util.RateProfile;
 
 /**
  * Class which tests the SmartAirportSimulator
@@ -27,6 +65,12 @@ public class SmartAirportSimulatorTest {
 	 */
 	private static SmartAirportSimulator smartAirportSimulator=null;
 	
+	/**
+	 * Folder for the files written by the tests.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
 	/**
 	 * Initialize SmartAirportSimulator {@link SmartAirportSimulator} before test begins.
 	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
@@ -68,6 +112,311 @@ public class SmartAirportSimulatorTest {
 		LOGGER.info("\n");
 	}
 	
+	/**
+	 * Execute the simulator SmartAirportSimulator {@link SmartAirportSimulator} with both engines {@link SimulationEngine} and the same seeds,
+	 * results should be the same.
+	 */
+	@Test
+	public void eventEngineMatchesTickEngine(){
+		for (long seed = 0; seed < 20; seed++) {
+			assertEnginesMatch(ArrivalMode.BERNOULLI, seed, RunwayUse.MIXED);
+			assertEnginesMatch(ArrivalMode.GEOMETRIC, seed, RunwayUse.MIXED);
+		}
+	}
+	
+	/**
+	 * Execute the simulator SmartAirportSimulator {@link SmartAirportSimulator} with several runways {@link RunwayUse},
+	 * results of both engines {@link SimulationEngine} should be the same.
+	 */
+	@Test
+	public void eventEngineMatchesTickEngineWithRunwayPool(){
+		for (long seed = 0; seed < 20; seed++) {
+			assertEnginesMatch(ArrivalMode.BERNOULLI, seed, RunwayUse.MIXED, RunwayUse.MIXED);
+			assertEnginesMatch(ArrivalMode.BERNOULLI, seed, RunwayUse.LANDING_ONLY, RunwayUse.TAKEOFF_ONLY);
+			assertEnginesMatch(ArrivalMode.GEOMETRIC, seed, RunwayUse.TAKEOFF_ONLY, RunwayUse.MIXED, RunwayUse.LANDING_ONLY);
+		}
+	}
+	
+	/**
+	 * The discrete-event engine should give the same results as the fixed-tick engine when arrivals follow rate profiles.
+	 */
+	@Test
+	public void eventEngineMatchesTickEngineWithRateProfile(){
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 2000)
+				.withProfiles(new RateProfile(100, 0.2, 1, 3, 0.5), new RateProfile(250, 1.5, 0.1));
+		for (ArrivalMode arrivalMode : new ArrivalMode[] { ArrivalMode.BERNOULLI, ArrivalMode.GEOMETRIC }) {
+			for (long seed = 0; seed < 10; seed++) {
+				SmartAirportSimulator tickSimulator = new SmartAirportSimulator(config, SimulationEngine.TICK, arrivalMode, seed, RunwayUse.MIXED);
+				tickSimulator.simulate();
+				SmartAirportSimulator eventSimulator = new SmartAirportSimulator(config, SimulationEngine.EVENT, arrivalMode, seed, RunwayUse.MIXED);
+				eventSimulator.simulate();
+				assertSameResults(tickSimulator, eventSimulator);
+			}
+		}
+	}
+
+	/**
+	 * Wait times computed from the arrival and runway start ticks should be the wait times the simulator used to accumulate tick by tick,
+	 * a flight waits WAIT_TIME on arrival and DELTA_WAIT_TIME more on every tick it is still waiting after the runways are assigned.
+	 *
+	 * With seed 7 and a single mixed runway, landing 2 ticks, take off 3 ticks, a runway cleared in a tick is used from the next tick,
+	 *		tick  0 T0 arrives, gets the runway at once,		wait 5,
+	 *		tick  3 L3 arrives, waits tick 3, gets the runway at 4,	wait 5 + 1 * 2 =  7,
+	 *		tick  6 T6 and L6 arrive, L6 waits tick 6, lands at 7,	wait 5 + 1 * 2 =  7,
+	 *		tick  8 T8 arrives,
+	 *		tick 10 L10 arrives, gets the runway at once,		wait 5,
+	 *		tick 11 T11 arrives,
+	 *		tick 13 T6 waits ticks 6 to 12, gets the runway,	wait 5 + 7 * 2 = 19,
+	 *		tick 17 L17 arrives, gets the runway at once,		wait 5,
+	 *		tick 19 T19 and L19 arrive, L19 gets the runway at 20,	wait 5 + 1 * 2 =  7,
+	 * so landings wait 7 + 7 + 5 + 5 + 7 = 31 and take offs 5 + 19 = 24. T8, T11 and T19 are still waiting after the last tick 20,
+	 * they wait (5 + 13 * 2) + (5 + 10 * 2) + (5 + 2 * 2) = 65.
+	 */
+	@Test
+	public void waitTimeMatchesPerTickAccumulation(){
+		SimulationConfig config = SimulationConfig.defaults().with(SimulationConfig.SIMULATION_LENGTH, 20)
+				.with(SimulationConfig.LANDING_PROBABILITY, 0.3).with(SimulationConfig.TAKEOFF_PROBABILITY, 0.3)
+				.with(SimulationConfig.LANDING_TIME, 2).with(SimulationConfig.TAKEOFF_TIME, 3)
+				.with(SimulationConfig.WAIT_TIME, 5).with(SimulationConfig.DELTA_WAIT_TIME, 2);
+		for (SimulationEngine engine : SimulationEngine.values()) {
+			SmartAirportSimulator simulator = new SmartAirportSimulator(config, engine, ArrivalMode.BERNOULLI, 7L, RunwayUse.MIXED);
+			simulator.simulate();
+			assertEquals(5, simulator.getTotalLandingRunwayUses());
+			assertEquals(2, simulator.getTotalTakeOffRunwayUses());
+			assertEquals(31, simulator.getTotalLandingWaitTime());
+			assertEquals(24, simulator.getTotalTakeOffWaitTime());
+			assertEquals(0, simulator.getLandingQueueSize());
+			assertEquals(3, simulator.getTakeOffQueueSize());
+			assertEquals(65, simulator.getWaitingFlightsWaitTime());
+		}
+	}
+
+	/**
+	 * Execute the simulator SmartAirportSimulator {@link SmartAirportSimulator} with an event journal {@link EventJournal},
+	 * the journal should hold one record per arrival, runway start, landing, take off and crash.
+	 * 
+	 * @throws IOException If the journal can not be written or read.
+	 */
+	@Test
+	public void journalRecordsEveryFlight() throws IOException{
+		File file = folder.newFile("smart-airport.journal");
+		SmartAirportSimulator simulator = new SmartAirportSimulator(SimulationEngine.EVENT, 3L, RunwayUse.MIXED);
+		EventJournal journal = new EventJournal(file.toPath());
+		simulator.setJournal(journal);
+		simulator.simulate();
+		journal.close();
+		
+		int[] counts = new int[JournalEventType.values().length];
+		JournalReader reader = new JournalReader(file.toPath());
+		while (reader.next()) {
+			counts[reader.getType().ordinal()]++;
+		}
+		reader.close();
+		
+		SimulationResult result = simulator.getResult();
+		assertEquals(result.getLandingRunwayUses() + result.getFlightsWaitingToLand(), counts[JournalEventType.LANDING_ARRIVAL.ordinal()]);
+		assertEquals(result.getTakeOffRunwayUses() + result.getFlightsWaitingToTakeOff(), counts[JournalEventType.TAKEOFF_ARRIVAL.ordinal()]);
+		assertEquals(result.getLandingRunwayUses() + result.getTakeOffRunwayUses(), counts[JournalEventType.RUNWAY_START.ordinal()]);
+		assertEquals(result.getFlightsLanded(), counts[JournalEventType.LANDED.ordinal()]);
+		assertEquals(result.getFlightsTakenOff(), counts[JournalEventType.TAKEN_OFF.ordinal()]);
+		assertEquals(result.getFlightsCrashed(), counts[JournalEventType.CRASHED.ordinal()]);
+		assertEquals(journal.getRecords(), (file.length() - EventJournal.HEADER_SIZE) / EventJournal.RECORD_SIZE);
+	}
+	
+	/**
+	 * Flight numbers {@link FlightNumbers} should carry the run prefix of the seed and a sequence number unique within the simulation,
+	 * and both engines {@link SimulationEngine} should number the flights of the same seed alike.
+	 */
+	@Test
+	public void flightNumbersDependOnSeedOnly(){
+		List<List<Long>> numbers = new ArrayList<List<Long>>();
+		for (SimulationEngine engine : SimulationEngine.values()) {
+			SmartAirportSimulator simulator = new SmartAirportSimulator(engine, 5L, RunwayUse.MIXED, RunwayUse.MIXED);
+			final List<Long> completed = new ArrayList<Long>();
+			simulator.setFlightListener(new FlightListener() {
+				@Override
+				public void completed(long flight, FlightAction action, int arrivalTick, int runwayStartTick, int completionTick, int waitTime) {
+					completed.add(flight);
+				}
+			});
+			simulator.simulate();
+			numbers.add(completed);
+		}
+		assertEquals(numbers.get(0), numbers.get(1));
+		assertTrue(!numbers.get(0).isEmpty());
+		Set<Long> sequences = new HashSet<Long>();
+		for (long number : numbers.get(0)) {
+			assertEquals(FlightNumbers.run(5L, false), FlightNumbers.getRun(number));
+			assertTrue(sequences.add(FlightNumbers.getSequence(number)));
+		}
+		assertTrue(FlightNumbers.run(5L, false) != FlightNumbers.run(5L, true));
+	}
+	
+	/**
+	 * A flight store {@link FlightStore} should fail rather than let the sequence number of a flight carry into the run prefix.
+	 * 
+	 * @throws IOException If the flight store can not be restored.
+	 */
+	@Test(expected = IllegalStateException.class)
+	public void flightNumbersDoNotCarryIntoRun() throws IOException{
+		int run = FlightNumbers.run(5L, false);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeLong(FlightNumbers.first(run + 1) - 2);
+		out.writeInt(0);
+		out.writeInt(0);
+		out.writeInt(0);
+		FlightStore flights = new FlightStore(run);
+		flights.restore(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+		int slot = flights.add(FlightAction.LANDING, 0, 2);
+		assertEquals(run, FlightNumbers.getRun(flights.getId(slot)));
+		flights.add(FlightAction.LANDING, 0, 2);
+	}
+	
+	/**
+	 * Checkpoint the simulator SmartAirportSimulator {@link SmartAirportSimulator} in the middle of the simulation and restore it,
+	 * the restored simulation should give the same results as the simulation which was never interrupted.
+	 * 
+	 * @throws IOException If the checkpoint can not be written or read.
+	 */
+	@Test
+	public void restoredSimulationContinuesIdentically() throws IOException{
+		for (SimulationEngine engine : SimulationEngine.values()) {
+			for (long seed = 0; seed < 10; seed++) {
+				SmartAirportSimulator uninterrupted = new SmartAirportSimulator(engine, ArrivalMode.GEOMETRIC, seed, RunwayUse.MIXED, RunwayUse.LANDING_ONLY);
+				uninterrupted.simulate();
+				
+				SmartAirportSimulator interrupted = new SmartAirportSimulator(engine, ArrivalMode.GEOMETRIC, seed, RunwayUse.MIXED, RunwayUse.LANDING_ONLY);
+				interrupted.advance(37);
+				SmartAirportSimulator restored = SmartAirportSimulator.restore(new ByteArrayInputStream(checkpoint(interrupted)));
+				assertEquals(38, restored.getTick());
+				restored.advance(99);
+				restored = SmartAirportSimulator.restore(new ByteArrayInputStream(checkpoint(restored)));
+				restored.simulate();
+				assertSameResults(uninterrupted, restored);
+				
+				SmartAirportSimulator bernoulli = new SmartAirportSimulator(engine, ArrivalMode.BERNOULLI, seed, RunwayUse.MIXED);
+				bernoulli.simulate();
+				SmartAirportSimulator restoredBernoulli = new SmartAirportSimulator(engine, ArrivalMode.BERNOULLI, seed, RunwayUse.MIXED);
+				restoredBernoulli.advance(50);
+				restoredBernoulli = SmartAirportSimulator.restore(new ByteArrayInputStream(checkpoint(restoredBernoulli)));
+				restoredBernoulli.simulate();
+				assertSameResults(bernoulli, restoredBernoulli);
+			}
+		}
+	}
+	
+	/**
+	 * Execute the simulator SmartAirportSimulator {@link SmartAirportSimulator} with every scheduling policy {@link SchedulingPolicy},
+	 * results of both engines {@link SimulationEngine} should be the same, also when the simulation is checkpointed and restored.
+	 * 
+	 * @throws IOException If the checkpoint can not be written or read.
+	 */
+	@Test
+	public void eventEngineMatchesTickEngineForEverySchedulingPolicy() throws IOException{
+		SchedulingPolicy[] policies = { new StrictLandingPolicy(), new LongestWaitFirstPolicy(), new ShortestServiceFirstPolicy(), new AgedPriorityPolicy(3) };
+		for (SchedulingPolicy policy : policies) {
+			for (long seed = 0; seed < 10; seed++) {
+				SmartAirportSimulator tickSimulator = new SmartAirportSimulator(SimulationEngine.TICK, ArrivalMode.BERNOULLI, seed, RunwayUse.MIXED, RunwayUse.TAKEOFF_ONLY);
+				tickSimulator.setSchedulingPolicy(policy);
+				tickSimulator.simulate();
+				SmartAirportSimulator eventSimulator = new SmartAirportSimulator(SimulationEngine.EVENT, ArrivalMode.BERNOULLI, seed, RunwayUse.MIXED, RunwayUse.TAKEOFF_ONLY);
+				eventSimulator.setSchedulingPolicy(policy);
+				eventSimulator.advance(60);
+				eventSimulator = SmartAirportSimulator.restore(new ByteArrayInputStream(checkpoint(eventSimulator)));
+				eventSimulator.simulate();
+				assertSameResults(tickSimulator, eventSimulator);
+			}
+		}
+	}
+	
+	/**
+	 * On an airport busy with landings, aged priority {@link AgedPriorityPolicy} should keep flights which want to take off from waiting as long as with strict landing priority.
+	 */
+	@Test
+	public void agedPriorityShortensLongestTakeOffWait(){
+		long strictWait = 0;
+		long agedWait = 0;
+		for (long seed = 0; seed < 10; seed++) {
+			SmartAirportSimulator strict = new SmartAirportSimulator(SimulationEngine.EVENT, ArrivalMode.BERNOULLI, seed, RunwayUse.MIXED);
+			strict.simulate();
+			strictWait += strict.getTakeOffWaitTimes().getMax();
+			SmartAirportSimulator aged = new SmartAirportSimulator(SimulationEngine.EVENT, ArrivalMode.BERNOULLI, seed, RunwayUse.MIXED);
+			aged.setSchedulingPolicy(new AgedPriorityPolicy(5));
+			aged.simulate();
+			agedWait += aged.getTakeOffWaitTimes().getMax();
+		}
+		assertTrue(agedWait < strictWait);
+	}
+	
+	/**
+	 * Replay a schedule trace {@link TraceReader} holding the flights the Bernoulli arrival sources would create,
+	 * the results should be the same as the Bernoulli simulation with both engines, also when the replay is checkpointed and restored.
+	 * 
+	 * @throws IOException If the trace or the checkpoint can not be written or read.
+	 */
+	@Test
+	public void traceReplayMatchesBernoulliArrivals() throws IOException{
+		for (long seed = 0; seed < 5; seed++) {
+			File file = folder.newFile("schedule-" + seed + ".trace");
+			RandomStream random = new RandomStream(seed);
+			BooleanSource wantsToLand = new BooleanSource(SmartAirportSimulator.LANDING_PROBABILITY, random.split());
+			BooleanSource wantsToTakeOff = new BooleanSource(SmartAirportSimulator.TAKEOFF_PROBABILITY, random.split());
+			TraceWriter writer = new TraceWriter(file.toPath());
+			for (int t = 0; t <= SmartAirportSimulator.SIMULATION_LENGTH; t++) {
+				if (wantsToTakeOff.random())
+					writer.write(t, FlightAction.TAKING_OFF, Flight.TAKEOFF_TIME);
+				if (wantsToLand.random())
+					writer.write(t, FlightAction.LANDING, Flight.LANDING_TIME);
+			}
+			writer.close();
+			
+			for (SimulationEngine engine : SimulationEngine.values()) {
+				SmartAirportSimulator bernoulli = new SmartAirportSimulator(engine, ArrivalMode.BERNOULLI, seed, RunwayUse.MIXED);
+				bernoulli.simulate();
+				
+				TraceReader trace = new TraceReader(file.toPath());
+				SmartAirportSimulator replay = new SmartAirportSimulator(engine, trace, RunwayUse.MIXED);
+				replay.advance(42);
+				SmartAirportSimulator restored = SmartAirportSimulator.restore(new ByteArrayInputStream(checkpoint(replay)));
+				trace.close();
+				restored.simulate();
+				restored.getTrace().close();
+				assertSameResults(bernoulli, restored);
+			}
+		}
+	}
+	
+	private static byte[] checkpoint(SmartAirportSimulator simulator) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		simulator.checkpoint(out);
+		return out.toByteArray();
+	}
+	
+	private void assertEnginesMatch(ArrivalMode arrivalMode, long seed, RunwayUse... runwayUses) {
+		SmartAirportSimulator tickSimulator = new SmartAirportSimulator(SimulationEngine.TICK, arrivalMode, seed, runwayUses);
+		tickSimulator.simulate();
+		SmartAirportSimulator eventSimulator = new SmartAirportSimulator(SimulationEngine.EVENT, arrivalMode, seed, runwayUses);
+		eventSimulator.simulate();
+		assertSameResults(tickSimulator, eventSimulator);
+	}
+	
+	private void assertSameResults(SmartAirportSimulator tickSimulator, SmartAirportSimulator eventSimulator) {
+		assertEquals(tickSimulator.getTotalFlightsLanded(), eventSimulator.getTotalFlightsLanded());
+		assertEquals(tickSimulator.getTotalFlightsTakenOff(), eventSimulator.getTotalFlightsTakenOff());
+		assertEquals(tickSimulator.getLandingQueueSize(), eventSimulator.getLandingQueueSize());
+		assertEquals(tickSimulator.getTakeOffQueueSize(), eventSimulator.getTakeOffQueueSize());
+		assertEquals(tickSimulator.getTotalFlightsCrashed(), eventSimulator.getTotalFlightsCrashed());
+		assertEquals(tickSimulator.getTotalLandingWaitTime(), eventSimulator.getTotalLandingWaitTime());
+		assertEquals(tickSimulator.getTotalTakeOffWaitTime(), eventSimulator.getTotalTakeOffWaitTime());
+		assertEquals(tickSimulator.getWaitingFlightsWaitTime(), eventSimulator.getWaitingFlightsWaitTime());
+		assertEquals(tickSimulator.getRunwayUtilization(), eventSimulator.getRunwayUtilization(), 0);
+		assertEquals(tickSimulator.getAverageLandingQueueLength(), eventSimulator.getAverageLandingQueueLength(), 0);
+		assertEquals(tickSimulator.getAverageTakeOffQueueLength(), eventSimulator.getAverageTakeOffQueueLength(), 0);
+		assertEquals(tickSimulator.getLandingWaitTimes().getPercentile(99), eventSimulator.getLandingWaitTimes().getPercentile(99));
+		assertEquals(tickSimulator.getTakeOffWaitTimes().getMax(), eventSimulator.getTakeOffWaitTimes().getMax());
+	}
+	
 	/**
 	 * Destroy SmartAirportSimulator {@link SmartAirportSimulator} before test ends.
 	 */
@@ -0,0 +1,98 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.prasanna.constant.ArrivalMode;
+import com.prasanna.constant.RunwayUse;
+import com.prasanna.constant.SimulationEngine;
+import com.prasanna.sim.ReplicationSummary;
+import com.prasanna.sim.SimulationConfig;
+import com.prasanna.sweep.ParameterRange;
+import com.prasanna.sweep.SweepCsvWriter;
+import com.prasanna.sweep.SweepListener;
+import com.prasanna.sweep.SweepRunner;
+import com.prasanna.util.PropertiesUtil;
+
+/**
+ * Class which tests the SweepRunner
+ * 
+ * @author pramakr2
+ * 
+ */
+public class SweepRunnerTest {
+	
+	/**
+	 * Loads configurations from the 'smart-airport-test.properties' file using PropertiesUtil {@link PropertiesUtil}.
+	 */
+	@BeforeClass
+    public static void initialize() {
+		PropertiesUtil.loadProperties("smart-airport-test", "log4j-test");
+    }
+	
+	/**
+	 * Every point of the grid should be written once as a CSV line, whatever the number of threads.
+	 */
+	@Test
+	public void everyPointIsWritten() throws IOException {
+		List<ParameterRange> ranges = Arrays.asList(ParameterRange.parse("sa.sim.langing.probability=0.1:0.3:0.1"),
+				ParameterRange.parse("sa.flight.takeoff.time=2,4"));
+		StringWriter out = new StringWriter();
+		SweepRunner runner = new SweepRunner(SimulationEngine.EVENT, ArrivalMode.BERNOULLI, new RunwayUse[] { RunwayUse.MIXED }, 3);
+		int points = runner.run(SimulationConfig.defaults(), ranges, 4, 42L, new SweepCsvWriter(out, ranges));
+		
+		String[] lines = out.toString().split("\n");
+		assertEquals(6, points);
+		assertEquals(7, lines.length);
+		assertTrue(lines[0].startsWith("point,sa.sim.langing.probability,sa.flight.takeoff.time,replications,landed,landed_hw"));
+		Set<String> rows = new TreeSet<String>();
+		for (int i = 1; i < lines.length; i++) {
+			String[] columns = lines[i].split(",");
+			rows.add(columns[1] + "/" + columns[2]);
+			assertEquals("4", columns[3]);
+		}
+		assertEquals(new TreeSet<String>(Arrays.asList("0.1/2.0", "0.1/4.0", "0.2/2.0", "0.2/4.0", "0.3/2.0", "0.3/4.0")), rows);
+	}
+	
+	/**
+	 * Points with the same configuration should give the same summary, because every point draws the same common random numbers.
+	 */
+	@Test
+	public void pointsShareRandomNumbers() throws IOException {
+		List<ParameterRange> ranges = Arrays.asList(new ParameterRange("sa.flight.landing.time", 2, 5, 2));
+		final ReplicationSummary[] summaries = new ReplicationSummary[3];
+		SweepRunner runner = new SweepRunner(SimulationEngine.TICK, ArrivalMode.GEOMETRIC, new RunwayUse[] { RunwayUse.MIXED }, 2);
+		runner.run(SimulationConfig.defaults(), ranges, 8, 7L, new SweepListener() {
+			@Override
+			public void finished(int point, double[] values, SimulationConfig config, ReplicationSummary summary) {
+				assertEquals(values[0], config.getLandingTime(), 0);
+				summaries[point] = summary;
+			}
+		});
+		
+		assertEquals(summaries[0].getFlightsLanded().getMean(), summaries[2].getFlightsLanded().getMean(), 0);
+		assertEquals(summaries[0].getLandingWaitTime().getVariance(), summaries[2].getLandingWaitTime().getVariance(), 0);
+		assertTrue(summaries[1].getRunwayUtilization().getMean() > summaries[0].getRunwayUtilization().getMean());
+	}
+	
+	/**
+	 * Probabilities outside 0 and 1 should be rejected before the sweep runs.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void valueOutOfRangeIsRejected() throws IOException {
+		List<ParameterRange> ranges = Arrays.asList(ParameterRange.parse("sa.sim.takeoff.probability=0.5,1.5"));
+		new SweepRunner(SimulationEngine.TICK, ArrivalMode.BERNOULLI, new RunwayUse[] { RunwayUse.MIXED }, 1)
+				.run(SimulationConfig.defaults(), ranges, 1, 1L, null);
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.prasanna.constant.FlightAction;
+import com.prasanna.trace.TraceException;
+import com.prasanna.trace.TraceReader;
+import com.prasanna.trace.TraceWriter;
+
+/**
+ * Class which tests the schedule trace TraceReader and TraceWriter
+ * 
+ * @author pramakr2
+ * 
+ */
+public class TraceReaderTest {
+	
+	/**
+	 * Folder for the files written by the tests.
+	 */
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
+	/**
+	 * A CSV trace and the binary trace converted from it by TraceWriter {@link TraceWriter} should give the same records.
+	 * 
+	 * @throws IOException If a trace can not be written or read.
+	 */
+	@Test
+	public void csvAndBinaryTracesMatch() throws IOException{
+		File csv = folder.newFile("schedule.csv");
+		File binary = folder.newFile("schedule.trace");
+		String lines = "tick,action,serviceTime\n# morning\n0,LANDING,2\r\n0,TAKEOFF,3\n\n7, T ,4\n12,l,1";
+		Files.write(csv.toPath(), lines.getBytes(StandardCharsets.US_ASCII));
+		TraceWriter.main(new String[] { csv.getPath(), binary.getPath() });
+		
+		int[] ticks = { 0, 0, 7, 12 };
+		FlightAction[] actions = { FlightAction.LANDING, FlightAction.TAKING_OFF, FlightAction.TAKING_OFF, FlightAction.LANDING };
+		int[] serviceTimes = { 2, 3, 4, 1 };
+		for (File file : new File[] { csv, binary }) {
+			TraceReader reader = new TraceReader(file.toPath());
+			for (int i = 0; i < ticks.length; i++) {
+				assertTrue(reader.next());
+				assertEquals(ticks[i], reader.getTick());
+				assertEquals(actions[i], reader.getAction());
+				assertEquals(serviceTimes[i], reader.getServiceTime());
+			}
+			assertFalse(reader.next());
+			reader.close();
+		}
+		assertEquals(TraceReader.HEADER_SIZE + ticks.length * TraceReader.RECORD_SIZE, binary.length());
+	}
+	
+	/**
+	 * A trace which is not ordered by tick should be refused.
+	 * 
+	 * @throws IOException If the trace can not be written or read.
+	 */
+	@Test(expected = TraceException.class)
+	public void outOfOrderTraceIsRefused() throws IOException{
+		File csv = folder.newFile("unordered.csv");
+		Files.write(csv.toPath(), "5,L,2\n4,T,3\n".getBytes(StandardCharsets.US_ASCII));
+		TraceReader reader = new TraceReader(csv.toPath());
+		try {
+			while (reader.next()) {
+				// reads until the unordered record
+			}
+		} finally {
+			reader.close();
+		}
+	}
+
+}
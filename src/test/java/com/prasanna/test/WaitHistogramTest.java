@@ -0,0 +1,67 @@
+package com.prasanna.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.prasanna.util.WaitHistogram;
+
+/**
+ * Class which tests the WaitHistogram
+ * 
+ * @author pramakr2
+ * 
+ */
+public class WaitHistogramTest {
+	
+	/**
+	 * Percentiles of the histogram {@link WaitHistogram} should be at or above the exact percentile and at most 1/32 above it.
+	 */
+	@Test
+	public void percentilesWithinPrecision(){
+		Random random = new Random(17L);
+		long[] values = new long[100000];
+		WaitHistogram histogram = new WaitHistogram();
+		for (int i = 0; i < values.length; i++) {
+			values[i] = (long) (-Math.log(1 - random.nextDouble()) * 500);
+			histogram.record(values[i]);
+		}
+		Arrays.sort(values);
+		for (double percentile : new double[] { 50, 95, 99, 99.9 }) {
+			long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+			long estimate = histogram.getPercentile(percentile);
+			assertTrue(estimate >= exact);
+			assertTrue(estimate <= exact + exact / 32 + 1);
+		}
+		assertEquals(values[values.length - 1], histogram.getPercentile(100));
+		assertEquals(values[values.length - 1], histogram.getMax());
+	}
+	
+	/**
+	 * Merged histograms {@link WaitHistogram} should be the same as one histogram of all the values.
+	 */
+	@Test
+	public void mergeMatchesSingleHistogram(){
+		Random random = new Random(19L);
+		WaitHistogram all = new WaitHistogram();
+		WaitHistogram first = new WaitHistogram();
+		WaitHistogram second = new WaitHistogram();
+		for (int i = 0; i < 10000; i++) {
+			long value = random.nextInt(1 << 20);
+			all.record(value);
+			(i % 3 == 0 ? first : second).record(value);
+		}
+		first.merge(second);
+		assertEquals(all.getCount(), first.getCount());
+		assertEquals(all.getMean(), first.getMean(), 0);
+		assertEquals(all.getMin(), first.getMin());
+		for (double percentile : new double[] { 1, 50, 95, 99 }) {
+			assertEquals(all.getPercentile(percentile), first.getPercentile(percentile));
+		}
+	}
+
+}